@@ -19,9 +19,10 @@
  * under the License.
  */
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -30,6 +31,8 @@
 import java.util.Set;
 
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.DateParser;
+import org.apache.maven.scm.util.EscapeUtils;
 import org.apache.maven.scm.util.FilenameUtils;
 import org.apache.maven.scm.util.ThreadSafeDateFormat;
 import org.codehaus.plexus.util.StringUtils;
@@ -86,15 +89,10 @@
     private static final ThreadSafeDateFormat TIME_FORMAT = new ThreadSafeDateFormat( TIME_PATTERN );
 
     /**
-     * Formatter used to parse date/timestamp.
+     * Patterns tried in turn to parse date/timestamp.
      */
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_1 = new ThreadSafeDateFormat( "yyyy/MM/dd HH:mm:ss" );
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_2 = new ThreadSafeDateFormat( "yyyy-MM-dd HH:mm:ss" );
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_3 = new ThreadSafeDateFormat( "yyyy/MM/dd HH:mm:ss z" );
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_4 = new ThreadSafeDateFormat( "yyyy-MM-dd HH:mm:ss z" );
+    private static final String[] TIMESTAMP_PATTERNS =
+        { "yyyy/MM/dd HH:mm:ss z", "yyyy-MM-dd HH:mm:ss z", "yyyy/MM/dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss" };
 
     /**
      * Date the changes were committed
@@ -323,79 +321,20 @@ public void setDate( String date )
      */
     public void setDate( String date, String userDatePattern )
     {
-        try
+        Date parsed = null;
+        if ( !StringUtils.isEmpty( userDatePattern ) )
         {
-            if ( !StringUtils.isEmpty( userDatePattern ) )
-            {
-                SimpleDateFormat format = new SimpleDateFormat( userDatePattern );
-
-                this.date = format.parse( date );
-            }
-            else
-            {
-                this.date = TIMESTAMP_FORMAT_3.parse( date );
-            }
+            parsed = DateParser.parse( date, userDatePattern, null );
         }
-        catch ( ParseException e )
+        for ( int i = 0; parsed == null && i < TIMESTAMP_PATTERNS.length; i++ )
         {
-            if ( !StringUtils.isEmpty( userDatePattern ) )
-            {
-                try
-                {
-                    this.date = TIMESTAMP_FORMAT_3.parse( date );
-                }
-                catch ( ParseException pe )
-                {
-                    try
-                    {
-                        this.date = TIMESTAMP_FORMAT_4.parse( date );
-                    }
-                    catch ( ParseException pe1 )
-                    {
-                        try
-                        {
-                            this.date = TIMESTAMP_FORMAT_1.parse( date );
-                        }
-                        catch ( ParseException pe2 )
-                        {
-                            try
-                            {
-                                this.date = TIMESTAMP_FORMAT_2.parse( date );
-                            }
-                            catch ( ParseException pe3 )
-                            {
-                                throw new IllegalArgumentException( "Unable to parse date: " + date );
-                            }
-                        }
-                    }
-                }
-            }
-            else
-            {
-                try
-                {
-                    this.date = TIMESTAMP_FORMAT_4.parse( date );
-                }
-                catch ( ParseException pe1 )
-                {
-                    try
-                    {
-                        this.date = TIMESTAMP_FORMAT_1.parse( date );
-                    }
-                    catch ( ParseException pe2 )
-                    {
-                        try
-                        {
-                            this.date = TIMESTAMP_FORMAT_2.parse( date );
-                        }
-                        catch ( ParseException pe3 )
-                        {
-                            throw new IllegalArgumentException( "Unable to parse date: " + date );
-                        }
-                    }
-                }
-            }
+            parsed = DateParser.parse( date, TIMESTAMP_PATTERNS[i], null );
         }
+        if ( parsed == null )
+        {
+            throw new IllegalArgumentException( "Unable to parse date: " + date );
+        }
+        this.date = parsed;
     }
 
     /**
@@ -498,63 +437,186 @@ public String toString()
      */
     public String toXML()
     {
-        StringBuilder buffer = new StringBuilder( "\t<changelog-entry>\n" );
+        StringWriter writer = new StringWriter();
+        try
+        {
+            writeXml( writer );
+        }
+        catch ( IOException e )
+        {
+            // a StringWriter doesn't fail
+            throw new IllegalStateException( e );
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the changelog entry as an XML snippet, the same as {@link #toXML()}.
+     *
+     * @param writer the writer
+     * @throws IOException if the writer fails
+     * @since 1.9.5
+     */
+    public void writeXml( Writer writer )
+        throws IOException
+    {
+        writer.write( "\t<changelog-entry>\n" );
 
         if ( getDate() != null )
         {
-            buffer.append( "\t\t<date pattern=\"" + DATE_PATTERN + "\">" )
-                .append( getDateFormatted() )
-                .append( "</date>\n" )
-                .append( "\t\t<time pattern=\"" + TIME_PATTERN + "\">" )
-                .append( getTimeFormatted() )
-                .append( "</time>\n" );
+            writer.write( "\t\t<date pattern=\"" + DATE_PATTERN + "\">" );
+            writer.write( getDateFormatted() );
+            writer.write( "</date>\n" );
+            writer.write( "\t\t<time pattern=\"" + TIME_PATTERN + "\">" );
+            writer.write( getTimeFormatted() );
+            writer.write( "</time>\n" );
         }
 
-        buffer.append( "\t\t<author><![CDATA[" )
-            .append( author )
-            .append( "]]></author>\n" );
+        writer.write( "\t\t<author><![CDATA[" );
+        writer.write( String.valueOf( author ) );
+        writer.write( "]]></author>\n" );
 
         if ( parentRevision != null )
         {
-            buffer.append( "\t\t<parent>" ).append( getParentRevision() ).append( "</parent>\n" );
+            writer.write( "\t\t<parent>" );
+            writer.write( getParentRevision() );
+            writer.write( "</parent>\n" );
         }
         for ( String mergedRevision : getMergedRevisions() )
         {
-            buffer.append( "\t\t<merge>" ).append( mergedRevision ).append( "</merge>\n" );
+            writer.write( "\t\t<merge>" );
+            writer.write( String.valueOf( mergedRevision ) );
+            writer.write( "</merge>\n" );
         }
 
         if ( files != null )
         {
             for ( ChangeFile file : files )
             {
-                buffer.append( "\t\t<file>\n" );
+                writer.write( "\t\t<file>\n" );
                 if ( file.getAction() != null )
                 {
-                    buffer.append( "\t\t\t<action>" ).append( file.getAction() ).append( "</action>\n" );
+                    writer.write( "\t\t\t<action>" );
+                    writer.write( file.getAction().toString() );
+                    writer.write( "</action>\n" );
                 }
-                buffer.append( "\t\t\t<name>" ).append( escapeValue( file.getName() ) ).append( "</name>\n" );
-                buffer.append( "\t\t\t<revision>" ).append( file.getRevision() ).append( "</revision>\n" );
+                writer.write( "\t\t\t<name>" );
+                EscapeUtils.writeXml( writer, file.getName() );
+                writer.write( "</name>\n" );
+                writer.write( "\t\t\t<revision>" );
+                writer.write( String.valueOf( file.getRevision() ) );
+                writer.write( "</revision>\n" );
                 if ( file.getOriginalName() != null )
                 {
-                    buffer.append( "\t\t\t<orig-name>" );
-                    buffer.append( escapeValue( file.getOriginalName() ) );
-                    buffer.append( "</orig-name>\n" );
+                    writer.write( "\t\t\t<orig-name>" );
+                    EscapeUtils.writeXml( writer, file.getOriginalName() );
+                    writer.write( "</orig-name>\n" );
                 }
                 if ( file.getOriginalRevision() != null )
                 {
-                    buffer.append( "\t\t\t<orig-revision>" );
-                    buffer.append( file.getOriginalRevision() );
-                    buffer.append( "</orig-revision>\n" );
+                    writer.write( "\t\t\t<orig-revision>" );
+                    writer.write( file.getOriginalRevision() );
+                    writer.write( "</orig-revision>\n" );
                 }
-                buffer.append( "\t\t</file>\n" );
+                writer.write( "\t\t</file>\n" );
             }
         }
-        buffer.append( "\t\t<msg><![CDATA[" )
-            .append( removeCDataEnd( comment ) )
-            .append( "]]></msg>\n" );
-        buffer.append( "\t</changelog-entry>\n" );
+        writer.write( "\t\t<msg><![CDATA[" );
+        EscapeUtils.writeCData( writer, comment );
+        writer.write( "]]></msg>\n" );
+        writer.write( "\t</changelog-entry>\n" );
+    }
 
-        return buffer.toString();
+    /**
+     * Writes the changelog entry as a JSON object on a single line, leaving out the fields without value:
+     * <pre>
+     * {"date":"2016-01-31","time":"12:30:00","timestamp":1454239800000,"author":"...","revision":"...",
+     *  "parent":"...","merges":["..."],
+     *  "files":[{"action":"modified","name":"...","revision":"...","origName":"...","origRevision":"..."}],
+     *  "comment":"..."}
+     * </pre>
+     *
+     * @param writer the writer
+     * @throws IOException if the writer fails
+     * @since 1.9.5
+     */
+    public void writeJson( Writer writer )
+        throws IOException
+    {
+        writer.write( '{' );
+        boolean first = true;
+        if ( date != null )
+        {
+            first = writeJsonField( writer, "date", getDateFormatted(), first );
+            first = writeJsonField( writer, "time", getTimeFormatted(), first );
+            writer.write( ",\"timestamp\":" );
+            writer.write( Long.toString( date.getTime() ) );
+        }
+        first = writeJsonField( writer, "author", author, first );
+        first = writeJsonField( writer, "revision", revision, first );
+        first = writeJsonField( writer, "parent", parentRevision, first );
+
+        if ( mergedRevisions != null && !mergedRevisions.isEmpty() )
+        {
+            writer.write( first ? "\"merges\":[" : ",\"merges\":[" );
+            first = false;
+            boolean firstMerge = true;
+            for ( String mergedRevision : mergedRevisions )
+            {
+                if ( !firstMerge )
+                {
+                    writer.write( ',' );
+                }
+                EscapeUtils.writeJson( writer, mergedRevision );
+                firstMerge = false;
+            }
+            writer.write( ']' );
+        }
+
+        if ( files != null && !files.isEmpty() )
+        {
+            writer.write( first ? "\"files\":[" : ",\"files\":[" );
+            first = false;
+            boolean firstFile = true;
+            for ( ChangeFile file : files )
+            {
+                writer.write( firstFile ? "{" : ",{" );
+                firstFile = false;
+                boolean firstField = true;
+                if ( file.getAction() != null )
+                {
+                    firstField = writeJsonField( writer, "action", file.getAction().toString(), firstField );
+                }
+                firstField = writeJsonField( writer, "name", file.getName(), firstField );
+                firstField = writeJsonField( writer, "revision", file.getRevision(), firstField );
+                firstField = writeJsonField( writer, "origName", file.getOriginalName(), firstField );
+                writeJsonField( writer, "origRevision", file.getOriginalRevision(), firstField );
+                writer.write( '}' );
+            }
+            writer.write( ']' );
+        }
+
+        writeJsonField( writer, "comment", comment, first );
+        writer.write( '}' );
+    }
+
+    private static boolean writeJsonField( Writer writer, String name, String value, boolean first )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            return first;
+        }
+
+        if ( !first )
+        {
+            writer.write( ',' );
+        }
+        writer.write( '"' );
+        writer.write( name );
+        writer.write( "\":" );
+        EscapeUtils.writeJson( writer, value );
+        return false;
     }
 
     /** {@inheritDoc} */
@@ -587,23 +649,6 @@ public int hashCode()
         return result;
     }
 
-    /**
-     * remove a <code>]]></code> from comments (replace it with <code>] ] ></code>).
-     *
-     * @param message The message to modify
-     * @return a clean string
-     */
-    private String removeCDataEnd( String message )
-    {
-        // check for invalid sequence ]]>
-        int endCdata;
-        while ( message != null && ( endCdata = message.indexOf( "]]>" ) ) > -1 )
-        {
-            message = message.substring( 0, endCdata ) + "] ] >" + message.substring( endCdata + 3, message.length() );
-        }
-        return message;
-    }
-
     /**
      * <p>Escape the <code>toString</code> of the given object.
      * For use in an attribute value.</p>
@@ -615,39 +660,16 @@ private String removeCDataEnd( String message )
      */
     public static String escapeValue( Object value )
     {
-        StringBuilder buffer = new StringBuilder( value.toString() );
-        for ( int i = 0, size = buffer.length(); i < size; i++ )
+        StringWriter writer = new StringWriter();
+        try
         {
-            switch ( buffer.charAt( i ) )
-            {
-                case'<':
-                    buffer.replace( i, i + 1, LESS_THAN_ENTITY );
-                    size += 3;
-                    i += 3;
-                    break;
-                case'>':
-                    buffer.replace( i, i + 1, GREATER_THAN_ENTITY );
-                    size += 3;
-                    i += 3;
-                    break;
-                case'&':
-                    buffer.replace( i, i + 1, AMPERSAND_ENTITY );
-                    size += 4;
-                    i += 4;
-                    break;
-                case'\'':
-                    buffer.replace( i, i + 1, APOSTROPHE_ENTITY );
-                    size += 5;
-                    i += 5;
-                    break;
-                case'\"':
-                    buffer.replace( i, i + 1, QUOTE_ENTITY );
-                    size += 5;
-                    i += 5;
-                    break;
-                default:
-            }
+            EscapeUtils.writeXml( writer, value.toString() );
+        }
+        catch ( IOException e )
+        {
+            // a StringWriter doesn't fail
+            throw new IllegalStateException( e );
         }
-        return buffer.toString();
+        return writer.toString();
     }
 }
@@ -95,6 +95,60 @@
      */
     public static final CommandParameter IGNORE_WHITESPACE = new CommandParameter( "ignoreWhitespace" );
 
+    /**
+     * Callback receiving change sets as they are parsed, instead of collecting them in the result.
+     * @since 1.9.5
+     */
+    public static final CommandParameter CHANGESET_HANDLER = new CommandParameter( "changeSetHandler" );
+
+    /**
+     * Stream the unified patch of a diff command is written to.
+     * @since 1.9.5
+     */
+    public static final CommandParameter DIFF_OUTPUT = new CommandParameter( "diffOutput" );
+
+    /**
+     * File the unified patch of a diff command is written to.
+     * @since 1.9.5
+     */
+    public static final CommandParameter DIFF_OUTPUT_FILE = new CommandParameter( "diffOutputFile" );
+
+    /**
+     * Callback receiving the hunks and the statistics of each file of a diff command.
+     * @since 1.9.5
+     */
+    public static final CommandParameter DIFF_HANDLER = new CommandParameter( "diffHandler" );
+
+    /**
+     * Callback receiving the blame of each file of the file set, when blaming several files at once.
+     * @since 1.9.5
+     */
+    public static final CommandParameter BLAME_HANDLER = new CommandParameter( "blameHandler" );
+
+    /**
+     * Maximum number of files blamed at the same time.
+     * @since 1.9.5
+     */
+    public static final CommandParameter BLAME_THREADS = new CommandParameter( "blameThreads" );
+
+    /**
+     * Number of commits of history fetched by a checkout, the complete history if not set.
+     * @since 1.9.5
+     */
+    public static final CommandParameter CHECKOUT_DEPTH = new CommandParameter( "checkoutDepth" );
+
+    /**
+     * Filter of the objects fetched by a checkout, like <code>blob:none</code>.
+     * @since 1.9.5
+     */
+    public static final CommandParameter CHECKOUT_FILTER = new CommandParameter( "checkoutFilter" );
+
+    /**
+     * contains true or false, whether a checkout is restricted to the directories of the file set includes
+     * @since 1.9.5
+     */
+    public static final CommandParameter CHECKOUT_SPARSE = new CommandParameter( "checkoutSparse" );
+
 
     /**
      * Parameter name
@@ -19,7 +19,12 @@
  * under the License.
  */
 
+import org.apache.maven.scm.command.blame.BlameHandler;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.command.diff.DiffHandler;
+
 import java.io.File;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
@@ -317,6 +322,171 @@ public ScmBranchParameters getScmBranchParameters( CommandParameter parameter )
         return (ScmBranchParameters) getObject( ScmBranchParameters.class, parameter, new ScmBranchParameters() );
     }
 
+    // ----------------------------------------------------------------------
+    // ChangeSetHandler
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the parameter value as ChangeSetHandler or the default value.
+     *
+     * @param parameter    The parameter
+     * @param defaultValue The default value
+     * @return The parameter value as a ChangeSetHandler
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    public ChangeSetHandler getChangeSetHandler( CommandParameter parameter, ChangeSetHandler defaultValue )
+        throws ScmException
+    {
+        return (ChangeSetHandler) getObject( ChangeSetHandler.class, parameter, defaultValue );
+    }
+
+    /**
+     * Set a parameter value.
+     *
+     * @param parameter The parameter name
+     * @param handler   The change set handler
+     * @throws ScmException if the parameter already exist
+     * @since 1.9.5
+     */
+    public void setChangeSetHandler( CommandParameter parameter, ChangeSetHandler handler )
+        throws ScmException
+    {
+        setObject( parameter, handler );
+    }
+
+    // ----------------------------------------------------------------------
+    // DiffHandler
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the parameter value as DiffHandler or the default value.
+     *
+     * @param parameter    The parameter
+     * @param defaultValue The default value
+     * @return The parameter value as a DiffHandler
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    public DiffHandler getDiffHandler( CommandParameter parameter, DiffHandler defaultValue )
+        throws ScmException
+    {
+        return (DiffHandler) getObject( DiffHandler.class, parameter, defaultValue );
+    }
+
+    /**
+     * Set a parameter value.
+     *
+     * @param parameter The parameter name
+     * @param handler   The diff handler
+     * @throws ScmException if the parameter already exist
+     * @since 1.9.5
+     */
+    public void setDiffHandler( CommandParameter parameter, DiffHandler handler )
+        throws ScmException
+    {
+        setObject( parameter, handler );
+    }
+
+    // ----------------------------------------------------------------------
+    // BlameHandler
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the parameter value as BlameHandler or the default value.
+     *
+     * @param parameter    The parameter
+     * @param defaultValue The default value
+     * @return The parameter value as a BlameHandler
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    public BlameHandler getBlameHandler( CommandParameter parameter, BlameHandler defaultValue )
+        throws ScmException
+    {
+        return (BlameHandler) getObject( BlameHandler.class, parameter, defaultValue );
+    }
+
+    /**
+     * Set a parameter value.
+     *
+     * @param parameter The parameter name
+     * @param handler   The blame handler
+     * @throws ScmException if the parameter already exist
+     * @since 1.9.5
+     */
+    public void setBlameHandler( CommandParameter parameter, BlameHandler handler )
+        throws ScmException
+    {
+        setObject( parameter, handler );
+    }
+
+    // ----------------------------------------------------------------------
+    // OutputStream
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the parameter value as OutputStream or the default value.
+     *
+     * @param parameter    The parameter
+     * @param defaultValue The default value
+     * @return The parameter value as an OutputStream
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    public OutputStream getOutputStream( CommandParameter parameter, OutputStream defaultValue )
+        throws ScmException
+    {
+        return (OutputStream) getObject( OutputStream.class, parameter, defaultValue );
+    }
+
+    /**
+     * Set a parameter value.
+     *
+     * @param parameter The parameter name
+     * @param output    The output stream
+     * @throws ScmException if the parameter already exist
+     * @since 1.9.5
+     */
+    public void setOutputStream( CommandParameter parameter, OutputStream output )
+        throws ScmException
+    {
+        setObject( parameter, output );
+    }
+
+    // ----------------------------------------------------------------------
+    // File
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the parameter value as File or the default value.
+     *
+     * @param parameter    The parameter
+     * @param defaultValue The default value
+     * @return The parameter value as a File
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    public File getFile( CommandParameter parameter, File defaultValue )
+        throws ScmException
+    {
+        return (File) getObject( File.class, parameter, defaultValue );
+    }
+
+    /**
+     * Set a parameter value.
+     *
+     * @param parameter The parameter name
+     * @param file      The file
+     * @throws ScmException if the parameter already exist
+     * @since 1.9.5
+     */
+    public void setFile( CommandParameter parameter, File file )
+        throws ScmException
+    {
+        setObject( parameter, file );
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -398,6 +568,6 @@ private void setObject( CommandParameter parameter, Object value )
      */
     public void remove( CommandParameter parameter )
     {
-        parameters.remove( parameter );
+        parameters.remove( parameter.getName() );
     }
 }
@@ -21,11 +21,13 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.maven.scm.util.ScmFileScanner;
 import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
@@ -54,9 +56,10 @@
     private String excludes;
 
     /**
-     * List of File objects, all relative to the basedir.
+     * List of File objects, all relative to the basedir; <code>null</code> until the includes and excludes have
+     * been scanned.
      */
-    private final List<File> files;
+    private List<File> files;
 
     /**
      * Create a file set with no files, only the base directory.
@@ -81,7 +84,8 @@ public ScmFileSet( File basedir, File file )
 
     /**
      * Create a file set with only files (not directories) from basefile,
-     * using includes and excludes provided.
+     * using includes and excludes provided. The directory is scanned by {@link ScmFileScanner} when the files are
+     * first requested.
      *
      * @param basedir  directory files are relative to
      * @param includes Ant pattern for files to include
@@ -102,9 +106,17 @@ public ScmFileSet( File basedir, String includes, String excludes )
         {
             excludes = DEFAULT_EXCLUDES;
         }
-        @SuppressWarnings( "unchecked" )
-        List<File> fileList = (List<File>) FileUtils.getFiles( basedir, includes, excludes, false ); 
-        this.files = fileList;
+        if ( ScmFileScanner.isSupported( includes, excludes ) )
+        {
+            // the scan is deferred, but a missing directory must fail now
+            ScmFileScanner.checkDirectory( basedir );
+        }
+        else
+        {
+            @SuppressWarnings( "unchecked" )
+            List<File> fileList = (List<File>) FileUtils.getFiles( basedir, includes, excludes, false );
+            this.files = fileList;
+        }
         this.includes = includes;
         this.excludes = excludes;
     }
@@ -175,7 +187,8 @@ public File getBasedir()
      */
     public File[] getFiles()
     {
-        return this.files.toArray( new File[this.files.size()] );
+        List<File> fileList = getFileList();
+        return fileList.toArray( new File[fileList.size()] );
     }
 
     /**
@@ -183,8 +196,12 @@ public File[] getFiles()
      *
      * @return List of File objects
      */
-    public List<File> getFileList()
+    public synchronized List<File> getFileList()
     {
+        if ( this.files == null )
+        {
+            this.files = ScmFileScanner.scan( basedir, includes, excludes );
+        }
         return this.files;
     }
 
@@ -206,9 +223,27 @@ public String getExcludes()
         return this.excludes;
     }
 
-    /** {@inheritDoc} */
-    public String toString()
+    /**
+     * Describes the file set without scanning it: the files are only listed once they are known.
+     */
+    public synchronized String toString()
+    {
+        StringBuilder description = new StringBuilder( "basedir = " ).append( basedir );
+        if ( includes != null )
+        {
+            description.append( "; includes = " ).append( includes ).append( "; excludes = " ).append( excludes );
+        }
+        if ( files != null )
+        {
+            description.append( "; files = " ).append( files );
+        }
+        return description.toString();
+    }
+
+    private void writeObject( ObjectOutputStream out )
+        throws IOException
     {
-        return "basedir = " + basedir + "; files = " + files;
+        getFileList();
+        out.defaultWriteObject();
     }
 }
@@ -19,6 +19,10 @@
  * under the License.
  */
 
+import org.apache.maven.scm.util.CommandOutputConsumer;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
@@ -34,7 +38,9 @@
 
     private final String providerMessage;
 
-    private final String commandOutput;
+    private String commandOutput;
+
+    private transient CommandOutputConsumer commandOutputConsumer;
 
     private final String commandLine;
 
@@ -54,6 +60,8 @@ public ScmResult( ScmResult scmResult )
 
         this.commandOutput = scmResult.commandOutput;
 
+        this.commandOutputConsumer = scmResult.commandOutputConsumer;
+
         this.success = scmResult.success;
     }
 
@@ -76,6 +84,28 @@ public ScmResult( String commandLine, String providerMessage, String commandOutp
         this.success = success;
     }
 
+    /**
+     * ScmResult constructor reading the command output from the consumer only when {@link #getCommandOutput()} is
+     * called, so a spilled output stays on disk until someone asks for it.
+     *
+     * @param commandLine     The provider specific command line used
+     * @param providerMessage The provider message
+     * @param success         True if the command is in success
+     * @param commandOutput   The consumer of the scm tool output
+     * @since 1.9.5
+     */
+    public ScmResult( String commandLine, String providerMessage, boolean success,
+                      CommandOutputConsumer commandOutput )
+    {
+        this.commandLine = commandLine;
+
+        this.providerMessage = providerMessage;
+
+        this.commandOutputConsumer = commandOutput;
+
+        this.success = success;
+    }
+
     /**
      * @return True if the command was in success
      */
@@ -99,6 +129,10 @@ public String getProviderMessage()
      */
     public String getCommandOutput()
     {
+        if ( commandOutput == null && commandOutputConsumer != null )
+        {
+            return commandOutputConsumer.getOutput();
+        }
         return commandOutput;
     }
 
@@ -109,4 +143,11 @@ public String getCommandLine()
     {
         return commandLine;
     }
+
+    private void writeObject( ObjectOutputStream out )
+        throws IOException
+    {
+        commandOutput = getCommandOutput();
+        out.defaultWriteObject();
+    }
 }
@@ -24,6 +24,8 @@
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 
 /**
@@ -54,14 +56,67 @@ public final ScmResult execute( ScmProviderRepository repository, ScmFileSet fil
             throw new NullPointerException( "fileSet cannot be null" );
         }
 
+        ScmMetrics.logSkippedObservers( getLogger() );
+
+        ScmCommandMetrics metrics = null;
+        if ( ScmMetrics.isEnabled() )
+        {
+            metrics = ScmMetrics.commandStarted( getProviderName(), getCommandName() );
+        }
+
+        ScmResult result = null;
         try
         {
-            return executeCommand( repository, fileSet, parameters );
+            result = executeCommand( repository, fileSet, parameters );
+            return result;
         }
         catch ( Exception ex )
         {
             throw new ScmException( "Exception while executing SCM command.", ex );
         }
+        finally
+        {
+            ScmMetrics.commandFinished( metrics, result != null && result.isSuccess() );
+        }
+    }
+
+    /**
+     * The provider name the command metrics are reported under. Defaults to the package segment before
+     * <code>command</code>, e.g. <code>gitexe</code> for
+     * <code>org.apache.maven.scm.provider.git.gitexe.command.changelog.GitChangeLogCommand</code>.
+     *
+     * @return the provider name
+     * @since 1.9.5
+     */
+    protected String getProviderName()
+    {
+        String[] packages = getClass().getName().split( "\\." );
+        for ( int i = packages.length - 2; i > 0; i-- )
+        {
+            if ( "command".equals( packages[i] ) )
+            {
+                return packages[i - 1];
+            }
+        }
+        return packages.length > 1 ? packages[packages.length - 2] : "unknown";
+    }
+
+    /**
+     * The command name the command metrics are reported under. Defaults to the package segment after
+     * <code>command</code>, e.g. <code>changelog</code>, or to the simple class name for commands outside such a
+     * package.
+     *
+     * @return the command name
+     * @since 1.9.5
+     */
+    protected String getCommandName()
+    {
+        String[] packages = getClass().getName().split( "\\." );
+        if ( packages.length > 2 && "command".equals( packages[packages.length - 3] ) )
+        {
+            return packages[packages.length - 2];
+        }
+        return packages[packages.length - 1];
     }
 
     /** {@inheritDoc} */
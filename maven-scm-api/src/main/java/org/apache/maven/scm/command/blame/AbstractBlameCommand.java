@@ -27,6 +27,21 @@
 import org.apache.maven.scm.command.AbstractCommand;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author Evgeny Mandrikov
  * @since 1.4
@@ -34,6 +49,17 @@
 public abstract class AbstractBlameCommand
     extends AbstractCommand
 {
+    /**
+     * System property holding the maximum number of files blamed at the same time when the request doesn't set it.
+     *
+     * @since 1.9.5
+     */
+    public static final String THREADS_PROPERTY = "maven.scm.blame.threads";
+
+    private static final int DEFAULT_THREADS = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
     public abstract BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
                                                         String filename )
         throws ScmException;
@@ -42,10 +68,206 @@ protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet
                                         CommandParameters parameters )
         throws ScmException
     {
+        BlameHandler handler = parameters.getBlameHandler( CommandParameter.BLAME_HANDLER, null );
+
+        if ( handler != null && parameters.getString( CommandParameter.FILE, null ) == null )
+        {
+            return executeBlameCommand( repository, workingDirectory, getFilenames( workingDirectory ),
+                                        getThreads( parameters ), handler );
+        }
+
         String file = parameters.getString( CommandParameter.FILE );
 
         return executeBlameCommand( repository, workingDirectory, file );
     }
 
+    /**
+     * Blames several files, handing the blame of each one to the handler as soon as it is complete. The default
+     * implementation runs {@link #executeBlameCommand(ScmProviderRepository, ScmFileSet, String)} for each file,
+     * with at most <code>threads</code> files at the same time; the commands of tools able to share work between
+     * the files override it.
+     *
+     * @param repo             the repository
+     * @param workingDirectory the file set, its base directory is the working copy
+     * @param filenames        the files to blame, relative to the base directory
+     * @param threads          the maximum number of files blamed at the same time
+     * @param handler          the callback receiving the blame of each file
+     * @return a result without lines, successful if every file has been blamed
+     * @throws ScmException if the blame of a file failed unexpectedly
+     * @since 1.9.5
+     */
+    protected BlameScmResult executeBlameCommand( final ScmProviderRepository repo,
+                                                  final ScmFileSet workingDirectory, List<String> filenames,
+                                                  int threads, BlameHandler handler )
+        throws ScmException
+    {
+        return blame( filenames, threads, handler, new FileBlame()
+        {
+            public BlameScmResult blame( String filename )
+                throws ScmException
+            {
+                return executeBlameCommand( repo, workingDirectory, filename );
+            }
+        } );
+    }
 
+    /**
+     * @param workingDirectory the file set
+     * @return the names of the files of the file set, relative to its base directory
+     * @since 1.9.5
+     */
+    protected static List<String> getFilenames( ScmFileSet workingDirectory )
+    {
+        List<String> filenames = new ArrayList<String>();
+        for ( File file : workingDirectory.getFileList() )
+        {
+            filenames.add( file.getPath() );
+        }
+        return filenames;
+    }
+
+    /**
+     * @param parameters the parameters of the command
+     * @return the maximum number of files blamed at the same time, from the parameters or the system property
+     * @throws ScmException if the parameter has the wrong type
+     * @since 1.9.5
+     */
+    protected static int getThreads( CommandParameters parameters )
+        throws ScmException
+    {
+        int threads = parameters.getInt( CommandParameter.BLAME_THREADS, 0 );
+        if ( threads < 1 )
+        {
+            threads = Math.max( 1, Integer.getInteger( THREADS_PROPERTY, DEFAULT_THREADS ).intValue() );
+        }
+        return threads;
+    }
+
+    /**
+     * Runs the blame of each file on a pool of at most <code>threads</code> threads and hands the results to the
+     * handler from the calling thread, in the order they complete. When the handler stops, or a blame fails, the
+     * blames still pending are cancelled: the running ones are interrupted, which destroys their process when it is
+     * run by {@link org.apache.maven.scm.util.ScmProcessRunner}.
+     *
+     * @param filenames the files to blame
+     * @param threads   the maximum number of files blamed at the same time
+     * @param handler   the callback receiving the blame of each file
+     * @param blame     the blame of one file
+     * @return a result without lines, successful if every file has been blamed
+     * @throws ScmException if the blame of a file failed unexpectedly
+     * @since 1.9.5
+     */
+    protected BlameScmResult blame( List<String> filenames, int threads, BlameHandler handler,
+                                    final FileBlame blame )
+        throws ScmException
+    {
+        int failures = 0;
+
+        if ( threads < 2 || filenames.size() < 2 )
+        {
+            for ( String filename : filenames )
+            {
+                BlameScmResult result = blame.blame( filename );
+                if ( !result.isSuccess() )
+                {
+                    failures++;
+                }
+                if ( !handler.handleBlame( filename, result ) )
+                {
+                    break;
+                }
+            }
+
+            return createResult( filenames.size(), failures );
+        }
+
+        ExecutorService executor =
+            Executors.newFixedThreadPool( Math.min( threads, filenames.size() ), new BlameThreadFactory() );
+        Map<Future<BlameScmResult>, String> pending = new HashMap<Future<BlameScmResult>, String>();
+        try
+        {
+            CompletionService<BlameScmResult> completion = new ExecutorCompletionService<BlameScmResult>( executor );
+            for ( final String filename : filenames )
+            {
+                pending.put( completion.submit( new Callable<BlameScmResult>()
+                {
+                    public BlameScmResult call()
+                        throws ScmException
+                    {
+                        return blame.blame( filename );
+                    }
+                } ), filename );
+            }
+
+            while ( !pending.isEmpty() )
+            {
+                Future<BlameScmResult> future = completion.take();
+                String filename = pending.remove( future );
+                BlameScmResult result = future.get();
+                if ( !result.isSuccess() )
+                {
+                    failures++;
+                }
+                if ( !handler.handleBlame( filename, result ) )
+                {
+                    break;
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ScmException( "Interrupted while blaming the files.", e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof ScmException )
+            {
+                throw (ScmException) e.getCause();
+            }
+            throw new ScmException( "Error while blaming the files.", e.getCause() );
+        }
+        finally
+        {
+            for ( Future<BlameScmResult> future : pending.keySet() )
+            {
+                future.cancel( true );
+            }
+            executor.shutdownNow();
+        }
+
+        return createResult( filenames.size(), failures );
+    }
+
+    private static BlameScmResult createResult( int files, int failures )
+    {
+        if ( failures > 0 )
+        {
+            return new BlameScmResult( null, failures + " of the " + files + " files couldn't be blamed.", null,
+                                       false );
+        }
+        return new BlameScmResult( null, null, null, true );
+    }
+
+    /**
+     * The blame of one file of a multi-file blame, called concurrently for different files.
+     *
+     * @since 1.9.5
+     */
+    protected interface FileBlame
+    {
+        BlameScmResult blame( String filename )
+            throws ScmException;
+    }
+
+    private static class BlameThreadFactory
+        implements ThreadFactory
+    {
+        public Thread newThread( Runnable runnable )
+        {
+            Thread thread = new Thread( runnable, "scm-blame-" + THREAD_COUNT.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package org.apache.maven.scm.command.blame;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Receives the blame of each file of a multi-file blame as soon as it is complete. The files are blamed
+ * concurrently, but the handler is only ever called from the thread running the command, one file at a time, in
+ * the order the blames complete.
+ *
+ * @see BlameScmRequest#setBlameHandler(BlameHandler)
+ * @since 1.9.5
+ */
+public interface BlameHandler
+{
+    /**
+     * @param filename the name of the file, relative to the base directory of the file set
+     * @param result   the blame of the file; a result that is not successful if the file couldn't be blamed
+     * @return <code>true</code> to receive the next blame, <code>false</code> to cancel the remaining ones
+     */
+    boolean handleBlame( String filename, BlameScmResult result );
+}
@@ -0,0 +1,392 @@
+package org.apache.maven.scm.command.blame;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A compact list of {@link BlameLine}s, for the blame of large files.
+ * <p/>
+ * The revisions, authors and committers are stored once in a dictionary shared by all the lines, and the dates as
+ * <code>long</code>s. The {@link BlameLine}s returned by {@link #get(int)} are views created on each call: they
+ * read the list and their setters change it, like the lines of a plain list. The <code>getXxx( int )</code> methods
+ * read a line without creating a {@link BlameLine}.
+ *
+ * @since 1.9.5
+ */
+public class BlameLines
+    extends AbstractList<BlameLine>
+    implements RandomAccess, Serializable
+{
+    private static final long serialVersionUID = -5024813290478618243L;
+
+    /**
+     * The time of the lines without date.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final List<String> dictionary = new ArrayList<String>();
+
+    private transient Map<String, Integer> dictionaryIndex = new HashMap<String, Integer>();
+
+    private int[] revisions;
+
+    private int[] authors;
+
+    private int[] committers;
+
+    private long[] dates;
+
+    private int size;
+
+    public BlameLines()
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * @param capacity the expected number of lines
+     */
+    public BlameLines( int capacity )
+    {
+        int length = Math.max( 1, capacity );
+
+        revisions = new int[length];
+        authors = new int[length];
+        committers = new int[length];
+        dates = new long[length];
+    }
+
+    /**
+     * @param date      of the commit, can be <code>null</code>
+     * @param revision  of the commit
+     * @param author    the person who wrote the line
+     * @param committer the person who committed the change
+     */
+    public void add( Date date, String revision, String author, String committer )
+    {
+        add( date == null ? NO_DATE : date.getTime(), revision, author, committer );
+    }
+
+    /**
+     * @param time      of the commit, {@link #NO_DATE} if unknown
+     * @param revision  of the commit
+     * @param author    the person who wrote the line
+     * @param committer the person who committed the change
+     */
+    public void add( long time, String revision, String author, String committer )
+    {
+        if ( size == dates.length )
+        {
+            grow();
+        }
+
+        modCount++;
+
+        store( size++, time, revision, author, committer );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean add( BlameLine line )
+    {
+        add( line.getDate(), line.getRevision(), line.getAuthor(), line.getCommitter() );
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BlameLine get( int index )
+    {
+        checkIndex( index );
+
+        return new LineView( index );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BlameLine set( int index, BlameLine line )
+    {
+        checkIndex( index );
+
+        BlameLine previous = copy( index );
+
+        set( index, line.getDate(), line.getRevision(), line.getAuthor(), line.getCommitter() );
+
+        return previous;
+    }
+
+    /**
+     * Replaces a line.
+     *
+     * @param index     of the line
+     * @param date      of the commit, can be <code>null</code>
+     * @param revision  of the commit
+     * @param author    the person who wrote the line
+     * @param committer the person who committed the change
+     */
+    public void set( int index, Date date, String revision, String author, String committer )
+    {
+        checkIndex( index );
+
+        store( index, date == null ? NO_DATE : date.getTime(), revision, author, committer );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear()
+    {
+        modCount++;
+
+        size = 0;
+        dictionary.clear();
+        dictionaryIndex.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    public String getRevision( int index )
+    {
+        checkIndex( index );
+
+        return lookup( revisions[index] );
+    }
+
+    public String getAuthor( int index )
+    {
+        checkIndex( index );
+
+        return lookup( authors[index] );
+    }
+
+    public String getCommitter( int index )
+    {
+        checkIndex( index );
+
+        return lookup( committers[index] );
+    }
+
+    /**
+     * @return the commit time of the line, {@link #NO_DATE} if unknown
+     */
+    public long getTime( int index )
+    {
+        checkIndex( index );
+
+        return dates[index];
+    }
+
+    /**
+     * @return the commit date of the line, <code>null</code> if unknown
+     */
+    public Date getDate( int index )
+    {
+        long time = getTime( index );
+
+        return time == NO_DATE ? null : new Date( time );
+    }
+
+    private BlameLine copy( int index )
+    {
+        return new BlameLine( getDate( index ), getRevision( index ), getAuthor( index ), getCommitter( index ) );
+    }
+
+    private void store( int index, long time, String revision, String author, String committer )
+    {
+        dates[index] = time;
+        revisions[index] = intern( revision );
+        authors[index] = intern( author );
+        committers[index] = intern( committer );
+    }
+
+    private int intern( String value )
+    {
+        if ( value == null )
+        {
+            return -1;
+        }
+
+        Integer id = dictionaryIndex.get( value );
+
+        if ( id == null )
+        {
+            id = Integer.valueOf( dictionary.size() );
+            dictionary.add( value );
+            dictionaryIndex.put( value, id );
+        }
+
+        return id.intValue();
+    }
+
+    private String lookup( int id )
+    {
+        return id < 0 ? null : dictionary.get( id );
+    }
+
+    private void grow()
+    {
+        int length = dates.length + ( dates.length >> 1 ) + 1;
+
+        revisions = copyOf( revisions, length );
+        authors = copyOf( authors, length );
+        committers = copyOf( committers, length );
+
+        long[] newDates = new long[length];
+        System.arraycopy( dates, 0, newDates, 0, size );
+        dates = newDates;
+    }
+
+    private int[] copyOf( int[] array, int length )
+    {
+        int[] copy = new int[length];
+        System.arraycopy( array, 0, copy, 0, size );
+        return copy;
+    }
+
+    private void checkIndex( int index )
+    {
+        if ( index < 0 || index >= size )
+        {
+            throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+        }
+    }
+
+    private void readObject( ObjectInputStream in )
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+
+        dictionaryIndex = new HashMap<String, Integer>();
+        for ( int i = 0; i < dictionary.size(); i++ )
+        {
+            dictionaryIndex.put( dictionary.get( i ), Integer.valueOf( i ) );
+        }
+    }
+
+    /**
+     * A line of the list, read from and written to the arrays.
+     */
+    private final class LineView
+        extends BlameLine
+    {
+        private static final long serialVersionUID = 3790151216592040163L;
+
+        private final int index;
+
+        /**
+         * <code>false</code> while the constructor of {@link BlameLine} calls the setters
+         */
+        private final boolean attached;
+
+        LineView( int index )
+        {
+            super( null, null, null, null );
+
+            this.index = index;
+            this.attached = true;
+        }
+
+        public Date getDate()
+        {
+            return BlameLines.this.getDate( index );
+        }
+
+        public void setDate( Date date )
+        {
+            if ( attached )
+            {
+                checkIndex( index );
+                dates[index] = date == null ? NO_DATE : date.getTime();
+            }
+        }
+
+        public String getRevision()
+        {
+            return BlameLines.this.getRevision( index );
+        }
+
+        public void setRevision( String revision )
+        {
+            if ( attached )
+            {
+                checkIndex( index );
+                revisions[index] = intern( revision );
+            }
+        }
+
+        public String getAuthor()
+        {
+            return BlameLines.this.getAuthor( index );
+        }
+
+        public void setAuthor( String author )
+        {
+            if ( attached )
+            {
+                checkIndex( index );
+                authors[index] = intern( author );
+            }
+        }
+
+        public String getCommitter()
+        {
+            return BlameLines.this.getCommitter( index );
+        }
+
+        public void setCommitter( String committer )
+        {
+            if ( attached )
+            {
+                checkIndex( index );
+                committers[index] = intern( committer );
+            }
+        }
+
+        /**
+         * Serializes a detached copy rather than the whole list.
+         */
+        private Object writeReplace()
+        {
+            return copy( index );
+        }
+    }
+}
@@ -26,6 +26,9 @@
 import org.apache.maven.scm.repository.ScmRepository;
 
 /**
+ * Parameters of a blame. Without a filename, and with a {@link BlameHandler}, every file of the file set is blamed
+ * and the result of each one is handed to the handler.
+ *
  * @author Olivier Lamy
  * @since 1.8
  */
@@ -75,4 +78,49 @@ public void setIgnoreWhitespace( boolean ignoreWhitespace )
             this.getCommandParameters().setString( CommandParameter.IGNORE_WHITESPACE, "FALSE" );
         }
     }
+
+    public BlameHandler getBlameHandler()
+        throws ScmException
+    {
+        return getCommandParameters().getBlameHandler( CommandParameter.BLAME_HANDLER, null );
+    }
+
+    /**
+     * @param blameHandler the callback receiving the blame of each file of the file set
+     * @since 1.9.5
+     */
+    public void setBlameHandler( BlameHandler blameHandler )
+        throws ScmException
+    {
+        getCommandParameters().remove( CommandParameter.BLAME_HANDLER );
+        if ( blameHandler != null )
+        {
+            getCommandParameters().setBlameHandler( CommandParameter.BLAME_HANDLER, blameHandler );
+        }
+    }
+
+    /**
+     * @return the maximum number of files blamed at the same time, <code>0</code> for the default
+     * @since 1.9.5
+     */
+    public int getThreads()
+        throws ScmException
+    {
+        return getCommandParameters().getInt( CommandParameter.BLAME_THREADS, 0 );
+    }
+
+    /**
+     * @param threads the maximum number of files blamed at the same time, <code>0</code> for the
+     *                <code>maven.scm.blame.threads</code> system property or its default
+     * @since 1.9.5
+     */
+    public void setThreads( int threads )
+        throws ScmException
+    {
+        getCommandParameters().remove( CommandParameter.BLAME_THREADS );
+        if ( threads > 0 )
+        {
+            getCommandParameters().setInt( CommandParameter.BLAME_THREADS, threads );
+        }
+    }
 }
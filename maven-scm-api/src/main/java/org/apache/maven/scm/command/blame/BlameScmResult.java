@@ -53,6 +53,9 @@ public BlameScmResult( List<BlameLine> lines, ScmResult scmResult )
         this.lines = lines;
     }
 
+    /**
+     * @return the lines of the file, usually a {@link BlameLines}
+     */
     public List<BlameLine> getLines()
     {
         return lines;
@@ -40,6 +40,8 @@
     extends AbstractCommand
     implements ChangeLogCommand
 {
+    private ChangeSetHandler changeSetHandler;
+
     @Deprecated
     protected abstract ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repository, ScmFileSet fileSet,
                                                                    Date startDate, Date endDate, ScmBranch branch,
@@ -82,6 +84,8 @@ public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fi
 
         String datePattern = parameters.getString( CommandParameter.CHANGELOG_DATE_PATTERN, null );
 
+        changeSetHandler = parameters.getChangeSetHandler( CommandParameter.CHANGESET_HANDLER, null );
+
         if ( startVersion != null || endVersion != null )
         {
             return executeChangeLogCommand( repository, fileSet, startVersion, endVersion, datePattern );
@@ -120,4 +124,14 @@ protected ChangeLogScmResult executeChangeLogCommand( ChangeLogScmRequest reques
     {
         throw new ScmException( "Unsupported method for this provider." );
     }
+
+    /**
+     * @return the handler the change sets must be streamed to, or <code>null</code> if they must be collected in
+     *         the {@link ChangeLogSet} of the result
+     * @since 1.9.5
+     */
+    protected ChangeSetHandler getChangeSetHandler()
+    {
+        return changeSetHandler;
+    }
 }
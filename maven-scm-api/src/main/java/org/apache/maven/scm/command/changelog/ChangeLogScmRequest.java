@@ -58,7 +58,7 @@ public void setScmBranch( ScmBranch scmBranch )
     public Date getStartDate()
         throws ScmException
     {
-        return parameters.getDate( CommandParameter.START_DATE );
+        return parameters.getDate( CommandParameter.START_DATE, null );
     }
 
     /**
@@ -73,7 +73,7 @@ public void setStartDate( Date startDate )
     public Date getEndDate()
         throws ScmException
     {
-        return parameters.getDate( CommandParameter.END_DATE );
+        return parameters.getDate( CommandParameter.END_DATE, null );
     }
 
     /**
@@ -88,7 +88,7 @@ public void setEndDate( Date endDate )
     public int getNumDays()
         throws ScmException
     {
-        return parameters.getInt( CommandParameter.START_DATE );
+        return parameters.getInt( CommandParameter.NUM_DAYS, 0 );
     }
 
     /**
@@ -175,4 +175,28 @@ public void setDateRange( Date startDate, Date endDate )
         setEndDate( endDate );
     }
 
+    /**
+     * @since 1.9.5
+     */
+    public ChangeSetHandler getChangeSetHandler()
+        throws ScmException
+    {
+        return parameters.getChangeSetHandler( CommandParameter.CHANGESET_HANDLER, null );
+    }
+
+    /**
+     * @param changeSetHandler the callback receiving the change sets as they are parsed, instead of collecting
+     *                         them in the returned {@link ChangeLogSet}
+     * @since 1.9.5
+     */
+    public void setChangeSetHandler( ChangeSetHandler changeSetHandler )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.CHANGESET_HANDLER );
+        if ( changeSetHandler != null )
+        {
+            parameters.setChangeSetHandler( CommandParameter.CHANGESET_HANDLER, changeSetHandler );
+        }
+    }
+
 }
@@ -19,7 +19,9 @@
  * under the License.
  */
 
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Date;
 import java.util.List;
 
@@ -147,58 +149,71 @@ public String toXML()
      */
     public String toXML( String encoding )
     {
-        String encodingString = encoding;
-
-        if ( encodingString == null )
-        {
-            encodingString = DEFAULT_ENCODING;
-        }
-
-        StringBuilder buffer = new StringBuilder();
-        String pattern = "yyyyMMdd HH:mm:ss z";
-        SimpleDateFormat formatter = new SimpleDateFormat( pattern );
-
-        buffer.append( "<?xml version=\"1.0\" encoding=\"" + encodingString + "\"?>\n" );
-        buffer.append( "<changeset datePattern=\"" )
-            .append( pattern )
-            .append( "\"" );
-
-        if ( startDate != null )
+        StringWriter writer = new StringWriter();
+        try
         {
-            buffer.append( " start=\"" )
-                .append( formatter.format( getStartDate() ) )
-                .append( "\"" );
+            writeXml( writer, encoding );
         }
-        if ( endDate != null )
+        catch ( IOException e )
         {
-            buffer.append( " end=\"" )
-                .append( formatter.format( getEndDate() ) )
-                .append( "\"" );
+            // a StringWriter doesn't fail
+            throw new IllegalStateException( e );
         }
+        return writer.toString();
+    }
 
-        if ( startVersion != null )
-        {
-            buffer.append( " startVersion=\"" )
-                .append( getStartVersion() )
-                .append( "\"" );
-        }
-        if ( endVersion != null )
-        {
-            buffer.append( " endVersion=\"" )
-                .append( getEndVersion() )
-                .append( "\"" );
-        }
+    /**
+     * Writes the XML representation of this change log set, the same as {@link #toXML(String)}.
+     *
+     * @param writer   the writer
+     * @param encoding the encoding declared by the document, {@link #DEFAULT_ENCODING} if <code>null</code>
+     * @throws IOException if the writer fails
+     * @since 1.9.5
+     */
+    public void writeXml( Writer writer, String encoding )
+        throws IOException
+    {
+        ChangeLogWriter changeLogWriter = new ChangeLogWriter( writer, ChangeLogWriter.Format.XML );
+        changeLogWriter.setEncoding( encoding );
+        write( changeLogWriter );
+    }
 
-        buffer.append( ">\n" );
+    /**
+     * Writes this change log set as a JSON object.
+     *
+     * @param writer the writer
+     * @throws IOException if the writer fails
+     * @see ChangeLogWriter
+     * @since 1.9.5
+     */
+    public void writeJson( Writer writer )
+        throws IOException
+    {
+        write( new ChangeLogWriter( writer, ChangeLogWriter.Format.JSON ) );
+    }
 
-        //  Write out the entries
+    /**
+     * Writes the change sets as newline delimited JSON, one change set per line.
+     *
+     * @param writer the writer
+     * @throws IOException if the writer fails
+     * @see ChangeLogWriter
+     * @since 1.9.5
+     */
+    public void writeNdjson( Writer writer )
+        throws IOException
+    {
+        write( new ChangeLogWriter( writer, ChangeLogWriter.Format.NDJSON ) );
+    }
+
+    private void write( ChangeLogWriter changeLogWriter )
+        throws IOException
+    {
+        changeLogWriter.start( this );
         for ( ChangeSet changeSet : getChangeSets() )
         {
-            buffer.append( changeSet.toXML() );
+            changeLogWriter.write( changeSet );
         }
-
-        buffer.append( "</changeset>\n" );
-
-        return buffer.toString();
+        changeLogWriter.finish();
     }
 }
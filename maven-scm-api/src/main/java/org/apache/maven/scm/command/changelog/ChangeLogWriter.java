@@ -0,0 +1,219 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.util.EscapeUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Writes a changelog as XML, JSON or NDJSON, one change set at a time.
+ * <p/>
+ * Set as the {@link ChangeSetHandler} of a {@link ChangeLogScmRequest}, the change sets are written while the
+ * provider parses them, without holding the changelog in memory:
+ * <pre>
+ * ChangeLogWriter writer = new ChangeLogWriter( out, ChangeLogWriter.Format.NDJSON );
+ * writer.start( null );
+ * scmManager.changeLog( request, writer );
+ * writer.finish();
+ * </pre>
+ * The XML format is the one of {@link ChangeLogSet#toXML()}. JSON is an object with the attributes of the change log
+ * set and a <code>changeSets</code> array, NDJSON has one change set per line without header; the change sets are
+ * written by {@link ChangeSet#writeJson(Writer)}.
+ *
+ * @since 1.9.5
+ */
+public class ChangeLogWriter
+    implements ChangeSetHandler
+{
+    /**
+     * The output formats.
+     */
+    public enum Format
+    {
+        XML, JSON, NDJSON
+    }
+
+    private static final String DATE_PATTERN = "yyyyMMdd HH:mm:ss z";
+
+    private final Writer writer;
+
+    private final Format format;
+
+    private String encoding = ChangeLogSet.DEFAULT_ENCODING;
+
+    private boolean first = true;
+
+    private IOException failure;
+
+    public ChangeLogWriter( Writer writer, Format format )
+    {
+        this.writer = writer;
+        this.format = format;
+    }
+
+    /**
+     * @param encoding the encoding declared by the XML document, {@link ChangeLogSet#DEFAULT_ENCODING} by default
+     */
+    public void setEncoding( String encoding )
+    {
+        this.encoding = encoding == null ? ChangeLogSet.DEFAULT_ENCODING : encoding;
+    }
+
+    /**
+     * Writes the document header.
+     *
+     * @param changeLogSet the change log set providing the dates and versions of the header, may be <code>null</code>
+     * @throws IOException if the writer fails
+     */
+    public void start( ChangeLogSet changeLogSet )
+        throws IOException
+    {
+        Date startDate = changeLogSet == null ? null : changeLogSet.getStartDate();
+        Date endDate = changeLogSet == null ? null : changeLogSet.getEndDate();
+        Object startVersion = changeLogSet == null ? null : changeLogSet.getStartVersion();
+        Object endVersion = changeLogSet == null ? null : changeLogSet.getEndVersion();
+        SimpleDateFormat formatter = new SimpleDateFormat( DATE_PATTERN );
+
+        if ( format == Format.XML )
+        {
+            writer.write( "<?xml version=\"1.0\" encoding=\"" + encoding + "\"?>\n" );
+            writer.write( "<changeset datePattern=\"" + DATE_PATTERN + "\"" );
+            if ( startDate != null )
+            {
+                writer.write( " start=\"" + formatter.format( startDate ) + "\"" );
+            }
+            if ( endDate != null )
+            {
+                writer.write( " end=\"" + formatter.format( endDate ) + "\"" );
+            }
+            if ( startVersion != null )
+            {
+                writer.write( " startVersion=\"" + startVersion + "\"" );
+            }
+            if ( endVersion != null )
+            {
+                writer.write( " endVersion=\"" + endVersion + "\"" );
+            }
+            writer.write( ">\n" );
+        }
+        else if ( format == Format.JSON )
+        {
+            writer.write( "{\"datePattern\":\"" + DATE_PATTERN + "\"" );
+            if ( startDate != null )
+            {
+                writeJsonField( "start", formatter.format( startDate ) );
+            }
+            if ( endDate != null )
+            {
+                writeJsonField( "end", formatter.format( endDate ) );
+            }
+            if ( startVersion != null )
+            {
+                writeJsonField( "startVersion", startVersion.toString() );
+            }
+            if ( endVersion != null )
+            {
+                writeJsonField( "endVersion", endVersion.toString() );
+            }
+            writer.write( ",\"changeSets\":[" );
+        }
+    }
+
+    /**
+     * Writes a change set.
+     *
+     * @param changeSet the change set
+     * @throws IOException if the writer fails
+     */
+    public void write( ChangeSet changeSet )
+        throws IOException
+    {
+        if ( format == Format.XML )
+        {
+            changeSet.writeXml( writer );
+        }
+        else
+        {
+            if ( format == Format.JSON && !first )
+            {
+                writer.write( ',' );
+            }
+            changeSet.writeJson( writer );
+            if ( format == Format.NDJSON )
+            {
+                writer.write( '\n' );
+            }
+        }
+        first = false;
+    }
+
+    /**
+     * Writes a change set, stopping the changelog if the writer fails. The failure is thrown by {@link #finish()}.
+     */
+    public boolean handleChangeSet( ChangeSet changeSet )
+    {
+        try
+        {
+            write( changeSet );
+            return true;
+        }
+        catch ( IOException e )
+        {
+            failure = e;
+            return false;
+        }
+    }
+
+    /**
+     * Writes the end of the document and flushes the writer.
+     *
+     * @throws IOException if the writer failed while handling a change set or fails now
+     */
+    public void finish()
+        throws IOException
+    {
+        if ( failure != null )
+        {
+            throw failure;
+        }
+
+        if ( format == Format.XML )
+        {
+            writer.write( "</changeset>\n" );
+        }
+        else if ( format == Format.JSON )
+        {
+            writer.write( "]}\n" );
+        }
+        writer.flush();
+    }
+
+    private void writeJsonField( String name, String value )
+        throws IOException
+    {
+        writer.write( ",\"" + name + "\":" );
+        EscapeUtils.writeJson( writer, value );
+    }
+}
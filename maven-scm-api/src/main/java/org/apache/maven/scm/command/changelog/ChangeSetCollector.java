@@ -0,0 +1,118 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeSet;
+
+/**
+ * Destination of the change sets built by a changelog consumer: they are either collected in a list or passed
+ * to a {@link ChangeSetHandler}. Once the handler has asked to stop, further change sets are dropped.
+ *
+ * @since 1.9.5
+ */
+public class ChangeSetCollector
+{
+    private final ChangeSetHandler handler;
+
+    private final List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+
+    private boolean stopped;
+
+    /**
+     * The number of change sets passed to the handler by the current output
+     */
+    private int handled;
+
+    /**
+     * The number of change sets of a restarted output which were already passed to the handler
+     */
+    private int skipped;
+
+    public ChangeSetCollector()
+    {
+        this( null );
+    }
+
+    /**
+     * @param handler the handler receiving the change sets, or <code>null</code> to collect them
+     */
+    public ChangeSetCollector( ChangeSetHandler handler )
+    {
+        this.handler = handler;
+    }
+
+    /**
+     * @param changeSet a complete change set
+     */
+    public void add( ChangeSet changeSet )
+    {
+        if ( stopped )
+        {
+            return;
+        }
+
+        if ( handler == null )
+        {
+            changeSets.add( changeSet );
+        }
+        else if ( handled++ >= skipped )
+        {
+            stopped = !handler.handleChangeSet( changeSet );
+        }
+    }
+
+    /**
+     * Starts over with the output of a retried command: the collected change sets are dropped, and the ones already
+     * passed to the handler are skipped as the new output repeats them.
+     */
+    public void restart()
+    {
+        changeSets.clear();
+        skipped = Math.max( skipped, handled );
+        handled = 0;
+    }
+
+    /**
+     * @return <code>true</code> if the handler doesn't want any more change sets
+     */
+    public boolean isStopped()
+    {
+        return stopped;
+    }
+
+    /**
+     * @return <code>true</code> if the change sets are passed to a handler instead of being collected
+     */
+    public boolean isStreaming()
+    {
+        return handler != null;
+    }
+
+    /**
+     * @return the collected change sets, always empty when streaming
+     */
+    public List<ChangeSet> getChangeSets()
+    {
+        return changeSets;
+    }
+}
@@ -0,0 +1,38 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeSet;
+
+/**
+ * Receives the change sets of a changelog command one at a time, as soon as the provider has parsed them.
+ * When a handler is set on the {@link ChangeLogScmRequest}, the change sets are not collected in the
+ * {@link ChangeLogSet} of the result, so the history can be processed without holding it in memory.
+ *
+ * @since 1.9.5
+ */
+public interface ChangeSetHandler
+{
+    /**
+     * @param changeSet a complete change set
+     * @return <code>true</code> to receive the next change set, <code>false</code> to stop
+     */
+    boolean handleChangeSet( ChangeSet changeSet );
+}
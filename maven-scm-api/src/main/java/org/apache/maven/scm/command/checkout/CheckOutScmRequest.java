@@ -0,0 +1,136 @@
+package org.apache.maven.scm.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.repository.ScmRepository;
+
+/**
+ * Parameters of a checkout. Besides the version, a checkout can be restricted to a part of the history and of the
+ * tree, for the builds which only need one revision of a few directories. Providers ignore the restrictions they
+ * don't support, the checkout then being a complete one.
+ *
+ * @since 1.9.5
+ */
+public class CheckOutScmRequest
+    extends ScmRequest
+{
+    private static final long serialVersionUID = 20261017L;
+
+    public CheckOutScmRequest( ScmRepository scmRepository, ScmFileSet scmFileSet )
+    {
+        super( scmRepository, scmFileSet );
+    }
+
+    public ScmVersion getScmVersion()
+        throws ScmException
+    {
+        return parameters.getScmVersion( CommandParameter.SCM_VERSION, null );
+    }
+
+    /**
+     * @param scmVersion the branch/tag/revision to check out
+     */
+    public void setScmVersion( ScmVersion scmVersion )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.SCM_VERSION );
+        parameters.setScmVersion( CommandParameter.SCM_VERSION, scmVersion );
+    }
+
+    public boolean isRecursive()
+        throws ScmException
+    {
+        return parameters.getBoolean( CommandParameter.RECURSIVE, true );
+    }
+
+    /**
+     * @param recursive whether to check out recursively, <code>true</code> by default
+     */
+    public void setRecursive( boolean recursive )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.RECURSIVE );
+        parameters.setString( CommandParameter.RECURSIVE, Boolean.toString( recursive ) );
+    }
+
+    public int getDepth()
+        throws ScmException
+    {
+        return parameters.getInt( CommandParameter.CHECKOUT_DEPTH, 0 );
+    }
+
+    /**
+     * With git, a revision that is neither a branch nor a tag is fetched separately with the same depth; if the
+     * server refuses to serve it by name, as for an abbreviated commit id, the complete history is fetched instead.
+     *
+     * @param depth the number of commits of history to fetch, <code>0</code> for the complete history
+     */
+    public void setDepth( int depth )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.CHECKOUT_DEPTH );
+        if ( depth > 0 )
+        {
+            parameters.setInt( CommandParameter.CHECKOUT_DEPTH, depth );
+        }
+    }
+
+    public String getFilter()
+        throws ScmException
+    {
+        return parameters.getString( CommandParameter.CHECKOUT_FILTER, null );
+    }
+
+    /**
+     * @param filter the objects not to fetch until they are needed, e.g. <code>blob:none</code> for a git partial
+     *               clone; <code>null</code> to fetch everything
+     */
+    public void setFilter( String filter )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.CHECKOUT_FILTER );
+        if ( filter != null )
+        {
+            parameters.setString( CommandParameter.CHECKOUT_FILTER, filter );
+        }
+    }
+
+    public boolean isSparse()
+        throws ScmException
+    {
+        return parameters.getBoolean( CommandParameter.CHECKOUT_SPARSE, false );
+    }
+
+    /**
+     * @param sparse <code>true</code> to only check out the directories of the includes of the file set,
+     *               <code>false</code> to check out the whole tree
+     */
+    public void setSparse( boolean sparse )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.CHECKOUT_SPARSE );
+        parameters.setString( CommandParameter.CHECKOUT_SPARSE, Boolean.toString( sparse ) );
+    }
+}
@@ -27,6 +27,16 @@
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.AbstractCommand;
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.ScmProcessRunner;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
 
 /**
  * TODO: Better support for entire filesets.
@@ -54,6 +64,82 @@ public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fi
 
         ScmVersion endRevision = parameters.getScmVersion( CommandParameter.END_SCM_VERSION, null );
 
-        return executeDiffCommand( repository, fileSet, startRevision, endRevision );
+        OutputStream output = parameters.getOutputStream( CommandParameter.DIFF_OUTPUT, null );
+
+        File outputFile = parameters.getFile( CommandParameter.DIFF_OUTPUT_FILE, null );
+
+        DiffHandler handler = parameters.getDiffHandler( CommandParameter.DIFF_HANDLER, null );
+
+        if ( output == null && outputFile == null && handler == null )
+        {
+            return executeDiffCommand( repository, fileSet, startRevision, endRevision );
+        }
+
+        try
+        {
+            if ( outputFile != null )
+            {
+                output = new BufferedOutputStream( new FileOutputStream( outputFile ), 64 * 1024 );
+            }
+
+            UnifiedDiffConsumer consumer =
+                new UnifiedDiffConsumer( output, ScmProcessRunner.getDefaultCharset(), handler );
+
+            DiffScmResult result = executeDiffCommand( repository, fileSet, startRevision, endRevision, consumer );
+
+            consumer.finish();
+
+            return result;
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Cannot write the diff.", e );
+        }
+        finally
+        {
+            if ( outputFile != null )
+            {
+                IOUtil.close( output );
+            }
+        }
+    }
+
+    /**
+     * Streams the unified patch to a consumer instead of collecting it. The default implementation collects the
+     * diff with {@link #executeDiffCommand(ScmProviderRepository, ScmFileSet, ScmVersion, ScmVersion)} and replays
+     * the patch; providers producing a unified diff override it to feed their output directly.
+     *
+     * @param consumer the consumer writing the patch and calling the {@link DiffHandler}
+     * @return the result, with the changed files but without patch nor differences
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    protected DiffScmResult executeDiffCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                ScmVersion startRevision, ScmVersion endRevision,
+                                                UnifiedDiffConsumer consumer )
+        throws ScmException
+    {
+        DiffScmResult result = executeDiffCommand( repository, fileSet, startRevision, endRevision );
+
+        if ( !result.isSuccess() || result.getPatch() == null )
+        {
+            return result;
+        }
+
+        BufferedReader reader = new BufferedReader( new StringReader( result.getPatch() ) );
+        try
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Cannot read the patch.", e );
+        }
+
+        return new DiffScmResult( consumer.getChangedFiles(), null, null, result );
     }
 }
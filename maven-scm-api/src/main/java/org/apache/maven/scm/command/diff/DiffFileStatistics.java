@@ -0,0 +1,114 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFileStatus;
+
+/**
+ * The changes of one file of a unified diff.
+ *
+ * @since 1.9.5
+ */
+public class DiffFileStatistics
+{
+    private String path;
+
+    private ScmFileStatus status = ScmFileStatus.MODIFIED;
+
+    private boolean binary;
+
+    private int hunks;
+
+    private long linesAdded;
+
+    private long linesRemoved;
+
+    DiffFileStatistics( String path )
+    {
+        this.path = path;
+    }
+
+    /**
+     * @return the path of the file, as written in the patch; the new path of a renamed file
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return {@link ScmFileStatus#ADDED}, {@link ScmFileStatus#DELETED} or {@link ScmFileStatus#MODIFIED}
+     */
+    public ScmFileStatus getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * @return <code>true</code> if the patch has no textual content for the file
+     */
+    public boolean isBinary()
+    {
+        return binary;
+    }
+
+    public int getHunks()
+    {
+        return hunks;
+    }
+
+    public long getLinesAdded()
+    {
+        return linesAdded;
+    }
+
+    public long getLinesRemoved()
+    {
+        return linesRemoved;
+    }
+
+    void setPath( String path )
+    {
+        this.path = path;
+    }
+
+    void setStatus( ScmFileStatus status )
+    {
+        this.status = status;
+    }
+
+    void setBinary( boolean binary )
+    {
+        this.binary = binary;
+    }
+
+    void add( DiffHunk hunk )
+    {
+        hunks++;
+        linesAdded += hunk.getLinesAdded();
+        linesRemoved += hunk.getLinesRemoved();
+    }
+
+    /** {@inheritDoc} */
+    public String toString()
+    {
+        return status + " " + path + " +" + linesAdded + " -" + linesRemoved;
+    }
+}
@@ -0,0 +1,42 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Receives the hunks and the statistics of each file of a diff command while the unified patch is streamed, so
+ * that the diff doesn't have to be held in memory.
+ *
+ * @see DiffScmRequest#setDiffHandler(DiffHandler)
+ * @since 1.9.5
+ */
+public interface DiffHandler
+{
+    /**
+     * @param hunk a complete hunk, with its line counts
+     */
+    void handleHunk( DiffHunk hunk );
+
+    /**
+     * Called once all the hunks of a file have been handled.
+     *
+     * @param file the statistics of the file
+     */
+    void handleFile( DiffFileStatistics file );
+}
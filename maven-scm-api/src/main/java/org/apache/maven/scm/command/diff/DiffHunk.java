@@ -0,0 +1,116 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A hunk of a unified diff: its range in the old and new file and the number of lines added and removed.
+ *
+ * @since 1.9.5
+ */
+public class DiffHunk
+{
+    private final String path;
+
+    private final String header;
+
+    private final int oldStart;
+
+    private final int oldLines;
+
+    private final int newStart;
+
+    private final int newLines;
+
+    private int linesAdded;
+
+    private int linesRemoved;
+
+    public DiffHunk( String path, String header, int oldStart, int oldLines, int newStart, int newLines )
+    {
+        this.path = path;
+        this.header = header;
+        this.oldStart = oldStart;
+        this.oldLines = oldLines;
+        this.newStart = newStart;
+        this.newLines = newLines;
+    }
+
+    /**
+     * @return the path of the file, as written in the patch
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return the <code>@@ -a,b +c,d @@</code> line of the hunk
+     */
+    public String getHeader()
+    {
+        return header;
+    }
+
+    public int getOldStart()
+    {
+        return oldStart;
+    }
+
+    public int getOldLines()
+    {
+        return oldLines;
+    }
+
+    public int getNewStart()
+    {
+        return newStart;
+    }
+
+    public int getNewLines()
+    {
+        return newLines;
+    }
+
+    public int getLinesAdded()
+    {
+        return linesAdded;
+    }
+
+    public int getLinesRemoved()
+    {
+        return linesRemoved;
+    }
+
+    void lineAdded()
+    {
+        linesAdded++;
+    }
+
+    void lineRemoved()
+    {
+        linesRemoved++;
+    }
+
+    /** {@inheritDoc} */
+    public String toString()
+    {
+        return path + " " + header + " +" + linesAdded + " -" + linesRemoved;
+    }
+}
@@ -0,0 +1,136 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.repository.ScmRepository;
+
+import java.io.File;
+import java.io.OutputStream;
+
+/**
+ * Parameters of a diff. When an output or a {@link DiffHandler} is set, the unified patch is streamed to them
+ * instead of being collected in the {@link DiffScmResult}, whose patch and differences are then <code>null</code>.
+ *
+ * @since 1.9.5
+ */
+public class DiffScmRequest
+    extends ScmRequest
+{
+    private static final long serialVersionUID = 20261017L;
+
+    public DiffScmRequest( ScmRepository scmRepository, ScmFileSet scmFileSet )
+    {
+        super( scmRepository, scmFileSet );
+    }
+
+    public ScmVersion getStartVersion()
+        throws ScmException
+    {
+        return parameters.getScmVersion( CommandParameter.START_SCM_VERSION, null );
+    }
+
+    /**
+     * @param startVersion the start branch/tag/revision
+     */
+    public void setStartVersion( ScmVersion startVersion )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.START_SCM_VERSION );
+        parameters.setScmVersion( CommandParameter.START_SCM_VERSION, startVersion );
+    }
+
+    public ScmVersion getEndVersion()
+        throws ScmException
+    {
+        return parameters.getScmVersion( CommandParameter.END_SCM_VERSION, null );
+    }
+
+    /**
+     * @param endVersion the end branch/tag/revision
+     */
+    public void setEndVersion( ScmVersion endVersion )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.END_SCM_VERSION );
+        parameters.setScmVersion( CommandParameter.END_SCM_VERSION, endVersion );
+    }
+
+    public OutputStream getOutputStream()
+        throws ScmException
+    {
+        return parameters.getOutputStream( CommandParameter.DIFF_OUTPUT, null );
+    }
+
+    /**
+     * @param output the stream the unified patch is written to; it is flushed but not closed
+     */
+    public void setOutputStream( OutputStream output )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.DIFF_OUTPUT );
+        if ( output != null )
+        {
+            parameters.setOutputStream( CommandParameter.DIFF_OUTPUT, output );
+        }
+    }
+
+    public File getOutputFile()
+        throws ScmException
+    {
+        return parameters.getFile( CommandParameter.DIFF_OUTPUT_FILE, null );
+    }
+
+    /**
+     * @param outputFile the file the unified patch is written to, instead of the output stream
+     */
+    public void setOutputFile( File outputFile )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.DIFF_OUTPUT_FILE );
+        if ( outputFile != null )
+        {
+            parameters.setFile( CommandParameter.DIFF_OUTPUT_FILE, outputFile );
+        }
+    }
+
+    public DiffHandler getDiffHandler()
+        throws ScmException
+    {
+        return parameters.getDiffHandler( CommandParameter.DIFF_HANDLER, null );
+    }
+
+    /**
+     * @param diffHandler the callback receiving the hunks and the statistics of each file
+     */
+    public void setDiffHandler( DiffHandler diffHandler )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.DIFF_HANDLER );
+        if ( diffHandler != null )
+        {
+            parameters.setDiffHandler( CommandParameter.DIFF_HANDLER, diffHandler );
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a unified diff to an output stream while parsing it, so that only the file being parsed is held in memory.
+ * Each hunk and the statistics of each file are passed to a {@link DiffHandler}.
+ * <p/>
+ * Understands the patches of <code>git diff</code> (<code>diff --git</code> headers), of <code>svn diff</code>
+ * (<code>Index:</code> headers) and plain <code>diff -u</code> output. The patch is either fed line by line through
+ * {@link #consumeLine(String)}, or written as bytes to {@link #getOutputStream()}, which copies them unchanged; the
+ * two must not be mixed. {@link #finish()} must be called at the end.
+ *
+ * @since 1.9.5
+ */
+public class UnifiedDiffConsumer
+    implements StreamConsumer
+{
+    private static final Pattern HUNK_PATTERN = Pattern.compile( "^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@" );
+
+    private static final String DEV_NULL = "/dev/null";
+
+    private final OutputStream out;
+
+    private final Charset charset;
+
+    private final DiffHandler handler;
+
+    private final List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+    private Writer writer;
+
+    private PatchOutputStream patchOutputStream;
+
+    private IOException failure;
+
+    private DiffFileStatistics file;
+
+    private boolean gitFile;
+
+    private boolean inFileHeader;
+
+    private DiffHunk hunk;
+
+    private int oldRemaining;
+
+    private int newRemaining;
+
+    /**
+     * @param out     the stream the patch is written to, <code>null</code> to only parse it
+     * @param charset the encoding of the patch
+     * @param handler the handler receiving the hunks and files, may be <code>null</code>
+     */
+    public UnifiedDiffConsumer( OutputStream out, Charset charset, DiffHandler handler )
+    {
+        this.out = out;
+        this.charset = charset;
+        this.handler = handler;
+    }
+
+    /** {@inheritDoc} */
+    public void consumeLine( String line )
+    {
+        if ( out != null && failure == null )
+        {
+            try
+            {
+                if ( writer == null )
+                {
+                    writer = new BufferedWriter( new OutputStreamWriter( out, charset ), 64 * 1024 );
+                }
+                writer.write( line );
+                writer.write( '\n' );
+            }
+            catch ( IOException e )
+            {
+                // keep parsing so that the process output is drained; reported by finish()
+                failure = e;
+            }
+        }
+
+        parseLine( line );
+    }
+
+    /**
+     * @return a stream copying the bytes of the patch to the output stream and parsing its lines
+     */
+    public OutputStream getOutputStream()
+    {
+        if ( patchOutputStream == null )
+        {
+            patchOutputStream = new PatchOutputStream();
+        }
+        return patchOutputStream;
+    }
+
+    /**
+     * Completes the last file and flushes the output stream. The output stream is not closed.
+     *
+     * @throws IOException if writing the patch failed
+     */
+    public void finish()
+        throws IOException
+    {
+        if ( patchOutputStream != null )
+        {
+            patchOutputStream.endLine( false );
+        }
+
+        finishFile();
+
+        if ( failure != null )
+        {
+            throw failure;
+        }
+        if ( writer != null )
+        {
+            writer.flush();
+        }
+        else if ( out != null )
+        {
+            out.flush();
+        }
+    }
+
+    /**
+     * @return the files of the patch, with their status
+     */
+    public List<ScmFile> getChangedFiles()
+    {
+        return changedFiles;
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    private void parseLine( String line )
+    {
+        if ( hunk != null )
+        {
+            char c = line.length() == 0 ? ' ' : line.charAt( 0 );
+            if ( c == '+' )
+            {
+                hunk.lineAdded();
+                newRemaining--;
+            }
+            else if ( c == '-' )
+            {
+                hunk.lineRemoved();
+                oldRemaining--;
+            }
+            else if ( c != '\\' )
+            {
+                oldRemaining--;
+                newRemaining--;
+            }
+
+            if ( oldRemaining <= 0 && newRemaining <= 0 )
+            {
+                finishHunk();
+            }
+        }
+        else if ( line.startsWith( "diff --git " ) )
+        {
+            finishFile();
+            int index = line.lastIndexOf( " b/" );
+            startFile( index < 0 ? line.substring( 11 ) : line.substring( index + 3 ), true );
+        }
+        else if ( line.startsWith( "Index: " ) )
+        {
+            finishFile();
+            startFile( line.substring( 7 ).trim(), false );
+        }
+        else if ( line.startsWith( "@@ " ) )
+        {
+            startHunk( line );
+        }
+        else if ( line.startsWith( "--- " ) )
+        {
+            if ( file == null || !inFileHeader )
+            {
+                finishFile();
+                startFile( "", false );
+            }
+            String path = line.substring( 4 );
+            if ( isMissing( path ) )
+            {
+                file.setStatus( ScmFileStatus.ADDED );
+            }
+            else if ( file.getPath().length() == 0 )
+            {
+                file.setPath( getPath( path ) );
+            }
+        }
+        else if ( file != null && inFileHeader )
+        {
+            parseFileHeader( line );
+        }
+    }
+
+    private void parseFileHeader( String line )
+    {
+        if ( line.startsWith( "+++ " ) )
+        {
+            String path = line.substring( 4 );
+            if ( isMissing( path ) )
+            {
+                file.setStatus( ScmFileStatus.DELETED );
+            }
+            else
+            {
+                file.setPath( getPath( path ) );
+            }
+        }
+        else if ( line.startsWith( "new file mode" ) )
+        {
+            file.setStatus( ScmFileStatus.ADDED );
+        }
+        else if ( line.startsWith( "deleted file mode" ) )
+        {
+            file.setStatus( ScmFileStatus.DELETED );
+        }
+        else if ( line.startsWith( "rename to " ) )
+        {
+            file.setPath( line.substring( 10 ) );
+        }
+        else if ( line.startsWith( "Binary files " ) || line.startsWith( "GIT binary patch" )
+            || line.startsWith( "Cannot display: file marked as a binary type." ) )
+        {
+            file.setBinary( true );
+        }
+    }
+
+    private static boolean isMissing( String path )
+    {
+        return path.startsWith( DEV_NULL ) || path.endsWith( "(nonexistent)" ) || path.endsWith( "(revision 0)" );
+    }
+
+    private String getPath( String path )
+    {
+        int tab = path.indexOf( '\t' );
+        String name = tab < 0 ? path : path.substring( 0, tab );
+        if ( gitFile && ( name.startsWith( "a/" ) || name.startsWith( "b/" ) ) )
+        {
+            name = name.substring( 2 );
+        }
+        return name;
+    }
+
+    private void startFile( String path, boolean git )
+    {
+        file = new DiffFileStatistics( path );
+        gitFile = git;
+        inFileHeader = true;
+    }
+
+    private void startHunk( String line )
+    {
+        Matcher matcher = HUNK_PATTERN.matcher( line );
+        if ( !matcher.find() )
+        {
+            return;
+        }
+        if ( file == null )
+        {
+            startFile( "", false );
+        }
+
+        int oldStart = Integer.parseInt( matcher.group( 1 ) );
+        int oldLines = matcher.group( 2 ) == null ? 1 : Integer.parseInt( matcher.group( 2 ) );
+        int newStart = Integer.parseInt( matcher.group( 3 ) );
+        int newLines = matcher.group( 4 ) == null ? 1 : Integer.parseInt( matcher.group( 4 ) );
+
+        hunk = new DiffHunk( file.getPath(), line, oldStart, oldLines, newStart, newLines );
+        oldRemaining = oldLines;
+        newRemaining = newLines;
+        inFileHeader = false;
+
+        if ( oldLines == 0 && newLines == 0 )
+        {
+            finishHunk();
+        }
+    }
+
+    private void finishHunk()
+    {
+        file.add( hunk );
+        if ( handler != null )
+        {
+            handler.handleHunk( hunk );
+        }
+        hunk = null;
+    }
+
+    private void finishFile()
+    {
+        if ( hunk != null )
+        {
+            // truncated patch
+            finishHunk();
+        }
+        if ( file != null )
+        {
+            if ( handler != null )
+            {
+                handler.handleFile( file );
+            }
+            changedFiles.add( new ScmFile( file.getPath(), file.getStatus() ) );
+            file = null;
+        }
+    }
+
+    /**
+     * Copies the bytes to the output stream and parses the complete lines.
+     */
+    private class PatchOutputStream
+        extends OutputStream
+    {
+        private byte[] line = new byte[256];
+
+        private int length;
+
+        public void write( int b )
+            throws IOException
+        {
+            if ( out != null )
+            {
+                out.write( b );
+            }
+            if ( b == '\n' )
+            {
+                endLine( true );
+            }
+            else
+            {
+                append( new byte[]{ (byte) b }, 0, 1 );
+            }
+        }
+
+        public void write( byte[] b, int off, int len )
+            throws IOException
+        {
+            if ( out != null )
+            {
+                out.write( b, off, len );
+            }
+            int start = off;
+            int end = off + len;
+            for ( int i = off; i < end; i++ )
+            {
+                if ( b[i] == '\n' )
+                {
+                    append( b, start, i - start );
+                    endLine( true );
+                    start = i + 1;
+                }
+            }
+            append( b, start, end - start );
+        }
+
+        public void flush()
+            throws IOException
+        {
+            if ( out != null )
+            {
+                out.flush();
+            }
+        }
+
+        void endLine( boolean complete )
+        {
+            if ( complete || length > 0 )
+            {
+                parseLine( charset.decode( ByteBuffer.wrap( line, 0, length ) ).toString() );
+                length = 0;
+            }
+        }
+
+        private void append( byte[] b, int off, int len )
+        {
+            if ( length + len > line.length )
+            {
+                byte[] grown = new byte[Math.max( line.length * 2, length + len )];
+                System.arraycopy( line, 0, grown, 0, length );
+                line = grown;
+            }
+            System.arraycopy( b, off, line, length, len );
+            length += len;
+        }
+    }
+}
@@ -23,16 +23,21 @@
 import org.apache.maven.scm.ScmBranchParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
 import org.apache.maven.scm.ScmTagParameters;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.add.AddScmResult;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameScmRequest;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -54,6 +59,7 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +80,9 @@
 
     private Map<String, String> userProviderTypes = new HashMap<String, String>();
 
+    private Map<String, Integer> maxConcurrentRequests =
+        Collections.synchronizedMap( new HashMap<String, Integer>() );
+
     protected void setScmProviders( Map<String, ScmProvider> providers )
     {
         this.scmProviders = providers;
@@ -99,6 +108,20 @@ public void setScmProvider( String providerType, ScmProvider provider )
         scmProviders.put( providerType, provider );
     }
 
+    /**
+     * Limits the number of requests of a type of SCM running at the same time in a batch, see
+     * {@link #executeAll(List, ScmRequestCommand)}. Without it the system property
+     * <code>maven.scm.provider.&lt;type&gt;.max_concurrency</code> is used, if set.
+     *
+     * @param providerType the type of SCM, eg. <code>svn</code>, <code>cvs</code>
+     * @param max          the maximum number of requests, <code>0</code> for no limit
+     * @since 1.9.5
+     */
+    public void setMaxConcurrentRequests( String providerType, int max )
+    {
+        maxConcurrentRequests.put( providerType, Integer.valueOf( max ) );
+    }
+
     protected abstract ScmLogger getScmLogger();
 
     // ----------------------------------------------------------------------
@@ -393,6 +416,16 @@ public ChangeLogScmResult changeLog( ChangeLogScmRequest scmRequest )
         return this.getProviderByRepository( scmRequest.getScmRepository() ).changeLog( scmRequest );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public ChangeLogScmResult changeLog( ChangeLogScmRequest scmRequest, ChangeSetHandler handler )
+        throws ScmException
+    {
+        scmRequest.setChangeSetHandler( handler );
+        return changeLog( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -469,6 +502,15 @@ public CheckOutScmResult checkOut( ScmRepository repository, ScmFileSet fileSet,
         return this.getProviderByRepository( repository ).checkOut( repository, fileSet, version, recursive );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public CheckOutScmResult checkOut( CheckOutScmRequest scmRequest )
+        throws ScmException
+    {
+        return this.getProviderByRepository( scmRequest.getScmRepository() ).checkOut( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -479,6 +521,15 @@ public DiffScmResult diff( ScmRepository repository, ScmFileSet fileSet, ScmVers
         return this.getProviderByRepository( repository ).diff( repository, fileSet, startVersion, endVersion );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff( DiffScmRequest scmRequest )
+        throws ScmException
+    {
+        return this.getProviderByRepository( scmRequest.getScmRepository() ).diff( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -699,4 +750,50 @@ public BlameScmResult blame( BlameScmRequest blameScmRequest )
     {
         return this.getProviderByRepository( blameScmRequest.getScmRepository() ).blame( blameScmRequest );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BlameScmResult blame( ScmRepository repository, ScmFileSet fileSet, BlameHandler handler )
+        throws ScmException
+    {
+        BlameScmRequest request = new BlameScmRequest( repository, fileSet );
+        request.setBlameHandler( handler );
+
+        return blame( request );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The number of threads is set by the system property <code>maven.scm.batch.threads</code>, 8 by default.
+     */
+    public ScmBatch executeAll( List<? extends ScmRequest> requests, ScmRequestCommand command )
+    {
+        ScmBatch batch = new ScmBatch( this, requests, command, Integer.getInteger( "maven.scm.batch.threads", 8 ) );
+
+        for ( ScmRequest request : requests )
+        {
+            if ( request.getScmRepository() == null )
+            {
+                continue;
+            }
+
+            String providerType = request.getScmRepository().getProvider();
+
+            Integer max = maxConcurrentRequests.get( providerType );
+
+            if ( max == null )
+            {
+                max = Integer.getInteger( "maven.scm.provider." + providerType + ".max_concurrency" );
+            }
+
+            if ( max != null )
+            {
+                batch.setMaxConcurrentRequests( providerType, max.intValue() );
+            }
+        }
+
+        return batch.start();
+    }
 }
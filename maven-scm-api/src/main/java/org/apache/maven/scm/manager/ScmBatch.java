@@ -0,0 +1,359 @@
+package org.apache.maven.scm.manager;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a command on a list of requests concurrently and hands out the outcomes in the order the requests complete.
+ * <p/>
+ * The number of requests running at the same time can be limited per provider type with
+ * {@link #setMaxConcurrentRequests(String, int)}, e.g. to not open too many connections to the same server. A request
+ * waiting for its provider doesn't hold a thread: it is started when another request of the same provider completes.
+ * <p/>
+ * Typical usage:
+ * <pre>
+ * for ( ScmBatchResult result : scmManager.executeAll( requests, ScmRequestCommands.UPDATE ) )
+ * {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 1.9.5
+ */
+public class ScmBatch
+    implements Iterable<ScmBatchResult>
+{
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ScmManager scmManager;
+
+    private final List<ScmRequest> requests;
+
+    private final ScmRequestCommand command;
+
+    private final int threads;
+
+    private final Map<String, Integer> maxConcurrentRequests = new HashMap<String, Integer>();
+
+    private final Map<String, LinkedList<ScmRequest>> pendingRequests = new HashMap<String, LinkedList<ScmRequest>>();
+
+    private final Map<String, Integer> runningRequests = new HashMap<String, Integer>();
+
+    private final BlockingQueue<ScmBatchResult> completedRequests = new LinkedBlockingQueue<ScmBatchResult>();
+
+    private ExecutorService executor;
+
+    private int remaining;
+
+    private int taken;
+
+    /**
+     * @param scmManager the manager used to look up the provider of each request
+     * @param requests   the requests to run
+     * @param command    the command to run on every request
+     * @param threads    the maximum number of requests running at the same time
+     */
+    public ScmBatch( ScmManager scmManager, List<? extends ScmRequest> requests, ScmRequestCommand command,
+                     int threads )
+    {
+        if ( threads < 1 )
+        {
+            throw new IllegalArgumentException( "The number of threads must be positive." );
+        }
+
+        this.scmManager = scmManager;
+        this.requests = new ArrayList<ScmRequest>( requests );
+        this.command = command;
+        this.threads = threads;
+    }
+
+    /**
+     * Limits the number of requests of a provider type running at the same time.
+     *
+     * @param providerType the type of SCM, eg. <code>svn</code>, <code>git</code>
+     * @param max          the maximum number of requests, <code>0</code> for no limit but the number of threads
+     */
+    public synchronized void setMaxConcurrentRequests( String providerType, int max )
+    {
+        if ( executor != null )
+        {
+            throw new IllegalStateException( "The batch is already started." );
+        }
+
+        maxConcurrentRequests.put( providerType, Integer.valueOf( max ) );
+    }
+
+    /**
+     * Starts running the requests. Does nothing if the batch is already started.
+     *
+     * @return this batch
+     */
+    public synchronized ScmBatch start()
+    {
+        if ( executor != null )
+        {
+            return this;
+        }
+
+        executor = Executors.newFixedThreadPool( Math.max( 1, Math.min( threads, requests.size() ) ),
+                                                 new BatchThreadFactory() );
+        remaining = requests.size();
+
+        for ( ScmRequest request : requests )
+        {
+            String providerType = getProviderType( request );
+
+            LinkedList<ScmRequest> pending = pendingRequests.get( providerType );
+
+            if ( pending == null )
+            {
+                pending = new LinkedList<ScmRequest>();
+                pendingRequests.put( providerType, pending );
+                runningRequests.put( providerType, Integer.valueOf( 0 ) );
+            }
+
+            pending.add( request );
+        }
+
+        for ( String providerType : pendingRequests.keySet() )
+        {
+            dispatch( providerType );
+        }
+
+        if ( remaining == 0 )
+        {
+            executor.shutdown();
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the number of requests of this batch
+     */
+    public int size()
+    {
+        return requests.size();
+    }
+
+    /**
+     * Waits for the next request to complete. Starts the batch if needed.
+     *
+     * @return the outcome of the request, <code>null</code> if all the outcomes were already taken
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public ScmBatchResult take()
+        throws InterruptedException
+    {
+        start();
+
+        synchronized ( this )
+        {
+            if ( taken == requests.size() )
+            {
+                return null;
+            }
+            taken++;
+        }
+
+        return completedRequests.take();
+    }
+
+    /**
+     * Waits for all the requests to complete.
+     *
+     * @return the outcomes not taken yet, in completion order
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public List<ScmBatchResult> awaitAll()
+        throws InterruptedException
+    {
+        List<ScmBatchResult> results = new ArrayList<ScmBatchResult>();
+
+        for ( ScmBatchResult result = take(); result != null; result = take() )
+        {
+            results.add( result );
+        }
+
+        return results;
+    }
+
+    /**
+     * The iterator blocks until the next request completes; an interruption while waiting is rethrown as an
+     * {@link IllegalStateException} with the interrupt status of the thread set.
+     */
+    public Iterator<ScmBatchResult> iterator()
+    {
+        start();
+
+        return new Iterator<ScmBatchResult>()
+        {
+            public boolean hasNext()
+            {
+                synchronized ( ScmBatch.this )
+                {
+                    return taken < requests.size();
+                }
+            }
+
+            public ScmBatchResult next()
+            {
+                try
+                {
+                    ScmBatchResult result = take();
+
+                    if ( result == null )
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    return result;
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+
+                    throw new IllegalStateException( "Interrupted while waiting for the next result." );
+                }
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static String getProviderType( ScmRequest request )
+    {
+        return request.getScmRepository() == null ? null : request.getScmRepository().getProvider();
+    }
+
+    /**
+     * Submits the pending requests of a provider type, as long as its limit isn't reached.
+     */
+    private void dispatch( String providerType )
+    {
+        LinkedList<ScmRequest> pending = pendingRequests.get( providerType );
+
+        Integer max = maxConcurrentRequests.get( providerType );
+
+        int running = runningRequests.get( providerType ).intValue();
+
+        while ( !pending.isEmpty() && ( max == null || max.intValue() <= 0 || running < max.intValue() ) )
+        {
+            executor.execute( new RequestTask( providerType, pending.removeFirst() ) );
+
+            running++;
+        }
+
+        runningRequests.put( providerType, Integer.valueOf( running ) );
+    }
+
+    private synchronized void completed( String providerType, ScmBatchResult result )
+    {
+        completedRequests.add( result );
+
+        runningRequests.put( providerType,
+                             Integer.valueOf( runningRequests.get( providerType ).intValue() - 1 ) );
+
+        dispatch( providerType );
+
+        if ( --remaining == 0 )
+        {
+            executor.shutdown();
+        }
+    }
+
+    private class RequestTask
+        implements Runnable
+    {
+        private final String providerType;
+
+        private final ScmRequest request;
+
+        RequestTask( String providerType, ScmRequest request )
+        {
+            this.providerType = providerType;
+            this.request = request;
+        }
+
+        public void run()
+        {
+            ScmBatchResult result = null;
+
+            try
+            {
+                if ( request.getScmRepository() == null )
+                {
+                    throw new ScmException( "The request has no repository." );
+                }
+
+                ScmProvider provider = scmManager.getProviderByRepository( request.getScmRepository() );
+
+                ScmResult scmResult = command.execute( provider, request );
+
+                result = new ScmBatchResult( request, scmResult, null );
+            }
+            catch ( Exception e )
+            {
+                result = new ScmBatchResult( request, null, e );
+            }
+            finally
+            {
+                if ( result == null )
+                {
+                    result = new ScmBatchResult( request, null, new ScmException( "The command didn't complete." ) );
+                }
+
+                completed( providerType, result );
+            }
+        }
+    }
+
+    private static class BatchThreadFactory
+        implements ThreadFactory
+    {
+        public Thread newThread( Runnable runnable )
+        {
+            Thread thread = new Thread( runnable, "scm-batch-" + THREAD_COUNT.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    }
+}
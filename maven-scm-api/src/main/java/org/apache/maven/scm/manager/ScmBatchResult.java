@@ -0,0 +1,73 @@
+package org.apache.maven.scm.manager;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmResult;
+
+/**
+ * The outcome of one request of a {@link ScmBatch}: either the result of the command or the exception it threw.
+ *
+ * @since 1.9.5
+ */
+public class ScmBatchResult
+{
+    private final ScmRequest request;
+
+    private final ScmResult result;
+
+    private final Exception exception;
+
+    public ScmBatchResult( ScmRequest request, ScmResult result, Exception exception )
+    {
+        this.request = request;
+        this.result = result;
+        this.exception = exception;
+    }
+
+    public ScmRequest getRequest()
+    {
+        return request;
+    }
+
+    /**
+     * @return the result of the command, <code>null</code> if it threw an exception
+     */
+    public ScmResult getResult()
+    {
+        return result;
+    }
+
+    /**
+     * @return the exception thrown by the command or by the provider lookup, <code>null</code> if it returned
+     */
+    public Exception getException()
+    {
+        return exception;
+    }
+
+    /**
+     * @return <code>true</code> if the command returned a successful result
+     */
+    public boolean isSuccess()
+    {
+        return exception == null && result != null && result.isSuccess();
+    }
+}
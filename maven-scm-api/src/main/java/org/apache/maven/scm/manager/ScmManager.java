@@ -23,14 +23,19 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.ScmRequest;
 import org.apache.maven.scm.command.add.AddScmResult;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameScmRequest;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -227,6 +232,20 @@ ChangeLogScmResult changeLog( ScmRepository repository, ScmFileSet fileSet, Date
     ChangeLogScmResult changeLog( ChangeLogScmRequest scmRequest )
         throws ScmException;
 
+    /**
+     * Streams the changes that have happend in the source control system to a handler, one change set at a time.
+     * The change sets are not collected in the {@link org.apache.maven.scm.command.changelog.ChangeLogSet} of the
+     * result, so arbitrarily long histories can be processed in constant memory.
+     *
+     * @param scmRequest request wrapping detailed parameters for the changelog command
+     * @param handler    the callback receiving the change sets; it can stop the processing by returning false
+     * @return The SCM result of the changelog command, with an empty change set list
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    ChangeLogScmResult changeLog( ChangeLogScmRequest scmRequest, ChangeSetHandler handler )
+        throws ScmException;
+
     /**
      * Returns the changes that have happend in the source control system between two tags. This can be adding,
      * removing, updating, ... of files
@@ -346,6 +365,18 @@ CheckOutScmResult checkOut( ScmRepository scmRepository, ScmFileSet scmFileSet,
                                 boolean recursive )
         throws ScmException;
 
+    /**
+     * Create a copy of the repository on your local machine, possibly limited to a part of the history or of the
+     * tree, e.g. a shallow, partial or sparse git clone.
+     *
+     * @param scmRequest request wrapping detailed parameters for the checkout command
+     * @return the result of the checkout command
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    CheckOutScmResult checkOut( CheckOutScmRequest scmRequest )
+        throws ScmException;
+
     /**
      * Create a diff between two branch/tag/revision.
      *
@@ -360,6 +391,20 @@ DiffScmResult diff( ScmRepository scmRepository, ScmFileSet scmFileSet, ScmVersi
                         ScmVersion endVersion )
         throws ScmException;
 
+    /**
+     * Create a diff between two branch/tag/revision. If the request has an output stream, an output file or a
+     * {@link org.apache.maven.scm.command.diff.DiffHandler}, the unified patch is streamed to them along with the
+     * hunks and per-file statistics, and is not collected in the result, so diffs of any size can be processed in
+     * constant memory.
+     *
+     * @param scmRequest request wrapping detailed parameters for the diff command
+     * @return the result of the diff command; without patch nor differences when streamed
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    DiffScmResult diff( DiffScmRequest scmRequest )
+        throws ScmException;
+
     /**
      * Make a file editable. This is used in source control systems where you look at read-only files and you need to
      * make them not read-only anymore before you can edit them. This can also mean that no other user in the system can
@@ -658,4 +703,32 @@ BlameScmResult blame( ScmRepository repository, ScmFileSet fileSet, String filen
      */
     BlameScmResult blame( BlameScmRequest blameScmRequest )
         throws ScmException;
+
+    /**
+     * Blames every file of the file set, several files at the same time, and hands the blame of each one to the
+     * handler as soon as it is complete. Providers whose tool can share work between the files, like a single
+     * repository session or a single history query, do so. The number of files blamed at the same time is read
+     * from the <code>maven.scm.blame.threads</code> system property, or can be set with
+     * {@link BlameScmRequest#setThreads(int)}.
+     *
+     * @param repository the source control system
+     * @param fileSet    location of your local copy and the files to blame
+     * @param handler    the callback receiving the blame of each file
+     * @return a result without lines, successful if every file has been blamed
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    BlameScmResult blame( ScmRepository repository, ScmFileSet fileSet, BlameHandler handler )
+        throws ScmException;
+
+    /**
+     * Runs a command on many requests concurrently, e.g. to update all the working copies of a multi-repository
+     * project. The requests can target different providers.
+     *
+     * @param requests the requests to run
+     * @param command  the command to run on every request, see {@link ScmRequestCommands}
+     * @return the started batch, which hands out the outcomes in the order the requests complete
+     * @since 1.9.5
+     */
+    ScmBatch executeAll( List<? extends ScmRequest> requests, ScmRequestCommand command );
 }
@@ -0,0 +1,45 @@
+package org.apache.maven.scm.manager;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
+
+/**
+ * The command run on every request of a batch, see {@link ScmManager#executeAll(java.util.List, ScmRequestCommand)}.
+ * Common commands are available in {@link ScmRequestCommands}.
+ * <p/>
+ * Implementations are called concurrently and must be thread safe.
+ *
+ * @since 1.9.5
+ */
+public interface ScmRequestCommand
+{
+    /**
+     * @param provider the provider of the repository of the request
+     * @param request  the request to run
+     * @return the result of the command
+     * @throws ScmException if any
+     */
+    ScmResult execute( ScmProvider provider, ScmRequest request )
+        throws ScmException;
+}
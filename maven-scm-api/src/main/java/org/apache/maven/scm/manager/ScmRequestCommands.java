@@ -0,0 +1,114 @@
+package org.apache.maven.scm.manager;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.blame.BlameScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
+import org.apache.maven.scm.provider.ScmProvider;
+
+/**
+ * The {@link ScmRequestCommand}s for the commands which are usually run on many repositories at once.
+ *
+ * @since 1.9.5
+ */
+public final class ScmRequestCommands
+{
+    /**
+     * Runs the checkout of a {@link CheckOutScmRequest}.
+     */
+    public static final ScmRequestCommand CHECK_OUT = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.checkOut( (CheckOutScmRequest) request );
+        }
+    };
+
+    /**
+     * Updates the working copy of the request.
+     */
+    public static final ScmRequestCommand UPDATE = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.update( request.getScmRepository(), request.getScmFileSet() );
+        }
+    };
+
+    /**
+     * Reports the status of the working copy of the request.
+     */
+    public static final ScmRequestCommand STATUS = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.status( request.getScmRepository(), request.getScmFileSet() );
+        }
+    };
+
+    /**
+     * Reports the revision information of the working copy of the request.
+     */
+    public static final ScmRequestCommand INFO = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.info( request.getScmRepository().getProviderRepository(), request.getScmFileSet(),
+                                  request.getCommandParameters() );
+        }
+    };
+
+    /**
+     * Runs the changelog of a {@link ChangeLogScmRequest}.
+     */
+    public static final ScmRequestCommand CHANGE_LOG = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.changeLog( (ChangeLogScmRequest) request );
+        }
+    };
+
+    /**
+     * Runs the blame of a {@link BlameScmRequest}.
+     */
+    public static final ScmRequestCommand BLAME = new ScmRequestCommand()
+    {
+        public ScmResult execute( ScmProvider provider, ScmRequest request )
+            throws ScmException
+        {
+            return provider.blame( (BlameScmRequest) request );
+        }
+    };
+
+    private ScmRequestCommands()
+    {
+        // no op
+    }
+}
@@ -0,0 +1,136 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a {@link ScmCommandStatisticsMBean} per provider and command, registered on first use under
+ * <code>org.apache.maven.scm:type=CommandStatistics,provider=&lt;provider&gt;,command=&lt;command&gt;</code>.
+ * <p/>
+ * Enable it with <code>-Dmaven.scm.metrics.observers=org.apache.maven.scm.metrics.JmxScmCommandObserver</code> or
+ * register an instance with {@link ScmMetrics#addObserver(ScmCommandObserver)}.
+ *
+ * @since 1.9.5
+ */
+public class JmxScmCommandObserver
+    implements ScmCommandObserver
+{
+    public static final String DOMAIN = "org.apache.maven.scm";
+
+    private final MBeanServer server;
+
+    private final ConcurrentMap<String, ScmCommandStatistics> statistics =
+        new ConcurrentHashMap<String, ScmCommandStatistics>();
+
+    /**
+     * Publishes the statistics on the platform MBean server.
+     */
+    public JmxScmCommandObserver()
+    {
+        this( ManagementFactory.getPlatformMBeanServer() );
+    }
+
+    public JmxScmCommandObserver( MBeanServer server )
+    {
+        this.server = server;
+    }
+
+    /** {@inheritDoc} */
+    public void commandStarted( ScmCommandMetrics metrics )
+    {
+        // only completed commands are accounted
+    }
+
+    /** {@inheritDoc} */
+    public void commandFinished( ScmCommandMetrics metrics )
+    {
+        getStatistics( metrics.getProvider(), metrics.getCommand() ).add( metrics );
+    }
+
+    /**
+     * @return the statistics of a command, registered with the MBean server if they didn't exist yet
+     */
+    public ScmCommandStatistics getStatistics( String provider, String command )
+    {
+        String key = provider + '/' + command;
+        ScmCommandStatistics commandStatistics = statistics.get( key );
+        if ( commandStatistics == null )
+        {
+            ScmCommandStatistics created = new ScmCommandStatistics( provider, command );
+            commandStatistics = statistics.putIfAbsent( key, created );
+            if ( commandStatistics == null )
+            {
+                commandStatistics = created;
+                try
+                {
+                    server.registerMBean( created, getObjectName( provider, command ) );
+                }
+                catch ( JMException e )
+                {
+                    // keep counting, the statistics just aren't visible through JMX
+                }
+            }
+        }
+        return commandStatistics;
+    }
+
+    /**
+     * @return the statistics of all commands run so far
+     */
+    public Collection<ScmCommandStatistics> getStatistics()
+    {
+        return statistics.values();
+    }
+
+    /**
+     * Unregisters all statistics from the MBean server.
+     */
+    public void unregister()
+    {
+        for ( ScmCommandStatistics commandStatistics : statistics.values() )
+        {
+            try
+            {
+                server.unregisterMBean(
+                    getObjectName( commandStatistics.getProvider(), commandStatistics.getCommand() ) );
+            }
+            catch ( JMException e )
+            {
+                // already gone
+            }
+        }
+        statistics.clear();
+    }
+
+    public static ObjectName getObjectName( String provider, String command )
+        throws JMException
+    {
+        return new ObjectName( DOMAIN + ":type=CommandStatistics,provider=" + ObjectName.quote( provider )
+            + ",command=" + ObjectName.quote( command ) );
+    }
+}
@@ -0,0 +1,99 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.util.InputStreamConsumer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes an input stream consumer reads from the standard output of a process and the time it takes to
+ * handle them, which is the time it runs minus the time it waits for the process.
+ */
+class MeteredInputStreamConsumer
+    implements InputStreamConsumer
+{
+    private final InputStreamConsumer consumer;
+
+    private final ScmCommandMetrics metrics;
+
+    MeteredInputStreamConsumer( InputStreamConsumer consumer, ScmCommandMetrics metrics )
+    {
+        this.consumer = consumer;
+        this.metrics = metrics;
+    }
+
+    /** {@inheritDoc} */
+    public void consume( InputStream output )
+        throws IOException
+    {
+        MeteredInputStream input = new MeteredInputStream( output );
+        long start = System.nanoTime();
+        try
+        {
+            consumer.consume( input );
+        }
+        finally
+        {
+            metrics.outputConsumed( 0, System.nanoTime() - start - input.readNanos );
+        }
+    }
+
+    private final class MeteredInputStream
+        extends FilterInputStream
+    {
+        private long readNanos;
+
+        MeteredInputStream( InputStream input )
+        {
+            super( input );
+        }
+
+        /** {@inheritDoc} */
+        public int read()
+            throws IOException
+        {
+            long start = System.nanoTime();
+            int b = in.read();
+            readNanos += System.nanoTime() - start;
+            if ( b != -1 )
+            {
+                metrics.outputConsumed( 1, 0 );
+            }
+            return b;
+        }
+
+        /** {@inheritDoc} */
+        public int read( byte[] b, int off, int len )
+            throws IOException
+        {
+            long start = System.nanoTime();
+            int n = in.read( b, off, len );
+            readNanos += System.nanoTime() - start;
+            if ( n > 0 )
+            {
+                metrics.outputConsumed( n, 0 );
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes written to the standard output stream of a process and the time the stream takes to handle them.
+ */
+class MeteredOutputStream
+    extends FilterOutputStream
+{
+    private final ScmCommandMetrics metrics;
+
+    MeteredOutputStream( OutputStream output, ScmCommandMetrics metrics )
+    {
+        super( output );
+        this.metrics = metrics;
+    }
+
+    /** {@inheritDoc} */
+    public void write( int b )
+        throws IOException
+    {
+        write( new byte[] { (byte) b }, 0, 1 );
+    }
+
+    /** {@inheritDoc} */
+    public void write( byte[] b, int off, int len )
+        throws IOException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            out.write( b, off, len );
+        }
+        finally
+        {
+            metrics.outputConsumed( len, System.nanoTime() - start );
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * Counts the lines and characters going through a stream consumer and the time the consumer takes to handle them.
+ */
+class MeteredStreamConsumer
+    implements StreamConsumer
+{
+    private final StreamConsumer consumer;
+
+    private final ScmCommandMetrics metrics;
+
+    private final boolean stdout;
+
+    MeteredStreamConsumer( StreamConsumer consumer, ScmCommandMetrics metrics, boolean stdout )
+    {
+        this.consumer = consumer;
+        this.metrics = metrics;
+        this.stdout = stdout;
+    }
+
+    /** {@inheritDoc} */
+    public void consumeLine( String line )
+    {
+        long start = System.nanoTime();
+        try
+        {
+            consumer.consumeLine( line );
+        }
+        finally
+        {
+            metrics.lineConsumed( line.length() + 1, stdout, System.nanoTime() - start );
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What one SCM command spent its time on: wall time, the processes it spawned and the output it read back.
+ * <p/>
+ * Output sizes are counted in characters as handed to the stream consumers, each line plus its terminator, which is
+ * the size in bytes for ASCII output. The parse time is the time spent in the consumers, i.e. in the provider code
+ * turning the output lines into results.
+ *
+ * @since 1.9.5
+ */
+public class ScmCommandMetrics
+{
+    private final String provider;
+
+    private final String command;
+
+    private final long startTime;
+
+    private final long startNanos;
+
+    private volatile long wallTimeNanos = -1;
+
+    private volatile boolean success;
+
+    private final AtomicInteger processes = new AtomicInteger();
+
+    private final AtomicLong spawnNanos = new AtomicLong();
+
+    private final AtomicLong stdoutChars = new AtomicLong();
+
+    private final AtomicLong stderrChars = new AtomicLong();
+
+    private final AtomicLong lines = new AtomicLong();
+
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    /** The metrics of the command this one is nested in, restored when this command finishes. */
+    ScmCommandMetrics parent;
+
+    public ScmCommandMetrics( String provider, String command )
+    {
+        this.provider = provider;
+        this.command = command;
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the provider running the command, e.g. <code>gitexe</code>, <code>jgit</code> or <code>svnexe</code>
+     */
+    public String getProvider()
+    {
+        return provider;
+    }
+
+    /**
+     * @return the command name, e.g. <code>changelog</code> or <code>status</code>
+     */
+    public String getCommand()
+    {
+        return command;
+    }
+
+    /**
+     * @return the time the command started, in milliseconds since the epoch
+     */
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * @return the wall time of the command in nanoseconds, or -1 while it is still running
+     */
+    public long getWallTimeNanos()
+    {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return <code>true</code> if the command returned a successful result
+     */
+    public boolean isSuccess()
+    {
+        return success;
+    }
+
+    /**
+     * @return the number of processes the command spawned
+     */
+    public int getProcesses()
+    {
+        return processes.get();
+    }
+
+    /**
+     * @return the time spent starting processes, in nanoseconds
+     */
+    public long getSpawnNanos()
+    {
+        return spawnNanos.get();
+    }
+
+    /**
+     * @return the number of characters read from the standard output of the processes, counting bytes for the
+     *         outputs copied as is
+     */
+    public long getStdoutChars()
+    {
+        return stdoutChars.get();
+    }
+
+    /**
+     * @return the number of characters read from the standard error of the processes
+     */
+    public long getStderrChars()
+    {
+        return stderrChars.get();
+    }
+
+    /**
+     * @return the number of lines handed to the stream consumers
+     */
+    public long getLines()
+    {
+        return lines.get();
+    }
+
+    /**
+     * @return the time spent in the stream consumers, in nanoseconds
+     */
+    public long getParseNanos()
+    {
+        return parseNanos.get();
+    }
+
+    /**
+     * Accounts a process to the command.
+     *
+     * @param nanos the time it took to start the process
+     */
+    public void processStarted( long nanos )
+    {
+        processes.incrementAndGet();
+        spawnNanos.addAndGet( nanos );
+    }
+
+    void lineConsumed( int chars, boolean stdout, long nanos )
+    {
+        lines.incrementAndGet();
+        ( stdout ? stdoutChars : stderrChars ).addAndGet( chars );
+        parseNanos.addAndGet( nanos );
+    }
+
+    void outputConsumed( int bytes, long nanos )
+    {
+        stdoutChars.addAndGet( bytes );
+        parseNanos.addAndGet( nanos );
+    }
+
+    void finished( boolean success )
+    {
+        this.success = success;
+        this.wallTimeNanos = System.nanoTime() - startNanos;
+    }
+
+    /** {@inheritDoc} */
+    public String toString()
+    {
+        return provider + " " + command + ": wall=" + wallTimeNanos / 1000000 + "ms, processes=" + processes
+            + ", spawn=" + spawnNanos.get() / 1000000 + "ms, stdout=" + stdoutChars + ", stderr=" + stderrChars
+            + ", lines=" + lines + ", parse=" + parseNanos.get() / 1000000 + "ms, success=" + success;
+    }
+}
@@ -0,0 +1,46 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Gets notified of every SCM command run through {@link org.apache.maven.scm.command.AbstractCommand}.
+ * <p/>
+ * Observers are registered with {@link ScmMetrics#addObserver(ScmCommandObserver)} or listed in the
+ * {@value ScmMetrics#OBSERVERS_PROPERTY} system property. Both callbacks are invoked on the thread running the
+ * command, so they should be cheap and must not block.
+ *
+ * @since 1.9.5
+ */
+public interface ScmCommandObserver
+{
+    /**
+     * Called before the command starts. Only the provider, command and start time of the metrics are set.
+     *
+     * @param metrics the metrics of the command, the same instance is passed to {@link #commandFinished}
+     */
+    void commandStarted( ScmCommandMetrics metrics );
+
+    /**
+     * Called once the command has completed, successfully or not.
+     *
+     * @param metrics the metrics of the command
+     */
+    void commandFinished( ScmCommandMetrics metrics );
+}
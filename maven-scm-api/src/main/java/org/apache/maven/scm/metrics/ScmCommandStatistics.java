@@ -0,0 +1,176 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums up the {@link ScmCommandMetrics} of the runs of one command of one provider.
+ *
+ * @since 1.9.5
+ */
+public class ScmCommandStatistics
+    implements ScmCommandStatisticsMBean
+{
+    private final String provider;
+
+    private final String command;
+
+    private long invocations;
+
+    private long failures;
+
+    private long totalWallNanos;
+
+    private long maxWallNanos;
+
+    private long processes;
+
+    private long spawnNanos;
+
+    private long stdoutChars;
+
+    private long stderrChars;
+
+    private long lines;
+
+    private long parseNanos;
+
+    public ScmCommandStatistics( String provider, String command )
+    {
+        this.provider = provider;
+        this.command = command;
+    }
+
+    public synchronized void add( ScmCommandMetrics metrics )
+    {
+        invocations++;
+        if ( !metrics.isSuccess() )
+        {
+            failures++;
+        }
+        totalWallNanos += metrics.getWallTimeNanos();
+        maxWallNanos = Math.max( maxWallNanos, metrics.getWallTimeNanos() );
+        processes += metrics.getProcesses();
+        spawnNanos += metrics.getSpawnNanos();
+        stdoutChars += metrics.getStdoutChars();
+        stderrChars += metrics.getStderrChars();
+        lines += metrics.getLines();
+        parseNanos += metrics.getParseNanos();
+    }
+
+    /** {@inheritDoc} */
+    public String getProvider()
+    {
+        return provider;
+    }
+
+    /** {@inheritDoc} */
+    public String getCommand()
+    {
+        return command;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getInvocations()
+    {
+        return invocations;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getFailures()
+    {
+        return failures;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getTotalWallTime()
+    {
+        return toMillis( totalWallNanos );
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getMaxWallTime()
+    {
+        return toMillis( maxWallNanos );
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getMeanWallTime()
+    {
+        return invocations == 0 ? 0 : toMillis( totalWallNanos / invocations );
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getProcesses()
+    {
+        return processes;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getTotalSpawnTime()
+    {
+        return toMillis( spawnNanos );
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getStdoutChars()
+    {
+        return stdoutChars;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getStderrChars()
+    {
+        return stderrChars;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getLines()
+    {
+        return lines;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized long getTotalParseTime()
+    {
+        return toMillis( parseNanos );
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void reset()
+    {
+        invocations = 0;
+        failures = 0;
+        totalWallNanos = 0;
+        maxWallNanos = 0;
+        processes = 0;
+        spawnNanos = 0;
+        stdoutChars = 0;
+        stderrChars = 0;
+        lines = 0;
+        parseNanos = 0;
+    }
+
+    private static long toMillis( long nanos )
+    {
+        return TimeUnit.NANOSECONDS.toMillis( nanos );
+    }
+}
@@ -0,0 +1,259 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Entry point of the command metrics: holds the registered {@link ScmCommandObserver}s and tracks the command running
+ * on the current thread, to which {@link org.apache.maven.scm.util.ScmProcessRunner} accounts the processes it runs.
+ * <p/>
+ * As long as no observer is registered nothing is measured: {@link #commandStarted(String, String)} returns
+ * <code>null</code> and the processes run without metered consumers.
+ *
+ * @since 1.9.5
+ */
+public final class ScmMetrics
+{
+    /**
+     * System property listing the class names of the observers to register, separated by commas. The classes need
+     * a public no-argument constructor, the ones which can't be instantiated are skipped with a warning.
+     */
+    public static final String OBSERVERS_PROPERTY = "maven.scm.metrics.observers";
+
+    private static final List<ScmCommandObserver> OBSERVERS = new CopyOnWriteArrayList<ScmCommandObserver>();
+
+    private static final ThreadLocal<ScmCommandMetrics> CURRENT = new ThreadLocal<ScmCommandMetrics>();
+
+    /**
+     * The errors of the observers of {@link #OBSERVERS_PROPERTY} which were skipped, until a command logs them.
+     */
+    private static volatile List<String> skippedObservers = addObservers( System.getProperty( OBSERVERS_PROPERTY ) );
+
+    private ScmMetrics()
+    {
+        // no op
+    }
+
+    /**
+     * Registers the observers listed like in {@link #OBSERVERS_PROPERTY}. An invalid observer must not break the
+     * commands, so the classes which can't be instantiated are skipped.
+     *
+     * @param classNames the class names separated by commas, can be <code>null</code>
+     * @return the errors of the skipped classes
+     */
+    static List<String> addObservers( String classNames )
+    {
+        List<String> errors = new ArrayList<String>();
+        if ( StringUtils.isNotBlank( classNames ) )
+        {
+            for ( String className : StringUtils.split( classNames, ", " ) )
+            {
+                try
+                {
+                    Class<?> observerClass = Class.forName( className, true, ScmMetrics.class.getClassLoader() );
+                    addObserver( (ScmCommandObserver) observerClass.newInstance() );
+                }
+                catch ( Exception e )
+                {
+                    errors.add( "Ignoring the observer " + className + " of " + OBSERVERS_PROPERTY + ": " + e );
+                }
+                catch ( LinkageError e )
+                {
+                    errors.add( "Ignoring the observer " + className + " of " + OBSERVERS_PROPERTY + ": " + e );
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Logs the observers of {@link #OBSERVERS_PROPERTY} which were skipped. There is no logger when the class is
+     * loaded, so the first command reports them.
+     *
+     * @param logger the logger of the command, can be <code>null</code>
+     */
+    public static void logSkippedObservers( ScmLogger logger )
+    {
+        if ( skippedObservers == null || logger == null )
+        {
+            return;
+        }
+
+        List<String> errors;
+        synchronized ( ScmMetrics.class )
+        {
+            errors = skippedObservers;
+            skippedObservers = null;
+        }
+
+        if ( errors != null && logger.isWarnEnabled() )
+        {
+            for ( String error : errors )
+            {
+                logger.warn( error );
+            }
+        }
+    }
+
+    public static void addObserver( ScmCommandObserver observer )
+    {
+        OBSERVERS.add( observer );
+    }
+
+    public static void removeObserver( ScmCommandObserver observer )
+    {
+        OBSERVERS.remove( observer );
+    }
+
+    /**
+     * @return <code>true</code> if at least one observer is registered
+     */
+    public static boolean isEnabled()
+    {
+        return !OBSERVERS.isEmpty();
+    }
+
+    /**
+     * @return the metrics of the command running on the current thread, or <code>null</code> if there is none or
+     *         no observer is registered
+     */
+    public static ScmCommandMetrics current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts measuring a command on the current thread. Commands may nest, the processes run in between are
+     * accounted to the innermost one.
+     *
+     * @param provider the provider running the command
+     * @param command  the command name
+     * @return the metrics to pass to {@link #commandFinished(ScmCommandMetrics, boolean)}, or <code>null</code> if
+     *         no observer is registered
+     */
+    public static ScmCommandMetrics commandStarted( String provider, String command )
+    {
+        if ( OBSERVERS.isEmpty() )
+        {
+            return null;
+        }
+
+        ScmCommandMetrics metrics = new ScmCommandMetrics( provider, command );
+        metrics.parent = CURRENT.get();
+        CURRENT.set( metrics );
+
+        for ( ScmCommandObserver observer : OBSERVERS )
+        {
+            try
+            {
+                observer.commandStarted( metrics );
+            }
+            catch ( RuntimeException e )
+            {
+                // an observer must not break the command
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Ends the command started with {@link #commandStarted(String, String)} and notifies the observers.
+     *
+     * @param metrics the metrics of the command, ignored if <code>null</code>
+     * @param success whether the command returned a successful result
+     */
+    public static void commandFinished( ScmCommandMetrics metrics, boolean success )
+    {
+        if ( metrics == null )
+        {
+            return;
+        }
+
+        metrics.finished( success );
+        if ( metrics.parent != null )
+        {
+            CURRENT.set( metrics.parent );
+        }
+        else
+        {
+            CURRENT.remove();
+        }
+
+        for ( ScmCommandObserver observer : OBSERVERS )
+        {
+            try
+            {
+                observer.commandFinished( metrics );
+            }
+            catch ( RuntimeException e )
+            {
+                // an observer must not break the command
+            }
+        }
+    }
+
+    /**
+     * Wraps a stream consumer to account the lines it consumes, and the time it takes, to a command.
+     *
+     * @param metrics  the metrics of the command
+     * @param consumer the consumer of a process output, may be <code>null</code>
+     * @param stdout   <code>true</code> for the standard output, <code>false</code> for the standard error
+     * @return the wrapped consumer, or <code>null</code> if the consumer is <code>null</code>
+     */
+    public static StreamConsumer meter( ScmCommandMetrics metrics, StreamConsumer consumer, boolean stdout )
+    {
+        return consumer == null ? null : new MeteredStreamConsumer( consumer, metrics, stdout );
+    }
+
+    /**
+     * Wraps the stream the standard output of a process is copied to, to account the bytes it receives, and the time
+     * it takes, to a command.
+     *
+     * @param metrics the metrics of the command
+     * @param output  the stream receiving the output of a process
+     * @return the wrapped stream
+     */
+    public static OutputStream meter( ScmCommandMetrics metrics, OutputStream output )
+    {
+        return new MeteredOutputStream( output, metrics );
+    }
+
+    /**
+     * Wraps the consumer reading the standard output of a process as a stream, to account the bytes it reads, and
+     * the time it takes, to a command.
+     *
+     * @param metrics  the metrics of the command
+     * @param consumer the consumer of the output of a process
+     * @return the wrapped consumer
+     */
+    public static InputStreamConsumer meter( ScmCommandMetrics metrics, InputStreamConsumer consumer )
+    {
+        return new MeteredInputStreamConsumer( consumer, metrics );
+    }
+}
@@ -33,10 +33,13 @@
 import org.apache.maven.scm.command.blame.BlameScmRequest;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.command.branch.BranchScmResult;
+import org.apache.maven.scm.command.changelog.ChangeLogCache;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -73,6 +76,8 @@
 {
     private ScmLogDispatcher logDispatcher = new ScmLogDispatcher();
 
+    private ChangeLogCache changeLogCache;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -292,7 +297,50 @@ public ChangeLogScmResult changeLog( ChangeLogScmRequest request )
         final ScmRepository scmRepository = request.getScmRepository();
         final ScmFileSet scmFileSet = request.getScmFileSet();
         login( scmRepository, scmFileSet );
-        return changelog( scmRepository.getProviderRepository(), scmFileSet, request.getCommandParameters() );
+
+        ChangeLogCache cache = getChangeLogCache();
+        if ( cache == null )
+        {
+            return changelog( scmRepository.getProviderRepository(), scmFileSet, request.getCommandParameters() );
+        }
+
+        return cache.changeLog( request, new ChangeLogCache.ChangeLogSource()
+        {
+            public ChangeLogScmResult changeLog( ChangeLogScmRequest query )
+                throws ScmException
+            {
+                return changelog( query.getScmRepository().getProviderRepository(), query.getScmFileSet(),
+                                  query.getCommandParameters() );
+            }
+        } );
+    }
+
+    /**
+     * Enables the changelog cache of {@link #changeLog(ChangeLogScmRequest)}.
+     *
+     * @param changeLogCache the cache, <code>null</code> to only use the cache set by the system property
+     *                       {@link ChangeLogCache#DIRECTORY_PROPERTY}
+     * @since 1.9.5
+     */
+    public void setChangeLogCache( ChangeLogCache changeLogCache )
+    {
+        this.changeLogCache = changeLogCache;
+    }
+
+    /**
+     * @return the changelog cache, <code>null</code> if the cache isn't enabled
+     * @since 1.9.5
+     */
+    protected ChangeLogCache getChangeLogCache()
+    {
+        if ( changeLogCache != null )
+        {
+            return changeLogCache;
+        }
+
+        String directory = System.getProperty( ChangeLogCache.DIRECTORY_PROPERTY );
+
+        return StringUtils.isEmpty( directory ) ? null : new ChangeLogCache( new File( directory ), getLogger() );
     }
 
 
@@ -497,6 +545,18 @@ public CheckOutScmResult checkOut( ScmRepository repository, ScmFileSet fileSet,
         return checkout( repository.getProviderRepository(), fileSet, parameters );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public CheckOutScmResult checkOut( CheckOutScmRequest request )
+        throws ScmException
+    {
+        login( request.getScmRepository(), request.getScmFileSet() );
+
+        return checkout( request.getScmRepository().getProviderRepository(), request.getScmFileSet(),
+                         request.getCommandParameters() );
+    }
+
     protected CheckOutScmResult checkout( ScmProviderRepository repository, ScmFileSet fileSet,
                                           CommandParameters parameters )
         throws ScmException
@@ -546,6 +606,18 @@ public DiffScmResult diff( ScmRepository repository, ScmFileSet fileSet, ScmVers
         return diff( repository.getProviderRepository(), fileSet, parameters );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff( DiffScmRequest request )
+        throws ScmException
+    {
+        login( request.getScmRepository(), request.getScmFileSet() );
+
+        return diff( request.getScmRepository().getProviderRepository(), request.getScmFileSet(),
+                     request.getCommandParameters() );
+    }
+
     protected DiffScmResult diff( ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters )
         throws ScmException
     {
@@ -33,7 +33,9 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -492,6 +494,18 @@ CheckOutScmResult checkOut( ScmRepository scmRepository, ScmFileSet scmFileSet,
                                 boolean recursive )
         throws ScmException;
 
+    /**
+     * Create a copy of the repository on your local machine, limited to the history and the directories asked by
+     * the request when the provider supports it.
+     *
+     * @param scmRequest request wrapping detailed parameters for the checkout command
+     * @return the result of the checkout command
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    CheckOutScmResult checkOut( CheckOutScmRequest scmRequest )
+        throws ScmException;
+
     /**
      * Create a diff between two branch/tag/revision.
      *
@@ -521,6 +535,18 @@ DiffScmResult diff( ScmRepository scmRepository, ScmFileSet scmFileSet, ScmVersi
                         ScmVersion endVersion )
         throws ScmException;
 
+    /**
+     * Create a diff between two branch/tag/revision, streaming the patch if the request has an output or a
+     * {@link org.apache.maven.scm.command.diff.DiffHandler}.
+     *
+     * @param scmRequest request wrapping detailed parameters for the diff command
+     * @return the result of the diff command
+     * @throws ScmException if any
+     * @since 1.9.5
+     */
+    DiffScmResult diff( DiffScmRequest scmRequest )
+        throws ScmException;
+
     /**
      * Create an exported copy of the repository on your local machine
      *
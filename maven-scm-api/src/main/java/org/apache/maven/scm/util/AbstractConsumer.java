@@ -25,7 +25,6 @@
 
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
@@ -75,53 +74,39 @@ protected Date parseDate( String date, String userPattern, String defaultPattern
      */
     protected Date parseDate( String date, String userPattern, String defaultPattern, Locale locale )
     {
-        DateFormat format;
+        String patternUsed;
+        Date result;
 
-        String patternUsed = null;
-        
         if ( StringUtils.isNotEmpty( userPattern ) )
         {
-            format = new SimpleDateFormat( userPattern );
             patternUsed = userPattern;
+            result = DateParser.parse( date, userPattern, null );
+        }
+        else if ( StringUtils.isNotEmpty( defaultPattern ) )
+        {
+            patternUsed = defaultPattern;
+            result = DateParser.parse( date, defaultPattern, locale );
         }
         else
         {
-            if ( StringUtils.isNotEmpty( defaultPattern ) )
+            // Use the English short date pattern if no pattern is specified
+            patternUsed = " DateFormat.SHORT ";
+            try
             {
-                if ( locale != null )
-                {
-                    format = new SimpleDateFormat( defaultPattern, locale );
-                }
-                else
-                {
-                    format = new SimpleDateFormat( defaultPattern );
-                }
-                patternUsed = defaultPattern;
+                result = DateFormat.getDateInstance( DateFormat.SHORT, Locale.ENGLISH ).parse( date );
             }
-            else
+            catch ( ParseException e )
             {
-                // Use the English short date pattern if no pattern is specified
-                format = DateFormat.getDateInstance( DateFormat.SHORT, Locale.ENGLISH );
-                
-                patternUsed = " DateFormat.SHORT ";
+                result = null;
             }
         }
 
-        try
+        if ( result == null && getLogger() != null && getLogger().isWarnEnabled() )
         {
-            return format.parse( date );
+            getLogger().warn( "skip unparseable date " + date + " with pattern " + patternUsed + " with Locale "
+                                  + ( locale == null ? Locale.ENGLISH : locale ) );
         }
-        catch ( ParseException e )
-        {
-            if ( getLogger() != null && getLogger().isWarnEnabled() )
-            {
-                getLogger().warn(
-                                   "skip ParseException: " + e.getMessage() + " during parsing date " + date
-                                       + " with pattern " + patternUsed + " with Locale "
-                                       + ( locale == null ? Locale.ENGLISH : locale ), e );
-            }
 
-            return null;
-        }
+        return result;
     }
 }
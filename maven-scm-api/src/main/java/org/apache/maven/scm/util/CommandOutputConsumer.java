@@ -0,0 +1,323 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedList;
+import java.util.Locale;
+
+/**
+ * A {@link CommandLineUtils.StringStreamConsumer} keeping the output according to a {@link Retention} policy instead
+ * of always holding all of it in memory.
+ * <p/>
+ * The default policy and size limit come from the {@value #RETENTION_PROPERTY} (<code>none</code>,
+ * <code>bounded</code>, <code>spill</code> or <code>full</code>, <code>full</code> by default) and
+ * {@value #LIMIT_PROPERTY} (in characters, 1M by default) system properties. Output below the limit is kept as is
+ * by all policies except {@link Retention#NONE}. The output which is parsed or returned in a result must be kept in
+ * full: the other policies are only chosen by the commands which log the output or drop it.
+ * <p/>
+ * A spilled output is written to a temporary file until {@link #close()}, and kept there until {@link #getOutput()}
+ * reads it back in memory or {@link #dispose()} drops it; both delete the file.
+ *
+ * @since 1.9.5
+ */
+public class CommandOutputConsumer
+    extends CommandLineUtils.StringStreamConsumer
+{
+    /**
+     * What to keep of the output.
+     */
+    public enum Retention
+    {
+        /** Nothing: {@link CommandOutputConsumer#getOutput()} returns an empty string. */
+        NONE,
+
+        /** The first and last lines up to half the limit each, the lines in between being counted only. */
+        BOUNDED,
+
+        /** Everything, the output being moved to a temporary file once it exceeds the limit, until it is read. */
+        SPILL,
+
+        /** Everything in memory, like {@link CommandLineUtils.StringStreamConsumer}. */
+        FULL
+    }
+
+    public static final String RETENTION_PROPERTY = "maven.scm.output.retention";
+
+    public static final String LIMIT_PROPERTY = "maven.scm.output.limit";
+
+    private static final int DEFAULT_LIMIT = 1024 * 1024;
+
+    private static final String LS = System.getProperty( "line.separator" );
+
+    private final Retention retention;
+
+    private final int limit;
+
+    private final StringBuilder head = new StringBuilder();
+
+    private final LinkedList<String> tail = new LinkedList<String>();
+
+    private int tailSize;
+
+    private long omittedLines;
+
+    private long lineCount;
+
+    private boolean bounded;
+
+    private File spillFile;
+
+    private Writer spill;
+
+    /**
+     * Keeps the output according to the {@value #RETENTION_PROPERTY} and {@value #LIMIT_PROPERTY} system
+     * properties.
+     */
+    public CommandOutputConsumer()
+    {
+        this( getDefaultRetention() );
+    }
+
+    public CommandOutputConsumer( Retention retention )
+    {
+        this( retention, Integer.getInteger( LIMIT_PROPERTY, DEFAULT_LIMIT ).intValue() );
+    }
+
+    /**
+     * @param retention what to keep of the output
+     * @param limit     the number of characters kept in memory
+     */
+    public CommandOutputConsumer( Retention retention, int limit )
+    {
+        this.retention = retention;
+        this.limit = Math.max( limit, 2 );
+        this.bounded = retention == Retention.BOUNDED;
+    }
+
+    /**
+     * @return the retention of the {@value #RETENTION_PROPERTY} system property, {@link Retention#FULL} if unset
+     */
+    public static Retention getDefaultRetention()
+    {
+        String retention = System.getProperty( RETENTION_PROPERTY );
+        return retention == null ? Retention.FULL : Retention.valueOf( retention.toUpperCase( Locale.ENGLISH ) );
+    }
+
+    public Retention getRetention()
+    {
+        return retention;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void consumeLine( String line )
+    {
+        lineCount++;
+
+        if ( retention == Retention.NONE )
+        {
+            return;
+        }
+
+        if ( retention == Retention.SPILL && spill == null && !bounded
+            && head.length() + line.length() + LS.length() > limit )
+        {
+            startSpill();
+        }
+
+        if ( spill != null )
+        {
+            writeSpill( line );
+        }
+        else if ( spillFile != null )
+        {
+            // after close()
+            omittedLines++;
+        }
+        else if ( bounded )
+        {
+            keepBounded( line );
+        }
+        else
+        {
+            head.append( line ).append( LS );
+        }
+    }
+
+    /**
+     * @return the number of lines consumed, including the ones not kept
+     */
+    public synchronized long getLineCount()
+    {
+        return lineCount;
+    }
+
+    /**
+     * @return the number of lines left out of {@link #getOutput()}
+     */
+    public synchronized long getOmittedLines()
+    {
+        return omittedLines;
+    }
+
+    /**
+     * @return the output kept; for {@link Retention#BOUNDED}, a line stating how many lines were omitted separates
+     *         the first lines from the last ones
+     */
+    public synchronized String getOutput()
+    {
+        if ( spillFile != null )
+        {
+            // read the file once, the output stays in memory from now on
+            close();
+            try
+            {
+                head.append( FileUtils.fileRead( spillFile, "UTF-8" ) );
+            }
+            catch ( IOException e )
+            {
+                head.append( "[... output lost: " ).append( e.getMessage() ).append( " ...]" ).append( LS );
+            }
+            spillFile.delete();
+            spillFile = null;
+        }
+
+        if ( tail.isEmpty() )
+        {
+            return head.toString();
+        }
+
+        StringBuilder output = new StringBuilder( head.length() + tailSize + 40 );
+        output.append( head );
+        if ( omittedLines > 0 )
+        {
+            output.append( "[... " ).append( omittedLines ).append( " lines omitted ...]" ).append( LS );
+        }
+        for ( String line : tail )
+        {
+            output.append( line ).append( LS );
+        }
+        return output.toString();
+    }
+
+    /**
+     * Ends the output: closes the temporary file of a spilled output, which stays readable by {@link #getOutput()}.
+     * The lines consumed afterwards are omitted.
+     */
+    public synchronized void close()
+    {
+        if ( spill != null )
+        {
+            try
+            {
+                spill.close();
+            }
+            catch ( IOException e )
+            {
+                omittedLines++;
+            }
+            spill = null;
+        }
+    }
+
+    /**
+     * Releases the temporary file of a spilled output. {@link #getOutput()} returns an empty string afterwards.
+     */
+    public synchronized void dispose()
+    {
+        close();
+        if ( spillFile != null )
+        {
+            spillFile.delete();
+            spillFile = null;
+        }
+        head.setLength( 0 );
+        tail.clear();
+        tailSize = 0;
+    }
+
+    private void keepBounded( String line )
+    {
+        int half = limit / 2;
+        if ( tail.isEmpty() && head.length() + line.length() + LS.length() <= half )
+        {
+            head.append( line ).append( LS );
+            return;
+        }
+
+        if ( line.length() > half )
+        {
+            line = line.substring( 0, half );
+        }
+        tail.addLast( line );
+        tailSize += line.length() + LS.length();
+
+        while ( tailSize > limit - half && tail.size() > 1 )
+        {
+            tailSize -= tail.removeFirst().length() + LS.length();
+            omittedLines++;
+        }
+    }
+
+    private void startSpill()
+    {
+        try
+        {
+            spillFile = File.createTempFile( "maven-scm-output", ".txt" );
+            spill = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( spillFile ), "UTF-8" ) );
+            spill.write( head.toString() );
+            head.setLength( 0 );
+        }
+        catch ( IOException e )
+        {
+            // keep what fits in memory
+            IOUtil.close( spill );
+            spill = null;
+            if ( spillFile != null )
+            {
+                spillFile.delete();
+                spillFile = null;
+            }
+            bounded = true;
+        }
+    }
+
+    private void writeSpill( String line )
+    {
+        try
+        {
+            spill.write( line );
+            spill.write( LS );
+        }
+        catch ( IOException e )
+        {
+            omittedLines++;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Date parsing for the SCM output consumers, which parse a date per changelog entry or blame line.
+ * <p/>
+ * The fixed numeric layouts the providers emit (<code>yyyy-MM-dd HH:mm:ss Z</code> for git and hg,
+ * <code>yyyy-MM-dd HH:mm:ss zzzzzzzzz</code> with a <code>GMT+hh:mm</code> zone for svn,
+ * <code>yyyy/MM/dd HH:mm:ss</code> for p4 and cvs...) are decoded by hand without going through a
+ * <code>DateFormat</code>. Any other pattern, or any input which does not exactly fit the layout, is parsed by a
+ * <code>SimpleDateFormat</code> cached per thread, pattern and locale, so the result is always the one
+ * <code>new SimpleDateFormat( pattern, locale ).parse( date )</code> would give.
+ *
+ * @since 1.9.5
+ */
+public final class DateParser
+{
+    /**
+     * Bound of the per thread format cache, user supplied patterns should not make it grow forever.
+     */
+    private static final int MAX_CACHED_FORMATS = 32;
+
+    /**
+     * Returned by the fast path when the input is not in the expected layout and the formatter has to decide.
+     */
+    private static final Date NOT_HANDLED = new Date( 0 );
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final ThreadLocal<Map<String, Map<Locale, SimpleDateFormat>>> FORMATS =
+        new ThreadLocal<Map<String, Map<Locale, SimpleDateFormat>>>()
+        {
+            protected Map<String, Map<Locale, SimpleDateFormat>> initialValue()
+            {
+                return new HashMap<String, Map<Locale, SimpleDateFormat>>();
+            }
+        };
+
+    private static final ThreadLocal<Calendar> CALENDAR = new ThreadLocal<Calendar>()
+    {
+        protected Calendar initialValue()
+        {
+            return new GregorianCalendar();
+        }
+    };
+
+    private DateParser()
+    {
+        // no op
+    }
+
+    /**
+     * Parses a date the way <code>new SimpleDateFormat( pattern, locale ).parse( date )</code> does.
+     *
+     * @param date    the text to parse
+     * @param pattern a {@link SimpleDateFormat} pattern
+     * @param locale  the locale of the pattern, <code>null</code> for the default locale
+     * @return the parsed date or <code>null</code> if the text does not match the pattern
+     */
+    public static Date parse( String date, String pattern, Locale locale )
+    {
+        if ( date == null )
+        {
+            return null;
+        }
+
+        Locale effectiveLocale = locale != null ? locale : Locale.getDefault();
+
+        Date result = isGregorian( effectiveLocale ) ? parseFixedLayout( date, pattern ) : NOT_HANDLED;
+        if ( result != NOT_HANDLED )
+        {
+            return result;
+        }
+
+        SimpleDateFormat format = getFormat( pattern, effectiveLocale );
+        // parsing a zone may leave it on the calendar of the format, and the default zone may have changed
+        format.setTimeZone( TimeZone.getDefault() );
+        ParsePosition position = new ParsePosition( 0 );
+        result = format.parse( date, position );
+        return position.getIndex() == 0 ? null : result;
+    }
+
+    /**
+     * Parses a number of seconds since the epoch, as printed by <code>git log --format=raw</code> or
+     * <code>git blame --porcelain</code>.
+     *
+     * @param seconds the number of seconds since the epoch
+     * @return the date
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Date parseEpochSeconds( String seconds )
+    {
+        return new Date( Long.parseLong( seconds ) * 1000L );
+    }
+
+    /**
+     * Parses an ISO 8601 timestamp, <code>yyyy-MM-ddTHH:mm:ss[.fraction]</code> followed by <code>Z</code> or a
+     * <code>+hh:mm</code> offset, as printed by <code>svn log --xml</code>. The fraction is truncated to the
+     * millisecond.
+     *
+     * @param date the timestamp
+     * @return the date or <code>null</code> if the text is not in this layout
+     */
+    public static Date parseIso8601( String date )
+    {
+        int length = date.length();
+        if ( length < 20 || date.charAt( 4 ) != '-' || date.charAt( 7 ) != '-' || date.charAt( 10 ) != 'T'
+            || date.charAt( 13 ) != ':' || date.charAt( 16 ) != ':' )
+        {
+            return null;
+        }
+
+        int year = digits( date, 0, 4 );
+        int month = digits( date, 5, 2 );
+        int day = digits( date, 8, 2 );
+        int hour = digits( date, 11, 2 );
+        int minute = digits( date, 14, 2 );
+        int second = digits( date, 17, 2 );
+        if ( year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth( year, month ) || hour < 0
+            || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 )
+        {
+            return null;
+        }
+
+        int index = 19;
+        int millis = 0;
+        if ( date.charAt( index ) == '.' )
+        {
+            int scale = 100;
+            for ( index++; index < length && date.charAt( index ) >= '0' && date.charAt( index ) <= '9'; index++ )
+            {
+                millis += ( date.charAt( index ) - '0' ) * scale;
+                scale /= 10;
+            }
+        }
+
+        int offset;
+        if ( index == length - 1 && date.charAt( index ) == 'Z' )
+        {
+            offset = 0;
+        }
+        else if ( index == length - 6 && date.charAt( index + 3 ) == ':'
+            || index == length - 5 && date.charAt( index + 3 ) != ':' )
+        {
+            char sign = date.charAt( index );
+            int hours = digits( date, index + 1, 2 );
+            int minutes = digits( date, length - 2, 2 );
+            if ( sign != '+' && sign != '-' || hours < 0 || hours > 23 || minutes < 0 || minutes > 59 )
+            {
+                return null;
+            }
+            offset = sign == '-' ? -( hours * 60 + minutes ) : hours * 60 + minutes;
+        }
+        else
+        {
+            return null;
+        }
+
+        return new Date( daysFromCivil( year, month, day ) * MILLIS_PER_DAY
+            + ( ( hour * 60L + minute ) * 60L + second ) * 1000L + millis - offset * 60000L );
+    }
+
+    // ----------------------------------------------------------------------
+    // fixed layouts
+    // ----------------------------------------------------------------------
+
+    private static Date parseFixedLayout( String date, String pattern )
+    {
+        // for parsing, 'Z' also accepts general zones and 'z' also accepts RFC 822 ones
+        if ( "yyyy-MM-dd HH:mm:ss Z".equals( pattern ) || "yyyy-MM-dd HH:mm:ss zzzzzzzzz".equals( pattern )
+            || "yyyy-MM-dd HH:mm:ss z".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '-', true, true );
+        }
+        if ( "yyyy/MM/dd HH:mm:ss z".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '/', true, true );
+        }
+        if ( "yyyy-MM-dd HH:mm:ss".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '-', true, false );
+        }
+        if ( "yyyy/MM/dd HH:mm:ss".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '/', true, false );
+        }
+        if ( "yyyy-MM-dd".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '-', false, false );
+        }
+        if ( "yyyy/MM/dd".equals( pattern ) )
+        {
+            return parseFixedLayout( date, '/', false, false );
+        }
+        return NOT_HANDLED;
+    }
+
+    /**
+     * Decodes <code>yyyy?MM?dd[ HH:mm:ss][ zone]</code>, the zone being <code>+hhmm</code> or
+     * <code>GMT+hh:mm</code>. Only inputs made exactly of this layout with in range
+     * fields are decoded, anything else is left to the formatter so that lenient parsing keeps its semantic.
+     */
+    private static Date parseFixedLayout( String s, char separator, boolean time, boolean zoned )
+    {
+        int length = s.length();
+        int dateTimeLength = time ? 19 : 10;
+        if ( length < 10 )
+        {
+            return NOT_HANDLED;
+        }
+
+        int year = digits( s, 0, 4 );
+        if ( year < 0 )
+        {
+            return NOT_HANDLED;
+        }
+        if ( s.charAt( 4 ) != separator )
+        {
+            // a year followed by the other separator can't match, spare the formatter
+            char other = separator == '-' ? '/' : '-';
+            return s.charAt( 4 ) == other ? null : NOT_HANDLED;
+        }
+        int month = digits( s, 5, 2 );
+        int day = digits( s, 8, 2 );
+        if ( s.charAt( 7 ) != separator || year < 1900 || month < 1 || month > 12 || day < 1
+            || day > daysInMonth( year, month ) )
+        {
+            return NOT_HANDLED;
+        }
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if ( time )
+        {
+            if ( length < dateTimeLength || s.charAt( 10 ) != ' ' || s.charAt( 13 ) != ':' || s.charAt( 16 ) != ':' )
+            {
+                return NOT_HANDLED;
+            }
+            hour = digits( s, 11, 2 );
+            minute = digits( s, 14, 2 );
+            second = digits( s, 17, 2 );
+            if ( hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 )
+            {
+                return NOT_HANDLED;
+            }
+        }
+
+        if ( !zoned )
+        {
+            if ( length != dateTimeLength )
+            {
+                return NOT_HANDLED;
+            }
+            Calendar calendar = CALENDAR.get();
+            calendar.setTimeZone( TimeZone.getDefault() );
+            calendar.clear();
+            calendar.set( year, month - 1, day, hour, minute, second );
+            return calendar.getTime();
+        }
+
+        if ( length == dateTimeLength )
+        {
+            // the zone is missing
+            return null;
+        }
+
+        int offset = zoneOffset( s, dateTimeLength );
+        if ( offset == Integer.MIN_VALUE )
+        {
+            return NOT_HANDLED;
+        }
+        long millis = daysFromCivil( year, month, day ) * MILLIS_PER_DAY
+            + ( ( hour * 60L + minute ) * 60L + second ) * 1000L;
+        return new Date( millis - offset * 60000L );
+    }
+
+    /**
+     * @return the offset in minutes of a <code> +hhmm</code> or <code> GMT+hh:mm</code> zone ending the text or
+     *         {@link Integer#MIN_VALUE} if the zone is written another way
+     */
+    private static int zoneOffset( String s, int start )
+    {
+        if ( s.charAt( start ) != ' ' )
+        {
+            return Integer.MIN_VALUE;
+        }
+        int index = start + 1;
+        boolean gmt = s.startsWith( "GMT", index );
+        if ( gmt )
+        {
+            index += 3;
+        }
+        int expectedLength = gmt ? index + 6 : index + 5;
+        if ( s.length() != expectedLength )
+        {
+            return Integer.MIN_VALUE;
+        }
+        char sign = s.charAt( index );
+        if ( sign != '+' && sign != '-' )
+        {
+            return Integer.MIN_VALUE;
+        }
+        int hours = digits( s, index + 1, 2 );
+        if ( gmt && s.charAt( index + 3 ) != ':' )
+        {
+            return Integer.MIN_VALUE;
+        }
+        int minutes = digits( s, gmt ? index + 4 : index + 3, 2 );
+        if ( hours < 0 || hours > 23 || minutes < 0 || minutes > 59 )
+        {
+            return Integer.MIN_VALUE;
+        }
+        int offset = hours * 60 + minutes;
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * @return the value of <code>count</code> ASCII digits or -1
+     */
+    private static int digits( String s, int start, int count )
+    {
+        int value = 0;
+        for ( int i = start; i < start + count; i++ )
+        {
+            char c = s.charAt( i );
+            if ( c < '0' || c > '9' )
+            {
+                return -1;
+            }
+            value = value * 10 + ( c - '0' );
+        }
+        return value;
+    }
+
+    private static int daysInMonth( int year, int month )
+    {
+        switch ( month )
+        {
+            case 2:
+                boolean leap = ( year % 4 == 0 && year % 100 != 0 ) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return the number of days between 1970-01-01 and the given date of the Gregorian calendar
+     */
+    private static long daysFromCivil( int year, int month, int day )
+    {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = ( 153 * ( month + ( month > 2 ? -3 : 9 ) ) + 2 ) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468L;
+    }
+
+    /**
+     * Thai and Japanese imperial locales don't count years the Gregorian way.
+     */
+    private static boolean isGregorian( Locale locale )
+    {
+        return !"th".equals( locale.getLanguage() ) && !"JP".equals( locale.getVariant() );
+    }
+
+    // ----------------------------------------------------------------------
+    // formatter cache
+    // ----------------------------------------------------------------------
+
+    private static SimpleDateFormat getFormat( String pattern, Locale locale )
+    {
+        Map<String, Map<Locale, SimpleDateFormat>> formats = FORMATS.get();
+        Map<Locale, SimpleDateFormat> byLocale = formats.get( pattern );
+        if ( byLocale == null )
+        {
+            if ( formats.size() >= MAX_CACHED_FORMATS )
+            {
+                formats.clear();
+            }
+            byLocale = new HashMap<Locale, SimpleDateFormat>( 4 );
+            formats.put( pattern, byLocale );
+        }
+        SimpleDateFormat format = byLocale.get( locale );
+        if ( format == null )
+        {
+            format = new SimpleDateFormat( pattern, locale );
+            byLocale.put( locale, format );
+        }
+        return format;
+    }
+}
@@ -0,0 +1,170 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes XML and JSON text straight to a {@link Writer}, the runs of characters that need no escaping being written
+ * as slices of the original string.
+ *
+ * @since 1.9.5
+ */
+public final class EscapeUtils
+{
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private EscapeUtils()
+    {
+        // no op
+    }
+
+    /**
+     * Writes a value escaping <code>&lt;</code>, <code>&gt;</code>, <code>&amp;</code>, <code>'</code> and
+     * <code>"</code>, so it can be used in XML text and attribute values.
+     *
+     * @param writer the writer
+     * @param value  the value to write, <code>null</code> is written as <code>null</code>
+     * @throws IOException if the writer fails
+     */
+    public static void writeXml( Writer writer, String value )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            writer.write( "null" );
+            return;
+        }
+
+        int start = 0;
+        for ( int i = 0, length = value.length(); i < length; i++ )
+        {
+            String entity;
+            switch ( value.charAt( i ) )
+            {
+                case '<':
+                    entity = "&lt;";
+                    break;
+                case '>':
+                    entity = "&gt;";
+                    break;
+                case '&':
+                    entity = "&amp;";
+                    break;
+                case '\'':
+                    entity = "&apos;";
+                    break;
+                case '\"':
+                    entity = "&quot;";
+                    break;
+                default:
+                    continue;
+            }
+            writer.write( value, start, i - start );
+            writer.write( entity );
+            start = i + 1;
+        }
+        writer.write( value, start, value.length() - start );
+    }
+
+    /**
+     * Writes a value as the content of a CDATA section, breaking up the <code>]]&gt;</code> sequences that would end
+     * it as <code>] ] &gt;</code>.
+     *
+     * @param writer the writer
+     * @param value  the value to write, <code>null</code> is written as <code>null</code>
+     * @throws IOException if the writer fails
+     */
+    public static void writeCData( Writer writer, String value )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            writer.write( "null" );
+            return;
+        }
+
+        int start = 0;
+        for ( int end; ( end = value.indexOf( "]]>", start ) ) >= 0; start = end + 3 )
+        {
+            writer.write( value, start, end - start );
+            writer.write( "] ] >" );
+        }
+        writer.write( value, start, value.length() - start );
+    }
+
+    /**
+     * Writes a value as a quoted JSON string.
+     *
+     * @param writer the writer
+     * @param value  the value to write, <code>null</code> is written as <code>null</code>
+     * @throws IOException if the writer fails
+     */
+    public static void writeJson( Writer writer, String value )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            writer.write( "null" );
+            return;
+        }
+
+        writer.write( '"' );
+        int start = 0;
+        for ( int i = 0, length = value.length(); i < length; i++ )
+        {
+            char c = value.charAt( i );
+            if ( c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029' )
+            {
+                continue;
+            }
+
+            writer.write( value, start, i - start );
+            switch ( c )
+            {
+                case '"':
+                    writer.write( "\\\"" );
+                    break;
+                case '\\':
+                    writer.write( "\\\\" );
+                    break;
+                case '\n':
+                    writer.write( "\\n" );
+                    break;
+                case '\r':
+                    writer.write( "\\r" );
+                    break;
+                case '\t':
+                    writer.write( "\\t" );
+                    break;
+                default:
+                    writer.write( "\\u" );
+                    writer.write( HEX[( c >> 12 ) & 0xf] );
+                    writer.write( HEX[( c >> 8 ) & 0xf] );
+                    writer.write( HEX[( c >> 4 ) & 0xf] );
+                    writer.write( HEX[c & 0xf] );
+            }
+            start = i + 1;
+        }
+        writer.write( value, start, value.length() - start );
+        writer.write( '"' );
+    }
+}
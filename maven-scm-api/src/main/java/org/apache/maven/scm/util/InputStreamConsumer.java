@@ -0,0 +1,47 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the standard output of a process as a stream, for the consumers which pull their input like an XML parser
+ * instead of being handed lines.
+ *
+ * @see ScmProcessRunner#executeCommandLineToStream(org.codehaus.plexus.util.cli.Commandline, InputStream,
+ *      InputStreamConsumer, org.codehaus.plexus.util.cli.StreamConsumer, int)
+ * @since 1.9.5
+ */
+public interface InputStreamConsumer
+{
+    /**
+     * Reads the output, usually to its end. Whatever is left unread is skipped afterwards, so the process doesn't
+     * block on a full pipe, and the stream is closed by the caller.
+     * <p/>
+     * A command retried after a failure is consumed again with the output of the new process, so the consumer starts
+     * over instead of adding to what it read from the failed one.
+     *
+     * @param output the standard output of the process
+     * @throws IOException if the output can't be read or parsed
+     */
+    void consume( InputStream output )
+        throws IOException;
+}
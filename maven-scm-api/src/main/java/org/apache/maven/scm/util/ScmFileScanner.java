@@ -0,0 +1,575 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Scans a directory tree for the files matching Ant include and exclude patterns, like
+ * {@link org.codehaus.plexus.util.FileUtils#getFiles(File, String, String, boolean)}.
+ * <p/>
+ * The patterns are compiled once per scan. Directories are listed in parallel on a shared pool of
+ * {@value #THREADS_PROPERTY} threads (the number of processors by default) and a directory is not entered when an
+ * exclude pattern ending with <code>/**</code> matches it, e.g. <code>.git</code> or <code>.svn</code> with the
+ * default excludes, or when no include pattern can match below it.
+ * <p/>
+ * The results of the last {@value #CACHE_PROPERTY} scans (16 by default, 0 disables the cache) are cached per base
+ * directory and patterns. A cached result is reused while none of the scanned directories has been modified, which
+ * is checked with their modification time: adding, removing or renaming a file changes the time of its directory.
+ * Directories modified during the second before their scan are never trusted, as a later change in the same second
+ * would go unnoticed.
+ * <p/>
+ * Patterns in <code>%regex[]</code> or <code>%ant[]</code> syntax are not supported, see {@link #isSupported}.
+ *
+ * @since 1.9.5
+ */
+public final class ScmFileScanner
+{
+    /**
+     * System property with the number of threads listing directories.
+     */
+    public static final String THREADS_PROPERTY = "maven.scm.scanner.threads";
+
+    /**
+     * System property with the number of cached scan results.
+     */
+    public static final String CACHE_PROPERTY = "maven.scm.scanner.cache";
+
+    private static final long RACY_MILLIS = 1000;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService SCANNERS =
+        Executors.newFixedThreadPool( Math.max( 1, Integer.getInteger( THREADS_PROPERTY,
+                                                                       Runtime.getRuntime().availableProcessors() ) ),
+                                      new ThreadFactory()
+                                      {
+                                          public Thread newThread( Runnable runnable )
+                                          {
+                                              Thread thread = new Thread( runnable, "scm-file-scanner-"
+                                                  + THREAD_COUNT.incrementAndGet() );
+                                              thread.setDaemon( true );
+                                              return thread;
+                                          }
+                                      } );
+
+    private static final int CACHE_SIZE = Integer.getInteger( CACHE_PROPERTY, 16 );
+
+    private static final Map<String, Scan> CACHE = new LinkedHashMap<String, Scan>( 16, 0.75f, true )
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry( Map.Entry<String, Scan> eldest )
+        {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private ScmFileScanner()
+    {
+        // no op
+    }
+
+    /**
+     * @return <code>false</code> if a pattern uses the <code>%regex[]</code> or <code>%ant[]</code> syntax
+     */
+    public static boolean isSupported( String includes, String excludes )
+    {
+        return ( includes == null || includes.indexOf( "%regex[" ) < 0 && includes.indexOf( "%ant[" ) < 0 )
+            && ( excludes == null || excludes.indexOf( "%regex[" ) < 0 && excludes.indexOf( "%ant[" ) < 0 );
+    }
+
+    /**
+     * Scans a directory for files.
+     *
+     * @param basedir  the directory to scan
+     * @param includes comma separated Ant patterns of the files to include, <code>null</code> for all files
+     * @param excludes comma separated Ant patterns of the files to exclude, may be <code>null</code>
+     * @return the files matching the patterns, relative to the base directory and sorted by path
+     * @throws IllegalStateException if the directory doesn't exist, like {@link org.codehaus.plexus.util.FileUtils}
+     */
+    public static List<File> scan( File basedir, String includes, String excludes )
+    {
+        checkDirectory( basedir );
+
+        String key = basedir.getAbsolutePath() + '\n' + includes + '\n' + excludes;
+
+        if ( CACHE_SIZE > 0 )
+        {
+            Scan cached;
+            synchronized ( CACHE )
+            {
+                cached = CACHE.get( key );
+            }
+            if ( cached != null && cached.isUpToDate() )
+            {
+                return new ArrayList<File>( cached.files );
+            }
+        }
+
+        Scan scan = new Scan( basedir, compile( includes == null ? "**" : includes ), compile( excludes ) );
+        scan.run();
+
+        if ( CACHE_SIZE > 0 )
+        {
+            synchronized ( CACHE )
+            {
+                CACHE.put( key, scan );
+            }
+        }
+        return new ArrayList<File>( scan.files );
+    }
+
+    /**
+     * @param basedir the directory to scan
+     * @throws IllegalStateException if the directory doesn't exist or isn't a directory
+     */
+    public static void checkDirectory( File basedir )
+    {
+        if ( !basedir.exists() )
+        {
+            throw new IllegalStateException( "basedir " + basedir + " does not exist" );
+        }
+        if ( !basedir.isDirectory() )
+        {
+            throw new IllegalStateException( "basedir " + basedir + " is not a directory" );
+        }
+    }
+
+    /**
+     * Drops the cached scan results.
+     */
+    public static void clearCache()
+    {
+        synchronized ( CACHE )
+        {
+            CACHE.clear();
+        }
+    }
+
+    private static GlobPattern[] compile( String patterns )
+    {
+        List<GlobPattern> compiled = new ArrayList<GlobPattern>();
+        if ( patterns != null )
+        {
+            for ( String pattern : StringUtils.split( patterns, "," ) )
+            {
+                pattern = pattern.trim();
+                if ( pattern.length() > 0 )
+                {
+                    compiled.add( new GlobPattern( pattern ) );
+                }
+            }
+        }
+        return compiled.toArray( new GlobPattern[compiled.size()] );
+    }
+
+    /**
+     * An Ant pattern split in path segments, <code>**</code> matching any number of segments.
+     */
+    static final class GlobPattern
+    {
+        private static final Object ANY_SEGMENTS = "**";
+
+        private static final Object ANY_SEGMENT = "*";
+
+        private final boolean absolute;
+
+        /**
+         * The segments: {@link #ANY_SEGMENTS}, {@link #ANY_SEGMENT}, a literal String or a compiled Pattern.
+         */
+        private final Object[] segments;
+
+        /**
+         * The pattern without its trailing <code>**</code>, <code>null</code> if it doesn't end with one.
+         */
+        private final GlobPattern directoryPattern;
+
+        GlobPattern( String pattern )
+        {
+            String normalized = pattern.replace( '\\', '/' );
+            if ( normalized.endsWith( "/" ) )
+            {
+                normalized += "**";
+            }
+            absolute = normalized.startsWith( "/" );
+
+            String[] tokens = StringUtils.split( normalized, "/" );
+            segments = new Object[tokens.length];
+            for ( int i = 0; i < tokens.length; i++ )
+            {
+                segments[i] = compileSegment( tokens[i] );
+            }
+
+            int last = segments.length;
+            while ( last > 0 && segments[last - 1] == ANY_SEGMENTS )
+            {
+                last--;
+            }
+            directoryPattern = last < segments.length ? new GlobPattern( segments, last, absolute ) : null;
+        }
+
+        private GlobPattern( Object[] segments, int length, boolean absolute )
+        {
+            this.absolute = absolute;
+            this.segments = new Object[length];
+            System.arraycopy( segments, 0, this.segments, 0, length );
+            this.directoryPattern = null;
+        }
+
+        private static Object compileSegment( String token )
+        {
+            if ( token.equals( "**" ) )
+            {
+                return ANY_SEGMENTS;
+            }
+            if ( token.equals( "*" ) )
+            {
+                return ANY_SEGMENT;
+            }
+            if ( token.indexOf( '*' ) < 0 && token.indexOf( '?' ) < 0 )
+            {
+                return token;
+            }
+
+            StringBuilder regex = new StringBuilder();
+            int literal = 0;
+            for ( int i = 0; i < token.length(); i++ )
+            {
+                char c = token.charAt( i );
+                if ( c == '*' || c == '?' )
+                {
+                    if ( i > literal )
+                    {
+                        regex.append( Pattern.quote( token.substring( literal, i ) ) );
+                    }
+                    regex.append( c == '*' ? ".*" : "." );
+                    literal = i + 1;
+                }
+            }
+            if ( literal < token.length() )
+            {
+                regex.append( Pattern.quote( token.substring( literal ) ) );
+            }
+            return Pattern.compile( regex.toString(), Pattern.DOTALL );
+        }
+
+        private static boolean matches( Object segment, String name )
+        {
+            if ( segment == ANY_SEGMENT )
+            {
+                return true;
+            }
+            if ( segment instanceof String )
+            {
+                return segment.equals( name );
+            }
+            return ( (Pattern) segment ).matcher( name ).matches();
+        }
+
+        /**
+         * @return <code>true</code> if the pattern matches the whole path
+         */
+        boolean matches( String[] path, int length )
+        {
+            return !absolute && matches( 0, path, 0, length );
+        }
+
+        private boolean matches( int segment, String[] path, int index, int length )
+        {
+            while ( segment < segments.length && segments[segment] != ANY_SEGMENTS )
+            {
+                if ( index == length || !matches( segments[segment], path[index] ) )
+                {
+                    return false;
+                }
+                segment++;
+                index++;
+            }
+            if ( segment == segments.length )
+            {
+                return index == length;
+            }
+
+            // skip consecutive ** and try every number of segments for them
+            while ( segment < segments.length && segments[segment] == ANY_SEGMENTS )
+            {
+                segment++;
+            }
+            if ( segment == segments.length )
+            {
+                return true;
+            }
+            for ( int i = index; i < length; i++ )
+            {
+                if ( matches( segment, path, i, length ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return <code>true</code> if the pattern can match a path below the directory
+         */
+        boolean matchesBelow( String[] directory, int length )
+        {
+            if ( absolute )
+            {
+                return false;
+            }
+            for ( int i = 0; i < length; i++ )
+            {
+                if ( i == segments.length )
+                {
+                    return false;
+                }
+                if ( segments[i] == ANY_SEGMENTS )
+                {
+                    return true;
+                }
+                if ( !matches( segments[i], directory[i] ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return <code>true</code> if the pattern ends with <code>**</code> and so matches everything below the
+         *         directory
+         */
+        boolean matchesEverythingBelow( String[] directory, int length )
+        {
+            return directoryPattern != null && directoryPattern.matches( directory, length );
+        }
+    }
+
+    /**
+     * One scan of a directory tree, with the modification times of the directories listed.
+     */
+    private static final class Scan
+    {
+        private final File basedir;
+
+        private final GlobPattern[] includes;
+
+        private final GlobPattern[] excludes;
+
+        private final Queue<String> found = new ConcurrentLinkedQueue<String>();
+
+        private final Queue<Object[]> directories = new ConcurrentLinkedQueue<Object[]>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final CountDownLatch done = new CountDownLatch( 1 );
+
+        private List<File> files;
+
+        private File[] scannedDirectories;
+
+        private long[] modificationTimes;
+
+        Scan( File basedir, GlobPattern[] includes, GlobPattern[] excludes )
+        {
+            this.basedir = basedir;
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+
+        void run()
+        {
+            long started = System.currentTimeMillis();
+
+            submit( basedir, new String[0] );
+
+            boolean interrupted = false;
+            while ( true )
+            {
+                try
+                {
+                    done.await();
+                    break;
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            List<String> paths = new ArrayList<String>( found );
+            Collections.sort( paths );
+            List<File> result = new ArrayList<File>( paths.size() );
+            for ( String path : paths )
+            {
+                result.add( new File( path ) );
+            }
+            files = Collections.unmodifiableList( result );
+
+            List<Object[]> listed = new ArrayList<Object[]>( directories );
+            scannedDirectories = new File[listed.size()];
+            modificationTimes = new long[listed.size()];
+            for ( int i = 0; i < scannedDirectories.length; i++ )
+            {
+                scannedDirectories[i] = (File) listed.get( i )[0];
+                long time = ( (Long) listed.get( i )[1] ).longValue();
+                // a racily modified directory never matches, forcing a new scan
+                modificationTimes[i] = time > started - RACY_MILLIS ? -1 : time;
+            }
+        }
+
+        boolean isUpToDate()
+        {
+            for ( int i = 0; i < scannedDirectories.length; i++ )
+            {
+                if ( scannedDirectories[i].lastModified() != modificationTimes[i] )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void submit( final File directory, final String[] path )
+        {
+            pending.incrementAndGet();
+            SCANNERS.execute( new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        list( directory, path );
+                    }
+                    finally
+                    {
+                        if ( pending.decrementAndGet() == 0 )
+                        {
+                            done.countDown();
+                        }
+                    }
+                }
+            } );
+        }
+
+        private void list( File directory, String[] path )
+        {
+            long modified = directory.lastModified();
+            directories.add( new Object[]{ directory, Long.valueOf( modified ) } );
+            String[] names = directory.list();
+            if ( names == null )
+            {
+                return;
+            }
+
+            int depth = path.length;
+            String[] child = new String[depth + 1];
+            System.arraycopy( path, 0, child, 0, depth );
+            String prefix = depth == 0 ? "" : StringUtils.join( path, File.separator ) + File.separator;
+
+            for ( String name : names )
+            {
+                child[depth] = name;
+                File file = new File( directory, name );
+                if ( file.isDirectory() )
+                {
+                    if ( couldHoldIncluded( child ) && !isExcludedDirectory( child ) )
+                    {
+                        submit( file, child.clone() );
+                    }
+                }
+                else if ( file.isFile() && isIncluded( child ) )
+                {
+                    found.add( prefix + name );
+                }
+            }
+        }
+
+        private boolean isIncluded( String[] path )
+        {
+            boolean included = false;
+            for ( GlobPattern include : includes )
+            {
+                if ( include.matches( path, path.length ) )
+                {
+                    included = true;
+                    break;
+                }
+            }
+            if ( !included )
+            {
+                return false;
+            }
+            for ( GlobPattern exclude : excludes )
+            {
+                if ( exclude.matches( path, path.length ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean couldHoldIncluded( String[] directory )
+        {
+            for ( GlobPattern include : includes )
+            {
+                if ( include.matchesBelow( directory, directory.length ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isExcludedDirectory( String[] directory )
+        {
+            for ( GlobPattern exclude : excludes )
+            {
+                if ( exclude.matchesEverythingBelow( directory, directory.length ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
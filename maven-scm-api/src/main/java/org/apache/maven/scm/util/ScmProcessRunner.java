@@ -0,0 +1,671 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the external tools of the providers, as a replacement of
+ * {@link org.codehaus.plexus.util.cli.CommandLineUtils#executeCommandLine}.
+ * <p/>
+ * Instead of two new threads per process, the output streams are pumped by a pool of daemon threads shared by all
+ * processes, each pump thread reusing its decoding buffer. The output is decoded with an explicit charset, the
+ * {@value #CHARSET_PROPERTY} system property or the platform charset by default, and split in lines like
+ * {@link java.io.BufferedReader#readLine()}. The standard input of the process is closed once the given input has
+ * been written, so a tool prompting for input fails instead of hanging.
+ * <p/>
+ * Tools with a binary or NUL-delimited output can have their standard output copied as is to an
+ * {@link OutputStream}, without decoding nor splitting it, or read as a stream by an {@link InputStreamConsumer},
+ * like the pull parsers of XML outputs.
+ * <p/>
+ * Processes are accounted to the command metrics of the calling thread, see {@link ScmMetrics}.
+ *
+ * @since 1.9.5
+ */
+public final class ScmProcessRunner
+{
+    /**
+     * System property with the default charset of the tools output.
+     */
+    public static final String CHARSET_PROPERTY = "maven.scm.process.charset";
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService PUMPS = Executors.newCachedThreadPool( new ThreadFactory()
+    {
+        public Thread newThread( Runnable runnable )
+        {
+            Thread thread = new Thread( runnable, "scm-process-pump-" + THREAD_COUNT.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    } );
+
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>()
+    {
+        protected char[] initialValue()
+        {
+            return new char[BUFFER_SIZE];
+        }
+    };
+
+    private static final Set<Process> RUNNING = Collections.synchronizedSet( new HashSet<Process>() );
+
+    static
+    {
+        Runtime.getRuntime().addShutdownHook( new Thread( "scm-process-destroyer" )
+        {
+            public void run()
+            {
+                synchronized ( RUNNING )
+                {
+                    for ( Process process : RUNNING )
+                    {
+                        process.destroy();
+                    }
+                }
+            }
+        } );
+    }
+
+    private ScmProcessRunner()
+    {
+        // no op
+    }
+
+    /**
+     * @return the charset of the {@value #CHARSET_PROPERTY} system property, or the platform charset
+     */
+    public static Charset getDefaultCharset()
+    {
+        String charset = System.getProperty( CHARSET_PROPERTY );
+        return charset != null ? Charset.forName( charset ) : Charset.defaultCharset();
+    }
+
+    public static int executeCommandLine( Commandline cl, StreamConsumer systemOut, StreamConsumer systemErr )
+        throws CommandLineException
+    {
+        return executeCommandLine( cl, null, systemOut, systemErr, 0 );
+    }
+
+    public static int executeCommandLine( Commandline cl, InputStream systemIn, StreamConsumer systemOut,
+                                          StreamConsumer systemErr )
+        throws CommandLineException
+    {
+        return executeCommandLine( cl, systemIn, systemOut, systemErr, 0 );
+    }
+
+    /**
+     * Runs a process and waits for it to complete, the current thread waiting for the exit code.
+     *
+     * @param cl               the command line to run
+     * @param systemIn         the standard input of the process, may be <code>null</code>
+     * @param systemOut        receives the lines of the standard output, may be <code>null</code>
+     * @param systemErr        receives the lines of the standard error, may be <code>null</code>
+     * @param timeoutInSeconds the time after which the process is destroyed, 0 or less to wait without limit
+     * @return the exit code of the process
+     * @throws CommandLineException if the process can't be started, times out or a consumer fails
+     */
+    public static int executeCommandLine( Commandline cl, InputStream systemIn, StreamConsumer systemOut,
+                                          StreamConsumer systemErr, int timeoutInSeconds )
+        throws CommandLineException
+    {
+        ProcessTask task = start( cl, systemIn, systemOut, systemErr, getDefaultCharset() );
+        if ( timeoutInSeconds <= 0 )
+        {
+            task.run();
+        }
+        else
+        {
+            PUMPS.execute( task );
+        }
+        return task.getExitCode( timeoutInSeconds );
+    }
+
+    /**
+     * Runs a process and waits for it to complete, copying its standard output as is to a stream.
+     *
+     * @param cl               the command line to run
+     * @param systemIn         the standard input of the process, may be <code>null</code>
+     * @param systemOut        receives the bytes of the standard output, it is flushed but not closed
+     * @param systemErr        receives the lines of the standard error, may be <code>null</code>
+     * @param timeoutInSeconds the time after which the process is destroyed, 0 or less to wait without limit
+     * @return the exit code of the process
+     * @throws CommandLineException if the process can't be started, times out or the output can't be written
+     */
+    public static int executeCommandLineToStream( Commandline cl, InputStream systemIn, OutputStream systemOut,
+                                                  StreamConsumer systemErr, int timeoutInSeconds )
+        throws CommandLineException
+    {
+        ScmCommandMetrics metrics = ScmMetrics.current();
+        if ( metrics != null )
+        {
+            systemOut = ScmMetrics.meter( metrics, systemOut );
+        }
+
+        ProcessTask task = start( cl, systemIn, systemErr, getDefaultCharset(), metrics, new BytePump( systemOut ) );
+        if ( timeoutInSeconds <= 0 )
+        {
+            task.run();
+        }
+        else
+        {
+            PUMPS.execute( task );
+        }
+        return task.getExitCode( timeoutInSeconds );
+    }
+
+    /**
+     * Runs a process and waits for it to complete, its standard output being read as a stream by a consumer running
+     * on a pump thread.
+     *
+     * @param cl               the command line to run
+     * @param systemIn         the standard input of the process, may be <code>null</code>
+     * @param systemOut        reads the standard output
+     * @param systemErr        receives the lines of the standard error, may be <code>null</code>
+     * @param timeoutInSeconds the time after which the process is destroyed, 0 or less to wait without limit
+     * @return the exit code of the process
+     * @throws CommandLineException if the process can't be started, times out or the consumer fails
+     */
+    public static int executeCommandLineToStream( Commandline cl, InputStream systemIn, InputStreamConsumer systemOut,
+                                                  StreamConsumer systemErr, int timeoutInSeconds )
+        throws CommandLineException
+    {
+        ScmCommandMetrics metrics = ScmMetrics.current();
+        if ( metrics != null )
+        {
+            systemOut = ScmMetrics.meter( metrics, systemOut );
+        }
+
+        ProcessTask task = start( cl, systemIn, systemErr, getDefaultCharset(), metrics, new StreamPump( systemOut ) );
+        if ( timeoutInSeconds <= 0 )
+        {
+            task.run();
+        }
+        else
+        {
+            PUMPS.execute( task );
+        }
+        return task.getExitCode( timeoutInSeconds );
+    }
+
+    /**
+     * Starts a process without waiting for it: the returned future completes with the exit code once the process
+     * has exited and its output has been consumed. The consumers are called from the pump threads.
+     *
+     * @param cl        the command line to run
+     * @param systemIn  the standard input of the process, may be <code>null</code>
+     * @param systemOut receives the lines of the standard output, may be <code>null</code>
+     * @param systemErr receives the lines of the standard error, may be <code>null</code>
+     * @param charset   the charset of the output
+     * @return the exit code of the process, {@link Future#get()} failing with a {@link CommandLineException} cause if
+     *         a consumer failed; cancelling the future destroys the process
+     * @throws CommandLineException if the process can't be started
+     */
+    public static Future<Integer> executeCommandLineAsync( Commandline cl, InputStream systemIn,
+                                                           StreamConsumer systemOut, StreamConsumer systemErr,
+                                                           Charset charset )
+        throws CommandLineException
+    {
+        ProcessTask task = start( cl, systemIn, systemOut, systemErr, charset );
+        PUMPS.execute( task );
+        return task;
+    }
+
+    private static ProcessTask start( Commandline cl, InputStream systemIn, StreamConsumer systemOut,
+                                      StreamConsumer systemErr, Charset charset )
+        throws CommandLineException
+    {
+        ScmCommandMetrics metrics = ScmMetrics.current();
+        if ( metrics != null )
+        {
+            systemOut = ScmMetrics.meter( metrics, systemOut, true );
+        }
+
+        return start( cl, systemIn, systemErr, charset, metrics, new LinePump( systemOut, charset ) );
+    }
+
+    private static ProcessTask start( Commandline cl, InputStream systemIn, StreamConsumer systemErr,
+                                      Charset charset, ScmCommandMetrics metrics, Pump outPump )
+        throws CommandLineException
+    {
+        if ( metrics != null )
+        {
+            systemErr = ScmMetrics.meter( metrics, systemErr, false );
+        }
+
+        long start = System.nanoTime();
+        Process process = cl.execute();
+        if ( metrics != null )
+        {
+            metrics.processStarted( System.nanoTime() - start );
+        }
+        RUNNING.add( process );
+
+        Future<?> in = null;
+        if ( systemIn != null )
+        {
+            in = PUMPS.submit( new InputFeeder( systemIn, process.getOutputStream() ) );
+        }
+        else
+        {
+            closeQuietly( process.getOutputStream() );
+        }
+        outPump.input = process.getInputStream();
+        Future<?> out = PUMPS.submit( outPump );
+        LinePump errPump = new LinePump( systemErr, charset );
+        errPump.input = process.getErrorStream();
+        Future<?> err = PUMPS.submit( errPump );
+
+        return new ProcessTask( process, in, out, err );
+    }
+
+    private static void closeQuietly( OutputStream output )
+    {
+        try
+        {
+            output.close();
+        }
+        catch ( IOException e )
+        {
+            // the process may already be gone
+        }
+    }
+
+    private static class ProcessTask
+        extends FutureTask<Integer>
+    {
+        private final Process process;
+
+        ProcessTask( final Process process, final Future<?> in, final Future<?> out, final Future<?> err )
+        {
+            super( new Callable<Integer>()
+            {
+                public Integer call()
+                    throws Exception
+                {
+                    try
+                    {
+                        int exitCode = process.waitFor();
+                        await( in, "stdin" );
+                        await( out, "stdout" );
+                        await( err, "stderr" );
+                        return Integer.valueOf( exitCode );
+                    }
+                    finally
+                    {
+                        RUNNING.remove( process );
+                    }
+                }
+            } );
+            this.process = process;
+        }
+
+        protected void done()
+        {
+            if ( isCancelled() )
+            {
+                destroy();
+            }
+        }
+
+        void destroy()
+        {
+            process.destroy();
+            RUNNING.remove( process );
+        }
+
+        int getExitCode( int timeoutInSeconds )
+            throws CommandLineException
+        {
+            try
+            {
+                return ( timeoutInSeconds <= 0 ? get() : get( timeoutInSeconds, TimeUnit.SECONDS ) ).intValue();
+            }
+            catch ( TimeoutException e )
+            {
+                destroy();
+                throw new CommandLineTimeOutException( "Error while executing external command, process killed.",
+                                                       e );
+            }
+            catch ( InterruptedException e )
+            {
+                throw interrupted( e );
+            }
+            catch ( ExecutionException e )
+            {
+                if ( e.getCause() instanceof InterruptedException )
+                {
+                    // run on the calling thread, which has been interrupted while waiting for the process
+                    throw interrupted( (InterruptedException) e.getCause() );
+                }
+                if ( e.getCause() instanceof CommandLineException )
+                {
+                    throw (CommandLineException) e.getCause();
+                }
+                throw new CommandLineException( "Error while executing external command.", e.getCause() );
+            }
+        }
+
+        private CommandLineException interrupted( InterruptedException e )
+        {
+            destroy();
+            Thread.currentThread().interrupt();
+            return new CommandLineException( "Interrupted while waiting for the external command.", e );
+        }
+
+        private static void await( Future<?> pump, String stream )
+            throws CommandLineException, InterruptedException
+        {
+            if ( pump == null )
+            {
+                return;
+            }
+
+            try
+            {
+                pump.get();
+            }
+            catch ( ExecutionException e )
+            {
+                throw new CommandLineException( "Failure processing " + stream + ".", e.getCause() );
+            }
+        }
+    }
+
+    /**
+     * Writes the input of the process and closes its standard input.
+     */
+    private static class InputFeeder
+        implements Callable<Void>
+    {
+        private final InputStream input;
+
+        private final OutputStream output;
+
+        InputFeeder( InputStream input, OutputStream output )
+        {
+            this.input = input;
+            this.output = output;
+        }
+
+        public Void call()
+            throws IOException
+        {
+            try
+            {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for ( int n; ( n = input.read( buffer ) ) != -1; )
+                {
+                    output.write( buffer, 0, n );
+                }
+                output.flush();
+            }
+            finally
+            {
+                closeQuietly( output );
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads an output stream of the process to its end.
+     */
+    private abstract static class Pump
+        implements Callable<Void>
+    {
+        InputStream input;
+    }
+
+    /**
+     * Copies a stream to its end to an output stream. Keeps reading when the output fails so the process doesn't
+     * block on a full pipe, the failure being reported once the stream is exhausted.
+     */
+    private static class BytePump
+        extends Pump
+    {
+        private final OutputStream output;
+
+        BytePump( OutputStream output )
+        {
+            this.output = output;
+        }
+
+        public Void call()
+            throws IOException
+        {
+            Exception failure = null;
+            try
+            {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for ( int n; ( n = input.read( buffer ) ) != -1; )
+                {
+                    if ( failure == null )
+                    {
+                        try
+                        {
+                            output.write( buffer, 0, n );
+                        }
+                        catch ( IOException e )
+                        {
+                            failure = e;
+                        }
+                        catch ( RuntimeException e )
+                        {
+                            failure = e;
+                        }
+                    }
+                }
+                if ( failure == null )
+                {
+                    output.flush();
+                }
+            }
+            finally
+            {
+                input.close();
+            }
+
+            if ( failure instanceof IOException )
+            {
+                throw (IOException) failure;
+            }
+            if ( failure != null )
+            {
+                throw (RuntimeException) failure;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Hands the stream to a consumer, then skips what the consumer left unread so the process doesn't block on a full
+     * pipe.
+     */
+    private static class StreamPump
+        extends Pump
+    {
+        private final InputStreamConsumer consumer;
+
+        StreamPump( InputStreamConsumer consumer )
+        {
+            this.consumer = consumer;
+        }
+
+        public Void call()
+            throws IOException
+        {
+            try
+            {
+                consumer.consume( input );
+            }
+            finally
+            {
+                try
+                {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while ( input.read( buffer ) != -1 )
+                    {
+                        // skip
+                    }
+                }
+                finally
+                {
+                    input.close();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads a stream to its end, passing each line to the consumer. Keeps reading when the consumer fails so the
+     * process doesn't block on a full pipe, the failure being reported once the stream is exhausted.
+     */
+    private static class LinePump
+        extends Pump
+    {
+        private final StreamConsumer consumer;
+
+        private final Charset charset;
+
+        private RuntimeException failure;
+
+        LinePump( StreamConsumer consumer, Charset charset )
+        {
+            this.consumer = consumer;
+            this.charset = charset;
+        }
+
+        public Void call()
+            throws IOException
+        {
+            Reader reader = new InputStreamReader( input, charset );
+            try
+            {
+                char[] buffer = BUFFER.get();
+                StringBuilder pending = new StringBuilder();
+                boolean skipLf = false;
+
+                for ( int n; ( n = reader.read( buffer ) ) != -1; )
+                {
+                    int start = 0;
+                    if ( skipLf && n > 0 && buffer[0] == '\n' )
+                    {
+                        start = 1;
+                    }
+                    skipLf = false;
+
+                    for ( int i = start; i < n; i++ )
+                    {
+                        char c = buffer[i];
+                        if ( c != '\n' && c != '\r' )
+                        {
+                            continue;
+                        }
+
+                        if ( pending.length() > 0 )
+                        {
+                            pending.append( buffer, start, i - start );
+                            consume( pending.toString() );
+                            pending.setLength( 0 );
+                        }
+                        else
+                        {
+                            consume( new String( buffer, start, i - start ) );
+                        }
+
+                        if ( c == '\r' )
+                        {
+                            if ( i + 1 == n )
+                            {
+                                skipLf = true;
+                            }
+                            else if ( buffer[i + 1] == '\n' )
+                            {
+                                i++;
+                            }
+                        }
+                        start = i + 1;
+                    }
+                    pending.append( buffer, start, n - start );
+                }
+
+                if ( pending.length() > 0 )
+                {
+                    consume( pending.toString() );
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+
+            if ( failure != null )
+            {
+                throw failure;
+            }
+            return null;
+        }
+
+        private void consume( String line )
+        {
+            if ( consumer != null && failure == null )
+            {
+                try
+                {
+                    consumer.consumeLine( line );
+                }
+                catch ( RuntimeException e )
+                {
+                    failure = e;
+                }
+            }
+        }
+    }
+}
@@ -233,4 +233,16 @@ public void testToXmlWithFiles()
 
     }
 
+    public void testToXmlWithNullValues()
+    {
+        instance.setParentRevision( "1" );
+        instance.addMergedRevision( null );
+        instance.addFile( new ChangeFile( "maven1:dummy", null ) );
+
+        String sXml = instance.toXML();
+
+        assertTrue( sXml, sXml.indexOf( "<merge>null</merge>" ) > -1 );
+        assertTrue( sXml, sXml.indexOf( "<revision>null</revision>" ) > -1 );
+    }
+
 }
@@ -25,6 +25,7 @@
 import java.util.List;
 
 import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
 
 /**
  * @author dtran
@@ -108,4 +109,44 @@ public void testFilesListNoExcludes()
         assertEquals( 4, fileSet.getFileList().size() );
     }
 
+    public void testToStringDoesNotScan()
+        throws IOException
+    {
+        File basedir = new File( getBasedir(), "target/scmfileset-tostring" );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+
+        ScmFileSet fileSet = new ScmFileSet( basedir, "**/*.txt", "**/exclude/**" );
+
+        String description = fileSet.toString();
+        assertTrue( description, description.indexOf( "includes = **/*.txt" ) >= 0 );
+        assertTrue( description, description.indexOf( "excludes = **/exclude/**" ) >= 0 );
+        assertTrue( description, description.indexOf( "files = " ) < 0 );
+
+        // scanned after toString()
+        FileUtils.fileWrite( new File( basedir, "a.txt" ), "a" );
+        assertEquals( 1, fileSet.getFileList().size() );
+        assertTrue( fileSet.toString().endsWith( "; files = [a.txt]" ) );
+
+        assertEquals( "basedir = " + basedir + "; files = [a.txt]",
+                      new ScmFileSet( basedir, new File( "a.txt" ) ).toString() );
+    }
+
+    public void testMissingBasedirFails()
+        throws IOException
+    {
+        File basedir = new File( getBasedir(), "target/scmfileset-missing" );
+        FileUtils.deleteDirectory( basedir );
+
+        try
+        {
+            new ScmFileSet( basedir, "**/*.txt", null );
+            fail( "The missing directory must fail, as FileUtils.getFiles does" );
+        }
+        catch ( IllegalStateException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().indexOf( "does not exist" ) >= 0 );
+        }
+    }
+
 }
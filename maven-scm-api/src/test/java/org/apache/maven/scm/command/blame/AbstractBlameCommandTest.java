@@ -0,0 +1,222 @@
+package org.apache.maven.scm.command.blame;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.ScmProcessRunner;
+import org.apache.maven.scm.util.ScmProcessRunnerTest;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AbstractBlameCommandTest
+    extends TestCase
+{
+    private static final List<File> FILES =
+        Arrays.asList( new File( "a.txt" ), new File( "b.txt" ), new File( "c.txt" ), new File( "d.txt" ),
+                       new File( "e.txt" ), new File( "f.txt" ) );
+
+    public void testBlameFiles()
+        throws Exception
+    {
+        SleepingBlameCommand command = new SleepingBlameCommand( null );
+        final List<String> handled = new ArrayList<String>();
+        final Thread caller = Thread.currentThread();
+
+        CommandParameters parameters = new CommandParameters();
+        parameters.setInt( CommandParameter.BLAME_THREADS, 3 );
+        parameters.setBlameHandler( CommandParameter.BLAME_HANDLER, new BlameHandler()
+        {
+            public boolean handleBlame( String filename, BlameScmResult result )
+            {
+                assertSame( caller, Thread.currentThread() );
+                assertEquals( filename, result.getLines().get( 0 ).getRevision() );
+                handled.add( filename );
+                return true;
+            }
+        } );
+
+        BlameScmResult result =
+            (BlameScmResult) command.executeCommand( null, new ScmFileSet( new File( "." ), FILES ), parameters );
+
+        assertTrue( result.isSuccess() );
+        assertNull( result.getLines() );
+
+        Collections.sort( handled );
+        assertEquals( Arrays.asList( "a.txt", "b.txt", "c.txt", "d.txt", "e.txt", "f.txt" ), handled );
+
+        assertTrue( "Expected concurrent blames, got " + command.maxRunning, command.maxRunning.get() > 1 );
+        assertTrue( "Expected at most 3 concurrent blames, got " + command.maxRunning, command.maxRunning.get() <= 3 );
+    }
+
+    public void testFailedAndCancelledBlames()
+        throws Exception
+    {
+        SleepingBlameCommand command = new SleepingBlameCommand( "b.txt" );
+        final List<String> handled = new ArrayList<String>();
+
+        BlameScmResult result =
+            command.executeBlameCommand( null, null, Arrays.asList( "a.txt", "b.txt", "c.txt" ), 1, new BlameHandler()
+            {
+                public boolean handleBlame( String filename, BlameScmResult result )
+                {
+                    handled.add( filename );
+                    return result.isSuccess();
+                }
+            } );
+
+        assertFalse( result.isSuccess() );
+        assertEquals( Arrays.asList( "a.txt", "b.txt" ), handled );
+    }
+
+    public void testStoppedBlameDestroysItsProcess()
+        throws Exception
+    {
+        final List<String> ticks = Collections.synchronizedList( new ArrayList<String>() );
+        final CountDownLatch started = new CountDownLatch( 1 );
+
+        AbstractBlameCommand command = new SleepingBlameCommand( null );
+        BlameScmResult result = command.blame( Arrays.asList( "quick.txt", "slow.txt" ), 2, new BlameHandler()
+        {
+            public boolean handleBlame( String filename, BlameScmResult result )
+            {
+                return false;
+            }
+        }, new AbstractBlameCommand.FileBlame()
+        {
+            public BlameScmResult blame( String filename )
+                throws ScmException
+            {
+                try
+                {
+                    if ( filename.equals( "quick.txt" ) )
+                    {
+                        started.await();
+                        return new BlameScmResult( null, null, null, true );
+                    }
+
+                    ScmProcessRunner.executeCommandLine( tick(), null, new StreamConsumer()
+                    {
+                        public void consumeLine( String line )
+                        {
+                            ticks.add( line );
+                            started.countDown();
+                        }
+                    }, null, 0 );
+                    return new BlameScmResult( null, null, null, true );
+                }
+                catch ( Exception e )
+                {
+                    throw new ScmException( "Interrupted", e );
+                }
+            }
+        } );
+
+        assertTrue( result.isSuccess() );
+
+        // the process of the cancelled blame has been destroyed, it doesn't print anymore
+        Thread.sleep( 500 );
+        int count = ticks.size();
+        Thread.sleep( 500 );
+        assertEquals( count, ticks.size() );
+    }
+
+    private static Commandline tick()
+    {
+        Commandline cl = new Commandline();
+        cl.setExecutable( new File( System.getProperty( "java.home" ), "bin/java" ).getAbsolutePath() );
+        cl.createArg().setValue( "-cp" );
+        cl.createArg().setValue( System.getProperty( "java.class.path" ) );
+        cl.createArg().setValue( ScmProcessRunnerTest.Tool.class.getName() );
+        cl.createArg().setValue( "tick" );
+        return cl;
+    }
+
+    public void testSingleFile()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        parameters.setString( CommandParameter.FILE, "a.txt" );
+
+        BlameScmResult result = (BlameScmResult) new SleepingBlameCommand( null ).executeCommand( null, null,
+                                                                                                 parameters );
+
+        assertEquals( "a.txt", result.getLines().get( 0 ).getRevision() );
+    }
+
+    private static class SleepingBlameCommand
+        extends AbstractBlameCommand
+    {
+        private final String failing;
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        SleepingBlameCommand( String failing )
+        {
+            this.failing = failing;
+        }
+
+        public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
+                                                   String filename )
+            throws ScmException
+        {
+            int count = running.incrementAndGet();
+            synchronized ( maxRunning )
+            {
+                maxRunning.set( Math.max( maxRunning.get(), count ) );
+            }
+            try
+            {
+                Thread.sleep( 50 );
+            }
+            catch ( InterruptedException e )
+            {
+                throw new ScmException( "Interrupted", e );
+            }
+            finally
+            {
+                running.decrementAndGet();
+            }
+
+            if ( filename.equals( failing ) )
+            {
+                return new BlameScmResult( null, "failed", null, false );
+            }
+
+            BlameLines lines = new BlameLines();
+            lines.add( null, filename, "author", "committer" );
+            return new BlameScmResult( "blame " + filename, lines );
+        }
+    }
+}
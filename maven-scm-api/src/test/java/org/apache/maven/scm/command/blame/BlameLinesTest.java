@@ -0,0 +1,135 @@
+package org.apache.maven.scm.command.blame;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+
+public class BlameLinesTest
+    extends TestCase
+{
+    public void testAddAndGet()
+    {
+        BlameLines lines = new BlameLines( 1 );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            lines.add( new Date( i * 1000L ), "rev" + ( i % 3 ), new String( "author" ), "committer" );
+        }
+        lines.add( new BlameLine( null, "rev0", "other" ) );
+
+        assertEquals( 101, lines.size() );
+
+        BlameLine line = lines.get( 4 );
+        assertEquals( new Date( 4000 ), line.getDate() );
+        assertEquals( "rev1", line.getRevision() );
+        assertEquals( "author", line.getAuthor() );
+        assertEquals( "committer", line.getCommitter() );
+
+        assertSame( lines.getAuthor( 0 ), lines.getAuthor( 99 ) );
+        assertEquals( 4000, lines.getTime( 4 ) );
+
+        assertNull( lines.getDate( 100 ) );
+        assertEquals( BlameLines.NO_DATE, lines.getTime( 100 ) );
+        assertEquals( "other", lines.get( 100 ).getAuthor() );
+        assertEquals( "other", lines.get( 100 ).getCommitter() );
+
+        int count = 0;
+        for ( BlameLine blameLine : lines )
+        {
+            assertNotNull( blameLine.getRevision() );
+            count++;
+        }
+        assertEquals( 101, count );
+    }
+
+    public void testSet()
+    {
+        BlameLines lines = new BlameLines();
+        lines.add( (Date) null, "42", null, null );
+
+        BlameLine line = lines.get( 0 );
+        line.setAuthor( "written" );
+        line.setDate( new Date( 500 ) );
+        assertEquals( "written", lines.getAuthor( 0 ) );
+        assertEquals( 500, lines.getTime( 0 ) );
+        assertNull( line.getCommitter() );
+
+        lines.set( 0, new Date( 1000 ), "42", "author", null );
+        assertEquals( "author", lines.get( 0 ).getAuthor() );
+        assertEquals( new Date( 1000 ), lines.get( 0 ).getDate() );
+        assertNull( lines.getCommitter( 0 ) );
+
+        BlameLine previous = lines.set( 0, new BlameLine( new Date( 2000 ), "43", "someone" ) );
+        assertEquals( "author", previous.getAuthor() );
+        assertEquals( "43", lines.getRevision( 0 ) );
+        assertEquals( 2000, lines.getTime( 0 ) );
+        assertEquals( "someone", line.getAuthor() );
+
+        try
+        {
+            lines.get( 1 );
+            fail( "IndexOutOfBoundsException expected" );
+        }
+        catch ( IndexOutOfBoundsException e )
+        {
+            // expected
+        }
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        BlameLines lines = new BlameLines();
+        lines.add( new Date( 1000 ), "1", "author", "author" );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( bytes );
+        out.writeObject( lines );
+        out.close();
+
+        BlameLines copy =
+            (BlameLines) new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ).readObject();
+
+        assertEquals( 1, copy.size() );
+        assertEquals( "author", copy.getAuthor( 0 ) );
+
+        copy.add( new Date( 2000 ), "2", "author", "author" );
+        assertSame( copy.getAuthor( 0 ), copy.getAuthor( 1 ) );
+
+        // a line alone is serialized without its list
+        bytes = new ByteArrayOutputStream();
+        out = new ObjectOutputStream( bytes );
+        out.writeObject( lines.get( 0 ) );
+        out.close();
+
+        BlameLine line =
+            (BlameLine) new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ).readObject();
+
+        assertEquals( BlameLine.class, line.getClass() );
+        assertEquals( "author", line.getAuthor() );
+        assertEquals( new Date( 1000 ), line.getDate() );
+    }
+}
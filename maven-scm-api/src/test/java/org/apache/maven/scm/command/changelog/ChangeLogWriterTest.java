@@ -0,0 +1,153 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmRevision;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Tests for the {@link ChangeLogWriter} class
+ */
+public class ChangeLogWriterTest
+    extends TestCase
+{
+    private static ChangeSet createChangeSet( String comment )
+    {
+        ChangeSet changeSet = new ChangeSet();
+        changeSet.setAuthor( "dion" );
+        changeSet.setComment( comment );
+        changeSet.setDate( new Date( 1017619200000L ) );
+        changeSet.setRevision( "42" );
+        ChangeFile file = new ChangeFile( "src/a&b.txt", "42" );
+        file.setAction( ScmFileStatus.MODIFIED );
+        changeSet.addFile( file );
+        return changeSet;
+    }
+
+    private static ChangeLogSet createChangeLogSet()
+    {
+        List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+        changeSets.add( createChangeSet( "first \"line\"\nsecond line ]]>" ) );
+        changeSets.add( createChangeSet( "tab\there \u2028" ) );
+        ChangeLogSet changeLogSet = new ChangeLogSet( changeSets, null, null );
+        changeLogSet.setStartVersion( new ScmRevision( "1" ) );
+        return changeLogSet;
+    }
+
+    public void testXml()
+        throws Exception
+    {
+        ChangeLogSet changeLogSet = createChangeLogSet();
+
+        StringBuilder expected = new StringBuilder();
+        expected.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+        expected.append( "<changeset datePattern=\"yyyyMMdd HH:mm:ss z\" startVersion=\"1\">\n" );
+        for ( ChangeSet changeSet : changeLogSet.getChangeSets() )
+        {
+            expected.append( changeSet.toXML() );
+        }
+        expected.append( "</changeset>\n" );
+
+        StringWriter writer = new StringWriter();
+        changeLogSet.writeXml( writer, "UTF-8" );
+
+        assertEquals( expected.toString(), writer.toString() );
+        assertEquals( expected.toString(), changeLogSet.toXML( "UTF-8" ) );
+        assertTrue( writer.toString().indexOf( "<name>src/a&amp;b.txt</name>" ) > 0 );
+        assertTrue( writer.toString().indexOf( "second line ] ] >" ) > 0 );
+    }
+
+    public void testJson()
+        throws Exception
+    {
+        StringWriter writer = new StringWriter();
+        createChangeLogSet().writeJson( writer );
+        String json = writer.toString();
+
+        assertTrue( json, json.startsWith( "{\"datePattern\":\"yyyyMMdd HH:mm:ss z\",\"startVersion\":\"1\","
+            + "\"changeSets\":[{" ) );
+        assertTrue( json, json.endsWith( "}]}\n" ) );
+        assertTrue( json, json.indexOf( "\"comment\":\"first \\\"line\\\"\\nsecond line ]]>\"" ) > 0 );
+        assertTrue( json, json.indexOf( "\"comment\":\"tab\\there \\u2028\"" ) > 0 );
+        assertTrue( json, json.indexOf( "\"name\":\"src/a&b.txt\"" ) > 0 );
+        assertTrue( json, json.indexOf( "\"timestamp\":1017619200000" ) > 0 );
+        assertTrue( json, json.indexOf( "}},{" ) < 0 );
+        assertTrue( json, json.indexOf( "},{\"date\"" ) > 0 );
+        assertEquals( 1, json.split( "\n" ).length );
+    }
+
+    public void testNdjson()
+        throws Exception
+    {
+        StringWriter writer = new StringWriter();
+        createChangeLogSet().writeNdjson( writer );
+        String[] lines = writer.toString().split( "\n" );
+
+        assertEquals( 2, lines.length );
+        for ( String line : lines )
+        {
+            assertTrue( line, line.startsWith( "{\"date\":" ) );
+            assertTrue( line, line.endsWith( "}" ) );
+        }
+    }
+
+    public void testHandlerStopsOnFailure()
+        throws Exception
+    {
+        Writer failing = new Writer()
+        {
+            public void write( char[] cbuf, int off, int len )
+                throws IOException
+            {
+                throw new IOException( "disk full" );
+            }
+
+            public void flush()
+            {
+            }
+
+            public void close()
+            {
+            }
+        };
+
+        ChangeLogWriter writer = new ChangeLogWriter( failing, ChangeLogWriter.Format.NDJSON );
+        assertFalse( writer.handleChangeSet( createChangeSet( "comment" ) ) );
+        try
+        {
+            writer.finish();
+            fail( "the failure must be reported" );
+        }
+        catch ( IOException e )
+        {
+            assertEquals( "disk full", e.getMessage() );
+        }
+    }
+}
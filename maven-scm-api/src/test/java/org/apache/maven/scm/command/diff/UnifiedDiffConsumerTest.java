@@ -0,0 +1,187 @@
+package org.apache.maven.scm.command.diff;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmFileStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the {@link UnifiedDiffConsumer} class
+ */
+public class UnifiedDiffConsumerTest
+    extends TestCase
+{
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+    private static final String GIT_PATCH = "diff --git a/src/Foo.java b/src/Foo.java\n"
+        + "index 1234567..89abcde 100644\n"
+        + "--- a/src/Foo.java\n"
+        + "+++ b/src/Foo.java\n"
+        + "@@ -1,3 +1,3 @@\n"
+        + " class Foo\n"
+        + "--- removed line looking like a header\n"
+        + "+++ added line looking like a header\n"
+        + " }\n"
+        + "@@ -10 +10,2 @@ method\n"
+        + " context\n"
+        + "+added\n"
+        + "\\ No newline at end of file\n"
+        + "diff --git a/new.txt b/new.txt\n"
+        + "new file mode 100644\n"
+        + "--- /dev/null\n"
+        + "+++ b/new.txt\n"
+        + "@@ -0,0 +1 @@\n"
+        + "+h\u00e9llo\n"
+        + "diff --git a/image.png b/image.png\n"
+        + "deleted file mode 100644\n"
+        + "Binary files a/image.png and /dev/null differ\n";
+
+    private static final String SVN_PATCH = "Index: trunk/readme.txt\n"
+        + "===================================================================\n"
+        + "--- trunk/readme.txt\t(revision 12)\n"
+        + "+++ trunk/readme.txt\t(working copy)\n"
+        + "@@ -1,2 +1,1 @@\n"
+        + "-first\n"
+        + " second\n"
+        + "Index: trunk/added.txt\n"
+        + "===================================================================\n"
+        + "--- trunk/added.txt\t(revision 0)\n"
+        + "+++ trunk/added.txt\t(working copy)\n"
+        + "@@ -0,0 +1,2 @@\n"
+        + "+one\n"
+        + "+two\n";
+
+    private static class RecordingHandler
+        implements DiffHandler
+    {
+        private final List<DiffHunk> hunks = new ArrayList<DiffHunk>();
+
+        private final List<DiffFileStatistics> files = new ArrayList<DiffFileStatistics>();
+
+        public void handleHunk( DiffHunk hunk )
+        {
+            hunks.add( hunk );
+        }
+
+        public void handleFile( DiffFileStatistics file )
+        {
+            files.add( file );
+        }
+    }
+
+    public void testGitPatchByLines()
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RecordingHandler handler = new RecordingHandler();
+        UnifiedDiffConsumer consumer = new UnifiedDiffConsumer( out, UTF_8, handler );
+
+        for ( String line : GIT_PATCH.split( "\n" ) )
+        {
+            consumer.consumeLine( line );
+        }
+        consumer.finish();
+
+        assertEquals( GIT_PATCH, new String( out.toByteArray(), "UTF-8" ) );
+        assertGitStatistics( handler );
+        assertEquals( 3, consumer.getChangedFiles().size() );
+        assertEquals( ScmFileStatus.DELETED, consumer.getChangedFiles().get( 2 ).getStatus() );
+    }
+
+    public void testGitPatchByBytes()
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RecordingHandler handler = new RecordingHandler();
+        UnifiedDiffConsumer consumer = new UnifiedDiffConsumer( out, UTF_8, handler );
+
+        byte[] patch = GIT_PATCH.getBytes( "UTF-8" );
+        consumer.getOutputStream().write( patch, 0, 7 );
+        consumer.getOutputStream().write( patch[7] );
+        consumer.getOutputStream().write( patch, 8, patch.length - 8 );
+        consumer.finish();
+
+        assertEquals( GIT_PATCH, new String( out.toByteArray(), "UTF-8" ) );
+        assertGitStatistics( handler );
+    }
+
+    private void assertGitStatistics( RecordingHandler handler )
+    {
+        assertEquals( 3, handler.hunks.size() );
+        DiffHunk hunk = handler.hunks.get( 0 );
+        assertEquals( "src/Foo.java", hunk.getPath() );
+        assertEquals( 1, hunk.getLinesAdded() );
+        assertEquals( 1, hunk.getLinesRemoved() );
+        hunk = handler.hunks.get( 1 );
+        assertEquals( 10, hunk.getOldStart() );
+        assertEquals( 1, hunk.getOldLines() );
+        assertEquals( 2, hunk.getNewLines() );
+        assertEquals( 1, hunk.getLinesAdded() );
+
+        assertEquals( 3, handler.files.size() );
+        DiffFileStatistics file = handler.files.get( 0 );
+        assertEquals( "src/Foo.java", file.getPath() );
+        assertEquals( ScmFileStatus.MODIFIED, file.getStatus() );
+        assertEquals( 2, file.getHunks() );
+        assertEquals( 2, file.getLinesAdded() );
+        assertEquals( 1, file.getLinesRemoved() );
+
+        file = handler.files.get( 1 );
+        assertEquals( "new.txt", file.getPath() );
+        assertEquals( ScmFileStatus.ADDED, file.getStatus() );
+        assertEquals( 1, file.getLinesAdded() );
+
+        file = handler.files.get( 2 );
+        assertEquals( "image.png", file.getPath() );
+        assertEquals( ScmFileStatus.DELETED, file.getStatus() );
+        assertTrue( file.isBinary() );
+        assertEquals( 0, file.getHunks() );
+    }
+
+    public void testSvnPatchWithoutOutput()
+        throws Exception
+    {
+        RecordingHandler handler = new RecordingHandler();
+        UnifiedDiffConsumer consumer = new UnifiedDiffConsumer( null, UTF_8, handler );
+
+        for ( String line : SVN_PATCH.split( "\n" ) )
+        {
+            consumer.consumeLine( line );
+        }
+        consumer.finish();
+
+        assertEquals( 2, handler.files.size() );
+        DiffFileStatistics file = handler.files.get( 0 );
+        assertEquals( "trunk/readme.txt", file.getPath() );
+        assertEquals( ScmFileStatus.MODIFIED, file.getStatus() );
+        assertEquals( 1, file.getLinesRemoved() );
+        assertEquals( 0, file.getLinesAdded() );
+
+        file = handler.files.get( 1 );
+        assertEquals( "trunk/added.txt", file.getPath() );
+        assertEquals( ScmFileStatus.ADDED, file.getStatus() );
+        assertEquals( 2, file.getLinesAdded() );
+    }
+}
@@ -0,0 +1,214 @@
+package org.apache.maven.scm.manager;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.provider.AbstractScmProvider;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.repository.ScmRepository;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScmBatchTest
+    extends TestCase
+{
+    private BasicScmManager manager;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        manager = new BasicScmManager();
+        manager.setScmProvider( "a", new StubScmProvider( "a" ) );
+        manager.setScmProvider( "b", new StubScmProvider( "b" ) );
+    }
+
+    public void testResultsInCompletionOrder()
+        throws Exception
+    {
+        final CountDownLatch slowRelease = new CountDownLatch( 1 );
+
+        ScmRequest slow = newRequest( "a", "slow" );
+        ScmRequest fast = newRequest( "b", "fast" );
+
+        ScmBatch batch = manager.executeAll( Arrays.asList( slow, fast ), new ScmRequestCommand()
+        {
+            public ScmResult execute( ScmProvider provider, ScmRequest request )
+                throws ScmException
+            {
+                if ( "slow".equals( request.getScmFileSet().getBasedir().getName() ) )
+                {
+                    await( slowRelease );
+                }
+                return new ScmResult( null, null, null, true );
+            }
+        } );
+
+        assertEquals( 2, batch.size() );
+
+        ScmBatchResult first = batch.take();
+        assertSame( fast, first.getRequest() );
+        assertTrue( first.isSuccess() );
+
+        slowRelease.countDown();
+
+        ScmBatchResult second = batch.take();
+        assertSame( slow, second.getRequest() );
+        assertTrue( second.isSuccess() );
+
+        assertNull( batch.take() );
+    }
+
+    public void testMaxConcurrentRequestsPerProvider()
+        throws Exception
+    {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        List<ScmRequest> requests = new ArrayList<ScmRequest>();
+        for ( int i = 0; i < 8; i++ )
+        {
+            requests.add( newRequest( "a", "wc" + i ) );
+        }
+
+        manager.setMaxConcurrentRequests( "a", 2 );
+
+        ScmBatch batch = manager.executeAll( requests, new ScmRequestCommand()
+        {
+            public ScmResult execute( ScmProvider provider, ScmRequest request )
+                throws ScmException
+            {
+                int current = running.incrementAndGet();
+                synchronized ( maxRunning )
+                {
+                    maxRunning.set( Math.max( maxRunning.get(), current ) );
+                }
+                try
+                {
+                    Thread.sleep( 20 );
+                }
+                catch ( InterruptedException e )
+                {
+                    throw new ScmException( "interrupted", e );
+                }
+                running.decrementAndGet();
+                return new ScmResult( null, null, null, true );
+            }
+        } );
+
+        int count = 0;
+        for ( ScmBatchResult result : batch )
+        {
+            assertTrue( result.isSuccess() );
+            count++;
+        }
+
+        assertEquals( 8, count );
+        assertTrue( "max running: " + maxRunning.get(), maxRunning.get() <= 2 );
+    }
+
+    public void testExceptionsAreReported()
+        throws Exception
+    {
+        ScmRequest failing = newRequest( "a", "failing" );
+        ScmRequest unknown = newRequest( "unknown", "unknown" );
+
+        List<ScmBatchResult> results =
+            manager.executeAll( Arrays.asList( failing, unknown ), new ScmRequestCommand()
+            {
+                public ScmResult execute( ScmProvider provider, ScmRequest request )
+                    throws ScmException
+                {
+                    throw new ScmException( "failed" );
+                }
+            } ).awaitAll();
+
+        assertEquals( 2, results.size() );
+
+        for ( ScmBatchResult result : results )
+        {
+            assertFalse( result.isSuccess() );
+            assertNull( result.getResult() );
+
+            if ( result.getRequest() == failing )
+            {
+                assertEquals( "failed", result.getException().getMessage() );
+            }
+            else
+            {
+                assertTrue( result.getException() instanceof NoSuchScmProviderException );
+            }
+        }
+    }
+
+    private static ScmRequest newRequest( String providerType, String name )
+    {
+        return new ScmRequest( new ScmRepository( providerType, null ), new ScmFileSet( new File( name ) ) );
+    }
+
+    private static void await( CountDownLatch latch )
+        throws ScmException
+    {
+        try
+        {
+            if ( !latch.await( 10, TimeUnit.SECONDS ) )
+            {
+                throw new ScmException( "timeout" );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            throw new ScmException( "interrupted", e );
+        }
+    }
+
+    private static class StubScmProvider
+        extends AbstractScmProvider
+    {
+        private final String scmType;
+
+        StubScmProvider( String scmType )
+        {
+            this.scmType = scmType;
+        }
+
+        public String getScmType()
+        {
+            return scmType;
+        }
+
+        public ScmProviderRepository makeProviderScmRepository( String scmSpecificUrl, char delimiter )
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.apache.maven.scm.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.ScmProcessRunner;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+public class ScmMetricsTest
+    extends TestCase
+{
+    private final List<ScmCommandMetrics> started = new ArrayList<ScmCommandMetrics>();
+
+    private final List<ScmCommandMetrics> finished = new ArrayList<ScmCommandMetrics>();
+
+    private final ScmCommandObserver observer = new ScmCommandObserver()
+    {
+        public void commandStarted( ScmCommandMetrics metrics )
+        {
+            started.add( metrics );
+        }
+
+        public void commandFinished( ScmCommandMetrics metrics )
+        {
+            finished.add( metrics );
+        }
+    };
+
+    private final ScmProviderRepository repository = new ScmProviderRepository()
+    {
+    };
+
+    private final ScmFileSet fileSet = new ScmFileSet( new File( "." ) );
+
+    protected void tearDown()
+        throws Exception
+    {
+        ScmMetrics.removeObserver( observer );
+
+        super.tearDown();
+    }
+
+    public void testDisabledWithoutObservers()
+        throws Exception
+    {
+        assertNull( ScmMetrics.commandStarted( "test", "version" ) );
+
+        new JavaVersionCommand().execute( repository, fileSet, null );
+
+        assertNull( ScmMetrics.current() );
+    }
+
+    public void testCommandWithProcess()
+        throws Exception
+    {
+        ScmMetrics.addObserver( observer );
+
+        ScmResult result = new JavaVersionCommand().execute( repository, fileSet, null );
+
+        assertTrue( result.isSuccess() );
+        assertEquals( 1, started.size() );
+        assertEquals( 1, finished.size() );
+        assertSame( started.get( 0 ), finished.get( 0 ) );
+
+        ScmCommandMetrics metrics = finished.get( 0 );
+        assertEquals( "test", metrics.getProvider() );
+        assertEquals( "version", metrics.getCommand() );
+        assertTrue( metrics.isSuccess() );
+        assertEquals( 1, metrics.getProcesses() );
+        assertTrue( metrics.getSpawnNanos() > 0 );
+        // java -version prints to stderr
+        assertTrue( metrics.getStderrChars() > 0 );
+        assertTrue( metrics.getLines() > 0 );
+        assertTrue( metrics.getWallTimeNanos() >= metrics.getSpawnNanos() );
+        assertNull( ScmMetrics.current() );
+    }
+
+    public void testNestedCommands()
+        throws Exception
+    {
+        ScmMetrics.addObserver( observer );
+
+        ScmCommandMetrics outer = ScmMetrics.commandStarted( "test", "outer" );
+        new JavaVersionCommand().execute( repository, fileSet, null );
+        assertSame( outer, ScmMetrics.current() );
+        ScmMetrics.commandFinished( outer, true );
+
+        assertNull( ScmMetrics.current() );
+        assertEquals( 2, finished.size() );
+        assertEquals( 1, finished.get( 0 ).getProcesses() );
+        assertEquals( 0, outer.getProcesses() );
+    }
+
+    public void testJmxStatistics()
+        throws Exception
+    {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        JmxScmCommandObserver jmx = new JmxScmCommandObserver( server );
+        ScmMetrics.addObserver( jmx );
+        try
+        {
+            new JavaVersionCommand().execute( repository, fileSet, null );
+            new JavaVersionCommand().execute( repository, fileSet, null );
+        }
+        finally
+        {
+            ScmMetrics.removeObserver( jmx );
+        }
+
+        Object invocations =
+            server.getAttribute( JmxScmCommandObserver.getObjectName( "test", "version" ), "Invocations" );
+        assertEquals( Long.valueOf( 2 ), invocations );
+        assertEquals( 2, jmx.getStatistics( "test", "version" ).getProcesses() );
+
+        jmx.unregister();
+        assertFalse( server.isRegistered( JmxScmCommandObserver.getObjectName( "test", "version" ) ) );
+    }
+
+    public void testInvalidObserversAreSkipped()
+    {
+        String classNames = "org.example.Missing, " + RegisteredObserver.class.getName() + ",java.lang.Object";
+
+        List<String> errors = ScmMetrics.addObservers( classNames );
+        try
+        {
+            assertEquals( errors.toString(), 2, errors.size() );
+            assertTrue( errors.get( 0 ), errors.get( 0 ).indexOf( "org.example.Missing" ) >= 0 );
+            assertTrue( errors.get( 1 ), errors.get( 1 ).indexOf( "java.lang.Object" ) >= 0 );
+            assertTrue( ScmMetrics.isEnabled() );
+        }
+        finally
+        {
+            ScmMetrics.removeObserver( RegisteredObserver.instance );
+        }
+    }
+
+    /**
+     * An observer registered by its class name
+     */
+    public static class RegisteredObserver
+        implements ScmCommandObserver
+    {
+        private static RegisteredObserver instance;
+
+        public RegisteredObserver()
+        {
+            instance = this;
+        }
+
+        public void commandStarted( ScmCommandMetrics metrics )
+        {
+        }
+
+        public void commandFinished( ScmCommandMetrics metrics )
+        {
+        }
+    }
+
+    private static class JavaVersionCommand
+        extends AbstractCommand
+    {
+        protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                            CommandParameters parameters )
+            throws ScmException
+        {
+            Commandline cl = new Commandline();
+            cl.setExecutable( new File( System.getProperty( "java.home" ), "bin/java" ).getAbsolutePath() );
+            cl.createArg().setValue( "-version" );
+
+            CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+            try
+            {
+                int exitCode = ScmProcessRunner.executeCommandLine( cl, stdout, stderr );
+                return new ScmResult( cl.toString(), null, stderr.getOutput(), exitCode == 0 );
+            }
+            catch ( CommandLineException e )
+            {
+                throw new ScmException( "Error while executing command.", e );
+            }
+        }
+
+        protected String getProviderName()
+        {
+            return "test";
+        }
+
+        protected String getCommandName()
+        {
+            return "version";
+        }
+    }
+}
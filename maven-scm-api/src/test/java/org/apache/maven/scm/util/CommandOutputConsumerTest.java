@@ -0,0 +1,179 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.util.CommandOutputConsumer.Retention;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+public class CommandOutputConsumerTest
+    extends TestCase
+{
+    private static final String LS = System.getProperty( "line.separator" );
+
+    public void testNone()
+    {
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.NONE );
+        consume( consumer, 10 );
+
+        assertEquals( "", consumer.getOutput() );
+        assertEquals( 10, consumer.getLineCount() );
+    }
+
+    public void testFull()
+    {
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.FULL, 10 );
+        consume( consumer, 10 );
+
+        assertEquals( expected( 0, 10 ), consumer.getOutput() );
+    }
+
+    public void testDefaultKeepsEverything()
+    {
+        System.setProperty( CommandOutputConsumer.LIMIT_PROPERTY, "10" );
+        try
+        {
+            CommandOutputConsumer consumer = new CommandOutputConsumer();
+            consume( consumer, 10 );
+
+            assertEquals( Retention.FULL, consumer.getRetention() );
+            assertEquals( expected( 0, 10 ), consumer.getOutput() );
+        }
+        finally
+        {
+            System.clearProperty( CommandOutputConsumer.LIMIT_PROPERTY );
+        }
+    }
+
+    public void testBoundedBelowLimit()
+    {
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.BOUNDED, 1000 );
+        consume( consumer, 10 );
+
+        assertEquals( expected( 0, 10 ), consumer.getOutput() );
+        assertEquals( 0, consumer.getOmittedLines() );
+    }
+
+    public void testBoundedKeepsHeadAndTail()
+    {
+        // each line is "line n" plus the line separator
+        int lineSize = "line 0".length() + LS.length();
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.BOUNDED, 6 * lineSize );
+        consume( consumer, 10 );
+
+        assertEquals( 4, consumer.getOmittedLines() );
+        assertEquals( expected( 0, 3 ) + "[... 4 lines omitted ...]" + LS + expected( 7, 10 ), consumer.getOutput() );
+    }
+
+    public void testSpill()
+        throws Exception
+    {
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.SPILL, 20 );
+        consume( consumer, 100 );
+
+        assertEquals( expected( 0, 100 ), consumer.getOutput() );
+
+        consumer.dispose();
+        assertEquals( "", consumer.getOutput() );
+    }
+
+    public void testSpillFileIsDeletedOnceRead()
+        throws Exception
+    {
+        Set<String> before = spillFiles();
+
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.SPILL, 20 );
+        consume( consumer, 100 );
+
+        Set<String> created = spillFiles();
+        created.removeAll( before );
+        assertEquals( 1, created.size() );
+
+        consumer.close();
+        consumer.consumeLine( "after the end" );
+        assertEquals( 1, consumer.getOmittedLines() );
+
+        assertEquals( expected( 0, 100 ), consumer.getOutput() );
+        assertFalse( spillFiles().containsAll( created ) );
+
+        // from memory now
+        assertEquals( expected( 0, 100 ), consumer.getOutput() );
+    }
+
+    public void testLazyScmResult()
+        throws Exception
+    {
+        CommandOutputConsumer consumer = new CommandOutputConsumer( Retention.SPILL, 20 );
+        ScmResult result = new ScmResult( "cmd", "message", true, consumer );
+        consume( consumer, 5 );
+
+        assertEquals( expected( 0, 5 ), result.getCommandOutput() );
+        assertEquals( expected( 0, 5 ), new ScmResult( result ).getCommandOutput() );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( bytes );
+        out.writeObject( result );
+        out.close();
+        consumer.dispose();
+
+        ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+        ScmResult read = (ScmResult) in.readObject();
+        assertEquals( expected( 0, 5 ), read.getCommandOutput() );
+    }
+
+    private static void consume( CommandOutputConsumer consumer, int lines )
+    {
+        for ( int i = 0; i < lines; i++ )
+        {
+            consumer.consumeLine( "line " + i );
+        }
+    }
+
+    private static Set<String> spillFiles()
+    {
+        Set<String> files = new HashSet<String>();
+        for ( String name : new File( System.getProperty( "java.io.tmpdir" ) ).list() )
+        {
+            if ( name.startsWith( "maven-scm-output" ) )
+            {
+                files.add( name );
+            }
+        }
+        return files;
+    }
+
+    private static String expected( int from, int to )
+    {
+        StringBuilder expected = new StringBuilder();
+        for ( int i = from; i < to; i++ )
+        {
+            expected.append( "line " ).append( i ).append( LS );
+        }
+        return expected.toString();
+    }
+}
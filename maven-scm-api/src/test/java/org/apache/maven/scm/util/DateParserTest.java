@@ -0,0 +1,132 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class DateParserTest
+    extends TestCase
+{
+    private TimeZone defaultTimeZone;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        defaultTimeZone = TimeZone.getDefault();
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        TimeZone.setDefault( defaultTimeZone );
+        super.tearDown();
+    }
+
+    public void testGitDate()
+    {
+        assertEquals( 1195863284000L, DateParser.parse( "2007-11-24 01:14:44 +0100", "yyyy-MM-dd HH:mm:ss Z",
+                                                        Locale.ENGLISH ).getTime() );
+        assertSameAsFormat( "2007-11-24 01:14:44 -0830", "yyyy-MM-dd HH:mm:ss Z" );
+        assertSameAsFormat( "2007-11-24 01:14:44 GMT+01:00", "yyyy-MM-dd HH:mm:ss Z" );
+    }
+
+    public void testSvnDate()
+    {
+        assertSameAsFormat( "2002-08-26 14:33:26 GMT-04:00", "yyyy-MM-dd HH:mm:ss zzzzzzzzz" );
+        assertSameAsFormat( "2002-08-26 14:33:26 +0000", "yyyy-MM-dd HH:mm:ss z" );
+        assertSameAsFormat( "2000-02-29 23:59:59 GMT+14:00", "yyyy-MM-dd HH:mm:ss z" );
+    }
+
+    public void testLocalDates()
+    {
+        String[] timeZones = { "UTC", "Europe/Paris", "America/New_York", "Australia/Sydney" };
+        for ( int i = 0; i < timeZones.length; i++ )
+        {
+            TimeZone.setDefault( TimeZone.getTimeZone( timeZones[i] ) );
+            assertSameAsFormat( "2003/10/15 13:38:40", "yyyy/MM/dd HH:mm:ss" );
+            // daylight saving time gap and overlap
+            assertSameAsFormat( "2014/03/30 02:30:00", "yyyy/MM/dd HH:mm:ss" );
+            assertSameAsFormat( "2014/10/26 02:30:00", "yyyy/MM/dd HH:mm:ss" );
+            assertSameAsFormat( "2014-03-09 02:30:00", "yyyy-MM-dd HH:mm:ss" );
+            assertSameAsFormat( "2003/10/15", "yyyy/MM/dd" );
+            assertSameAsFormat( "2003-10-15", "yyyy-MM-dd" );
+        }
+    }
+
+    public void testLenientInputsFallBackToFormat()
+    {
+        assertSameAsFormat( "2003/1/5 3:38:40", "yyyy/MM/dd HH:mm:ss" );
+        assertSameAsFormat( "2003/02/30 13:38:40", "yyyy/MM/dd HH:mm:ss" );
+        assertSameAsFormat( "2003/10/15 24:00:00", "yyyy/MM/dd HH:mm:ss" );
+        assertSameAsFormat( "2003/10/15 13:38:40 trailing text", "yyyy/MM/dd HH:mm:ss" );
+        assertSameAsFormat( "1850/10/15 13:38:40", "yyyy/MM/dd HH:mm:ss" );
+        assertSameAsFormat( "2002-08-26 14:33:26 PST", "yyyy-MM-dd HH:mm:ss z" );
+        assertSameAsFormat( "Sat Nov 24 01:14:44 2007 +0100", "EEE MMM dd HH:mm:ss yyyy Z" );
+    }
+
+    public void testUnparseable()
+    {
+        assertNull( DateParser.parse( "2003/10/15 13:38:40", "yyyy/MM/dd HH:mm:ss z", null ) );
+        assertNull( DateParser.parse( "2003/10/15 13:38:40", "yyyy-MM-dd HH:mm:ss z", null ) );
+        assertNull( DateParser.parse( "2003/10/15 13:38:40", "yyyy-MM-dd HH:mm:ss", null ) );
+        assertNull( DateParser.parse( "not a date", "yyyy-MM-dd HH:mm:ss", null ) );
+        assertNull( DateParser.parse( null, "yyyy-MM-dd HH:mm:ss", null ) );
+    }
+
+    public void testZoneDoesNotLeakBetweenParses()
+    {
+        TimeZone.setDefault( TimeZone.getTimeZone( "Europe/Paris" ) );
+        assertSameAsFormat( "2002-08-26 14:33:26 PST", "yyyy-MM-dd HH:mm:ss z" );
+        assertSameAsFormat( "2002-08-26 14:33:26", "yyyy-MM-dd HH:mm:ss" );
+    }
+
+    public void testEpochSeconds()
+    {
+        assertEquals( new Date( 1195766163000L ), DateParser.parseEpochSeconds( "1195766163" ) );
+    }
+
+    public void testIso8601()
+    {
+        assertEquals( new Date( 1030372406123L ), DateParser.parseIso8601( "2002-08-26T14:33:26.123456Z" ) );
+        assertEquals( new Date( 1030372406000L ), DateParser.parseIso8601( "2002-08-26T14:33:26Z" ) );
+        assertEquals( new Date( 1030372406500L ), DateParser.parseIso8601( "2002-08-26T10:33:26.5-04:00" ) );
+        assertEquals( new Date( 1030372406000L ), DateParser.parseIso8601( "2002-08-26T16:33:26+0200" ) );
+
+        assertNull( DateParser.parseIso8601( "2002-08-26 14:33:26Z" ) );
+        assertNull( DateParser.parseIso8601( "2002-08-26T14:33:26" ) );
+        assertNull( DateParser.parseIso8601( "2002-02-30T14:33:26Z" ) );
+        assertNull( DateParser.parseIso8601( "2002-08-26T14:33:26.Z1" ) );
+    }
+
+    private static void assertSameAsFormat( String date, String pattern )
+    {
+        SimpleDateFormat format = new SimpleDateFormat( pattern, Locale.ENGLISH );
+        ParsePosition position = new ParsePosition( 0 );
+        Date expected = format.parse( date, position );
+        assertEquals( date + " with " + pattern, expected, DateParser.parse( date, pattern, Locale.ENGLISH ) );
+    }
+}
@@ -0,0 +1,168 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ScmFileScannerTest
+    extends TestCase
+{
+    private static final String DEFAULT_EXCLUDES = StringUtils.join( DirectoryScanner.DEFAULTEXCLUDES, "," );
+
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        String root = System.getProperty( "basedir", new File( "" ).getAbsolutePath() );
+        basedir = new File( root, "target/scm-file-scanner-test" );
+        FileUtils.deleteDirectory( basedir );
+
+        touch( "pom.xml" );
+        touch( "readme.txt" );
+        touch( "src/main/java/org/Foo.java" );
+        touch( "src/main/java/org/Bar.java" );
+        touch( "src/main/resources/foo.properties" );
+        touch( "src/test/java/org/FooTest.java" );
+        touch( "src/exclude/Excluded.java" );
+        touch( ".git/config" );
+        touch( ".git/objects/ab/cdef" );
+        touch( "module/.svn/entries" );
+        touch( "module/Baz.java~" );
+        touch( "module/Baz.java" );
+    }
+
+    private void touch( String path )
+        throws IOException
+    {
+        File file = new File( basedir, path );
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite( file.getPath(), path );
+    }
+
+    public void testSameFilesAsDirectoryScanner()
+        throws IOException
+    {
+        String[][] patterns = {
+            { null, null },
+            { "**", null },
+            { "**/*.java", null },
+            { "src/main/**", "**/*.properties" },
+            { "src/*/java/**/*.java", "**/exclude/**" },
+            { "*.xml, readme.???", null },
+            { "src/", "**/Foo*" },
+            { "**/org/*", "src/test/**" },
+            { "module/**", null } };
+
+        for ( String[] pattern : patterns )
+        {
+            String excludes =
+                pattern[1] == null ? DEFAULT_EXCLUDES : pattern[1] + "," + DEFAULT_EXCLUDES;
+
+            ScmFileScanner.clearCache();
+            List<File> scanned = ScmFileScanner.scan( basedir, pattern[0], excludes );
+
+            @SuppressWarnings( "unchecked" )
+            List<File> expected = new ArrayList<File>( FileUtils.getFiles( basedir, pattern[0], excludes, false ) );
+            Collections.sort( expected );
+
+            assertEquals( pattern[0] + " / " + pattern[1], expected, scanned );
+        }
+    }
+
+    public void testDefaultExcludesArePruned()
+    {
+        List<File> files = ScmFileScanner.scan( basedir, "**", DEFAULT_EXCLUDES );
+
+        for ( File file : files )
+        {
+            assertFalse( file.getPath(), file.getPath().indexOf( ".git" ) >= 0 );
+            assertFalse( file.getPath(), file.getPath().indexOf( ".svn" ) >= 0 );
+            assertFalse( file.getPath(), file.getPath().endsWith( "~" ) );
+        }
+        assertEquals( 8, files.size() );
+    }
+
+    public void testGlobPattern()
+    {
+        ScmFileScanner.GlobPattern pattern = new ScmFileScanner.GlobPattern( "**/.git/**" );
+        assertTrue( pattern.matchesEverythingBelow( new String[]{ ".git" }, 1 ) );
+        assertTrue( pattern.matchesEverythingBelow( new String[]{ "a", "b", ".git" }, 3 ) );
+        assertFalse( pattern.matchesEverythingBelow( new String[]{ "a", ".gitignore" }, 2 ) );
+
+        pattern = new ScmFileScanner.GlobPattern( "src/main/**/*.java" );
+        assertTrue( pattern.matches( new String[]{ "src", "main", "Foo.java" }, 3 ) );
+        assertTrue( pattern.matches( new String[]{ "src", "main", "a", "b", "Foo.java" }, 5 ) );
+        assertFalse( pattern.matches( new String[]{ "src", "test", "Foo.java" }, 3 ) );
+        assertTrue( pattern.matchesBelow( new String[]{ "src" }, 1 ) );
+        assertFalse( pattern.matchesBelow( new String[]{ "target" }, 1 ) );
+        assertFalse( pattern.matchesEverythingBelow( new String[]{ "src", "main" }, 2 ) );
+
+        pattern = new ScmFileScanner.GlobPattern( "a?c*.txt" );
+        assertTrue( pattern.matches( new String[]{ "abc.txt" }, 1 ) );
+        assertTrue( pattern.matches( new String[]{ "abcdef.txt" }, 1 ) );
+        assertFalse( pattern.matches( new String[]{ "ac.txt" }, 1 ) );
+        assertFalse( pattern.matches( new String[]{ "abc.txt.bak" }, 1 ) );
+    }
+
+    public void testCachedResultIsInvalidatedByChanges()
+        throws Exception
+    {
+        ScmFileScanner.clearCache();
+
+        // make the directories old enough for the scan to be cached
+        long old = System.currentTimeMillis() - 10000;
+        setModified( basedir, old );
+
+        List<File> files = ScmFileScanner.scan( basedir, "**/*.java", null );
+        assertEquals( 5, files.size() );
+
+        files.clear();
+        assertEquals( "the cached list must not be shared", 5, ScmFileScanner.scan( basedir, "**/*.java", null )
+            .size() );
+
+        touch( "src/main/java/org/Added.java" );
+        files = ScmFileScanner.scan( basedir, "**/*.java", null );
+        assertEquals( 6, files.size() );
+        assertTrue( files.contains( new File( "src/main/java/org/Added.java".replace( '/', File.separatorChar ) ) ) );
+    }
+
+    private static void setModified( File directory, long time )
+    {
+        File[] children = directory.listFiles();
+        for ( File child : children )
+        {
+            if ( child.isDirectory() )
+            {
+                setModified( child, time );
+            }
+        }
+        directory.setLastModified( time );
+    }
+}
@@ -0,0 +1,278 @@
+package org.apache.maven.scm.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+public class ScmProcessRunnerTest
+    extends TestCase
+{
+    public void testLines()
+        throws Exception
+    {
+        List<String> out = new ArrayList<String>();
+        List<String> err = new ArrayList<String>();
+
+        byte[] input = "one\ntwo\r\nthree\rfour\n\nlast".getBytes( "UTF-8" );
+        int exitCode = ScmProcessRunner.executeCommandLine( java( "cat" ), new ByteArrayInputStream( input ),
+                                                            collect( out ), collect( err ) );
+
+        assertEquals( 0, exitCode );
+        assertEquals( Arrays.asList( "one", "two", "three", "four", "", "last" ), out );
+        assertEquals( Collections.singletonList( "cat done" ), err );
+    }
+
+    public void testLongLines()
+        throws Exception
+    {
+        StringBuilder line = new StringBuilder();
+        for ( int i = 0; i < 100000; i++ )
+        {
+            line.append( (char) ( 'a' + i % 26 ) );
+        }
+        String input = line + "\r\n" + line + "\r";
+
+        List<String> out = new ArrayList<String>();
+        ScmProcessRunner.executeCommandLine( java( "cat" ), new ByteArrayInputStream( input.getBytes( "UTF-8" ) ),
+                                             collect( out ), null );
+
+        assertEquals( Arrays.asList( line.toString(), line.toString() ), out );
+    }
+
+    public void testStreamConsumer()
+        throws Exception
+    {
+        byte[] input = new byte[1024 * 1024];
+        input[0] = 42;
+
+        final byte[] first = new byte[1];
+        InputStreamConsumer consumer = new InputStreamConsumer()
+        {
+            public void consume( InputStream output )
+                throws IOException
+            {
+                // the rest is skipped by the runner
+                first[0] = (byte) output.read();
+            }
+        };
+
+        int exitCode =
+            ScmProcessRunner.executeCommandLineToStream( java( "cat" ), new ByteArrayInputStream( input ), consumer,
+                                                         null, 0 );
+
+        assertEquals( 0, exitCode );
+        assertEquals( 42, first[0] );
+    }
+
+    public void testAsync()
+        throws Exception
+    {
+        List<String> out = Collections.synchronizedList( new ArrayList<String>() );
+        Future<Integer> exitCode =
+            ScmProcessRunner.executeCommandLineAsync( java( "exit" ), null, collect( out ), null,
+                                                      ScmProcessRunner.getDefaultCharset() );
+
+        assertEquals( 3, exitCode.get().intValue() );
+        assertEquals( Collections.singletonList( "exiting" ), out );
+    }
+
+    public void testTimeout()
+        throws Exception
+    {
+        try
+        {
+            ScmProcessRunner.executeCommandLine( java( "sleep" ), null, null, null, 1 );
+            fail( "should time out" );
+        }
+        catch ( CommandLineTimeOutException e )
+        {
+            // expected
+        }
+    }
+
+    public void testInterrupt()
+        throws Exception
+    {
+        final List<String> out = Collections.synchronizedList( new ArrayList<String>() );
+        final Exception[] failure = new Exception[1];
+        final boolean[] interrupted = new boolean[1];
+
+        Thread thread = new Thread()
+        {
+            public void run()
+            {
+                try
+                {
+                    ScmProcessRunner.executeCommandLine( java( "tick" ), null, collect( out ), null, 0 );
+                }
+                catch ( CommandLineException e )
+                {
+                    failure[0] = e;
+                    interrupted[0] = Thread.currentThread().isInterrupted();
+                }
+            }
+        };
+        thread.start();
+        while ( out.isEmpty() )
+        {
+            Thread.sleep( 10 );
+        }
+        thread.interrupt();
+        thread.join( 10000 );
+
+        assertNotNull( failure[0] );
+        assertTrue( failure[0].getCause() instanceof InterruptedException );
+        assertTrue( interrupted[0] );
+
+        // the process has been destroyed, it doesn't print anymore
+        Thread.sleep( 500 );
+        int lines = out.size();
+        Thread.sleep( 500 );
+        assertEquals( lines, out.size() );
+    }
+
+    public void testConsumerFailure()
+        throws Exception
+    {
+        StreamConsumer failing = new StreamConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                throw new IllegalStateException( line );
+            }
+        };
+
+        try
+        {
+            ScmProcessRunner.executeCommandLine( java( "cat" ), new ByteArrayInputStream( "boom\n".getBytes() ),
+                                                 failing, null );
+            fail( "should fail" );
+        }
+        catch ( CommandLineException e )
+        {
+            assertEquals( "boom", e.getCause().getMessage() );
+        }
+    }
+
+    public void testOutputStreamFailure()
+        throws Exception
+    {
+        OutputStream failing = new OutputStream()
+        {
+            public void write( int b )
+            {
+                throw new IllegalStateException( "full" );
+            }
+
+            public void write( byte[] b, int off, int len )
+            {
+                throw new IllegalStateException( "full" );
+            }
+        };
+
+        try
+        {
+            // more than a pipe holds: the process only ends if the output is drained
+            ScmProcessRunner.executeCommandLineToStream( java( "cat" ), new ByteArrayInputStream( new byte[1 << 20] ),
+                                                         failing, null, 60 );
+            fail( "should fail" );
+        }
+        catch ( CommandLineException e )
+        {
+            assertEquals( "full", e.getCause().getMessage() );
+        }
+    }
+
+    private static Commandline java( String mode )
+    {
+        Commandline cl = new Commandline();
+        cl.setExecutable( new File( System.getProperty( "java.home" ), "bin/java" ).getAbsolutePath() );
+        cl.createArg().setValue( "-cp" );
+        cl.createArg().setValue( System.getProperty( "java.class.path" ) );
+        cl.createArg().setValue( Tool.class.getName() );
+        cl.createArg().setValue( mode );
+        return cl;
+    }
+
+    private static StreamConsumer collect( final List<String> lines )
+    {
+        return new StreamConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                lines.add( line );
+            }
+        };
+    }
+
+    /**
+     * The process run by the tests.
+     */
+    public static class Tool
+    {
+        public static void main( String[] args )
+            throws IOException, InterruptedException
+        {
+            if ( "cat".equals( args[0] ) )
+            {
+                byte[] buffer = new byte[4096];
+                for ( int n; ( n = System.in.read( buffer ) ) != -1; )
+                {
+                    System.out.write( buffer, 0, n );
+                }
+                System.out.flush();
+                System.err.println( "cat done" );
+            }
+            else if ( "tick".equals( args[0] ) )
+            {
+                for ( int i = 0; i < 600; i++ )
+                {
+                    System.out.println( "tick" );
+                    System.out.flush();
+                    Thread.sleep( 100 );
+                }
+            }
+            else if ( "exit".equals( args[0] ) )
+            {
+                System.out.println( "exiting" );
+                System.exit( 3 );
+            }
+            else
+            {
+                Thread.sleep( 60000 );
+            }
+        }
+    }
+}
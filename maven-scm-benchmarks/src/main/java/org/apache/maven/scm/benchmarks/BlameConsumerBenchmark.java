@@ -0,0 +1,68 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.git.gitexe.command.blame.GitBlameConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blame consumers: one operation parses the whole generated blame output.
+ *
+ * @since 1.9.5
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( value = 1, jvmArgsAppend = { "-Xmx2g" } )
+public class BlameConsumerBenchmark
+{
+    private static final ScmLogger LOGGER = new DefaultLog();
+
+    @State( Scope.Benchmark )
+    public static class GitBlame
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.gitBlame( size );
+        }
+    }
+
+    @Benchmark
+    public List<BlameLine> git( GitBlame blame )
+    {
+        return blame.feed( new GitBlameConsumer( LOGGER ) ).getLines();
+    }
+}
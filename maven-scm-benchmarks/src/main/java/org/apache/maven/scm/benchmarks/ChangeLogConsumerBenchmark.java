@@ -0,0 +1,205 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.cvslib.command.changelog.CvsChangeLogConsumer;
+import org.apache.maven.scm.provider.git.gitexe.command.changelog.GitChangeLogConsumer;
+import org.apache.maven.scm.provider.git.gitexe.command.changelog.GitChangeLogFormatConsumer;
+import org.apache.maven.scm.provider.hg.command.changelog.HgChangeLogConsumer;
+import org.apache.maven.scm.provider.perforce.command.changelog.PerforceDescribeConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnChangeLogConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnChangeLogXmlConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changelog consumers: one operation parses the whole generated log.
+ *
+ * @since 1.9.5
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( value = 1, jvmArgsAppend = { "-Xmx2g" } )
+public class ChangeLogConsumerBenchmark
+{
+    private static final ScmLogger LOGGER = new DefaultLog();
+
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+    /**
+     * The bytes of the NUL-delimited git log, with as many lines as the equivalent <code>git whatchanged</code>.
+     */
+    @State( Scope.Benchmark )
+    public static class GitLogFormat
+    {
+        @Param( { "10000", "100000", "1000000" } )
+        public int lines;
+
+        private byte[] output;
+
+        @Setup( Level.Trial )
+        public void generateOutput()
+        {
+            output = ToolOutputGenerator.gitLogFormat( lines );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class GitLog
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.gitWhatchanged( size );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class SvnLog
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.svnLog( size );
+        }
+    }
+
+    /**
+     * The bytes of <code>svn log --xml</code>, with as many lines as the equivalent text log.
+     */
+    @State( Scope.Benchmark )
+    public static class SvnLogXml
+    {
+        @Param( { "10000", "100000", "1000000" } )
+        public int lines;
+
+        private byte[] output;
+
+        @Setup( Level.Trial )
+        public void generateOutput()
+        {
+            output = ToolOutputGenerator.svnLogXml( lines );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class CvsLog
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.cvsLog( size );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class HgLog
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.hgLog( size );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class PerforceDescribe
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.perforceDescribe( size );
+        }
+    }
+
+    @Benchmark
+    public List<ChangeSet> git( GitLog log )
+    {
+        return log.feed( new GitChangeLogConsumer( LOGGER, null ) ).getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> gitFormat( GitLogFormat log )
+    {
+        GitChangeLogFormatConsumer consumer = new GitChangeLogFormatConsumer( UTF_8, null );
+        // in 32 KiB writes, like the process output is copied
+        for ( int i = 0; i < log.output.length; i += 32 * 1024 )
+        {
+            consumer.write( log.output, i, Math.min( 32 * 1024, log.output.length - i ) );
+        }
+        return consumer.getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> svn( SvnLog log )
+    {
+        return log.feed( new SvnChangeLogConsumer( LOGGER, null ) ).getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> svnXml( SvnLogXml log )
+        throws IOException
+    {
+        SvnChangeLogXmlConsumer consumer = new SvnChangeLogXmlConsumer( LOGGER, null );
+        consumer.consume( new ByteArrayInputStream( log.output ) );
+        return consumer.getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> cvs( CvsLog log )
+    {
+        return log.feed( new CvsChangeLogConsumer( LOGGER, null ) ).getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> hg( HgLog log )
+    {
+        return log.feed( new HgChangeLogConsumer( LOGGER, null ) ).getModifications();
+    }
+
+    @Benchmark
+    public List<ChangeSet> perforce( PerforceDescribe log )
+        throws ScmException
+    {
+        return log.feed( new PerforceDescribeConsumer( "//depot/test", null, LOGGER ) ).getModifications();
+    }
+}
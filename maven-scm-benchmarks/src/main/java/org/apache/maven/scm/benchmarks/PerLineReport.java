@@ -0,0 +1,92 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the consumer benchmarks with the GC profiler and reports the figures per parsed line: nanoseconds, lines
+ * per second and allocated bytes. These are the numbers to compare before and after a parser change.
+ * <p/>
+ * Usage: <code>java -cp benchmarks.jar org.apache.maven.scm.benchmarks.PerLineReport [regexp [lines...]]</code>,
+ * e.g. <code>ChangeLog.*git 1000000</code>.
+ *
+ * @since 1.9.5
+ */
+public final class PerLineReport
+{
+    private static final String ALLOCATION_RATE = "gc.alloc.rate.norm";
+
+    private PerLineReport()
+    {
+        // no op
+    }
+
+    public static void main( String[] args )
+        throws RunnerException
+    {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include( args.length > 0 ? args[0] : "org\\.apache\\.maven\\.scm\\.benchmarks\\..*Benchmark" )
+            .addProfiler( GCProfiler.class )
+            .timeUnit( TimeUnit.NANOSECONDS );
+        if ( args.length > 1 )
+        {
+            options.param( "lines", Arrays.copyOfRange( args, 1, args.length ) );
+        }
+
+        Collection<RunResult> results = new Runner( options.build() ).run();
+
+        System.out.println();
+        System.out.println( String.format( "%-45s %10s %12s %14s %12s", "Benchmark", "Lines", "ns/line",
+                                           "lines/s", "bytes/line" ) );
+        for ( RunResult result : results )
+        {
+            int lines = Integer.parseInt( result.getParams().getParam( "lines" ) );
+            double nanosPerLine = result.getPrimaryResult().getScore() / lines;
+            double bytesPerLine = Double.NaN;
+            for ( Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet() )
+            {
+                if ( secondary.getKey().endsWith( ALLOCATION_RATE ) )
+                {
+                    bytesPerLine = secondary.getValue().getScore() / lines;
+                }
+            }
+            System.out.println( String.format( "%-45s %10d %12.1f %14.0f %12.1f", shortName( result ), lines,
+                                               nanosPerLine, 1e9 / nanosPerLine, bytesPerLine ) );
+        }
+    }
+
+    private static String shortName( RunResult result )
+    {
+        String benchmark = result.getParams().getBenchmark();
+        return benchmark.substring( benchmark.lastIndexOf( '.', benchmark.lastIndexOf( '.' ) - 1 ) + 1 );
+    }
+}
@@ -0,0 +1,90 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.status.SvnStatusConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status consumers: one operation parses the whole generated status output. No working directory is given to the
+ * git consumer and the svn one points to an empty directory, so the figures are about parsing and not about
+ * file system checks.
+ *
+ * @since 1.9.5
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( value = 1, jvmArgsAppend = { "-Xmx2g" } )
+public class StatusConsumerBenchmark
+{
+    private static final ScmLogger LOGGER = new DefaultLog();
+
+    private static final File EMPTY_DIRECTORY = new File( System.getProperty( "java.io.tmpdir" ), "no-such-dir" );
+
+    @State( Scope.Benchmark )
+    public static class GitStatus
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.gitStatus( size );
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class SvnStatus
+        extends ToolOutputState
+    {
+        protected List<String> generate( int size )
+        {
+            return ToolOutputGenerator.svnStatus( size );
+        }
+    }
+
+    @Benchmark
+    public List<ScmFile> git( GitStatus status )
+    {
+        return status.feed( new GitStatusConsumer( LOGGER, null ) ).getChangedFiles();
+    }
+
+    @Benchmark
+    public List<ScmFile> svn( SvnStatus status )
+    {
+        return status.feed( new SvnStatusConsumer( LOGGER, EMPTY_DIRECTORY ) ).getChangedFiles();
+    }
+}
@@ -0,0 +1,506 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.UnsupportedEncodingException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Generates synthetic but well formed output of the SCM command line tools, in the exact shape the provider
+ * consumers are fed with. Generation is deterministic: the same size always yields the same lines.
+ * <p/>
+ * Every generator emits whole records (commits, files, blame hunks) until the requested number of lines is
+ * reached and truncates the last record, so per line figures can be derived by dividing by the requested size.
+ *
+ * @since 1.9.5
+ */
+public final class ToolOutputGenerator
+{
+    private static final String[] AUTHORS = { "Mark Struberg", "Olivier Lamy", "Robert Scholte", "Emmanuel Venisse",
+        "Brett Porter", "Dennis Lundberg" };
+
+    private static final String[] WORDS = { "fix", "the", "changelog", "parser", "for", "large", "repositories",
+        "and", "add", "missing", "test", "cases", "refactor", "provider", "command", "line", "handling" };
+
+    private static final String[] DIRS = { "src/main/java/org/apache/maven/scm", "src/test/java/org/apache/maven/scm",
+        "src/main/resources", "src/site/apt" };
+
+    private static final long START = 1195766163000L;
+
+    private final Random random = new Random( 1195766163L );
+
+    private final int size;
+
+    private final List<String> lines;
+
+    private long time = START;
+
+    private ToolOutputGenerator( int size )
+    {
+        this.size = size;
+        this.lines = new ArrayList<String>( size + 64 );
+    }
+
+    /**
+     * <code>git whatchanged --date=iso</code>, as consumed by <code>GitChangeLogConsumer</code>.
+     */
+    public static List<String> gitWhatchanged( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        SimpleDateFormat date = g.format( "yyyy-MM-dd HH:mm:ss Z" );
+        while ( !g.full() )
+        {
+            String author = g.author();
+            g.add( "commit " + g.hex( 40 ) );
+            g.add( "Author: " + author + " <" + g.mail( author ) + ">" );
+            g.add( "Date:   " + date.format( g.nextDate() ) );
+            g.add( "" );
+            g.add( "    " + g.sentence() );
+            g.add( "" );
+            for ( int i = g.files(); i > 0; i-- )
+            {
+                g.add( ":100644 100644 " + g.hex( 7 ) + "... " + g.hex( 7 ) + "... " + g.action( "MAD" ) + "\t"
+                           + g.path() );
+            }
+            g.add( "" );
+        }
+        return g.lines();
+    }
+
+    /**
+     * The commits of {@link #gitWhatchanged(int)} in the output of <code>git log -z --name-status</code> with the
+     * NUL-delimited format consumed by <code>GitChangeLogFormatConsumer</code>, as bytes.
+     */
+    public static byte[] gitLogFormat( int size )
+    {
+        SimpleDateFormat date = new ToolOutputGenerator( 0 ).format( "yyyy-MM-dd HH:mm:ss Z" );
+        StringBuilder out = new StringBuilder();
+        String parent = null;
+        List<String> files = new ArrayList<String>();
+        for ( String line : gitWhatchanged( size ) )
+        {
+            if ( line.startsWith( "commit " ) )
+            {
+                appendFiles( out, files );
+                // the previous commit stands for the parent, only the length of the field matters
+                String hash = line.substring( 7 );
+                out.append( hash ).append( '\0' ).append( parent == null ? "" : parent ).append( '\0' );
+                parent = hash;
+            }
+            else if ( line.startsWith( "Author: " ) )
+            {
+                out.append( line.substring( 8 ) ).append( '\0' );
+            }
+            else if ( line.startsWith( "Date:   " ) )
+            {
+                try
+                {
+                    out.append( date.parse( line.substring( 8 ) ).getTime() / 1000 ).append( '\0' );
+                }
+                catch ( ParseException e )
+                {
+                    throw new IllegalStateException( e.getMessage() );
+                }
+            }
+            else if ( line.startsWith( "    " ) )
+            {
+                out.append( line.substring( 4 ) ).append( "\n\0" );
+            }
+            else if ( line.startsWith( ":" ) )
+            {
+                int tab = line.indexOf( '\t' );
+                files.add( line.substring( tab - 1, tab ) );
+                files.add( line.substring( tab + 1 ) );
+            }
+        }
+        appendFiles( out, files );
+        try
+        {
+            return out.toString().getBytes( "UTF-8" );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new IllegalStateException( e.getMessage() );
+        }
+    }
+
+    private static void appendFiles( StringBuilder out, List<String> files )
+    {
+        if ( !files.isEmpty() )
+        {
+            out.append( '\n' );
+            for ( String file : files )
+            {
+                out.append( file ).append( '\0' );
+            }
+            files.clear();
+        }
+    }
+
+    /**
+     * <code>svn log -v</code>, as consumed by <code>SvnChangeLogConsumer</code>.
+     */
+    public static List<String> svnLog( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        SimpleDateFormat date = g.format( "yyyy-MM-dd HH:mm:ss Z (EEE, dd MMM yyyy)" );
+        int revision = size;
+        while ( !g.full() )
+        {
+            g.add( "------------------------------------------------------------------------" );
+            g.add( "r" + revision-- + " | " + g.login() + " | " + date.format( g.nextDate() ) + " | 1 line" );
+            g.add( "Changed paths:" );
+            for ( int i = g.files(); i > 0; i-- )
+            {
+                g.add( "   " + g.action( "MAD" ) + " /trunk/" + g.path() );
+            }
+            g.add( "" );
+            g.add( g.sentence() );
+        }
+        g.add( "------------------------------------------------------------------------" );
+        return g.lines();
+    }
+
+    /**
+     * The bytes of <code>svn log -v --xml</code>, as consumed by <code>SvnChangeLogXmlConsumer</code>, with the same
+     * entries as {@link #svnLog(int)}.
+     */
+    public static byte[] svnLogXml( int size )
+    {
+        SimpleDateFormat text = new ToolOutputGenerator( 0 ).format( "yyyy-MM-dd HH:mm:ss Z" );
+        SimpleDateFormat iso = new ToolOutputGenerator( 0 ).format( "yyyy-MM-dd'T'HH:mm:ss.SSS'000Z'" );
+        iso.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+        StringBuilder out = new StringBuilder( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<log>\n" );
+        boolean paths = false;
+        boolean message = false;
+        for ( String line : svnLog( size ) )
+        {
+            if ( line.startsWith( "r" ) && line.indexOf( " | " ) > 0 )
+            {
+                String[] header = line.split( " \\| " );
+                try
+                {
+                    out.append( "<logentry\n   revision=\"" ).append( header[0].substring( 1 ) ).append( "\">\n" );
+                    out.append( "<author>" ).append( header[1] ).append( "</author>\n" );
+                    out.append( "<date>" ).append( iso.format( text.parse( header[2].substring( 0, 25 ) ) ) );
+                    out.append( "</date>\n<paths>\n" );
+                    paths = true;
+                }
+                catch ( ParseException e )
+                {
+                    throw new IllegalStateException( e.getMessage() );
+                }
+            }
+            else if ( line.startsWith( "   " ) )
+            {
+                out.append( "<path\n   kind=\"file\"\n   action=\"" ).append( line.charAt( 3 ) ).append( "\">" );
+                out.append( line.substring( 5 ) ).append( "</path>\n" );
+            }
+            else if ( line.length() == 0 )
+            {
+                out.append( "</paths>\n" );
+                paths = false;
+                message = true;
+            }
+            else if ( message )
+            {
+                out.append( "<msg>" ).append( line ).append( "</msg>\n</logentry>\n" );
+                message = false;
+            }
+        }
+        // the text log may end in the middle of an entry
+        if ( paths || message )
+        {
+            out.append( paths ? "</paths>\n</logentry>\n" : "</logentry>\n" );
+        }
+        out.append( "</log>\n" );
+        try
+        {
+            return out.toString().getBytes( "UTF-8" );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new IllegalStateException( e.getMessage() );
+        }
+    }
+
+    /**
+     * <code>cvs log</code>, as consumed by <code>CvsChangeLogConsumer</code>.
+     */
+    public static List<String> cvsLog( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        SimpleDateFormat date = g.format( "yyyy/MM/dd HH:mm:ss" );
+        while ( !g.full() )
+        {
+            String path = g.path();
+            int revisions = 1 + g.random.nextInt( 5 );
+            g.add( "" );
+            g.add( "RCS file: /home/cvs/project/" + path + ",v" );
+            g.add( "Working file: " + path );
+            g.add( "head: 1." + revisions );
+            g.add( "branch:" );
+            g.add( "locks: strict" );
+            g.add( "access list:" );
+            g.add( "symbolic names:" );
+            g.add( "keyword substitution: kv" );
+            g.add( "total revisions: " + revisions + ";\tselected revisions: " + revisions );
+            g.add( "description:" );
+            for ( int i = revisions; i > 0; i-- )
+            {
+                g.add( "----------------------------" );
+                g.add( "revision 1." + i );
+                g.add( "date: " + date.format( g.nextDate() ) + ";  author: " + g.login()
+                           + ";  state: Exp;  lines: +" + g.random.nextInt( 50 ) + " -" + g.random.nextInt( 50 ) );
+                g.add( g.sentence() );
+            }
+            g.add( "=============================================================================" );
+        }
+        return g.lines();
+    }
+
+    /**
+     * <code>hg log</code> with the provider template, as consumed by <code>HgChangeLogConsumer</code>.
+     */
+    public static List<String> hgLog( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        SimpleDateFormat date = g.format( "yyyy-MM-dd HH:mm:ss Z" );
+        int revision = 0;
+        while ( !g.full() )
+        {
+            String author = g.author();
+            StringBuilder files = new StringBuilder();
+            for ( int i = g.files(); i > 0; i-- )
+            {
+                files.append( files.length() == 0 ? "" : " " ).append( g.path() );
+            }
+            g.add( "changeset:   " + revision++ + ":" + g.hex( 12 ) );
+            g.add( "branch:      default" );
+            g.add( "user:        " + author + " <" + g.mail( author ) + ">" );
+            g.add( "date:        " + date.format( g.nextDate() ) );
+            g.add( "tag:         " );
+            g.add( "files:       " + files );
+            g.add( "description:" );
+            g.add( g.sentence() );
+            g.add( "" );
+        }
+        return g.lines();
+    }
+
+    /**
+     * <code>p4 describe -s</code> for consecutive changelists, as consumed by <code>PerforceDescribeConsumer</code>
+     * with the <code>//depot/test</code> repository path.
+     */
+    public static List<String> perforceDescribe( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        SimpleDateFormat date = g.format( "yyyy/MM/dd HH:mm:ss" );
+        int change = size;
+        while ( !g.full() )
+        {
+            g.add( "Change " + change-- + " by " + g.login() + "@workspace on " + date.format( g.nextDate() ) );
+            g.add( "" );
+            g.add( "\t" + g.sentence() );
+            g.add( "" );
+            g.add( "Affected files ..." );
+            g.add( "" );
+            for ( int i = g.files(); i > 0; i-- )
+            {
+                g.add( "... //depot/test/" + g.path() + "#" + ( 1 + g.random.nextInt( 20 ) ) + " "
+                           + ( g.random.nextBoolean() ? "edit" : "add" ) );
+            }
+            g.add( "" );
+        }
+        return g.lines();
+    }
+
+    /**
+     * <code>git status --porcelain</code>, as consumed by <code>GitStatusConsumer</code>.
+     */
+    public static List<String> gitStatus( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        while ( !g.full() )
+        {
+            switch ( g.random.nextInt( 4 ) )
+            {
+                case 0:
+                    g.add( "A  " + g.path() );
+                    break;
+                case 1:
+                    g.add( " M " + g.path() );
+                    break;
+                case 2:
+                    g.add( " D " + g.path() );
+                    break;
+                default:
+                    g.add( "R  " + g.path() + " -> " + g.path() );
+            }
+        }
+        return g.lines();
+    }
+
+    /**
+     * <code>svn status</code>, as consumed by <code>SvnStatusConsumer</code>.
+     */
+    public static List<String> svnStatus( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        while ( !g.full() )
+        {
+            g.add( g.action( "AMD?!C" ) + "       " + g.path() );
+        }
+        return g.lines();
+    }
+
+    /**
+     * <code>git blame --porcelain</code> of one large file, as consumed by <code>GitBlameConsumer</code>.
+     */
+    public static List<String> gitBlame( int size )
+    {
+        ToolOutputGenerator g = new ToolOutputGenerator( size );
+        List<String> commits = new ArrayList<String>();
+        int line = 1;
+        while ( !g.full() )
+        {
+            // new commits get the full header, older ones only the short one like git does
+            boolean known = !commits.isEmpty() && g.random.nextInt( 4 ) > 0;
+            String commit = known ? commits.get( g.random.nextInt( commits.size() ) ) : g.hex( 40 );
+            int hunk = 1 + g.random.nextInt( 8 );
+            g.add( commit + " " + line + " " + line + " " + hunk );
+            if ( !known )
+            {
+                commits.add( commit );
+                String author = g.author();
+                long seconds = g.nextDate().getTime() / 1000;
+                g.add( "author " + author );
+                g.add( "author-mail <" + g.mail( author ) + ">" );
+                g.add( "author-time " + seconds );
+                g.add( "author-tz +0100" );
+                g.add( "committer " + author );
+                g.add( "committer-mail <" + g.mail( author ) + ">" );
+                g.add( "committer-time " + seconds );
+                g.add( "committer-tz +0100" );
+                g.add( "summary " + g.sentence() );
+                g.add( "filename src/main/java/org/apache/maven/scm/Large.java" );
+            }
+            g.add( "\t" + g.sentence() );
+            line++;
+            for ( int i = 1; i < hunk; i++ )
+            {
+                g.add( commit + " " + line + " " + line );
+                g.add( "\t" + g.sentence() );
+                line++;
+            }
+        }
+        return g.lines();
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    private boolean full()
+    {
+        return lines.size() >= size;
+    }
+
+    private void add( String line )
+    {
+        lines.add( line );
+    }
+
+    private List<String> lines()
+    {
+        return new ArrayList<String>( lines.subList( 0, Math.min( size, lines.size() ) ) );
+    }
+
+    private SimpleDateFormat format( String pattern )
+    {
+        SimpleDateFormat format = new SimpleDateFormat( pattern, Locale.ENGLISH );
+        format.setTimeZone( TimeZone.getTimeZone( "GMT+01:00" ) );
+        return format;
+    }
+
+    private Date nextDate()
+    {
+        time -= 1000L * ( 60 + random.nextInt( 86400 ) );
+        return new Date( time );
+    }
+
+    private String author()
+    {
+        return AUTHORS[random.nextInt( AUTHORS.length )];
+    }
+
+    private String login()
+    {
+        return author().toLowerCase( Locale.ENGLISH ).replace( ' ', '.' );
+    }
+
+    private String mail( String author )
+    {
+        return author.toLowerCase( Locale.ENGLISH ).replace( ' ', '.' ) + "@apache.org";
+    }
+
+    private String sentence()
+    {
+        StringBuilder sentence = new StringBuilder();
+        for ( int i = 3 + random.nextInt( 8 ); i > 0; i-- )
+        {
+            sentence.append( sentence.length() == 0 ? "" : " " ).append( WORDS[random.nextInt( WORDS.length )] );
+        }
+        return sentence.toString();
+    }
+
+    private int files()
+    {
+        return 1 + random.nextInt( 4 );
+    }
+
+    private String path()
+    {
+        return DIRS[random.nextInt( DIRS.length )] + "/module" + random.nextInt( 50 ) + "/File"
+            + random.nextInt( 2000 ) + ".java";
+    }
+
+    private String action( String actions )
+    {
+        return String.valueOf( actions.charAt( random.nextInt( actions.length() ) ) );
+    }
+
+    private String hex( int length )
+    {
+        StringBuilder hex = new StringBuilder( length );
+        for ( int i = 0; i < length; i++ )
+        {
+            hex.append( Character.forDigit( random.nextInt( 16 ), 16 ) );
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package org.apache.maven.scm.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Base of the benchmark states: holds the generated output of one tool, in lines. The size is a JMH parameter,
+ * override it with <code>-p lines=...</code>.
+ *
+ * @since 1.9.5
+ */
+@State( Scope.Benchmark )
+public abstract class ToolOutputState
+{
+    @Param( { "10000", "100000", "1000000" } )
+    public int lines;
+
+    private List<String> output;
+
+    @Setup( Level.Trial )
+    public void generateOutput()
+    {
+        output = generate( lines );
+    }
+
+    /**
+     * @param size the number of lines to generate
+     * @return the generated tool output
+     */
+    protected abstract List<String> generate( int size );
+
+    /**
+     * Feeds the whole output into the consumer, line by line, the way <code>CommandLineUtils</code> does.
+     *
+     * @param consumer the consumer under test
+     * @return the given consumer
+     */
+    public <T extends StreamConsumer> T feed( T consumer )
+    {
+        for ( String line : output )
+        {
+            consumer.consumeLine( line );
+        }
+        return consumer;
+    }
+}
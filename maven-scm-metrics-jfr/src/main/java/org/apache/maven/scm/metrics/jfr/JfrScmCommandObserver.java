@@ -0,0 +1,74 @@
+package org.apache.maven.scm.metrics.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmCommandObserver;
+
+/**
+ * Emits a {@link ScmCommandEvent} per SCM command while a flight recording with the event enabled is running.
+ *
+ * @since 1.9.5
+ */
+public class JfrScmCommandObserver
+    implements ScmCommandObserver
+{
+    private final Map<ScmCommandMetrics, ScmCommandEvent> events =
+        new ConcurrentHashMap<ScmCommandMetrics, ScmCommandEvent>();
+
+    /** {@inheritDoc} */
+    public void commandStarted( ScmCommandMetrics metrics )
+    {
+        ScmCommandEvent event = new ScmCommandEvent();
+        if ( event.isEnabled() )
+        {
+            event.begin();
+            events.put( metrics, event );
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void commandFinished( ScmCommandMetrics metrics )
+    {
+        ScmCommandEvent event = events.remove( metrics );
+        if ( event == null )
+        {
+            return;
+        }
+
+        event.end();
+        if ( event.shouldCommit() )
+        {
+            event.provider = metrics.getProvider();
+            event.command = metrics.getCommand();
+            event.success = metrics.isSuccess();
+            event.processes = metrics.getProcesses();
+            event.spawnTime = metrics.getSpawnNanos();
+            event.stdout = metrics.getStdoutChars();
+            event.stderr = metrics.getStderrChars();
+            event.lines = metrics.getLines();
+            event.parseTime = metrics.getParseNanos();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.apache.maven.scm.metrics.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of one SCM command, its duration being the wall time of the command.
+ *
+ * @since 1.9.5
+ */
+@Name( "org.apache.maven.scm.Command" )
+@Label( "SCM Command" )
+@Category( { "Maven", "SCM" } )
+@Description( "An SCM command, the processes it spawned and the output it parsed" )
+@StackTrace( false )
+public class ScmCommandEvent
+    extends jdk.jfr.Event
+{
+    @Label( "Provider" )
+    String provider;
+
+    @Label( "Command" )
+    String command;
+
+    @Label( "Success" )
+    boolean success;
+
+    @Label( "Processes" )
+    int processes;
+
+    @Label( "Spawn Time" )
+    @Timespan( Timespan.NANOSECONDS )
+    long spawnTime;
+
+    @Label( "Standard Output" )
+    @Description( "Characters read from the standard output of the processes" )
+    @DataAmount( DataAmount.BYTES )
+    long stdout;
+
+    @Label( "Standard Error" )
+    @Description( "Characters read from the standard error of the processes" )
+    @DataAmount( DataAmount.BYTES )
+    long stderr;
+
+    @Label( "Lines" )
+    long lines;
+
+    @Label( "Parse Time" )
+    @Timespan( Timespan.NANOSECONDS )
+    long parseTime;
+}
@@ -0,0 +1,76 @@
+package org.apache.maven.scm.metrics.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import junit.framework.TestCase;
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
+
+public class JfrScmCommandObserverTest
+    extends TestCase
+{
+    public void testEventRecorded()
+        throws Exception
+    {
+        JfrScmCommandObserver observer = new JfrScmCommandObserver();
+        ScmMetrics.addObserver( observer );
+
+        File file = new File( "target/jfr-test.jfr" );
+        file.getParentFile().mkdirs();
+
+        Recording recording = new Recording();
+        try
+        {
+            recording.enable( ScmCommandEvent.class );
+            recording.start();
+
+            ScmCommandMetrics metrics = ScmMetrics.commandStarted( "test", "status" );
+            ScmMetrics.commandFinished( metrics, true );
+
+            recording.stop();
+            recording.dump( file.toPath() );
+        }
+        finally
+        {
+            recording.close();
+            ScmMetrics.removeObserver( observer );
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents( file.toPath() );
+        RecordedEvent event = null;
+        for ( RecordedEvent recorded : events )
+        {
+            if ( "org.apache.maven.scm.Command".equals( recorded.getEventType().getName() ) )
+            {
+                event = recorded;
+            }
+        }
+        assertNotNull( event );
+        assertEquals( "test", event.getString( "provider" ) );
+        assertEquals( "status", event.getString( "command" ) );
+        assertTrue( event.getBoolean( "success" ) );
+    }
+}
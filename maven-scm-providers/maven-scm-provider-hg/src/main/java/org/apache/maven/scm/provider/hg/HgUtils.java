@@ -29,8 +29,8 @@
 import org.apache.maven.scm.provider.hg.command.HgConsumer;
 import org.apache.maven.scm.provider.hg.command.inventory.HgChangeSet;
 import org.apache.maven.scm.provider.hg.command.inventory.HgOutgoingConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
-import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
@@ -171,7 +171,7 @@ static int executeCmd( HgConsumer consumer, Commandline cmd )
         final int exitCode;
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cmd, consumer, consumer );
+            exitCode = ScmProcessRunner.executeCommandLine( cmd, consumer, consumer );
         }
         catch ( CommandLineException ex )
         {
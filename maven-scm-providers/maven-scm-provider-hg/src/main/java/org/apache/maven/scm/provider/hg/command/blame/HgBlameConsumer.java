@@ -21,10 +21,10 @@
 
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLines;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.hg.command.HgConsumer;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -38,7 +38,7 @@
 public class HgBlameConsumer
     extends HgConsumer
 {
-    private List<BlameLine> lines = new ArrayList<BlameLine>();
+    private BlameLines lines = new BlameLines();
 
     private static final String HG_TIMESTAMP_PATTERN = "EEE MMM dd HH:mm:ss yyyy Z";
 
@@ -70,7 +70,7 @@ public void doConsume( ScmFileStatus status, String trimmedLine )
         String dateStr = annotation;
         Date dateTime = parseDate( dateStr, null, HG_TIMESTAMP_PATTERN, Locale.ENGLISH );
 
-        lines.add( new BlameLine( dateTime, revision, author ) );
+        lines.add( dateTime, revision, author, author );
     }
 
     public List<BlameLine> getLines()
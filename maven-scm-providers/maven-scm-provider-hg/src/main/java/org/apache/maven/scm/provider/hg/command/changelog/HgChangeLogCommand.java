@@ -102,7 +102,7 @@ private ChangeLogScmResult executeChangeLogCommand( ScmFileSet fileSet, Date sta
             cmd.add( Integer.toString( limit ) );
         }
 
-        HgChangeLogConsumer consumer = new HgChangeLogConsumer( getLogger(), datePattern );
+        HgChangeLogConsumer consumer = new HgChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
         ScmResult result =
             HgUtils.execute( consumer, getLogger(), fileSet.getBasedir(), cmd.toArray( new String[cmd.size()] ) );
 
@@ -131,7 +131,7 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
         String[] cmd = new String[]{ HgCommandConstants.LOG_CMD, HgCommandConstants.TEMPLATE_OPTION,
             HgCommandConstants.TEMPLATE_FORMAT, HgCommandConstants.NO_MERGES_OPTION, HgCommandConstants.REVISION_OPTION,
             revisionInterval.toString() };
-        HgChangeLogConsumer consumer = new HgChangeLogConsumer( getLogger(), datePattern );
+        HgChangeLogConsumer consumer = new HgChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
         ScmResult result = HgUtils.execute( consumer, getLogger(), fileSet.getBasedir(), cmd );
 
         List<ChangeSet> logEntries = consumer.getModifications();
@@ -27,6 +27,8 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.hg.command.HgConsumer;
 
@@ -54,7 +56,7 @@
 
     private static final String FILES_TOKEN = "files:";
 
-    private List<ChangeSet> logEntries = new ArrayList<ChangeSet>();
+    private final ChangeSetCollector logEntries;
 
     private ChangeSet currentChange;
 
@@ -69,14 +71,30 @@
     private String userDatePattern;
 
     public HgChangeLogConsumer( ScmLogger logger, String userDatePattern )
+    {
+        this( logger, userDatePattern, null );
+    }
+
+    /**
+     * @param handler receives each change set as soon as it is complete, or <code>null</code> to collect them
+     * @since 1.9.5
+     */
+    public HgChangeLogConsumer( ScmLogger logger, String userDatePattern, ChangeSetHandler handler )
     {
         super( logger );
         this.userDatePattern = userDatePattern;
+        this.logEntries = new ChangeSetCollector( handler );
     }
 
     public List<ChangeSet> getModifications()
     {
-        return logEntries;
+        // the last changeset is only complete at the end of the output
+        if ( currentChange != null )
+        {
+            logEntries.add( currentChange );
+            currentChange = null;
+        }
+        return logEntries.getChangeSets();
     }
 
     /**
@@ -86,6 +104,10 @@ public void consumeLine( String line )
     {
         // override default behaviour which tries to pick through things for some standard messages.  that
         // does not apply here
+        if ( logEntries.isStopped() )
+        {
+            return;
+        }
         String trimmedLine = line.trim();
         doConsume( null, trimmedLine );
     }
@@ -100,10 +122,15 @@ public void doConsume( ScmFileStatus status, String line )
         // new changeset
         if ( line.startsWith( REVNO_TAG ) )
         {
+            // the previous changeset is complete
+            if ( currentChange != null )
+            {
+                logEntries.add( currentChange );
+            }
+
             //Init a new changeset
             currentChange = new ChangeSet();
             currentChange.setFiles( new ArrayList<ChangeFile>( 0 ) );
-            logEntries.add( currentChange );
 
             // parse revision
             tmpLine = line.substring( REVNO_TAG.length() ).trim();
@@ -0,0 +1,343 @@
+package org.apache.maven.scm.provider.local.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFileStatus;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies files from the local repository to a working copy on a shared pool of {@value #THREADS_PROPERTY} threads
+ * (the number of processors by default). The contents are transferred between file channels, so the kernel can copy
+ * them without going through the heap, and the modification time of the source is kept on the copy.
+ * <p/>
+ * When updating, a file whose size and modification time are the same as in the repository is not read; when only
+ * the modification time differs, the contents are compared and an identical file only gets its time fixed.
+ * <p/>
+ * With the {@value #HARD_LINKS_PROPERTY} system property set to <code>true</code>, files are hard linked instead of
+ * copied when the JVM supports it (Java 7 and later) and the working copy is on the same file system. A change made
+ * in such a working copy changes the repository too, so this is only meant for read-only checkouts like mirrors or
+ * integration tests.
+ *
+ * @since 1.9.5
+ */
+public class LocalFileMaterializer
+{
+    /**
+     * System property with the number of copying threads.
+     */
+    public static final String THREADS_PROPERTY = "maven.scm.local.threads";
+
+    /**
+     * System property enabling hard links.
+     */
+    public static final String HARD_LINKS_PROPERTY = "maven.scm.local.hardLinks";
+
+    private static final int BATCH_SIZE = 64;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService COPIERS =
+        Executors.newFixedThreadPool( Math.max( 1, Integer.getInteger( THREADS_PROPERTY,
+                                                                       Runtime.getRuntime().availableProcessors() ) ),
+                                      new ThreadFactory()
+                                      {
+                                          public Thread newThread( Runnable runnable )
+                                          {
+                                              Thread thread = new Thread( runnable, "scm-local-copier-"
+                                                  + THREAD_COUNT.incrementAndGet() );
+                                              thread.setDaemon( true );
+                                              return thread;
+                                          }
+                                      } );
+
+    /**
+     * <code>File.toPath()</code> and <code>Files.createLink(Path, Path)</code>, <code>null</code> before Java 7.
+     */
+    private static final Method TO_PATH;
+
+    private static final Method CREATE_LINK;
+
+    static
+    {
+        Method toPath = null;
+        Method createLink = null;
+        try
+        {
+            Class<?> path = Class.forName( "java.nio.file.Path" );
+            toPath = File.class.getMethod( "toPath" );
+            createLink = Class.forName( "java.nio.file.Files" ).getMethod( "createLink", path, path );
+        }
+        catch ( Exception e )
+        {
+            toPath = null;
+            createLink = null;
+        }
+        TO_PATH = toPath;
+        CREATE_LINK = createLink;
+    }
+
+    private final boolean hardLinks;
+
+    public LocalFileMaterializer()
+    {
+        this( Boolean.getBoolean( HARD_LINKS_PROPERTY ) );
+    }
+
+    /**
+     * @param hardLinks <code>true</code> to hard link the files when possible
+     */
+    public LocalFileMaterializer( boolean hardLinks )
+    {
+        this.hardLinks = hardLinks && CREATE_LINK != null;
+    }
+
+    /**
+     * Copies files from a directory to another one.
+     *
+     * @param source      the directory the files are copied from
+     * @param destination the directory the files are copied to
+     * @param paths       the paths of the files, relative to both directories
+     * @param update      <code>true</code> to skip the files which are already up to date
+     * @return for each path, {@link ScmFileStatus#ADDED} or {@link ScmFileStatus#UPDATED} if the file has been
+     *         copied to the destination, <code>null</code> if it was up to date
+     * @throws IOException if a file can't be copied
+     */
+    public ScmFileStatus[] materialize( final File source, final File destination, final List<String> paths,
+                                        final boolean update )
+        throws IOException
+    {
+        final ScmFileStatus[] statuses = new ScmFileStatus[paths.size()];
+
+        List<Future<Void>> batches = new ArrayList<Future<Void>>();
+        for ( int start = 0; start < paths.size(); start += BATCH_SIZE )
+        {
+            final int first = start;
+            final int last = Math.min( start + BATCH_SIZE, paths.size() );
+            batches.add( COPIERS.submit( new Callable<Void>()
+            {
+                public Void call()
+                    throws IOException
+                {
+                    for ( int i = first; i < last; i++ )
+                    {
+                        String path = paths.get( i );
+                        statuses[i] = materialize( new File( source, path ), new File( destination, path ), update );
+                    }
+                    return null;
+                }
+            } ) );
+        }
+
+        try
+        {
+            for ( Future<Void> batch : batches )
+            {
+                batch.get();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while copying the files." );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException( e.getCause() );
+        }
+        finally
+        {
+            for ( Future<Void> batch : batches )
+            {
+                batch.cancel( false );
+            }
+        }
+
+        return statuses;
+    }
+
+    private ScmFileStatus materialize( File source, File destination, boolean update )
+        throws IOException
+    {
+        ScmFileStatus status = ScmFileStatus.ADDED;
+
+        if ( destination.exists() )
+        {
+            if ( update && destination.length() == source.length() )
+            {
+                if ( destination.lastModified() == source.lastModified() )
+                {
+                    return null;
+                }
+                if ( hasSameContents( source, destination ) )
+                {
+                    destination.setLastModified( source.lastModified() );
+                    return null;
+                }
+            }
+
+            status = ScmFileStatus.UPDATED;
+
+            // never write through a hard link into the repository
+            if ( !destination.delete() )
+            {
+                throw new IOException( "Could not delete '" + destination.getAbsolutePath() + "'." );
+            }
+        }
+        else
+        {
+            File directory = destination.getParentFile();
+
+            // directories are created concurrently by the other copiers
+            if ( !directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory() )
+            {
+                throw new IOException( "Could not create destination directory '" + directory.getAbsolutePath()
+                    + "'." );
+            }
+        }
+
+        if ( !hardLinks || !link( source, destination ) )
+        {
+            copy( source, destination );
+        }
+
+        return status;
+    }
+
+    private static boolean link( File source, File destination )
+    {
+        try
+        {
+            CREATE_LINK.invoke( null, TO_PATH.invoke( destination ), TO_PATH.invoke( source ) );
+            return true;
+        }
+        catch ( InvocationTargetException e )
+        {
+            // other file system, no support for links: copy
+            return false;
+        }
+        catch ( IllegalAccessException e )
+        {
+            return false;
+        }
+    }
+
+    private static void copy( File source, File destination )
+        throws IOException
+    {
+        FileInputStream in = new FileInputStream( source );
+        FileOutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( destination );
+            FileChannel input = in.getChannel();
+            FileChannel output = out.getChannel();
+            long size = input.size();
+            long position = 0;
+            while ( position < size )
+            {
+                position += input.transferTo( position, size - position, output );
+            }
+        }
+        finally
+        {
+            IOUtil.close( out );
+            IOUtil.close( in );
+        }
+
+        destination.setLastModified( source.lastModified() );
+    }
+
+    private static boolean hasSameContents( File first, File second )
+        throws IOException
+    {
+        InputStream in1 = new FileInputStream( first );
+        InputStream in2 = null;
+        try
+        {
+            in2 = new FileInputStream( second );
+            byte[] buffer1 = new byte[BUFFER_SIZE];
+            byte[] buffer2 = new byte[BUFFER_SIZE];
+            while ( true )
+            {
+                int read1 = read( in1, buffer1 );
+                int read2 = read( in2, buffer2 );
+                if ( read1 != read2 )
+                {
+                    return false;
+                }
+                for ( int i = 0; i < read1; i++ )
+                {
+                    if ( buffer1[i] != buffer2[i] )
+                    {
+                        return false;
+                    }
+                }
+                if ( read1 < BUFFER_SIZE )
+                {
+                    return true;
+                }
+            }
+        }
+        finally
+        {
+            IOUtil.close( in2 );
+            IOUtil.close( in1 );
+        }
+    }
+
+    /**
+     * @return the number of bytes read, less than the buffer size only at the end of the stream
+     */
+    private static int read( InputStream in, byte[] buffer )
+        throws IOException
+    {
+        int length = 0;
+        int read;
+        while ( length < buffer.length && ( read = in.read( buffer, length, buffer.length - length ) ) > 0 )
+        {
+            length += read;
+        }
+        return length;
+    }
+}
@@ -34,6 +34,8 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 import org.codehaus.plexus.util.FileUtils;
 
@@ -92,9 +94,22 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
 
             if ( files.isEmpty() )
             {
-                @SuppressWarnings( "unchecked" )
-                List<File> fileList = FileUtils.getFiles( baseDestination, "**", null, false );
-                files = fileList;
+                // the files of the last checkout or update are listed in the metadata, without walking the tree
+                LocalScmMetadata metadata = new LocalScmMetadataUtils( getLogger() ).readMetadata( baseDestination );
+                if ( metadata != null )
+                {
+                    files = new ArrayList<File>( metadata.getRepositoryFileNames().size() );
+                    for ( String name : metadata.getRepositoryFileNames() )
+                    {
+                        files.add( new File( name ) );
+                    }
+                }
+                else
+                {
+                    @SuppressWarnings( "unchecked" )
+                    List<File> fileList = FileUtils.getFiles( baseDestination, "**", null, false );
+                    files = fileList;
+                }
             }
 
             for ( File file : files )
@@ -33,8 +33,10 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.command.LocalFileMaterializer;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
+import org.apache.maven.scm.util.ScmFileScanner;
 import org.codehaus.plexus.util.FileUtils;
 
 /**
@@ -97,20 +99,27 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                                       + baseDestination.getAbsolutePath() + "'." );
             }
 
-            List<File> fileList;
+            List<String> paths = new ArrayList<String>();
 
             if ( fileSet.getFileList().isEmpty() )
             {
-                @SuppressWarnings( "unchecked" )
-                List<File> files = FileUtils.getFiles( source.getAbsoluteFile(), "**", null ); 
-                fileList = files;
+                for ( File file : ScmFileScanner.scan( source.getAbsoluteFile(), "**", null ) )
+                {
+                    paths.add( file.getPath() );
+                }
             }
             else
             {
-                fileList = fileSet.getFileList();
+                String sourcePath = source.getAbsolutePath();
+
+                for ( File file : fileSet.getFileList() )
+                {
+                    paths.add( file.isAbsolute() ? file.getPath().substring( sourcePath.length() + 1 )
+                                   : file.getPath() );
+                }
             }
 
-            checkedOutFiles = checkOut( source, baseDestination, fileList, repository.getModule() );
+            checkedOutFiles = checkOut( source, baseDestination, paths, repository.getModule() );
 
             // write metadata file
             LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
@@ -124,32 +133,16 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
         return new LocalCheckOutScmResult( null, checkedOutFiles );
     }
 
-    private List<ScmFile> checkOut( File source, File baseDestination, List<File> files, String module )
-        throws ScmException, IOException
+    private List<ScmFile> checkOut( File source, File baseDestination, List<String> paths, String module )
+        throws IOException
     {
-        String sourcePath = source.getAbsolutePath();
+        new LocalFileMaterializer().materialize( source, baseDestination, paths, false );
 
         List<ScmFile> checkedOutFiles = new ArrayList<ScmFile>();
 
-        for ( File file : files )
+        for ( String path : paths )
         {
-            String dest = file.getAbsolutePath();
-
-            dest = dest.substring( sourcePath.length() + 1 );
-
-            File destination = new File( baseDestination, dest );
-
-            destination = destination.getParentFile();
-
-            if ( !destination.exists() && !destination.mkdirs() )
-            {
-                throw new ScmException(
-                    "Could not create destination directory '" + destination.getAbsolutePath() + "'." );
-            }
-
-            FileUtils.copyFileToDirectory( file, destination );
-
-            File parent = file.getParentFile();
+            File parent = new File( path ).getParentFile();
 
             // TODO: Add more excludes here
             if ( parent != null && parent.getName().equals( "CVS" ) )
@@ -157,7 +150,7 @@ private List<ScmFile> checkOut( File source, File baseDestination, List<File> fi
                 continue;
             }
 
-            String fileName = "/" + module + "/" + dest;
+            String fileName = "/" + module + "/" + path;
 
             checkedOutFiles.add( new ScmFile( fileName, ScmFileStatus.CHECKED_OUT ) );
         }
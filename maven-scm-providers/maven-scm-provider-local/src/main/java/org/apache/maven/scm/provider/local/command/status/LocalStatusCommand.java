@@ -19,17 +19,34 @@
  * under the License.
  */
 
-import java.util.Collections;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmFile;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
+import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
+import org.apache.maven.scm.util.ScmFileScanner;
+import org.codehaus.plexus.util.FileUtils;
 
 /**
+ * Compares the working copy with the files recorded in its <code>.maven-scm-local</code> metadata by the last
+ * checkout or update. Only the files whose modification time changed but not their size are read, to compare them
+ * with the repository.
+ *
  * @author <a href="mailto:matthewm@ambientideas.com">Matthew McCullough</a>
  *
  */
@@ -41,6 +58,86 @@
     protected StatusScmResult executeStatusCommand( ScmProviderRepository repository, ScmFileSet fileSet )
         throws ScmException
     {
-        return new StatusScmResult( null, Collections.<ScmFile>emptyList() );
+        LocalScmProviderRepository repo = (LocalScmProviderRepository) repository;
+
+        File source = new File( repo.getRoot(), repo.getModule() );
+
+        File basedir = fileSet.getBasedir();
+
+        LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
+        LocalScmMetadata metadata = metadataUtils.readMetadata( basedir );
+        if ( metadata == null )
+        {
+            if ( getLogger().isWarnEnabled() )
+            {
+                getLogger().warn( "No " + LocalScmMetadataUtils.FILENAME + " in '" + basedir.getAbsolutePath()
+                    + "', the status is unknown." );
+            }
+            return new StatusScmResult( null, new ArrayList<ScmFile>() );
+        }
+
+        Map<String, LocalScmFile> remaining =
+            new HashMap<String, LocalScmFile>( LocalScmMetadataUtils.getFiles( metadata ) );
+        boolean indexed = !remaining.isEmpty();
+        if ( !indexed )
+        {
+            // metadata written before the index: only additions and deletions can be found
+            for ( String name : metadata.getRepositoryFileNames() )
+            {
+                remaining.put( name.replace( File.separatorChar, '/' ), null );
+            }
+        }
+
+        List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+        try
+        {
+            for ( File path : ScmFileScanner.scan( basedir, "**", null ) )
+            {
+                String name = path.getPath().replace( File.separatorChar, '/' );
+                if ( LocalScmMetadataUtils.FILENAME.equals( name ) )
+                {
+                    continue;
+                }
+
+                if ( !remaining.containsKey( name ) )
+                {
+                    changedFiles.add( new ScmFile( name, ScmFileStatus.ADDED ) );
+                    continue;
+                }
+
+                LocalScmFile entry = remaining.remove( name );
+                if ( indexed && isModified( entry, new File( basedir, name ), new File( source, name ) ) )
+                {
+                    changedFiles.add( new ScmFile( name, ScmFileStatus.MODIFIED ) );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Error while comparing the working copy with its metadata.", e );
+        }
+
+        for ( String name : new TreeSet<String>( remaining.keySet() ) )
+        {
+            changedFiles.add( new ScmFile( name, ScmFileStatus.DELETED ) );
+        }
+
+        return new StatusScmResult( null, changedFiles );
+    }
+
+    /**
+     * A file with the recorded size but another modification time is compared with the repository file, as long as
+     * that one still is the recorded version. Otherwise the checked out contents are unknown and the file is modified.
+     */
+    private static boolean isModified( LocalScmFile entry, File file, File repositoryFile )
+        throws IOException
+    {
+        if ( LocalScmMetadataUtils.isUnchanged( entry, file ) )
+        {
+            return false;
+        }
+        return entry.getSize() != file.length() || !LocalScmMetadataUtils.isUnchanged( entry, repositoryFile )
+            || !FileUtils.contentEquals( file, repositoryFile );
     }
 }
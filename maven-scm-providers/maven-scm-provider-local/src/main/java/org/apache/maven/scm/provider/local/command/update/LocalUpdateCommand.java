@@ -29,11 +29,12 @@
 import org.apache.maven.scm.command.update.UpdateScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.command.LocalFileMaterializer;
 import org.apache.maven.scm.provider.local.command.changelog.LocalChangeLogCommand;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
-import org.codehaus.plexus.util.FileUtils;
+import org.apache.maven.scm.util.ScmFileScanner;
 
 import java.io.File;
 import java.io.IOException;
@@ -102,17 +103,15 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
                                       + source.getAbsolutePath() + "'." );
             }
 
-            @SuppressWarnings( "unchecked" )
-            List<File> fileList = FileUtils.getFiles( source.getAbsoluteFile(), "**", null );
-            List<File> list = fileList;
-            updatedFiles = update( source, baseDestination, list );
+            List<File> fileList = ScmFileScanner.scan( source.getAbsoluteFile(), "**", null );
+            updatedFiles = update( source, baseDestination, fileList );
 
             // process deletions in repository
             LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
             LocalScmMetadata originalMetadata = metadataUtils.readMetadata( baseDestination );
+            LocalScmMetadata newMetadata = metadataUtils.buildMetadata( source );
             if ( originalMetadata != null )
             {
-                LocalScmMetadata newMetadata = metadataUtils.buildMetadata( source );
                 for ( Iterator<String> it = originalMetadata.getRepositoryFileNames().iterator(); it.hasNext(); )
                 {
                     String filename = it.next();
@@ -129,7 +128,7 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
             }
 
             // rewrite metadata file
-            metadataUtils.writeMetadata( baseDestination, metadataUtils.buildMetadata( source ) );
+            metadataUtils.writeMetadata( baseDestination, newMetadata );
 
         }
         catch ( IOException ex )
@@ -141,17 +140,13 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
     }
 
     private List<ScmFile> update( File source, File baseDestination, List<File> files )
-        throws ScmException, IOException
+        throws IOException
     {
-        String sourcePath = source.getAbsolutePath();
+        List<String> paths = new ArrayList<String>();
 
-        List<ScmFile> updatedFiles = new ArrayList<ScmFile>();
-
-        for ( Iterator<File> i = files.iterator(); i.hasNext(); )
+        for ( File file : files )
         {
-            File repositoryFile = i.next();
-
-            File repositoryDirectory = repositoryFile.getParentFile();
+            File repositoryDirectory = file.getParentFile();
 
             // TODO: Add more excludes here
             if ( repositoryDirectory != null && repositoryDirectory.getName().equals( "CVS" ) )
@@ -159,48 +154,19 @@ private List<ScmFile> update( File source, File baseDestination, List<File> file
                 continue;
             }
 
-            String dest = repositoryFile.getAbsolutePath().substring( sourcePath.length() + 1 );
-
-            File destinationFile = new File( baseDestination, dest );
-
-            String repositoryFileContents = FileUtils.fileRead( repositoryFile );
-
-            if ( destinationFile.exists() )
-            {
-                String destionationFileContents = FileUtils.fileRead( destinationFile );
-
-                if ( repositoryFileContents.equals( destionationFileContents ) )
-                {
-                    continue;
-                }
-            }
-
-            File destinationDirectory = destinationFile.getParentFile();
+            paths.add( file.getPath() );
+        }
 
-            if ( !destinationDirectory.exists() && !destinationDirectory.mkdirs() )
-            {
-                throw new ScmException(
-                    "Could not create destination directory '" + destinationDirectory.getAbsolutePath() + "'." );
-            }
+        ScmFileStatus[] statuses = new LocalFileMaterializer().materialize( source, baseDestination, paths, true );
 
-            ScmFileStatus status;
+        List<ScmFile> updatedFiles = new ArrayList<ScmFile>();
 
-            if ( destinationFile.exists() )
-            {
-                status = ScmFileStatus.UPDATED;
-            }
-            else
+        for ( int i = 0; i < statuses.length; i++ )
+        {
+            if ( statuses[i] != null )
             {
-                status = ScmFileStatus.ADDED;
+                updatedFiles.add( new ScmFile( "/" + paths.get( i ), statuses[i] ) );
             }
-
-            FileUtils.copyFileToDirectory( repositoryFile, destinationDirectory );
-
-            int chop = baseDestination.getAbsolutePath().length();
-
-            String fileName = "/" + destinationFile.getAbsolutePath().substring( chop + 1 );
-
-            updatedFiles.add( new ScmFile( fileName, status ) );
         }
 
         return updatedFiles;
@@ -32,7 +32,11 @@
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utils for dealing with LocalScmMetadata
@@ -55,7 +59,9 @@ public LocalScmMetadataUtils( ScmLogger logger )
     }
 
     /**
-     * Builds LocalScmMetadata based on contents of repository
+     * Builds LocalScmMetadata based on contents of repository, with the size and modification time of each file.
+     * The files aren't read: their contents are only compared when the status finds a file of the working copy with
+     * the recorded size but another modification time.
      *
      * @param repository
      * @return
@@ -66,11 +72,55 @@ public LocalScmMetadata buildMetadata( File repository )
     {
         @SuppressWarnings( "unchecked" )
         List<String> repoFilenames = FileUtils.getFileNames( repository.getAbsoluteFile(), "**", null, false );
+        List<LocalScmFile> files = new ArrayList<LocalScmFile>( repoFilenames.size() );
+        for ( String name : repoFilenames )
+        {
+            File file = new File( repository, name );
+
+            LocalScmFile entry = new LocalScmFile();
+            entry.setName( name.replace( File.separatorChar, '/' ) );
+            entry.setSize( file.length() );
+            entry.setLastModified( file.lastModified() );
+            files.add( entry );
+        }
+
         LocalScmMetadata metadata = new LocalScmMetadata();
         metadata.setRepositoryFileNames( repoFilenames );
+        metadata.setFiles( files );
         return metadata;
     }
 
+    /**
+     * @param metadata the metadata, may be <code>null</code>
+     * @return the files of the metadata by name, with <code>/</code> as separator
+     * @since 1.9.5
+     */
+    public static Map<String, LocalScmFile> getFiles( LocalScmMetadata metadata )
+    {
+        if ( metadata == null || metadata.getFiles().isEmpty() )
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, LocalScmFile> files = new HashMap<String, LocalScmFile>( metadata.getFiles().size() * 2 );
+        for ( LocalScmFile file : metadata.getFiles() )
+        {
+            files.put( file.getName(), file );
+        }
+        return files;
+    }
+
+    /**
+     * @param entry the recorded file, may be <code>null</code>
+     * @param file  the file on disk
+     * @return <code>true</code> if the file has the recorded size and modification time
+     * @since 1.9.5
+     */
+    public static boolean isUnchanged( LocalScmFile entry, File file )
+    {
+        return entry != null && entry.getSize() == file.length() && entry.getLastModified() == file.lastModified();
+    }
+
     /**
      * Writes metadata file
      *
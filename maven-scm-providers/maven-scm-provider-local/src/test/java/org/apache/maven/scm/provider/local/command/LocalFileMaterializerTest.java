@@ -0,0 +1,89 @@
+package org.apache.maven.scm.provider.local.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @since 1.9.5
+ */
+public class LocalFileMaterializerTest
+    extends ScmTestCase
+{
+    private File source;
+
+    private File destination;
+
+    public void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        source = getTestFile( "target/materializer/source" );
+        destination = getTestFile( "target/materializer/destination" );
+
+        FileUtils.deleteDirectory( source );
+        FileUtils.deleteDirectory( destination );
+
+        makeFile( source, "/readme.txt", "readme" );
+        makeFile( source, "/src/main/java/Foo.java", "class Foo {}" );
+    }
+
+    public void testCheckOut()
+        throws Exception
+    {
+        List<String> paths = Arrays.asList( "readme.txt", "src/main/java/Foo.java" );
+
+        ScmFileStatus[] statuses = new LocalFileMaterializer( false ).materialize( source, destination, paths, false );
+
+        assertEquals( ScmFileStatus.ADDED, statuses[0] );
+        assertEquals( ScmFileStatus.ADDED, statuses[1] );
+        assertEquals( "class Foo {}", FileUtils.fileRead( new File( destination, "src/main/java/Foo.java" ) ) );
+        assertEquals( new File( source, "readme.txt" ).lastModified(),
+                      new File( destination, "readme.txt" ).lastModified() );
+    }
+
+    public void testUpdate()
+        throws Exception
+    {
+        List<String> paths = Arrays.asList( "readme.txt", "src/main/java/Foo.java" );
+
+        LocalFileMaterializer materializer = new LocalFileMaterializer( false );
+        materializer.materialize( source, destination, paths, false );
+
+        makeFile( source, "/readme.txt", "changed" );
+        // same contents, other time: only the time is fixed
+        File foo = new File( source, "src/main/java/Foo.java" );
+        foo.setLastModified( foo.lastModified() - 10000 );
+
+        ScmFileStatus[] statuses = materializer.materialize( source, destination, paths, true );
+
+        assertEquals( ScmFileStatus.UPDATED, statuses[0] );
+        assertNull( statuses[1] );
+        assertEquals( "changed", FileUtils.fileRead( new File( destination, "readme.txt" ) ) );
+        assertEquals( foo.lastModified(), new File( destination, "src/main/java/Foo.java" ).lastModified() );
+    }
+}
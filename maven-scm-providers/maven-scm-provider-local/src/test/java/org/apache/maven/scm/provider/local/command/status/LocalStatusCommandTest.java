@@ -0,0 +1,93 @@
+package org.apache.maven.scm.provider.local.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTckTestCase;
+import org.apache.maven.scm.command.status.StatusScmResult;
+
+/**
+ * @since 1.9.5
+ */
+public class LocalStatusCommandTest
+    extends ScmTckTestCase
+{
+    private String module = "status";
+
+    public String getScmUrl()
+        throws Exception
+    {
+        return "scm:local|" + getRepositoryRoot().getAbsolutePath() + "|" + module;
+    }
+
+    public void initRepo()
+        throws Exception
+    {
+        File root = new File( getRepositoryRoot() + "/" + module );
+
+        makeFile( root, "/pom.xml" );
+
+        makeFile( root, "/readme.txt" );
+
+        makeFile( root, "/src/main/java/Application.java" );
+
+        makeFile( root, "/src/test/java/Test.java" );
+    }
+
+    public void testStatus()
+        throws Exception
+    {
+        StatusScmResult result = getScmManager().status( getScmRepository(), new ScmFileSet( getWorkingCopy() ) );
+
+        assertResultIsSuccess( result );
+        assertTrue( result.getChangedFiles().toString(), result.getChangedFiles().isEmpty() );
+
+        // same size, other contents and time
+        File readme = new File( getWorkingCopy(), "readme.txt" );
+        makeFile( getWorkingCopy(), "/readme.txt", "/README.txt" );
+        readme.setLastModified( readme.lastModified() + 10000 );
+        // same contents, other time
+        File pom = new File( getWorkingCopy(), "pom.xml" );
+        pom.setLastModified( pom.lastModified() + 10000 );
+        makeFile( getWorkingCopy(), "/src/test/java/FooTest.java" );
+        assertTrue( new File( getWorkingCopy(), "src/main/java/Application.java" ).delete() );
+
+        result = getScmManager().status( getScmRepository(), new ScmFileSet( getWorkingCopy() ) );
+
+        assertResultIsSuccess( result );
+
+        List<ScmFile> changedFiles = result.getChangedFiles();
+        assertEquals( changedFiles.toString(), 3, changedFiles.size() );
+        assertFile( "readme.txt", ScmFileStatus.MODIFIED, changedFiles.get( 0 ) );
+        assertFile( "src/test/java/FooTest.java", ScmFileStatus.ADDED, changedFiles.get( 1 ) );
+        assertFile( "src/main/java/Application.java", ScmFileStatus.DELETED, changedFiles.get( 2 ) );
+    }
+
+    private void assertFile( String path, ScmFileStatus status, ScmFile file )
+    {
+        assertEquals( path, file.getPath() );
+        assertEquals( status, file.getStatus() );
+    }
+}
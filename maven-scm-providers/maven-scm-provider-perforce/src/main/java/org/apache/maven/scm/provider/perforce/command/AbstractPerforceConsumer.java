@@ -19,11 +19,9 @@
  * under the License.
  */
 
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.StreamConsumer;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-
 /**
  * @author mperham
  *
@@ -31,15 +29,14 @@
 public abstract class AbstractPerforceConsumer
     implements StreamConsumer
 {
-    private StringWriter out = new StringWriter();
-
-    protected PrintWriter output = new PrintWriter( out );
+    /**
+     * The output of p4, kept as configured by {@link CommandOutputConsumer#RETENTION_PROPERTY}.
+     */
+    protected CommandOutputConsumer output = new CommandOutputConsumer();
 
     public String getOutput()
     {
-        output.flush();
-        out.flush();
-        return out.toString();
+        return output.getOutput();
     }
 
 }
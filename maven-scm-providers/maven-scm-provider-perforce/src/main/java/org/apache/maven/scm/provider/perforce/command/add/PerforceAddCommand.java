@@ -30,6 +30,8 @@
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -51,8 +53,9 @@ protected ScmResult executeAddCommand( ScmProviderRepository repo, ScmFileSet fi
         PerforceAddConsumer consumer = new PerforceAddConsumer();
         try
         {
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-            int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, err );
+            CommandLineUtils.StringStreamConsumer err =
+                new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
+            int exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, err );
 
             if ( exitCode != 0 )
             {
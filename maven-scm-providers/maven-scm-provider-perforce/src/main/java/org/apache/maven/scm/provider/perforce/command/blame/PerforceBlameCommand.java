@@ -22,12 +22,15 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -44,47 +47,91 @@
     extends AbstractBlameCommand
     implements PerforceCommand
 {
+    /**
+     * Number of files whose history is read by a single <code>p4 filelog</code>.
+     */
+    private static final int FILELOG_BATCH_SIZE = 100;
+
     public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
                                                String filename )
         throws ScmException
     {
-        // Call annotate command
         PerforceScmProviderRepository p4repo = (PerforceScmProviderRepository) repo;
         String clientspec = PerforceScmProvider.getClientspecName( getLogger(), p4repo, workingDirectory.getBasedir() );
-        Commandline cl =
-            createCommandLine( (PerforceScmProviderRepository) repo, workingDirectory.getBasedir(), filename,
-                               clientspec );
 
-        PerforceBlameConsumer blameConsumer = new PerforceBlameConsumer( getLogger() );
+        return blameFile( p4repo, workingDirectory.getBasedir(), filename, clientspec, null );
+    }
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+    /**
+     * Reads the history of the files with one <code>p4 filelog</code> per batch of files instead of one per file,
+     * then annotates the files concurrently.
+     */
+    protected BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
+                                                  List<String> filenames, int threads, BlameHandler handler )
+        throws ScmException
+    {
+        final PerforceScmProviderRepository p4repo = (PerforceScmProviderRepository) repo;
+        final File basedir = workingDirectory.getBasedir();
+        final String clientspec = PerforceScmProvider.getClientspecName( getLogger(), p4repo, basedir );
 
-        int exitCode;
+        final PerforceFilelogConsumer filelogConsumer = new PerforceFilelogConsumer( getLogger() );
 
-        try
-        {
-            exitCode = CommandLineUtils.executeCommandLine( cl, blameConsumer, stderr );
-        }
-        catch ( CommandLineException ex )
+        for ( int i = 0; i < filenames.size(); i += FILELOG_BATCH_SIZE )
         {
-            throw new ScmException( "Error while executing command.", ex );
+            List<String> batch = filenames.subList( i, Math.min( filenames.size(), i + FILELOG_BATCH_SIZE ) );
+            Commandline cl = createFilelogCommandLine( p4repo, basedir, batch, clientspec );
+
+            CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
+
+            int exitCode;
+            try
+            {
+                exitCode = ScmProcessRunner.executeCommandLine( cl, filelogConsumer, stderr );
+            }
+            catch ( CommandLineException ex )
+            {
+                throw new ScmException( "Error while executing command.", ex );
+            }
+            if ( exitCode != 0 )
+            {
+                if ( getLogger().isDebugEnabled() )
+                {
+                    getLogger().debug( "The batched filelog failed, reading the files one at a time: "
+                                           + stderr.getOutput() );
+                }
+                return super.executeBlameCommand( repo, workingDirectory, filenames, threads, handler );
+            }
         }
-        if ( exitCode != 0 )
+
+        return blame( filenames, threads, handler, new FileBlame()
         {
-            return new BlameScmResult( cl.toString(), "The perforce command failed.", stderr.getOutput(), false );
-        }
+            public BlameScmResult blame( String filename )
+                throws ScmException
+            {
+                return blameFile( p4repo, basedir, filename, clientspec, filelogConsumer );
+            }
+        } );
+    }
 
-        // Call filelog command
+    /**
+     * @param filelogConsumer the history of several files, or <code>null</code> to read the one of this file
+     */
+    private BlameScmResult blameFile( PerforceScmProviderRepository repo, File basedir, String filename,
+                                      String clientspec, PerforceFilelogConsumer filelogConsumer )
+        throws ScmException
+    {
+        // Call annotate command
+        Commandline cl = createCommandLine( repo, basedir, filename, clientspec );
+
+        PerforceBlameConsumer blameConsumer = new PerforceBlameConsumer( getLogger() );
 
-        cl =
-            createFilelogCommandLine( (PerforceScmProviderRepository) repo, workingDirectory.getBasedir(), filename,
-                                      clientspec );
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
-        PerforceFilelogConsumer filelogConsumer = new PerforceFilelogConsumer( getLogger() );
+        int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, filelogConsumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, blameConsumer, stderr );
         }
         catch ( CommandLineException ex )
         {
@@ -95,6 +142,31 @@ public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSe
             return new BlameScmResult( cl.toString(), "The perforce command failed.", stderr.getOutput(), false );
         }
 
+        String depotFile = filelogConsumer != null ? getDepotFile( filelogConsumer, filename ) : null;
+
+        if ( depotFile == null )
+        {
+            // Call filelog command
+
+            cl = createFilelogCommandLine( repo, basedir, filename, clientspec );
+
+            filelogConsumer = new PerforceFilelogConsumer( getLogger() );
+
+            try
+            {
+                exitCode = ScmProcessRunner.executeCommandLine( cl, filelogConsumer, stderr );
+            }
+            catch ( CommandLineException ex )
+            {
+                throw new ScmException( "Error while executing command.", ex );
+            }
+            if ( exitCode != 0 )
+            {
+                return new BlameScmResult( cl.toString(), "The perforce command failed.", stderr.getOutput(),
+                                           false );
+            }
+        }
+
         // Combine results
 
         List<BlameLine> lines = blameConsumer.getLines();
@@ -102,13 +174,43 @@ public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSe
         {
             BlameLine line = lines.get( i );
             String revision = line.getRevision();
-            line.setAuthor( filelogConsumer.getAuthor( revision ) );
-            line.setDate( filelogConsumer.getDate( revision ) );
+            if ( depotFile != null )
+            {
+                line.setAuthor( filelogConsumer.getAuthor( depotFile, revision ) );
+                line.setDate( filelogConsumer.getDate( depotFile, revision ) );
+            }
+            else
+            {
+                line.setAuthor( filelogConsumer.getAuthor( revision ) );
+                line.setDate( filelogConsumer.getDate( revision ) );
+            }
         }
 
         return new BlameScmResult( cl.toString(), lines );
     }
 
+    /**
+     * @return the only depot path of the log ending with the file name, <code>null</code> if none or several do
+     */
+    private static String getDepotFile( PerforceFilelogConsumer filelogConsumer, String filename )
+    {
+        String suffix = "/" + filename.replace( File.separatorChar, '/' );
+
+        String depotFile = null;
+        for ( String file : filelogConsumer.getFiles() )
+        {
+            if ( file.endsWith( suffix ) )
+            {
+                if ( depotFile != null )
+                {
+                    return null;
+                }
+                depotFile = file;
+            }
+        }
+        return depotFile;
+    }
+
     public static Commandline createCommandLine( PerforceScmProviderRepository repo, File workingDirectory,
                                                  String filename, final String clientspec )
     {
@@ -137,4 +239,24 @@ public static Commandline createFilelogCommandLine( PerforceScmProviderRepositor
         cl.createArg().setValue( filename );
         return cl;
     }
+
+    /**
+     * @since 1.9.5
+     */
+    public static Commandline createFilelogCommandLine( PerforceScmProviderRepository repo, File workingDirectory,
+                                                        List<String> filenames, final String clientspec )
+    {
+        Commandline cl = PerforceScmProvider.createP4Command( repo, workingDirectory );
+        if ( clientspec != null )
+        {
+            cl.createArg().setValue( "-c" );
+            cl.createArg().setValue( clientspec );
+        }
+        cl.createArg().setValue( "filelog" );
+        for ( String filename : filenames )
+        {
+            cl.createArg().setValue( filename );
+        }
+        return cl;
+    }
 }
@@ -20,10 +20,11 @@
  */
 
 import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLines;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
 
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,7 +41,7 @@
     /* 151: line */
     private static final Pattern LINE_PATTERN = Pattern.compile( "(\\d+):" );
 
-    private List<BlameLine> lines = new ArrayList<BlameLine>();
+    private BlameLines lines = new BlameLines();
 
     public PerforceBlameConsumer( ScmLogger logger )
     {
@@ -55,7 +56,7 @@ public void consumeLine( String line )
         {
             String revision = matcher.group( 1 ).trim();
 
-            lines.add( new BlameLine( null, revision, null ) );
+            lines.add( (Date) null, revision, null, null );
         }
     }
 
@@ -24,7 +24,9 @@
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +45,12 @@
 
     private Map<String, String> authors = new HashMap<String, String>();
 
+    private Map<String, Map<String, Date>> fileDates = new LinkedHashMap<String, Map<String, Date>>();
+
+    private Map<String, Map<String, String>> fileAuthors = new HashMap<String, Map<String, String>>();
+
+    private String file;
+
     public PerforceFilelogConsumer( ScmLogger logger )
     {
         super( logger );
@@ -51,6 +59,15 @@ public PerforceFilelogConsumer( ScmLogger logger )
     /** {@inheritDoc} */
     public void consumeLine( String line )
     {
+        if ( line.startsWith( "//" ) )
+        {
+            // the depot path heading the revisions of each file
+            file = line.trim();
+            fileDates.put( file, new HashMap<String, Date>() );
+            fileAuthors.put( file, new HashMap<String, String>() );
+            return;
+        }
+
         Matcher matcher = LINE_PATTERN.matcher( line );
         if ( matcher.find() )
         {
@@ -62,6 +79,12 @@ public void consumeLine( String line )
 
             dates.put( revision, dateTime );
             authors.put( revision, author );
+
+            if ( file != null )
+            {
+                fileDates.get( file ).put( revision, dateTime );
+                fileAuthors.get( file ).put( revision, author );
+            }
         }
     }
 
@@ -74,4 +97,35 @@ public Date getDate( String revision )
     {
         return (Date) dates.get( revision );
     }
+
+    /**
+     * @return the depot paths of the files of the log, in their order
+     * @since 1.9.5
+     */
+    public Set<String> getFiles()
+    {
+        return fileDates.keySet();
+    }
+
+    /**
+     * @param file     the depot path of the file, when the log covers several files
+     * @param revision the revision of the file
+     * @return the author of the revision
+     * @since 1.9.5
+     */
+    public String getAuthor( String file, String revision )
+    {
+        return fileAuthors.containsKey( file ) ? fileAuthors.get( file ).get( revision ) : null;
+    }
+
+    /**
+     * @param file     the depot path of the file, when the log covers several files
+     * @param revision the revision of the file
+     * @return the date of the revision
+     * @since 1.9.5
+     */
+    public Date getDate( String file, String revision )
+    {
+        return fileDates.containsKey( file ) ? fileDates.get( file ).get( revision ) : null;
+    }
 }
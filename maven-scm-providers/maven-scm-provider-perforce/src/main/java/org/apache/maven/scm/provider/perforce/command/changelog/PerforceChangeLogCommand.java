@@ -22,9 +22,17 @@
 import java.io.File;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -32,14 +40,19 @@
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -50,6 +63,20 @@
     extends AbstractChangeLogCommand
     implements PerforceCommand
 {
+    /**
+     * The system property setting the maximum number of changes described by a single <code>p4 describe</code>.
+     */
+    public static final String DESCRIBE_BATCH_SIZE_PROPERTY = "maven.scm.perforce.describe.batch_size";
+
+    /**
+     * The system property setting the number of <code>p4 describe</code> running at the same time.
+     */
+    public static final String DESCRIBE_THREADS_PROPERTY = "maven.scm.perforce.describe.threads";
+
+    private static final int DEFAULT_BATCH_SIZE = 200;
+
+    private static final int DEFAULT_THREADS = 4;
+
     /** {@inheritDoc} */
     protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                           ScmVersion startVersion, ScmVersion endVersion,
@@ -79,92 +106,332 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
                                                           ScmVersion endVersion )
         throws ScmException
     {
-        PerforceScmProviderRepository p4repo = (PerforceScmProviderRepository) repo;
-        String clientspec = PerforceScmProvider.getClientspecName( getLogger(), p4repo, fileSet.getBasedir() );
+        final PerforceScmProviderRepository p4repo = (PerforceScmProviderRepository) repo;
+        final File workingDirectory = fileSet.getBasedir();
+        String clientspec = PerforceScmProvider.getClientspecName( getLogger(), p4repo, workingDirectory );
         Commandline cl =
-            createCommandLine( p4repo, fileSet.getBasedir(), clientspec, null, startDate, endDate, startVersion,
+            createCommandLine( p4repo, workingDirectory, clientspec, null, startDate, endDate, startVersion,
                                endVersion );
 
-        String location = PerforceScmProvider.getRepoPath( getLogger(), p4repo, fileSet.getBasedir() );
-        PerforceChangesConsumer consumer =
-            new PerforceChangesConsumer( getLogger() );
+        String location = PerforceScmProvider.getRepoPath( getLogger(), p4repo, workingDirectory );
 
-        try
+        final DescribePipeline pipeline =
+            new DescribePipeline( location, datePattern, getLogger(),
+                                  Integer.getInteger( DESCRIBE_BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE ).intValue(),
+                                  Integer.getInteger( DESCRIBE_THREADS_PROPERTY, DEFAULT_THREADS ).intValue() )
+            {
+                Future<Integer> start( List<String> changes, StreamConsumer output, StreamConsumer error )
+                    throws CommandLineException
+                {
+                    Commandline describe = createDescribeCommandLine( p4repo, workingDirectory, changes );
+
+                    if ( getLogger().isDebugEnabled() )
+                    {
+                        getLogger().debug( PerforceScmProvider.clean( "Executing " + describe.toString() ) );
+                    }
+
+                    return ScmProcessRunner.executeCommandLineAsync( describe, null, output, error,
+                                                                     ScmProcessRunner.getDefaultCharset() );
+                }
+            };
+
+        // the changes are described while they are listed
+        PerforceChangesConsumer consumer = new PerforceChangesConsumer( getLogger() )
         {
-            if ( getLogger().isDebugEnabled() )
+            protected void consumeChange( String change )
             {
-                getLogger().debug( PerforceScmProvider.clean( "Executing " + cl.toString() ) );
+                super.consumeChange( change );
+                pipeline.add( change );
             }
+        };
 
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-            int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, err );
-
-            if ( exitCode != 0 )
+        ChangeSetCollector collector = new ChangeSetCollector( getChangeSetHandler() );
+        List<List<String>> batches;
+        try
+        {
+            try
             {
-                String cmdLine = CommandLineUtils.toString( cl.getCommandline() );
+                if ( getLogger().isDebugEnabled() )
+                {
+                    getLogger().debug( PerforceScmProvider.clean( "Executing " + cl.toString() ) );
+                }
 
-                StringBuilder msg = new StringBuilder( "Exit code: " + exitCode + " - " + err.getOutput() );
-                msg.append( '\n' );
-                msg.append( "Command line was:" + cmdLine );
+                CommandLineUtils.StringStreamConsumer err =
+                    new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
+                int exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, err );
 
-                throw new CommandLineException( msg.toString() );
+                if ( exitCode != 0 )
+                {
+                    String cmdLine = CommandLineUtils.toString( cl.getCommandline() );
+
+                    StringBuilder msg = new StringBuilder( "Exit code: " + exitCode + " - " + err.getOutput() );
+                    msg.append( '\n' );
+                    msg.append( "Command line was:" + cmdLine );
+
+                    throw new CommandLineException( msg.toString() );
+                }
+            }
+            catch ( CommandLineException e )
+            {
+                if ( getLogger().isErrorEnabled() )
+                {
+                    getLogger().error( "CommandLineException " + e.getMessage(), e );
+                }
             }
+
+            batches = pipeline.finish();
+            pipeline.collect( collector );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new ScmException( "Interrupted while describing the changes.", e );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new ScmException( "Can't describe the changes: " + e.getCause().getMessage(), e.getCause() );
         }
-        catch ( CommandLineException e )
+        finally
         {
-            if ( getLogger().isErrorEnabled() )
+            pipeline.cancel();
+        }
+
+        String describeCommandLine =
+            batches.isEmpty() ? cl.toString()
+                            : createDescribeCommandLine( p4repo, workingDirectory, batches.get( 0 ) ).toString();
+
+        ChangeLogSet cls = new ChangeLogSet( collector.getChangeSets(), null, null );
+        cls.setStartVersion( startVersion );
+        cls.setEndVersion( endVersion );
+        return new ChangeLogScmResult( describeCommandLine, cls );
+    }
+
+    /**
+     * Describes the changes in batches of {@link #DESCRIBE_BATCH_SIZE_PROPERTY} changes while
+     * <code>p4 changes</code> lists them, running up to {@link #DESCRIBE_THREADS_PROPERTY} <code>p4 describe</code>
+     * at the same time. The change sets are handed to the collector in the order of a single
+     * <code>p4 describe</code>, the oldest first, once all the changes are listed.
+     */
+    abstract static class DescribePipeline
+    {
+        private final String location;
+
+        private final String datePattern;
+
+        private final ScmLogger logger;
+
+        private final int batchSize;
+
+        private final ExecutorService executor;
+
+        /**
+         * The batches, the newest changes first like <code>p4 changes</code>
+         */
+        private final List<Batch> batches = new ArrayList<Batch>();
+
+        private List<String> pending = new ArrayList<String>();
+
+        DescribePipeline( String location, String datePattern, ScmLogger logger, int batchSize, int threads )
+        {
+            this.location = location;
+            this.datePattern = datePattern;
+            this.logger = logger;
+            this.batchSize = Math.max( 1, batchSize );
+            this.executor = Executors.newFixedThreadPool( Math.max( 1, threads ) );
+        }
+
+        /**
+         * Starts the <code>p4 describe</code> of a batch, the process being destroyed when the future is cancelled.
+         */
+        abstract Future<Integer> start( List<String> changes, StreamConsumer output, StreamConsumer error )
+            throws CommandLineException;
+
+        /**
+         * @param change the next change listed by <code>p4 changes</code>
+         */
+        synchronized void add( String change )
+        {
+            pending.add( change );
+
+            if ( pending.size() >= batchSize )
             {
-                getLogger().error( "CommandLineException " + e.getMessage(), e );
+                submit();
             }
         }
 
-        List<String> changes = consumer.getChanges();
+        /**
+         * Describes the last changes, once they are all listed.
+         *
+         * @return the changes of each batch, the oldest first
+         */
+        synchronized List<List<String>> finish()
+        {
+            submit();
 
-        cl = PerforceScmProvider.createP4Command( p4repo, fileSet.getBasedir() );
-        cl.createArg().setValue( "describe" );
-        cl.createArg().setValue( "-s" );
+            List<List<String>> changes = new ArrayList<List<String>>( batches.size() );
+            for ( int i = batches.size() - 1; i >= 0; i-- )
+            {
+                changes.add( batches.get( i ).changes );
+            }
+            return changes;
+        }
 
-        for ( String change : changes )
+        private void submit()
         {
-            cl.createArg().setValue( change );
-        }
+            if ( !pending.isEmpty() )
+            {
+                Batch batch = new Batch( pending );
+                pending = new ArrayList<String>();
 
-        PerforceDescribeConsumer describeConsumer =
-            new PerforceDescribeConsumer( location, datePattern, getLogger() );
+                batch.result = executor.submit( batch );
+                batches.add( batch );
+            }
+        }
 
-        try
+        /**
+         * Hands the change sets to the collector, the oldest first, until it stops.
+         */
+        void collect( ChangeSetCollector collector )
+            throws InterruptedException, ExecutionException
         {
-            if ( getLogger().isDebugEnabled() )
+            List<Batch> described;
+            synchronized ( this )
             {
-                getLogger().debug( PerforceScmProvider.clean( "Executing " + cl.toString() ) );
+                described = new ArrayList<Batch>( batches );
             }
 
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-            int exitCode = CommandLineUtils.executeCommandLine( cl, describeConsumer, err );
+            for ( int i = described.size() - 1; i >= 0 && !collector.isStopped(); i-- )
+            {
+                for ( ChangeSet changeSet : described.get( i ).result.get() )
+                {
+                    collector.add( changeSet );
+                }
+            }
+        }
 
-            if ( exitCode != 0 )
+        /**
+         * Destroys the <code>p4 describe</code> processes still running and drops the batches not started yet.
+         */
+        void cancel()
+        {
+            synchronized ( this )
             {
-                String cmdLine = CommandLineUtils.toString( cl.getCommandline() );
+                for ( Batch batch : batches )
+                {
+                    batch.cancel();
+                }
+            }
+            executor.shutdownNow();
+        }
 
-                StringBuilder msg = new StringBuilder( "Exit code: " + exitCode + " - " + err.getOutput() );
-                msg.append( '\n' );
-                msg.append( "Command line was:" + cmdLine );
+        private void error( String message, Throwable cause )
+        {
+            if ( !logger.isErrorEnabled() )
+            {
+                return;
+            }
 
-                throw new CommandLineException( msg.toString() );
+            if ( cause == null )
+            {
+                logger.error( message );
+            }
+            else
+            {
+                logger.error( message, cause );
             }
         }
-        catch ( CommandLineException e )
+
+        private final class Batch
+            implements Callable<List<ChangeSet>>
         {
-            if ( getLogger().isErrorEnabled() )
+            private final List<String> changes;
+
+            private Future<List<ChangeSet>> result;
+
+            private Future<Integer> process;
+
+            private boolean cancelled;
+
+            Batch( List<String> changes )
+            {
+                this.changes = changes;
+            }
+
+            public List<ChangeSet> call()
+                throws Exception
+            {
+                PerforceDescribeConsumer consumer = new PerforceDescribeConsumer( location, datePattern, logger );
+                CommandLineUtils.StringStreamConsumer err =
+                    new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
+
+                Future<Integer> started;
+                try
+                {
+                    synchronized ( this )
+                    {
+                        if ( cancelled )
+                        {
+                            return Collections.emptyList();
+                        }
+                        started = start( changes, consumer, err );
+                        process = started;
+                    }
+                }
+                catch ( CommandLineException e )
+                {
+                    error( "CommandLineException " + e.getMessage(), e );
+                    return Collections.emptyList();
+                }
+
+                try
+                {
+                    int exitCode = started.get().intValue();
+
+                    if ( exitCode != 0 )
+                    {
+                        error( "Exit code: " + exitCode + " - " + err.getOutput() + "\nChanges were: " + changes,
+                               null );
+                    }
+                }
+                catch ( ExecutionException e )
+                {
+                    error( "CommandLineException " + e.getCause().getMessage(), e.getCause() );
+                }
+                catch ( InterruptedException e )
+                {
+                    started.cancel( true );
+                    throw e;
+                }
+
+                return consumer.getModifications();
+            }
+
+            synchronized void cancel()
             {
-                getLogger().error( "CommandLineException " + e.getMessage(), e );
+                cancelled = true;
+
+                if ( process != null )
+                {
+                    process.cancel( true );
+                }
             }
         }
+    }
 
-        ChangeLogSet cls = new ChangeLogSet( describeConsumer.getModifications(), null, null );
-        cls.setStartVersion( startVersion );
-        cls.setEndVersion( endVersion );
-        return new ChangeLogScmResult( cl.toString(), cls );
+    public static Commandline createDescribeCommandLine( PerforceScmProviderRepository repo, File workingDirectory,
+                                                         List<String> changes )
+    {
+        Commandline command = PerforceScmProvider.createP4Command( repo, workingDirectory );
+        command.createArg().setValue( "describe" );
+        command.createArg().setValue( "-s" );
+
+        for ( String change : changes )
+        {
+            command.createArg().setValue( change );
+        }
+
+        return command;
     }
 
     public static Commandline createCommandLine( PerforceScmProviderRepository repo, File workingDirectory,
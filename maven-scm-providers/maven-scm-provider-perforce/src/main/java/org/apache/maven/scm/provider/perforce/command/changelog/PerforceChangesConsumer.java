@@ -65,7 +65,18 @@ public void consumeLine( String line )
         Matcher matcher = PATTERN.matcher( line );
         if ( matcher.find() )
         {
-            entries.add( matcher.group( 1 ) );
+            consumeChange( matcher.group( 1 ) );
         }
     }
+
+    /**
+     * Called for each change as soon as it is listed, the newest first.
+     *
+     * @param change the change number
+     * @since 1.9.5
+     */
+    protected void consumeChange( String change )
+    {
+        entries.add( change );
+    }
 }
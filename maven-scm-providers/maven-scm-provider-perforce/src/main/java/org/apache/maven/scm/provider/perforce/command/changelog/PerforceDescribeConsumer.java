@@ -19,7 +19,7 @@
  * under the License.
  */
 
-import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,8 +40,11 @@
 public class PerforceDescribeConsumer
     extends AbstractConsumer
 {
-    
-    private List<ChangeSet> entries = new ArrayList<ChangeSet>();
+
+    /**
+     * The change sets, oldest first: "p4 describe" lists them in the given order, which is the newest first
+     */
+    private LinkedList<ChangeSet> entries = new LinkedList<ChangeSet>();
 
     /**
      * State machine constant: expecting revision
@@ -197,7 +200,7 @@ private void processGetFile( String line )
     {
         if ( line.equals( CHANGELIST_DELIMITER ) )
         {
-            entries.add( 0, currentChange );
+            entries.addFirst( currentChange );
             status = GET_REVISION;
             return;
         }
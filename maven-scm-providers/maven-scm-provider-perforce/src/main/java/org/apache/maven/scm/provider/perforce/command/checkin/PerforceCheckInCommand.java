@@ -28,6 +28,8 @@
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -77,9 +79,10 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
                 getLogger().debug( "Sending changelist:\n" + changes );
             }
 
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer err =
+                new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
             int exitCode =
-                CommandLineUtils.executeCommandLine( cl, new ByteArrayInputStream( changes.getBytes() ), consumer,
+                ScmProcessRunner.executeCommandLine( cl, new ByteArrayInputStream( changes.getBytes() ), consumer,
                                                      err );
 
             if ( exitCode != 0 )
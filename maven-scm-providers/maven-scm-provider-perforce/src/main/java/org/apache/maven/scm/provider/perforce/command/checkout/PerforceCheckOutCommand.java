@@ -28,6 +28,8 @@
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -102,9 +104,10 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                 getLogger().debug( "Updating clientspec:\n" + client );
             }
 
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer err =
+                new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
             int exitCode =
-                CommandLineUtils.executeCommandLine( cl, new ByteArrayInputStream( client.getBytes() ), consumer, err );
+                ScmProcessRunner.executeCommandLine( cl, new ByteArrayInputStream( client.getBytes() ), consumer, err );
 
             if ( exitCode != 0 )
             {
@@ -151,8 +154,9 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                         }
                         consumer.consumeLine( line );
                     }
-                    CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-                    int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, err );
+                    CommandLineUtils.StringStreamConsumer err =
+                        new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
+                    int exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, err );
 
                     if ( exitCode != 0 )
                     {
@@ -125,7 +125,7 @@ public void consumeLine( String line )
     private void error( String line )
     {
         currentState = STATE_ERROR;
-        output.println( line );
+        output.consumeLine( line );
     }
 
     public boolean isSuccess()
@@ -21,6 +21,7 @@
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
 import org.apache.maven.scm.command.diff.DiffScmResult;
@@ -28,6 +29,8 @@
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -58,8 +61,9 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileS
         boolean success = false;
         try
         {
-            CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-            int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, err );
+            CommandLineUtils.StringStreamConsumer err =
+                new CommandOutputConsumer( CommandOutputConsumer.Retention.BOUNDED );
+            int exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, err );
 
             if ( exitCode != 0 )
             {
@@ -80,8 +84,20 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileS
             }
         }
 
-        return new DiffScmResult( cl.toString(), success ? "Diff successful" : "Unable to diff", consumer
-            .getOutput(), success );
+        // the consumer ends with the command, read its temporary file now rather than leaving it behind
+        String output;
+        try
+        {
+            output = consumer.getOutput();
+        }
+        finally
+        {
+            consumer.dispose();
+        }
+
+        return new DiffScmResult( null, null, null,
+                                  new ScmResult( cl.toString(), success ? "Diff successful" : "Unable to diff",
+                                                 output, success ) );
     }
 
     public static Commandline createCommandLine( PerforceScmProviderRepository repo, File workingDirectory,
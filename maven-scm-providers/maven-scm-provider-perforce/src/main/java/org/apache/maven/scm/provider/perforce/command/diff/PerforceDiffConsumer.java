@@ -19,10 +19,7 @@
  * under the License.
  */
 
-import org.codehaus.plexus.util.cli.StreamConsumer;
-
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 
 /**
  * @author Mike Perham
@@ -30,12 +27,8 @@
  *          evenisse $
  */
 public class PerforceDiffConsumer
-    implements StreamConsumer
+    extends CommandOutputConsumer
 {
-    private StringWriter out = new StringWriter();
-
-    private PrintWriter output = new PrintWriter( out );
-
     /*
      * I don't see any easy way to distinguish between an error and
      * normal diff output.  I see two possibilities:
@@ -45,16 +38,12 @@
      *
      * We'll do the latter as it's simpler to implement.
      */
-    /** {@inheritDoc} */
-    public void consumeLine( String line )
-    {
-        output.println( line );
-    }
 
-    public String getOutput()
+    /**
+     * The diff is the result of the command, so all of it is kept, on disk when large.
+     */
+    public PerforceDiffConsumer()
     {
-        output.flush();
-        out.flush();
-        return out.toString();
+        super( Retention.SPILL );
     }
-}
\ No newline at end of file
+}
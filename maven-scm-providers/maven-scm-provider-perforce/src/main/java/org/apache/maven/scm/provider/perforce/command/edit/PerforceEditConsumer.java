@@ -79,7 +79,7 @@ public void consumeLine( String line )
     private void error( String line )
     {
         errors = true;
-        output.println( line );
+        output.consumeLine( line );
         if ( errorMessage.length() > 0 )
         {
             errorMessage.append( System.getProperty( "line.separator" ) );
@@ -31,6 +31,8 @@
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.command.PerforceCommand;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -65,8 +67,8 @@ public LoginScmResult executeLoginCommand( ScmProviderRepository repo, ScmFileSe
             }
             else
             {
-                CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
-                int exitCode = CommandLineUtils.executeCommandLine( cl, new ByteArrayInputStream( password.getBytes() ),
+                CommandLineUtils.StringStreamConsumer err = new CommandOutputConsumer();
+                int exitCode = ScmProcessRunner.executeCommandLine( cl, new ByteArrayInputStream( password.getBytes() ),
                                                                     consumer, err );
                 isSuccess = consumer.isSuccess();
 
@@ -76,7 +76,7 @@ public void consumeLine( String line )
     private void error( String line )
     {
         error = true;
-        output.println( line );
+        output.consumeLine( line );
     }
 
     public boolean isSuccess()
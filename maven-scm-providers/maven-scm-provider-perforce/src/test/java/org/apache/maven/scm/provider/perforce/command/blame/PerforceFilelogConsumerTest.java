@@ -52,4 +52,26 @@ public void testParse()
         Assert.assertEquals( "raj", consumer.getAuthor( "34" ) );
     }
 
+    public void testParseSeveralFiles()
+    {
+        PerforceFilelogConsumer consumer = new PerforceFilelogConsumer( new DefaultLog() );
+
+        consumer.consumeLine( "//depot/dev/main/jam/jam.c" );
+        consumer.consumeLine( "... #2 change 627 edit on 2001/11/13 by earl@earl-dev-yew (text) 'Handle variants'" );
+        consumer.consumeLine( "... #1 change 598 add on 2001/10/24 by raj@raj-althea (text) 'Initial'" );
+        consumer.consumeLine( "//depot/dev/main/jam/make.c" );
+        consumer.consumeLine( "... #2 change 700 edit on 2001/12/01 by gale@gale-jam-oak (text) 'Fix'" );
+        consumer.consumeLine( "... ... branch into //depot/dev/rel/jam/make.c#1" );
+        consumer.consumeLine( "... #1 change 599 add on 2001/10/25 by earl@earl-dev-yew (text) 'Initial'" );
+
+        Assert.assertEquals( 2, consumer.getFiles().size() );
+        Assert.assertTrue( consumer.getFiles().contains( "//depot/dev/main/jam/make.c" ) );
+
+        Assert.assertEquals( "earl", consumer.getAuthor( "//depot/dev/main/jam/jam.c", "2" ) );
+        Assert.assertEquals( "raj", consumer.getAuthor( "//depot/dev/main/jam/jam.c", "1" ) );
+        Assert.assertEquals( "gale", consumer.getAuthor( "//depot/dev/main/jam/make.c", "2" ) );
+        Assert.assertEquals( "earl", consumer.getAuthor( "//depot/dev/main/jam/make.c", "1" ) );
+        Assert.assertNotNull( consumer.getDate( "//depot/dev/main/jam/make.c", "1" ) );
+        Assert.assertNull( consumer.getAuthor( "//depot/dev/main/jam/other.c", "1" ) );
+    }
 }
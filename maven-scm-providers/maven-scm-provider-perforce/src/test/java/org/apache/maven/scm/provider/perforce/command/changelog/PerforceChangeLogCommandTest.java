@@ -19,17 +19,29 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.log.DefaultLog;
 import org.apache.maven.scm.provider.perforce.PerforceScmProvider;
 import org.apache.maven.scm.provider.perforce.repository.PerforceScmProviderRepository;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -72,6 +84,131 @@ public void testGetCommandLineWithHostAndPort()
                          cmdPrefix + " -p myhost:1234 -u username -c foo changes -t ..." );
     }
 
+    public void testGetDescribeCommandLine()
+        throws Exception
+    {
+        ScmRepository repository = getScmManager().makeScmRepository( "scm:perforce://depot/projects/pathname" );
+
+        PerforceScmProviderRepository repo = (PerforceScmProviderRepository) repository.getProviderRepository();
+
+        Commandline cl = PerforceChangeLogCommand.createDescribeCommandLine( repo, workingDirectory,
+                                                                             Arrays.asList( "12", "11", "10" ) );
+
+        assertCommandLine( cmdPrefix + " describe -s 12 11 10", null, cl );
+    }
+
+    public void testDescribeBatches()
+        throws Exception
+    {
+        FakeDescribe pipeline = new FakeDescribe( 3, 2 );
+        for ( int change = 7; change > 0; change-- )
+        {
+            pipeline.add( String.valueOf( change ) );
+        }
+
+        List<List<String>> batches = pipeline.finish();
+
+        assertEquals( 3, batches.size() );
+        assertEquals( Arrays.asList( "1" ), batches.get( 0 ) );
+        assertEquals( Arrays.asList( "4", "3", "2" ), batches.get( 1 ) );
+        assertEquals( Arrays.asList( "7", "6", "5" ), batches.get( 2 ) );
+
+        ChangeSetCollector collector = new ChangeSetCollector();
+        pipeline.collect( collector );
+        pipeline.cancel();
+
+        // in the order of a single p4 describe, the oldest first
+        List<ChangeSet> changeSets = collector.getChangeSets();
+        assertEquals( 7, changeSets.size() );
+        for ( int i = 0; i < 7; i++ )
+        {
+            assertEquals( "comment " + ( i + 1 ), changeSets.get( i ).getComment().trim() );
+        }
+
+        assertTrue( new FakeDescribe( 3, 2 ).finish().isEmpty() );
+    }
+
+    public void testDescribeIsPipelinedAndCancelled()
+        throws Exception
+    {
+        FakeDescribe pipeline = new FakeDescribe( 2, 2 );
+        pipeline.blocked = "3";
+
+        pipeline.add( "3" );
+        pipeline.add( "2" );
+
+        // the first batch is described while the changes are listed
+        assertTrue( pipeline.started.await( 10, TimeUnit.SECONDS ) );
+
+        pipeline.add( "1" );
+        pipeline.finish();
+
+        ChangeSetCollector collector = new ChangeSetCollector( new ChangeSetHandler()
+        {
+            public boolean handleChangeSet( ChangeSet changeSet )
+            {
+                return false;
+            }
+        } );
+        pipeline.collect( collector );
+        assertTrue( collector.isStopped() );
+
+        pipeline.cancel();
+
+        assertTrue( pipeline.blockedProcess.isCancelled() );
+    }
+
+    /**
+     * Describes the changes without p4, the process of the <code>blocked</code> change never ending.
+     */
+    private static class FakeDescribe
+        extends PerforceChangeLogCommand.DescribePipeline
+    {
+        private final CountDownLatch started = new CountDownLatch( 1 );
+
+        private String blocked;
+
+        private volatile Future<Integer> blockedProcess;
+
+        FakeDescribe( int batchSize, int threads )
+        {
+            super( "//depot/test", null, new DefaultLog(), batchSize, threads );
+        }
+
+        Future<Integer> start( final List<String> changes, final StreamConsumer output, StreamConsumer error )
+        {
+            FutureTask<Integer> process = new FutureTask<Integer>( new Callable<Integer>()
+            {
+                public Integer call()
+                {
+                    for ( String change : changes )
+                    {
+                        output.consumeLine( "Change " + change + " by jim@client on 2003/10/15 13:38:40" );
+                        output.consumeLine( "" );
+                        output.consumeLine( "\tcomment " + change );
+                        output.consumeLine( "" );
+                        output.consumeLine( "Affected files ..." );
+                        output.consumeLine( "" );
+                        output.consumeLine( "... //depot/test/file" + change + "#1 add" );
+                        output.consumeLine( "" );
+                    }
+                    return Integer.valueOf( 0 );
+                }
+            } );
+
+            if ( changes.contains( blocked ) )
+            {
+                blockedProcess = process;
+            }
+            else
+            {
+                process.run();
+            }
+            started.countDown();
+            return process;
+        }
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -24,6 +24,8 @@
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
 import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
 import org.apache.maven.scm.providers.cvslib.settings.Settings;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -52,13 +54,13 @@ public static boolean isCvsNT()
 
         cl.createArg().setValue( "-v" );
 
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stdout = new CommandOutputConsumer();
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         try
         {
-            CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+            ScmProcessRunner.executeCommandLine( cl, stdout, stderr );
         }
         catch ( CommandLineException e )
         {
@@ -21,6 +21,8 @@
 
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
 
@@ -107,11 +109,27 @@
 
     private String userDatePattern;
 
+    private ChangeSetHandler handler;
+
     public CvsChangeLogConsumer( ScmLogger logger, String userDatePattern )
+    {
+        this( logger, userDatePattern, null );
+    }
+
+    /**
+     * As cvs logs the revisions file by file, the change sets can only be rebuilt once the whole output has been
+     * consumed: they are passed to the handler by {@link #getModifications()}.
+     *
+     * @param handler receives each rebuilt change set, or <code>null</code> to collect them
+     * @since 1.9.5
+     */
+    public CvsChangeLogConsumer( ScmLogger logger, String userDatePattern, ChangeSetHandler handler )
     {
         super( logger );
 
         this.userDatePattern = userDatePattern;
+
+        this.handler = handler;
     }
 
     public List<ChangeSet> getModifications()
@@ -123,7 +141,7 @@ public int compare( ChangeSet set1, ChangeSet set2 )
                 return set1.getDate().compareTo( set2.getDate() );
             }
         } );
-        List<ChangeSet> fixedModifications = new ArrayList<ChangeSet>();
+        ChangeSetCollector fixedModifications = new ChangeSetCollector( handler );
         ChangeSet currentEntry = null;
         for ( Iterator<ChangeSet> entryIterator = entries.iterator(); entryIterator.hasNext(); )
         {
@@ -146,7 +164,7 @@ else if ( areEqual( currentEntry, entry ) )
         {
             fixedModifications.add( currentEntry );
         }
-        return fixedModifications;
+        return fixedModifications.getChangeSets();
     }
 
     private boolean areEqual( ChangeSet set1, ChangeSet set2 )
@@ -25,6 +25,8 @@
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.command.add.AddScmResult;
 import org.apache.maven.scm.provider.cvslib.command.add.AbstractCvsAddCommand;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -40,15 +42,15 @@
     protected AddScmResult executeCvsCommand( Commandline cl, List<ScmFile> addedFiles )
         throws ScmException
     {
-        CommandLineUtils.StringStreamConsumer consumer = new CommandLineUtils.StringStreamConsumer();
+        CommandOutputConsumer consumer = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
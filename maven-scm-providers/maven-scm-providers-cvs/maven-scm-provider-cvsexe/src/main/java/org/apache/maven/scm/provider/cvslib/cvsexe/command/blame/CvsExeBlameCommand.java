@@ -24,6 +24,8 @@
 import org.apache.maven.scm.provider.cvslib.command.blame.AbstractCvsBlameCommand;
 import org.apache.maven.scm.provider.cvslib.command.blame.CvsBlameConsumer;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -42,11 +44,11 @@ protected BlameScmResult executeCvsCommand( Commandline cl, CvsScmProviderReposi
         throws ScmException
     {
         CvsBlameConsumer consumer = new CvsBlameConsumer( getLogger() );
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
         int exitCode;
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
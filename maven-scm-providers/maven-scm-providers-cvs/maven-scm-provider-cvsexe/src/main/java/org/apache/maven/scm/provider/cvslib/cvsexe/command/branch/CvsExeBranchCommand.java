@@ -23,6 +23,8 @@
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.provider.cvslib.command.branch.AbstractCvsBranchCommand;
 import org.apache.maven.scm.provider.cvslib.command.branch.CvsBranchConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -43,11 +45,11 @@ protected BranchScmResult executeCvsCommand( Commandline cl )
 
         CvsBranchConsumer consumer = new CvsBranchConsumer( getLogger() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
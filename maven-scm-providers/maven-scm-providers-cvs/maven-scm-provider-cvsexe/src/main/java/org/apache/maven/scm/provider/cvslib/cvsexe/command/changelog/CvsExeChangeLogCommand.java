@@ -25,6 +25,8 @@
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
 import org.apache.maven.scm.provider.cvslib.command.changelog.AbstractCvsChangeLogCommand;
 import org.apache.maven.scm.provider.cvslib.command.changelog.CvsChangeLogConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -43,15 +45,15 @@ protected ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate,
                                                     ScmVersion startVersion, ScmVersion endVersion, String datePattern )
         throws ScmException
     {
-        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern );
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
@@ -24,6 +24,8 @@
 import org.apache.maven.scm.provider.cvslib.command.checkin.AbstractCvsCheckInCommand;
 import org.apache.maven.scm.provider.cvslib.command.checkin.CvsCheckInConsumer;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -46,13 +48,13 @@ protected CheckInScmResult executeCvsCommand( Commandline cl, CvsScmProviderRepo
     {
         CvsCheckInConsumer consumer = new CvsCheckInConsumer( repository.getPath(), getLogger() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
@@ -23,6 +23,8 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.cvslib.command.checkout.AbstractCvsCheckOutCommand;
 import org.apache.maven.scm.provider.cvslib.command.checkout.CvsCheckOutConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -40,13 +42,13 @@ protected CheckOutScmResult executeCvsCommand( Commandline cl )
     {
         CvsCheckOutConsumer consumer = new CvsCheckOutConsumer( getLogger() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
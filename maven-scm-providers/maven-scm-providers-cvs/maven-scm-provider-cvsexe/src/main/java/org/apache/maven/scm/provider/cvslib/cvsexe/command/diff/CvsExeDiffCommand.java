@@ -23,6 +23,8 @@
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.provider.cvslib.command.diff.AbstractCvsDiffCommand;
 import org.apache.maven.scm.provider.cvslib.command.diff.CvsDiffConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -40,12 +42,12 @@ protected DiffScmResult executeCvsCommand( Commandline cl )
     {
         CvsDiffConsumer consumer = new CvsDiffConsumer( getLogger(), cl.getWorkingDirectory() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
 
         try
         {
-            CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
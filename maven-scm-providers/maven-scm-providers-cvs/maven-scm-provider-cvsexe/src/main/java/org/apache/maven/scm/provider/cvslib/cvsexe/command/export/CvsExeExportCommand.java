@@ -23,6 +23,8 @@
 import org.apache.maven.scm.provider.cvslib.command.update.CvsUpdateConsumer;
 import org.apache.maven.scm.command.export.ExportScmResult;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -40,13 +42,13 @@ protected ExportScmResult executeCvsCommand( Commandline cl )
     {
         CvsUpdateConsumer consumer = new CvsUpdateConsumer( getLogger() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
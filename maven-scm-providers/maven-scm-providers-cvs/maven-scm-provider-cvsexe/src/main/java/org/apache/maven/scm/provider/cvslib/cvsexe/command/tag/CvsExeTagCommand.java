@@ -23,6 +23,8 @@
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.provider.cvslib.command.tag.AbstractCvsTagCommand;
 import org.apache.maven.scm.provider.cvslib.command.tag.CvsTagConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -42,11 +44,11 @@ protected TagScmResult executeCvsCommand( Commandline cl )
 
         CvsTagConsumer consumer = new CvsTagConsumer( getLogger() );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
         }
         catch ( CommandLineException ex )
         {
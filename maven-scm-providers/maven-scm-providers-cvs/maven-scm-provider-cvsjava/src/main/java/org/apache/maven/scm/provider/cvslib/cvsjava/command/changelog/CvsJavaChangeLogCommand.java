@@ -48,7 +48,7 @@ protected ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate,
     {
         CvsLogListener logListener = new CvsLogListener();
 
-        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern );
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
 
         try
         {
@@ -0,0 +1,200 @@
+package org.apache.maven.scm.provider.git.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The restrictions of a git checkout: the depth of the history, the partial clone filter and the directories of a
+ * cone mode sparse checkout, the latter taken from the includes of the file set.
+ *
+ * @since 1.9.5
+ */
+public class GitCheckOutOptions
+{
+    private final int depth;
+
+    private final String filter;
+
+    private final List<String> sparseDirectories;
+
+    public GitCheckOutOptions( int depth, String filter, List<String> sparseDirectories )
+    {
+        this.depth = depth;
+        this.filter = filter;
+        this.sparseDirectories = sparseDirectories;
+    }
+
+    /**
+     * @param parameters the parameters of the checkout command
+     * @param fileSet    the file set of the checkout command, whose includes give the sparse directories
+     * @return the options of the checkout
+     * @throws ScmException if a parameter has the wrong type
+     */
+    public static GitCheckOutOptions getOptions( CommandParameters parameters, ScmFileSet fileSet )
+        throws ScmException
+    {
+        List<String> sparseDirectories = null;
+        if ( parameters.getBoolean( CommandParameter.CHECKOUT_SPARSE, false ) )
+        {
+            sparseDirectories = getConeDirectories( fileSet.getIncludes() );
+        }
+
+        return new GitCheckOutOptions( parameters.getInt( CommandParameter.CHECKOUT_DEPTH, 0 ),
+                                       parameters.getString( CommandParameter.CHECKOUT_FILTER, null ),
+                                       sparseDirectories );
+    }
+
+    /**
+     * Turns Ant include patterns into the directories of a cone mode sparse checkout: the leading directories of
+     * each pattern, up to its first wildcard, or the parent directory of a pattern naming a file. Patterns of files
+     * at the root don't need any directory.
+     *
+     * @param includes the comma separated include patterns
+     * @return the sorted directories, <code>null</code> if the patterns require the whole tree
+     */
+    public static List<String> getConeDirectories( String includes )
+    {
+        if ( includes == null || includes.trim().length() == 0 )
+        {
+            return null;
+        }
+
+        TreeSet<String> directories = new TreeSet<String>();
+        for ( String include : includes.split( "," ) )
+        {
+            String pattern = include.trim().replace( '\\', '/' );
+            while ( pattern.startsWith( "/" ) || pattern.startsWith( "./" ) )
+            {
+                pattern = pattern.substring( pattern.indexOf( '/' ) + 1 );
+            }
+            if ( pattern.length() == 0 )
+            {
+                continue;
+            }
+            if ( pattern.endsWith( "/" ) )
+            {
+                // Ant reads a trailing slash as "/**"
+                pattern += "**";
+            }
+
+            String[] segments = pattern.split( "/" );
+            int end = segments.length - 1;
+            for ( int i = 0; i < segments.length; i++ )
+            {
+                if ( segments[i].indexOf( '*' ) >= 0 || segments[i].indexOf( '?' ) >= 0 )
+                {
+                    end = i;
+                    break;
+                }
+            }
+            if ( end == 0 )
+            {
+                if ( segments.length > 1 || segments[0].indexOf( "**" ) >= 0 )
+                {
+                    // matches files in any top level directory
+                    return null;
+                }
+                // the files at the root are always checked out
+                continue;
+            }
+
+            StringBuilder directory = new StringBuilder( segments[0] );
+            for ( int i = 1; i < end; i++ )
+            {
+                directory.append( '/' ).append( segments[i] );
+            }
+            directories.add( directory.toString() );
+        }
+
+        // a directory contains its subdirectories
+        List<String> cone = new ArrayList<String>();
+        for ( String directory : directories )
+        {
+            if ( cone.isEmpty() || !directory.startsWith( cone.get( cone.size() - 1 ) + "/" ) )
+            {
+                cone.add( directory );
+            }
+        }
+        return Collections.unmodifiableList( cone );
+    }
+
+    /**
+     * @param path a file path relative to the working copy, with <code>/</code> separators
+     * @return <code>true</code> if a sparse checkout with these options contains the file: cone mode keeps the
+     *         files of the sparse directories and their subdirectories, and the files directly in their parents
+     */
+    public boolean isCheckedOut( String path )
+    {
+        if ( sparseDirectories == null )
+        {
+            return true;
+        }
+
+        int slash = path.lastIndexOf( '/' );
+        if ( slash < 0 )
+        {
+            return true;
+        }
+
+        String parent = path.substring( 0, slash );
+        for ( String directory : sparseDirectories )
+        {
+            if ( parent.equals( directory ) || parent.startsWith( directory + "/" )
+                || directory.startsWith( parent + "/" ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of commits of history to fetch, <code>0</code> for the whole history
+     */
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    /**
+     * @return the partial clone filter, <code>null</code> for none
+     */
+    public String getFilter()
+    {
+        return filter;
+    }
+
+    /**
+     * @return the directories of the sparse checkout, <code>null</code> for the whole tree
+     */
+    public List<String> getSparseDirectories()
+    {
+        return sparseDirectories;
+    }
+}
@@ -0,0 +1,236 @@
+package org.apache.maven.scm.provider.git.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.channels.FileLock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A directory of bare mirrors of the remote repositories, which new clones borrow their objects from instead of
+ * downloading them again. Each provider refreshes a mirror with a fetch before cloning, then references its objects
+ * through <code>objects/info/alternates</code>.
+ * <p/>
+ * A mirror is updated by one build at a time: {@link #lock(File)} takes a lock both in this JVM and on a file next to
+ * the mirror, so that builds running in other processes wait as well. Clones read the mirror without the lock, which
+ * is safe as long as the mirror never drops objects: the providers disable the automatic garbage collection of the
+ * mirrors, and the mirrors must not be pruned by hand while clones still reference them.
+ *
+ * @since 1.9.5
+ */
+public class GitMirrorCache
+{
+    /**
+     * The system property enabling the cache of the git providers, set to the directory of the mirrors.
+     */
+    public static final String DIRECTORY_PROPERTY = "maven.scm.git.mirror.dir";
+
+    private static final ConcurrentMap<File, ReentrantLock> LOCKS = new ConcurrentHashMap<File, ReentrantLock>();
+
+    private final File directory;
+
+    /**
+     * @param directory the directory of the mirrors, created if needed
+     */
+    public GitMirrorCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache set by the system property {@link #DIRECTORY_PROPERTY}, <code>null</code> if not set
+     */
+    public static GitMirrorCache getInstance()
+    {
+        String directory = System.getProperty( DIRECTORY_PROPERTY );
+
+        return StringUtils.isEmpty( directory ) ? null : new GitMirrorCache( new File( directory ) );
+    }
+
+    public File getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * The mirror of a remote repository is named after the last segment of its url, followed by the SHA-1 of the url
+     * without credentials, so that the same remote always maps to the same mirror.
+     *
+     * @param url the url of the remote repository
+     * @return the bare repository mirroring the remote one, which may not exist yet
+     */
+    public File getMirror( String url )
+    {
+        String key = url.replaceFirst( "//[^/@]*@", "//" );
+
+        String name = key;
+        while ( name.endsWith( "/" ) )
+        {
+            name = name.substring( 0, name.length() - 1 );
+        }
+        name = name.substring( Math.max( name.lastIndexOf( '/' ), name.lastIndexOf( ':' ) ) + 1 );
+        if ( name.endsWith( ".git" ) )
+        {
+            name = name.substring( 0, name.length() - 4 );
+        }
+        name = name.replaceAll( "[^A-Za-z0-9._-]", "_" );
+
+        return new File( directory, ( name.length() == 0 ? "" : name + '-' ) + digest( key ) + ".git" );
+    }
+
+    /**
+     * @param mirror a mirror of this cache
+     * @return <code>true</code> if the mirror has already been created
+     */
+    public static boolean isMirror( File mirror )
+    {
+        return new File( mirror, "HEAD" ).isFile() && new File( mirror, "objects" ).isDirectory();
+    }
+
+    /**
+     * Waits until no other thread nor process updates the mirror.
+     *
+     * @param mirror a mirror of this cache
+     * @return the lock of the mirror, to {@link MirrorLock#release() release} once the mirror is updated
+     * @throws IOException if the lock file can't be created
+     */
+    public MirrorLock lock( File mirror )
+        throws IOException
+    {
+        File lockFile = new File( directory, mirror.getName() + ".lock" ).getAbsoluteFile();
+
+        // the file lock is held by the whole JVM, so threads of the same build queue on a lock of their own
+        ReentrantLock threadLock = new ReentrantLock();
+        ReentrantLock previous = LOCKS.putIfAbsent( lockFile, threadLock );
+        if ( previous != null )
+        {
+            threadLock = previous;
+        }
+        threadLock.lock();
+
+        RandomAccessFile file = null;
+        MirrorLock lock = null;
+        try
+        {
+            if ( !directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory() )
+            {
+                throw new IOException( "Can't create the directory " + directory );
+            }
+
+            file = new RandomAccessFile( lockFile, "rw" );
+            lock = new MirrorLock( threadLock, file, file.getChannel().lock() );
+            return lock;
+        }
+        finally
+        {
+            if ( lock == null )
+            {
+                try
+                {
+                    if ( file != null )
+                    {
+                        file.close();
+                    }
+                }
+                finally
+                {
+                    threadLock.unlock();
+                }
+            }
+        }
+    }
+
+    private static String digest( String key )
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance( "SHA-1" ).digest( key.getBytes( "UTF-8" ) );
+
+            StringBuilder hex = new StringBuilder( 16 );
+            for ( int i = 0; i < 8; i++ )
+            {
+                hex.append( Character.forDigit( ( hash[i] >> 4 ) & 0xf, 16 ) );
+                hex.append( Character.forDigit( hash[i] & 0xf, 16 ) );
+            }
+            return hex.toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-1 isn't available: " + e.getMessage() );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new IllegalStateException( "UTF-8 isn't available: " + e.getMessage() );
+        }
+    }
+
+    /**
+     * The lock of a mirror, held by one thread.
+     */
+    public static final class MirrorLock
+    {
+        private final ReentrantLock threadLock;
+
+        private final RandomAccessFile file;
+
+        private final FileLock fileLock;
+
+        private MirrorLock( ReentrantLock threadLock, RandomAccessFile file, FileLock fileLock )
+        {
+            this.threadLock = threadLock;
+            this.file = file;
+            this.fileLock = fileLock;
+        }
+
+        /**
+         * Lets the next thread or process update the mirror. Must be called by the thread which took the lock.
+         *
+         * @throws IOException if the lock file can't be released
+         */
+        public void release()
+            throws IOException
+        {
+            try
+            {
+                fileLock.release();
+            }
+            finally
+            {
+                try
+                {
+                    file.close();
+                }
+                finally
+                {
+                    threadLock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.apache.maven.scm.provider.git.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+public class GitCheckOutOptionsTest
+    extends TestCase
+{
+    public void testConeDirectories()
+    {
+        assertEquals( Arrays.asList( "docs", "src/main/java" ),
+                      GitCheckOutOptions.getConeDirectories( "src/main/java/**, /docs/, src/main/java/org/*.java" ) );
+
+        assertEquals( Arrays.asList( "src/site" ), GitCheckOutOptions.getConeDirectories( "src/site/site.xml" ) );
+
+        assertNull( GitCheckOutOptions.getConeDirectories( null ) );
+        assertNull( GitCheckOutOptions.getConeDirectories( "**/*.java" ) );
+        assertNull( GitCheckOutOptions.getConeDirectories( "*/target/**" ) );
+        assertTrue( GitCheckOutOptions.getConeDirectories( "*.xml" ).isEmpty() );
+
+        assertEquals( Arrays.asList( "src" ), GitCheckOutOptions.getConeDirectories( "src/**,pom.xml,*.txt" ) );
+    }
+
+    public void testCheckedOut()
+    {
+        GitCheckOutOptions options = new GitCheckOutOptions( 0, null, Arrays.asList( "src/main/java" ) );
+
+        assertTrue( options.isCheckedOut( "pom.xml" ) );
+        assertTrue( options.isCheckedOut( "src/README" ) );
+        assertTrue( options.isCheckedOut( "src/main/pom.xml" ) );
+        assertTrue( options.isCheckedOut( "src/main/java/Foo.java" ) );
+        assertTrue( options.isCheckedOut( "src/main/java/org/Foo.java" ) );
+
+        assertFalse( options.isCheckedOut( "src/test/java/FooTest.java" ) );
+        assertFalse( options.isCheckedOut( "src/main/javadoc/overview.html" ) );
+        assertFalse( options.isCheckedOut( "docs/index.html" ) );
+
+        assertTrue( new GitCheckOutOptions( 1, null, null ).isCheckedOut( "docs/index.html" ) );
+    }
+}
@@ -0,0 +1,121 @@
+package org.apache.maven.scm.provider.git.gitexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Receives the output of a git command run with <code>-z</code>, as it is written by the process, and splits it in
+ * entries terminated by NUL bytes. The bytes of an entry are passed as is, the subclass decoding only the parts it
+ * needs.
+ *
+ * @since 1.9.5
+ */
+public abstract class AbstractNulDelimitedConsumer
+    extends OutputStream
+{
+    private final Charset charset;
+
+    private byte[] entry = new byte[256];
+
+    private int length;
+
+    /**
+     * @param charset the charset of the text in the entries
+     */
+    protected AbstractNulDelimitedConsumer( Charset charset )
+    {
+        this.charset = charset;
+    }
+
+    /**
+     * Handles an entry, the array being reused for the next entries.
+     *
+     * @param entry  the bytes of the entry, without the NUL terminator
+     * @param length the length of the entry
+     */
+    protected abstract void consumeEntry( byte[] entry, int length );
+
+    /** {@inheritDoc} */
+    public void write( int b )
+    {
+        write( new byte[] { (byte) b }, 0, 1 );
+    }
+
+    /** {@inheritDoc} */
+    public void write( byte[] b, int off, int len )
+    {
+        int end = off + len;
+        int start = off;
+        for ( int i = off; i < end; i++ )
+        {
+            if ( b[i] == 0 )
+            {
+                append( b, start, i - start );
+                try
+                {
+                    consumeEntry( entry, length );
+                }
+                finally
+                {
+                    length = 0;
+                }
+                start = i + 1;
+            }
+        }
+        append( b, start, end - start );
+    }
+
+    private void append( byte[] b, int off, int len )
+    {
+        if ( length + len > entry.length )
+        {
+            byte[] bigger = new byte[Math.max( entry.length * 2, length + len )];
+            System.arraycopy( entry, 0, bigger, 0, length );
+            entry = bigger;
+        }
+        System.arraycopy( b, off, entry, length, len );
+        length += len;
+    }
+
+    /**
+     * Decodes a part of an entry, without going through the charset decoder when it is ASCII.
+     *
+     * @param bytes the entry
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     * @return the decoded text
+     */
+    protected String decode( byte[] bytes, int start, int end )
+    {
+        char[] chars = new char[end - start];
+        for ( int i = start; i < end; i++ )
+        {
+            if ( bytes[i] < 0 )
+            {
+                return charset.decode( ByteBuffer.wrap( bytes, start, end - start ) ).toString();
+            }
+            chars[i - start] = (char) bytes[i];
+        }
+        return new String( chars );
+    }
+}
@@ -0,0 +1,510 @@
+package org.apache.maven.scm.provider.git.gitexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-lived <code>git cat-file --batch-check</code> / <code>--batch</code> coprocess bound to one working
+ * directory. Revision lookups are written to the stdin of an already running git process instead of forking a new
+ * <code>git rev-parse</code> or <code>git log -n1</code> for every question, which is what dominates the cost of
+ * the info and update commands on large repositories.
+ * <p/>
+ * Instances are shared per working directory through {@link #getInstance(File)}. The registry is bounded by
+ * <code>maven.scm.git.cat_file.max_processes</code> (default 8, 0 disables reuse) and processes which have been idle
+ * for longer than <code>maven.scm.git.cat_file.idle_timeout</code> seconds (default 60) are stopped. All processes are
+ * stopped when the JVM exits.
+ * <p/>
+ * git re-reads refs and pack files for every request, so a running process sees commits, branches and gc'd
+ * objects created after it was started, and its answer that a revision is missing is trusted. A process is only
+ * started again after an I/O failure, or when the working directory has been modified since it was started: a
+ * directory deleted and created again, e.g. by a new clone, leaves the process in the deleted one. The processes are
+ * accounted to the command metrics of the calling thread, see {@link ScmMetrics}.
+ *
+ * @since 1.9.5
+ */
+public class GitCatFileBatch
+{
+    private static final int MAX_PROCESSES = Integer.getInteger( "maven.scm.git.cat_file.max_processes", 8 ).intValue();
+
+    private static final long IDLE_TIMEOUT =
+        Integer.getInteger( "maven.scm.git.cat_file.idle_timeout", 60 ).intValue() * 1000L;
+
+    /**
+     * Number of requests written before the pipe is flushed when resolving several revisions at once.
+     */
+    private static final int PIPELINE_CHUNK = 128;
+
+    private static final String CHARSET = "UTF-8";
+
+    private static final Map<File, GitCatFileBatch> INSTANCES =
+        new LinkedHashMap<File, GitCatFileBatch>( 16, 0.75f, true );
+
+    static
+    {
+        Runtime.getRuntime().addShutdownHook( new Thread( "git-cat-file-shutdown" )
+        {
+            public void run()
+            {
+                closeAll();
+            }
+        } );
+    }
+
+    private final File workingDirectory;
+
+    private BatchProcess check;
+
+    private BatchProcess batch;
+
+    private long lastUsed = System.currentTimeMillis();
+
+    public GitCatFileBatch( File workingDirectory )
+    {
+        this.workingDirectory = workingDirectory;
+    }
+
+    /**
+     * Returns the shared instance for the given working directory. When reuse is disabled a new instance is
+     * returned which the caller is expected to {@link #close()}.
+     *
+     * @param workingDirectory the git working directory or git dir
+     * @return the coprocess handle, never <code>null</code>
+     */
+    public static GitCatFileBatch getInstance( File workingDirectory )
+    {
+        if ( MAX_PROCESSES <= 0 )
+        {
+            return new GitCatFileBatch( workingDirectory );
+        }
+
+        File key = canonical( workingDirectory );
+
+        List<GitCatFileBatch> evicted = new ArrayList<GitCatFileBatch>();
+        GitCatFileBatch instance;
+        synchronized ( INSTANCES )
+        {
+            long now = System.currentTimeMillis();
+            for ( Iterator<GitCatFileBatch> it = INSTANCES.values().iterator(); it.hasNext(); )
+            {
+                GitCatFileBatch candidate = it.next();
+                if ( now - candidate.lastUsed > IDLE_TIMEOUT )
+                {
+                    evicted.add( candidate );
+                    it.remove();
+                }
+            }
+
+            instance = INSTANCES.get( key );
+            if ( instance == null )
+            {
+                instance = new GitCatFileBatch( key );
+                INSTANCES.put( key, instance );
+            }
+            instance.lastUsed = now;
+
+            for ( Iterator<GitCatFileBatch> it = INSTANCES.values().iterator(); INSTANCES.size() > MAX_PROCESSES; )
+            {
+                evicted.add( it.next() );
+                it.remove();
+            }
+        }
+
+        for ( GitCatFileBatch old : evicted )
+        {
+            old.close();
+        }
+        return instance;
+    }
+
+    /**
+     * Stops every shared process.
+     */
+    public static void closeAll()
+    {
+        List<GitCatFileBatch> all;
+        synchronized ( INSTANCES )
+        {
+            all = new ArrayList<GitCatFileBatch>( INSTANCES.values() );
+            INSTANCES.clear();
+        }
+        for ( GitCatFileBatch instance : all )
+        {
+            instance.close();
+        }
+    }
+
+    public File getWorkingDirectory()
+    {
+        return workingDirectory;
+    }
+
+    /**
+     * Resolves a revision expression (<code>HEAD</code>, a branch, <code>master^{commit}</code>...) to its object id.
+     *
+     * @param revision the revision expression
+     * @return the full object id or <code>null</code> if git does not know the revision
+     * @throws ScmException if the git process could not be started or died
+     */
+    public String resolve( String revision )
+        throws ScmException
+    {
+        ObjectInfo info = resolveAll( Collections.singletonList( revision ) ).get( 0 );
+        return info == null ? null : info.getId();
+    }
+
+    /**
+     * Resolves several revisions in one round trip. Requests are pipelined, only flushing the pipe every
+     * {@value #PIPELINE_CHUNK} revisions.
+     *
+     * @param revisions the revision expressions
+     * @return one entry per revision, in order; <code>null</code> entries denote unknown revisions
+     * @throws ScmException if the git process could not be started or died
+     */
+    public synchronized List<ObjectInfo> resolveAll( List<String> revisions )
+        throws ScmException
+    {
+        for ( String revision : revisions )
+        {
+            checkRevision( revision );
+        }
+
+        lastUsed = System.currentTimeMillis();
+
+        List<ObjectInfo> result = new ArrayList<ObjectInfo>( revisions.size() );
+        try
+        {
+            check = restartIfMoved( check );
+            if ( check == null )
+            {
+                check = new BatchProcess( "--batch-check" );
+            }
+            for ( int start = 0; start < revisions.size(); start += PIPELINE_CHUNK )
+            {
+                int end = Math.min( start + PIPELINE_CHUNK, revisions.size() );
+                for ( int i = start; i < end; i++ )
+                {
+                    check.write( revisions.get( i ) );
+                }
+                check.flush();
+                for ( int i = start; i < end; i++ )
+                {
+                    result.add( parseHeader( check.readLine() ) );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            check = destroy( check );
+            throw new ScmException( "git cat-file --batch-check failed in " + workingDirectory, e );
+        }
+        return result;
+    }
+
+    /**
+     * Reads the raw content of an object.
+     *
+     * @param revision the revision expression, e.g. <code>HEAD:pom.xml</code>
+     * @return the object content or <code>null</code> if git does not know the revision
+     * @throws ScmException if the git process could not be started or died
+     */
+    public synchronized byte[] read( String revision )
+        throws ScmException
+    {
+        checkRevision( revision );
+
+        lastUsed = System.currentTimeMillis();
+        try
+        {
+            batch = restartIfMoved( batch );
+            if ( batch == null )
+            {
+                batch = new BatchProcess( "--batch" );
+            }
+            batch.write( revision );
+            batch.flush();
+            ObjectInfo info = parseHeader( batch.readLine() );
+            if ( info == null )
+            {
+                return null;
+            }
+            byte[] content = batch.readFully( (int) info.getSize() );
+            // each object is terminated by a LF
+            batch.readLine();
+            return content;
+        }
+        catch ( IOException e )
+        {
+            batch = destroy( batch );
+            throw new ScmException( "git cat-file --batch failed in " + workingDirectory, e );
+        }
+    }
+
+    /**
+     * Stops the underlying git processes. The instance stays usable, processes are restarted on demand.
+     */
+    public synchronized void close()
+    {
+        check = destroy( check );
+        batch = destroy( batch );
+    }
+
+    private static void checkRevision( String revision )
+    {
+        if ( revision == null || revision.length() == 0 || revision.indexOf( '\n' ) >= 0
+            || revision.indexOf( '\r' ) >= 0 )
+        {
+            throw new IllegalArgumentException( "Invalid revision: '" + revision + "'" );
+        }
+    }
+
+    private static ObjectInfo parseHeader( String line )
+        throws IOException
+    {
+        if ( line == null )
+        {
+            throw new IOException( "Unexpected end of git cat-file output" );
+        }
+        if ( line.endsWith( " missing" ) || line.endsWith( " ambiguous" ) )
+        {
+            return null;
+        }
+        String[] parts = line.split( " " );
+        if ( parts.length != 3 )
+        {
+            throw new IOException( "Unexpected git cat-file output: " + line );
+        }
+        try
+        {
+            return new ObjectInfo( parts[0], parts[1], Long.parseLong( parts[2] ) );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new IOException( "Unexpected git cat-file output: " + line );
+        }
+    }
+
+    /**
+     * @return the process, <code>null</code> if it has been stopped because the working directory was modified
+     */
+    private BatchProcess restartIfMoved( BatchProcess process )
+    {
+        if ( process != null && process.stamp != workingDirectory.lastModified() )
+        {
+            return destroy( process );
+        }
+        return process;
+    }
+
+    private static BatchProcess destroy( BatchProcess process )
+    {
+        if ( process != null )
+        {
+            process.destroy();
+        }
+        return null;
+    }
+
+    private static File canonical( File dir )
+    {
+        try
+        {
+            return dir.getCanonicalFile();
+        }
+        catch ( IOException e )
+        {
+            return dir.getAbsoluteFile();
+        }
+    }
+
+    /**
+     * The header git prints for an object: its id, type and size in bytes.
+     */
+    public static class ObjectInfo
+    {
+        private final String id;
+
+        private final String type;
+
+        private final long size;
+
+        public ObjectInfo( String id, String type, long size )
+        {
+            this.id = id;
+            this.type = type;
+            this.size = size;
+        }
+
+        public String getId()
+        {
+            return id;
+        }
+
+        public String getType()
+        {
+            return type;
+        }
+
+        public long getSize()
+        {
+            return size;
+        }
+    }
+
+    private class BatchProcess
+    {
+        private final Process process;
+
+        private final OutputStream in;
+
+        private final InputStream out;
+
+        /**
+         * The modification time of the working directory when the process was started
+         */
+        private final long stamp;
+
+        BatchProcess( String mode )
+            throws IOException
+        {
+            Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "cat-file" );
+            cl.createArg().setValue( mode );
+            stamp = workingDirectory.lastModified();
+            try
+            {
+                long start = System.nanoTime();
+                process = cl.execute();
+
+                ScmCommandMetrics metrics = ScmMetrics.current();
+                if ( metrics != null )
+                {
+                    metrics.processStarted( System.nanoTime() - start );
+                }
+            }
+            catch ( CommandLineException e )
+            {
+                IOException ioe = new IOException( "Unable to start " + cl );
+                ioe.initCause( e );
+                throw ioe;
+            }
+            in = new BufferedOutputStream( process.getOutputStream() );
+            out = new BufferedInputStream( process.getInputStream() );
+
+            final InputStream err = process.getErrorStream();
+            Thread drainer = new Thread( "git-cat-file-stderr" )
+            {
+                public void run()
+                {
+                    byte[] buf = new byte[512];
+                    try
+                    {
+                        while ( err.read( buf ) >= 0 )
+                        {
+                            // discard, errors are reported as "missing" on stdout
+                        }
+                    }
+                    catch ( IOException e )
+                    {
+                        // process is gone
+                    }
+                }
+            };
+            drainer.setDaemon( true );
+            drainer.start();
+        }
+
+        void write( String revision )
+            throws IOException
+        {
+            in.write( revision.getBytes( CHARSET ) );
+            in.write( '\n' );
+        }
+
+        void flush()
+            throws IOException
+        {
+            in.flush();
+        }
+
+        String readLine()
+            throws IOException
+        {
+            ByteArrayOutputStream line = new ByteArrayOutputStream( 64 );
+            int b;
+            while ( ( b = out.read() ) != '\n' )
+            {
+                if ( b < 0 )
+                {
+                    return line.size() == 0 ? null : line.toString( CHARSET );
+                }
+                line.write( b );
+            }
+            return line.toString( CHARSET );
+        }
+
+        byte[] readFully( int size )
+            throws IOException
+        {
+            byte[] content = new byte[size];
+            int offset = 0;
+            while ( offset < size )
+            {
+                int n = out.read( content, offset, size - offset );
+                if ( n < 0 )
+                {
+                    throw new IOException( "Unexpected end of git cat-file output" );
+                }
+                offset += n;
+            }
+            return content;
+        }
+
+        void destroy()
+        {
+            try
+            {
+                in.close();
+            }
+            catch ( IOException e )
+            {
+                // ignore
+            }
+            process.destroy();
+        }
+    }
+}
@@ -21,6 +21,7 @@
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -28,6 +29,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -139,7 +141,36 @@ public static int execute( Commandline cl, StreamConsumer consumer, CommandLineU
         int exitCode;
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
+        }
+        catch ( CommandLineException ex )
+        {
+            throw new ScmException( "Error while executing command.", ex );
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * Executes a command whose standard output is copied as is to a stream, like the NUL-delimited output of the
+     * <code>-z</code> options.
+     *
+     * @since 1.9.5
+     */
+    public static int execute( Commandline cl, OutputStream stdout, CommandLineUtils.StringStreamConsumer stderr,
+                               ScmLogger logger )
+        throws ScmException
+    {
+        if ( logger.isInfoEnabled() )
+        {
+            logger.info( "Executing: " + cl );
+            logger.info( "Working directory: " + cl.getWorkingDirectory().getAbsolutePath() );
+        }
+
+        int exitCode;
+        try
+        {
+            exitCode = ScmProcessRunner.executeCommandLineToStream( cl, null, stdout, stderr, 0 );
         }
         catch ( CommandLineException ex )
         {
@@ -162,7 +193,7 @@ public static int execute( Commandline cl, CommandLineUtils.StringStreamConsumer
         int exitCode;
         try
         {
-            exitCode = CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+            exitCode = ScmProcessRunner.executeCommandLine( cl, stdout, stderr );
         }
         catch ( CommandLineException ex )
         {
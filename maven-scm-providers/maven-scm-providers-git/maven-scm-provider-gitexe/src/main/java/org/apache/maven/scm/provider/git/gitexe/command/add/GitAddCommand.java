@@ -32,6 +32,7 @@
 import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusConsumer;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -73,8 +74,8 @@ protected ScmResult executeAddCommand( ScmProviderRepository repo, ScmFileSet fi
         // SCM-709: statusCommand uses repositoryRoot instead of workingDirectory, adjust it with relativeRepositoryPath
         Commandline clRevparse = GitStatusCommand.createRevparseShowToplevelCommand( fileSet );
         
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stdout = new CommandOutputConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         URI relativeRepositoryPath = null;
         
@@ -102,7 +103,7 @@ protected ScmResult executeAddCommand( ScmProviderRepository repo, ScmFileSet fi
 
         GitStatusConsumer statusConsumer =
             new GitStatusConsumer( getLogger(), fileSet.getBasedir(), relativeRepositoryPath );
-        stderr = new CommandLineUtils.StringStreamConsumer();
+        stderr = new CommandOutputConsumer();
         exitCode = GitCommandLineUtils.execute( clStatus, statusConsumer, stderr, getLogger() );
         if ( exitCode != 0 )
         {
@@ -182,8 +183,8 @@ private AddScmResult executeAddFiles( File workingDirectory, List<File> files )
     {
         Commandline cl = createCommandLine( workingDirectory, files );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
+        CommandOutputConsumer stdout = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
 
         int exitCode = GitCommandLineUtils.execute( cl, stdout, stderr, getLogger() );
 
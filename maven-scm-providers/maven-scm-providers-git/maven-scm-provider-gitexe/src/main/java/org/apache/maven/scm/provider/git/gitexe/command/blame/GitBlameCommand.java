@@ -25,10 +25,12 @@
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -49,11 +51,31 @@ protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet
                                         CommandParameters parameters )
         throws ScmException
     {
-        String filename = parameters.getString( CommandParameter.FILE );
-        Commandline cl = createCommandLine( workingDirectory.getBasedir(), filename,
-                                            parameters.getBoolean( CommandParameter.IGNORE_WHITESPACE, false ) );
+        final File basedir = workingDirectory.getBasedir();
+        final boolean ignoreWhitespace = parameters.getBoolean( CommandParameter.IGNORE_WHITESPACE, false );
+
+        BlameHandler handler = parameters.getBlameHandler( CommandParameter.BLAME_HANDLER, null );
+        if ( handler != null && parameters.getString( CommandParameter.FILE, null ) == null )
+        {
+            return blame( getFilenames( workingDirectory ), getThreads( parameters ), handler, new FileBlame()
+            {
+                public BlameScmResult blame( String filename )
+                    throws ScmException
+                {
+                    return GitBlameCommand.this.blame( basedir, filename, ignoreWhitespace );
+                }
+            } );
+        }
+
+        return blame( basedir, parameters.getString( CommandParameter.FILE ), ignoreWhitespace );
+    }
+
+    private BlameScmResult blame( File basedir, String filename, boolean ignoreWhitespace )
+        throws ScmException
+    {
+        Commandline cl = createCommandLine( basedir, filename, ignoreWhitespace );
         GitBlameConsumer consumer = new GitBlameConsumer( getLogger() );
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
         if ( exitCode != 0 )
@@ -20,12 +20,13 @@
  */
 
 import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLines;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -52,7 +53,7 @@
     private static final String GIT_AUTHOR         = "author ";
 
 
-    private List<BlameLine> lines = new ArrayList<BlameLine>();
+    private BlameLines lines = new BlameLines();
 
     /**
      * Since the porcelain format only contains the commit information
@@ -60,9 +61,9 @@
      * this information somwehere.
      *
      * key: the sha-1 of the commit
-     * value: the {@link BlameLine} containing the full committer/author info
+     * value: the index of the first line of the commit, holding the full committer/author info
      */
-    private Map<String, BlameLine> commitInfo = new HashMap<String, BlameLine>();
+    private Map<String, Integer> commitInfo = new HashMap<String, Integer>();
 
     private boolean expectRevisionLine = true;
 
@@ -92,14 +93,14 @@ public void consumeLine( String line )
             {
                 revision = parts[0];
 
-                BlameLine oldLine = commitInfo.get( revision );
+                Integer oldLine = commitInfo.get( revision );
 
                 if ( oldLine != null )
                 {
                     // restore the commit info
-                    author    = oldLine.getAuthor();
-                    committer = oldLine.getCommitter();
-                    time      = oldLine.getDate();
+                    author    = lines.getAuthor( oldLine );
+                    committer = lines.getCommitter( oldLine );
+                    time      = lines.getDate( oldLine );
                 }
 
                 expectRevisionLine = false;
@@ -122,7 +123,7 @@ public void consumeLine( String line )
             if ( line.startsWith( GIT_COMMITTER_TIME ) )
             {
                 String timeStr = line.substring( GIT_COMMITTER_TIME.length() );
-                time = new Date( Long.parseLong( timeStr ) * 1000L );
+                time = DateParser.parseEpochSeconds( timeStr );
                 return;
             }
 
@@ -131,11 +132,13 @@ public void consumeLine( String line )
             {
                 // this is the content line.
                 // we actually don't need the content, but this is the right time to add the blame line
-                BlameLine blameLine = new BlameLine( time, revision, author, committer );
-                getLines().add( blameLine );
+                lines.add( time, revision, author, committer );
 
                 // keep commitinfo for this sha-1
-                commitInfo.put( revision, blameLine );
+                if ( !commitInfo.containsKey( revision ) )
+                {
+                    commitInfo.put( revision, lines.size() - 1 );
+                }
 
                 if ( getLogger().isDebugEnabled() )
                 {
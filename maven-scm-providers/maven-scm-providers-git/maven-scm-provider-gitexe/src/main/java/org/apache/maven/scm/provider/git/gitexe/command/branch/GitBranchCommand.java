@@ -32,6 +32,7 @@
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -65,8 +66,8 @@ public ScmResult executeBranchCommand( ScmProviderRepository repo, ScmFileSet fi
 
         Commandline cl = createCommandLine( repository, fileSet.getBasedir(), branch );
 
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandOutputConsumer stdout = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
         int exitCode;
 
         exitCode = GitCommandLineUtils.execute( cl, stdout, stderr, getLogger() );
@@ -138,7 +139,7 @@ public static String getCurrentBranch( ScmLogger logger, GitScmProviderRepositor
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( fileSet.getBasedir(), "symbolic-ref" );
         cl.createArg().setValue( "HEAD" );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
         GitCurrentBranchConsumer cbConsumer = new GitCurrentBranchConsumer( logger );
         int exitCode;
 
@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -31,13 +32,16 @@
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
@@ -49,8 +53,19 @@
     extends AbstractChangeLogCommand
     implements GitCommand
 {
+    /**
+     * System property enabling the fast path: <code>git log</code> with a NUL-delimited format parsed by
+     * {@link GitChangeLogFormatConsumer}, instead of <code>git whatchanged</code> parsed by
+     * {@link GitChangeLogConsumer}.
+     *
+     * @since 1.9.5
+     */
+    public static final String FORMAT_PROPERTY = "maven.scm.git.changelog.format";
+
     private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
 
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
     /** {@inheritDoc} */
     protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                           ScmVersion startVersion, ScmVersion endVersion,
@@ -98,21 +113,36 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
                                                           ScmVersion endVersion, Integer limit )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (GitScmProviderRepository) repo, fileSet.getBasedir(), branch, startDate,
-                                            endDate, startVersion, endVersion, limit );
+        boolean format = Boolean.getBoolean( FORMAT_PROPERTY );
 
-        GitChangeLogConsumer consumer = new GitChangeLogConsumer( getLogger(), datePattern );
+        Commandline cl = createCommandLine( (GitScmProviderRepository) repo, fileSet.getBasedir(), branch, startDate,
+                                            endDate, startVersion, endVersion, limit, format );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         int exitCode;
 
-        exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+        List<ChangeSet> modifications;
+        if ( format )
+        {
+            GitChangeLogFormatConsumer consumer = new GitChangeLogFormatConsumer( UTF_8, getChangeSetHandler() );
+
+            exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            modifications = consumer.getModifications();
+        }
+        else
+        {
+            GitChangeLogConsumer consumer =
+                new GitChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
+
+            exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            modifications = consumer.getModifications();
+        }
         if ( exitCode != 0 )
         {
             return new ChangeLogScmResult( cl.toString(), "The git-log command failed.", stderr.getOutput(), false );
         }
-        ChangeLogSet changeLogSet = new ChangeLogSet( consumer.getModifications(), startDate, endDate );
+        ChangeLogSet changeLogSet = new ChangeLogSet( modifications, startDate, endDate );
         changeLogSet.setStartVersion( startVersion );
         changeLogSet.setEndVersion( endVersion );
 
@@ -139,11 +169,36 @@ public static Commandline createCommandLine( GitScmProviderRepository repository
     static Commandline createCommandLine( GitScmProviderRepository repository, File workingDirectory,
                                                  ScmBranch branch, Date startDate, Date endDate,
                                                  ScmVersion startVersion, ScmVersion endVersion, Integer limit )
+    {
+        return createCommandLine( repository, workingDirectory, branch, startDate, endDate, startVersion, endVersion,
+                                  limit, false );
+    }
+
+    /**
+     * @param format <code>true</code> for the <code>git log</code> command of {@link GitChangeLogFormatConsumer}
+     */
+    static Commandline createCommandLine( GitScmProviderRepository repository, File workingDirectory,
+                                          ScmBranch branch, Date startDate, Date endDate, ScmVersion startVersion,
+                                          ScmVersion endVersion, Integer limit, boolean format )
     {
         SimpleDateFormat dateFormat = new SimpleDateFormat( DATE_FORMAT );
         dateFormat.setTimeZone( TimeZone.getTimeZone( "GMT" ) );
 
-        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "whatchanged" );
+        Commandline cl;
+        if ( format )
+        {
+            // the commits and files of git whatchanged, in a format needing no parsing of dates nor quoted paths
+            cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "log" );
+            cl.createArg().setValue( "--no-merges" );
+            cl.createArg().setValue( "--format=" + GitChangeLogFormatConsumer.FORMAT );
+            cl.createArg().setValue( "--encoding=UTF-8" );
+            cl.createArg().setValue( "--name-status" );
+            cl.createArg().setValue( "-z" );
+        }
+        else
+        {
+            cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "whatchanged" );
+        }
 
         if ( startDate != null || endDate != null )
         {
@@ -159,9 +214,12 @@ static Commandline createCommandLine( GitScmProviderRepository repository, File
 
         }
 
-        // since this parameter is also used for the output formatting, we need it also if no start nor end date is
-        // given
-        cl.createArg().setValue( "--date=iso" );
+        if ( !format )
+        {
+            // since this parameter is also used for the output formatting, we need it also if no start nor end date
+            // is given
+            cl.createArg().setValue( "--date=iso" );
+        }
 
         if ( startVersion != null || endVersion != null )
         {
@@ -22,15 +22,15 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -140,9 +140,9 @@
     private int status = STATUS_GET_HEADER;
 
     /**
-     * List of change log entries
+     * Destination of the change log entries
      */
-    private List<ChangeSet> entries = new ArrayList<ChangeSet>();
+    private final ChangeSetCollector entries;
 
     /**
      * The current log entry being processed by the parser
@@ -165,10 +165,21 @@
      * Default constructor.
      */
     public GitChangeLogConsumer( ScmLogger logger, String userDateFormat )
+    {
+        this( logger, userDateFormat, null );
+    }
+
+    /**
+     * @param handler receives each change set as soon as it is complete, or <code>null</code> to collect them
+     * @since 1.9.5
+     */
+    public GitChangeLogConsumer( ScmLogger logger, String userDateFormat, ChangeSetHandler handler )
     {
         super( logger );
 
         this.userDateFormat = userDateFormat;
+
+        this.entries = new ChangeSetCollector( handler );
     }
 
     public List<ChangeSet> getModifications()
@@ -176,7 +187,7 @@ public List<ChangeSet> getModifications()
         // this is needed since the processFile does not always get a the end-sequence correctly.
         processGetFile( "" );
 
-        return entries;
+        return entries.getChangeSets();
     }
 
     // ----------------------------------------------------------------------
@@ -188,6 +199,11 @@ public List<ChangeSet> getModifications()
      */
     public void consumeLine( String line )
     {
+        if ( entries.isStopped() )
+        {
+            return;
+        }
+
         switch ( status )
         {
             case STATUS_GET_HEADER:
@@ -351,13 +367,10 @@ private void processGetRawAuthor( String line )
         currentChange.setAuthor( author );
 
         String datestring = matcher.group( 2 );
-        String tz = matcher.group( 3 );
 
         // with --format=raw option (which gets us to this methods), date is always in seconds since beginning of time
         // even explicit --date=iso is ignored, so we ignore both userDateFormat and GIT_TIMESTAMP_PATTERN here
-        Calendar c = Calendar.getInstance( TimeZone.getTimeZone( tz ) );
-        c.setTimeInMillis( Long.parseLong( datestring ) * 1000 );
-        currentChange.setDate( c.getTime() );
+        currentChange.setDate( DateParser.parseEpochSeconds( datestring ) );
 
         status = STATUS_RAW_COMMITTER;
     }
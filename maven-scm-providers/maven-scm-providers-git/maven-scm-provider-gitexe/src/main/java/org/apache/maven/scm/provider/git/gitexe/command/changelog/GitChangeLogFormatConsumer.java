@@ -0,0 +1,241 @@
+package org.apache.maven.scm.provider.git.gitexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.provider.git.gitexe.command.AbstractNulDelimitedConsumer;
+
+/**
+ * Parses the output of <code>git log -z --name-status</code> with the {@link #FORMAT} format, as it is written by the
+ * process.
+ * <p/>
+ * Every field of a commit ends with a NUL byte: the hash, the parent hashes, the author, the author date in seconds
+ * since the epoch and the message. Then come the changed files, a status followed by one path, or two for a rename or
+ * a copy. The status and the next hash are told apart by their first byte, an upper case letter or a hex digit. No
+ * regular expression nor date format is involved and the paths are taken as is.
+ *
+ * @since 1.9.5
+ */
+public class GitChangeLogFormatConsumer
+    extends AbstractNulDelimitedConsumer
+{
+    /**
+     * The <code>--format</code> of the <code>git log</code> command.
+     */
+    public static final String FORMAT = "%H%x00%P%x00%an <%ae>%x00%at%x00%B";
+
+    private static final int HASH = 0;
+
+    private static final int PARENTS = 1;
+
+    private static final int AUTHOR = 2;
+
+    private static final int DATE = 3;
+
+    private static final int MESSAGE = 4;
+
+    private static final int STATUS = 5;
+
+    private static final int PATH = 6;
+
+    private static final int ORIGINAL_PATH = 7;
+
+    private final ChangeSetCollector entries;
+
+    private int field = HASH;
+
+    private ChangeSet currentChange;
+
+    private ScmFileStatus currentAction;
+
+    private String originalName;
+
+    /**
+     * @param charset the charset of the output, the one of <code>--encoding</code>
+     * @param handler receives each change set as soon as it is complete, or <code>null</code> to collect them
+     */
+    public GitChangeLogFormatConsumer( Charset charset, ChangeSetHandler handler )
+    {
+        super( charset );
+        this.entries = new ChangeSetCollector( handler );
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeEntry( byte[] entry, int length )
+    {
+        if ( entries.isStopped() )
+        {
+            return;
+        }
+
+        switch ( field )
+        {
+            case HASH:
+                startChangeSet( entry, length );
+                break;
+            case PARENTS:
+                setParents( entry, length );
+                field = AUTHOR;
+                break;
+            case AUTHOR:
+                currentChange.setAuthor( decode( entry, 0, length ) );
+                field = DATE;
+                break;
+            case DATE:
+                currentChange.setDate( new Date( parseSeconds( entry, length ) * 1000L ) );
+                field = MESSAGE;
+                break;
+            case MESSAGE:
+                int end = length;
+                while ( end > 0 && ( entry[end - 1] == '\n' || entry[end - 1] == '\r' ) )
+                {
+                    end--;
+                }
+                currentChange.setComment( decode( entry, 0, end ) );
+                field = STATUS;
+                break;
+            case STATUS:
+                // the files are separated from the message by a new line
+                int start = length > 0 && entry[0] == '\n' ? 1 : 0;
+                if ( start < length && entry[start] >= 'A' && entry[start] <= 'Z' )
+                {
+                    currentAction = getAction( entry[start] );
+                    field = currentAction == ScmFileStatus.RENAMED || currentAction == ScmFileStatus.COPIED
+                        ? ORIGINAL_PATH : PATH;
+                }
+                else if ( start < length )
+                {
+                    // no more files: the hash of the next commit
+                    startChangeSet( entry, length );
+                }
+                break;
+            case ORIGINAL_PATH:
+                originalName = decode( entry, 0, length );
+                field = PATH;
+                break;
+            case PATH:
+                ChangeFile file = new ChangeFile( decode( entry, 0, length ), currentChange.getRevision() );
+                file.setAction( currentAction );
+                if ( originalName != null )
+                {
+                    file.setOriginalName( originalName );
+                    file.setOriginalRevision( currentChange.getParentRevision() );
+                    originalName = null;
+                }
+                currentChange.addFile( file );
+                field = STATUS;
+                break;
+            default:
+                throw new IllegalStateException( "Unknown field: " + field );
+        }
+    }
+
+    private void startChangeSet( byte[] entry, int length )
+    {
+        if ( currentChange != null )
+        {
+            entries.add( currentChange );
+        }
+
+        currentChange = new ChangeSet();
+        currentChange.setRevision( decode( entry, 0, length ) );
+        field = PARENTS;
+    }
+
+    private void setParents( byte[] entry, int length )
+    {
+        int start = 0;
+        for ( int i = 0; i <= length; i++ )
+        {
+            if ( i == length || entry[i] == ' ' )
+            {
+                if ( i > start )
+                {
+                    String parent = decode( entry, start, i );
+                    if ( currentChange.getParentRevision() == null )
+                    {
+                        currentChange.setParentRevision( parent );
+                    }
+                    else
+                    {
+                        currentChange.addMergedRevision( parent );
+                    }
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    private long parseSeconds( byte[] entry, int length )
+    {
+        long seconds = 0;
+        for ( int i = 0; i < length; i++ )
+        {
+            int digit = entry[i] - '0';
+            if ( digit < 0 || digit > 9 )
+            {
+                throw new IllegalStateException( "Not a timestamp: " + decode( entry, 0, length ) );
+            }
+            seconds = seconds * 10 + digit;
+        }
+        return seconds;
+    }
+
+    private static ScmFileStatus getAction( byte status )
+    {
+        switch ( status )
+        {
+            case 'A':
+                return ScmFileStatus.ADDED;
+            case 'M':
+                return ScmFileStatus.MODIFIED;
+            case 'D':
+                return ScmFileStatus.DELETED;
+            case 'R':
+                return ScmFileStatus.RENAMED;
+            case 'C':
+                return ScmFileStatus.COPIED;
+            default:
+                return ScmFileStatus.UNKNOWN;
+        }
+    }
+
+    /**
+     * @return the change sets, once the output has been written; empty when they are passed to a handler
+     */
+    public List<ChangeSet> getModifications()
+    {
+        if ( currentChange != null )
+        {
+            entries.add( currentChange );
+            currentChange = null;
+        }
+
+        return entries.getChangeSets();
+    }
+}
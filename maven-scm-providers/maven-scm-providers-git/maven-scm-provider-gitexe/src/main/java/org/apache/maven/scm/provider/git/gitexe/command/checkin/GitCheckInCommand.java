@@ -37,6 +37,7 @@
 import org.apache.maven.scm.provider.git.gitexe.command.branch.GitBranchCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -63,8 +64,8 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
     {
         GitScmProviderRepository repository = (GitScmProviderRepository) repo;
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
+        CommandLineUtils.StringStreamConsumer stdout = new CommandOutputConsumer();
 
         int exitCode;
 
@@ -102,8 +103,8 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
             // relativeRepositoryPath
             Commandline clRevparse = GitStatusCommand.createRevparseShowToplevelCommand( fileSet );
             
-            stdout = new CommandLineUtils.StringStreamConsumer();
-            stderr = new CommandLineUtils.StringStreamConsumer();
+            stdout = new CommandOutputConsumer();
+            stderr = new CommandOutputConsumer();
 
             URI relativeRepositoryPath = null;
             
@@ -19,10 +19,14 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkout.AbstractCheckOutCommand;
@@ -30,16 +34,22 @@
 import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutOptions;
+import org.apache.maven.scm.provider.git.command.checkout.GitMirrorCache;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListConsumer;
 import org.apache.maven.scm.provider.git.gitexe.command.remoteinfo.GitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -49,6 +59,17 @@
     extends AbstractCheckOutCommand
     implements GitCommand
 {
+    /**
+     * Reads the depth, the filter and the sparse directories of the checkout besides the version.
+     * {@inheritDoc}
+     */
+    public ScmResult executeCommand( ScmProviderRepository repo, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        return checkOut( repo, fileSet, parameters.getScmVersion( CommandParameter.SCM_VERSION, null ),
+                         GitCheckOutOptions.getOptions( parameters, fileSet ) );
+    }
+
     /**
      * For git, the given repository is a remote one.
      * We have to clone it first if the working directory does not contain a git repo yet,
@@ -60,6 +81,13 @@
     protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                         ScmVersion version, boolean recursive )
         throws ScmException
+    {
+        return checkOut( repo, fileSet, version, new GitCheckOutOptions( 0, null, null ) );
+    }
+
+    private CheckOutScmResult checkOut( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version,
+                                        GitCheckOutOptions options )
+        throws ScmException
     {
         GitScmProviderRepository repository = (GitScmProviderRepository) repo;
 
@@ -71,8 +99,8 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
 
         int exitCode;
 
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandOutputConsumer stdout = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         String lastCommandLine = "git-nothing-to-do";
 
@@ -85,7 +113,8 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
             }
 
             // no git repo seems to exist, let's clone the original repo
-            Commandline clClone = createCloneCommand( repository, fileSet.getBasedir(), version );
+            Commandline clClone =
+                createCloneCommand( repository, fileSet.getBasedir(), version, options, updateMirror( repository ) );
 
             exitCode = GitCommandLineUtils.execute( clClone, stdout, stderr, getLogger() );
             if ( exitCode != 0 )
@@ -94,6 +123,34 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                                               false );
             }
             lastCommandLine = clClone.toString();
+
+            if ( options.getDepth() > 0 && isRevision( version ) )
+            {
+                // the shallow clone only holds the tip of the default branch, not the requested commit
+                Commandline clFetch = createShallowFetchCommand( fileSet.getBasedir(), version, options.getDepth() );
+
+                exitCode = GitCommandLineUtils.execute( clFetch, stdout, stderr, getLogger() );
+                if ( exitCode != 0 )
+                {
+                    // abbreviated or unadvertised commits can't be fetched by name, fall back to the whole history
+                    getLogger().warn( "The revision " + version.getName() + " couldn't be fetched with a depth of "
+                                          + options.getDepth() + ", fetching the complete history instead." );
+
+                    clFetch = GitCommandLineUtils.getBaseGitCommandLine( fileSet.getBasedir(), "fetch" );
+
+                    clFetch.createArg().setValue( "--unshallow" );
+
+                    clFetch.createArg().setValue( "origin" );
+
+                    exitCode = GitCommandLineUtils.execute( clFetch, stdout, stderr, getLogger() );
+                    if ( exitCode != 0 )
+                    {
+                        return new CheckOutScmResult( clFetch.toString(), "The git-fetch command failed.",
+                                                      stderr.getOutput(), false );
+                    }
+                }
+                lastCommandLine = clFetch.toString();
+            }
         }
 
         GitRemoteInfoCommand gitRemoteInfoCommand = new GitRemoteInfoCommand();
@@ -126,6 +183,30 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
             lastCommandLine = clCheckout.toString();
         }
 
+        if ( options.getSparseDirectories() != null )
+        {
+            Commandline clSparse = createSparseCheckoutCommand( fileSet.getBasedir(), "init" );
+            clSparse.createArg().setValue( "--cone" );
+
+            exitCode = GitCommandLineUtils.execute( clSparse, stdout, stderr, getLogger() );
+            if ( exitCode == 0 && !options.getSparseDirectories().isEmpty() )
+            {
+                clSparse = createSparseCheckoutCommand( fileSet.getBasedir(), "set" );
+                for ( String directory : options.getSparseDirectories() )
+                {
+                    clSparse.createArg().setValue( directory );
+                }
+
+                exitCode = GitCommandLineUtils.execute( clSparse, stdout, stderr, getLogger() );
+            }
+            if ( exitCode != 0 )
+            {
+                return new CheckOutScmResult( clSparse.toString(), "The git-sparse-checkout command failed.",
+                                              stderr.getOutput(), false );
+            }
+            lastCommandLine = clSparse.toString();
+        }
+
         // and now search for the files
         GitListConsumer listConsumer =
             new GitListConsumer( getLogger(), fileSet.getBasedir(), ScmFileStatus.CHECKED_IN );
@@ -139,7 +220,68 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                                           false );
         }
 
-        return new CheckOutScmResult( lastCommandLine, listConsumer.getListedFiles() );
+        List<ScmFile> files = listConsumer.getListedFiles();
+        if ( options.getSparseDirectories() != null )
+        {
+            // the index still lists the files outside of the sparse directories
+            List<ScmFile> checkedOut = new ArrayList<ScmFile>();
+            for ( ScmFile file : files )
+            {
+                if ( options.isCheckedOut( file.getPath().replace( File.separatorChar, '/' ) ) )
+                {
+                    checkedOut.add( file );
+                }
+            }
+            files = checkedOut;
+        }
+
+        return new CheckOutScmResult( lastCommandLine, files );
+    }
+
+    /**
+     * Creates or fetches the mirror of the repository in the {@link GitMirrorCache}, if enabled.
+     *
+     * @return the mirror to borrow the objects from, <code>null</code> if none
+     */
+    private File updateMirror( GitScmProviderRepository repository )
+        throws ScmException
+    {
+        GitMirrorCache cache = GitMirrorCache.getInstance();
+        if ( cache == null )
+        {
+            return null;
+        }
+
+        File mirror = cache.getMirror( repository.getFetchUrl() );
+        try
+        {
+            GitMirrorCache.MirrorLock lock = cache.lock( mirror );
+            try
+            {
+                boolean exists = GitMirrorCache.isMirror( mirror );
+                Commandline cl = exists ? createMirrorFetchCommand( mirror )
+                                : createMirrorCloneCommand( repository, mirror );
+
+                CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
+                int exitCode = GitCommandLineUtils.execute( cl, new CommandOutputConsumer(
+                    CommandOutputConsumer.Retention.NONE ), stderr, getLogger() );
+                if ( exitCode != 0 )
+                {
+                    getLogger().warn( "The git mirror " + mirror + " couldn't be updated: " + stderr.getOutput() );
+                    return exists ? mirror : null;
+                }
+                return mirror;
+            }
+            finally
+            {
+                lock.release();
+            }
+        }
+        catch ( IOException e )
+        {
+            getLogger().warn( "Can't lock the git mirror " + mirror + ", cloning without it: " + e.getMessage() );
+            return null;
+        }
     }
 
     // ----------------------------------------------------------------------
@@ -162,11 +304,36 @@ public static Commandline createCommandLine( GitScmProviderRepository repository
     /**
      * create a git-clone repository command
      */
-    private Commandline createCloneCommand( GitScmProviderRepository repository, File workingDirectory,
-                                            ScmVersion version )
+    static Commandline createCloneCommand( GitScmProviderRepository repository, File workingDirectory,
+                                           ScmVersion version, GitCheckOutOptions options, File mirror )
     {
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory.getParentFile(), "clone" );
 
+        if ( mirror != null )
+        {
+            cl.createArg().setValue( "--reference" );
+
+            cl.createArg().setFile( mirror );
+        }
+
+        if ( options.getDepth() > 0 )
+        {
+            cl.createArg().setValue( "--depth" );
+
+            cl.createArg().setValue( Integer.toString( options.getDepth() ) );
+        }
+
+        if ( options.getFilter() != null )
+        {
+            cl.createArg().setValue( "--filter=" + options.getFilter() );
+        }
+
+        if ( options.getSparseDirectories() != null )
+        {
+            // only the files at the root are checked out until the sparse directories are set
+            cl.createArg().setValue( "--sparse" );
+        }
+
         if ( version != null && ( version instanceof ScmBranch ) )
         {
 
@@ -182,6 +349,79 @@ private Commandline createCloneCommand( GitScmProviderRepository repository, Fil
         return cl;
     }
 
+    /**
+     * Tells whether the version names a commit rather than a branch or a tag, which a shallow clone doesn't contain.
+     */
+    private static boolean isRevision( ScmVersion version )
+    {
+        return version != null && !( version instanceof ScmBranch ) && StringUtils.isNotEmpty( version.getName() );
+    }
+
+    /**
+     * create a git-fetch command fetching the history of a commit missing from a shallow clone
+     */
+    static Commandline createShallowFetchCommand( File workingDirectory, ScmVersion version, int depth )
+    {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "fetch" );
+
+        cl.createArg().setValue( "--depth" );
+
+        cl.createArg().setValue( Integer.toString( depth ) );
+
+        cl.createArg().setValue( "origin" );
+
+        cl.createArg().setValue( version.getName() );
+
+        return cl;
+    }
+
+    /**
+     * create a git-clone command creating the mirror of a repository, which never drops objects on its own
+     */
+    static Commandline createMirrorCloneCommand( GitScmProviderRepository repository, File mirror )
+    {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( mirror.getParentFile(), "clone" );
+
+        cl.createArg().setValue( "--mirror" );
+
+        cl.createArg().setValue( "--config" );
+
+        cl.createArg().setValue( "gc.auto=0" );
+
+        cl.createArg().setValue( "--config" );
+
+        cl.createArg().setValue( "maintenance.auto=false" );
+
+        cl.createArg().setValue( repository.getFetchUrl() );
+
+        cl.createArg().setFile( mirror );
+
+        return cl;
+    }
+
+    /**
+     * create a git-fetch command updating a mirror
+     */
+    static Commandline createMirrorFetchCommand( File mirror )
+    {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( mirror, "fetch" );
+
+        cl.createArg().setValue( "--prune" );
+
+        cl.createArg().setValue( "origin" );
+
+        return cl;
+    }
+
+    static Commandline createSparseCheckoutCommand( File workingDirectory, String subCommand )
+    {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "sparse-checkout" );
+
+        cl.createArg().setValue( subCommand );
+
+        return cl;
+    }
+
     /**
      * create a git-pull repository command
      */
@@ -192,13 +432,14 @@ private Commandline createPullCommand( GitScmProviderRepository repository, File
 
         if ( version != null && StringUtils.isNotEmpty( version.getName() ) )
         {
-            if ( version instanceof ScmTag )
+            if ( version instanceof ScmTag || isRevision( version ) )
             {
                 // A tag will not be pulled but we only fetch all the commits from the upstream repo
                 // This is done because checking out a tag might not happen on the current branch
                 // but create a 'detached HEAD'.
                 // In fact, a tag in git may be in multiple branches. This occurs if 
                 // you create a branch after the tag has been created 
+                // The same goes for a commit, which isn't a branch to pull into.
                 cl = GitCommandLineUtils.getBaseGitCommandLine( workingDirectory, "fetch" );
 
                 cl.createArg().setValue( repository.getFetchUrl() );
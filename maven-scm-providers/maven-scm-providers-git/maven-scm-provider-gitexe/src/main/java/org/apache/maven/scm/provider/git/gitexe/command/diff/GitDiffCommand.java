@@ -24,13 +24,16 @@
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
 import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.command.diff.UnifiedDiffConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.command.diff.GitDiffConsumer;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
 
 import java.io.File;
 
@@ -48,7 +51,40 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileS
         throws ScmException
     {
         GitDiffConsumer consumer = new GitDiffConsumer( getLogger(), fileSet.getBasedir() );
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        DiffScmResult result = runDiff( fileSet, startVersion, endVersion, consumer );
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+
+        return new DiffScmResult( result.getCommandLine(), consumer.getChangedFiles(), consumer.getDifferences(),
+                                  consumer.getPatch() );
+    }
+
+    /** {@inheritDoc} */
+    protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                ScmVersion startVersion, ScmVersion endVersion,
+                                                UnifiedDiffConsumer consumer )
+        throws ScmException
+    {
+        DiffScmResult result = runDiff( fileSet, startVersion, endVersion, consumer );
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+
+        return new DiffScmResult( result.getCommandLine(), consumer.getChangedFiles(), null, null );
+    }
+
+    /**
+     * Runs the diff of the working tree to the index, then of the index to the head, feeding both to the consumer.
+     */
+    private DiffScmResult runDiff( ScmFileSet fileSet, ScmVersion startVersion, ScmVersion endVersion,
+                                   StreamConsumer consumer )
+        throws ScmException
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
         int exitCode;
 
         Commandline clDiff2Index = createCommandLine( fileSet.getBasedir(), startVersion, endVersion, false );
@@ -69,8 +105,7 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileS
                                       false );
         }
 
-        return new DiffScmResult( clDiff2Index.toString(), consumer.getChangedFiles(), consumer.getDifferences(),
-                                  consumer.getPatch() );
+        return new DiffScmResult( clDiff2Index.toString(), null, null, true );
     }
 
     // ----------------------------------------------------------------------
@@ -28,7 +28,9 @@
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCatFileBatch;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -50,7 +52,20 @@ protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet
     {
 
         GitInfoConsumer consumer = new GitInfoConsumer( getLogger(), fileSet );
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if ( getRevisionLength( parameters ) == NO_REVISION_LENGTH )
+        {
+            // full revisions can be answered by the shared cat-file process without forking git rev-parse
+            String revision = resolveHead( fileSet );
+            if ( revision != null )
+            {
+                consumer.consumeLine( revision );
+                return new InfoScmResult( "git cat-file --batch-check", consumer.getInfoItems() );
+            }
+            // otherwise git rev-parse tells why HEAD can't be resolved
+        }
+
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         Commandline cli = createCommandLine( repository, fileSet, parameters );
 
@@ -62,6 +77,25 @@ protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet
         return new InfoScmResult( cli.toString(), consumer.getInfoItems() );
     }
 
+    /**
+     * @return the revision of HEAD, or <code>null</code> if the cat-file process doesn't know it or couldn't run
+     */
+    private String resolveHead( ScmFileSet fileSet )
+    {
+        try
+        {
+            return GitCatFileBatch.getInstance( fileSet.getBasedir() ).resolve( "HEAD" );
+        }
+        catch ( ScmException e )
+        {
+            if ( getLogger().isDebugEnabled() )
+            {
+                getLogger().debug( "HEAD not resolved by git cat-file: " + e.getMessage() );
+            }
+            return null;
+        }
+    }
+
     public static Commandline createCommandLine( ScmProviderRepository repository, ScmFileSet fileSet,
                                                  CommandParameters parameters )
         throws ScmException
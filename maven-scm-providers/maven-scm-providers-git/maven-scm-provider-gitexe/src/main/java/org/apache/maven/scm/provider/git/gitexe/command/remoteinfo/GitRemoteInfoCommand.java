@@ -28,6 +28,7 @@
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -46,7 +47,7 @@ public RemoteInfoScmResult executeRemoteInfoCommand( ScmProviderRepository repos
     {
         GitScmProviderRepository gitRepository = (GitScmProviderRepository) repository;
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         Commandline clLsRemote = createCommandLine( gitRepository );
 
@@ -20,8 +20,10 @@
  */
 
 import java.net.URI;
+import java.util.List;
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
@@ -29,6 +31,8 @@
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -40,14 +44,21 @@
     extends AbstractStatusCommand
     implements GitCommand
 {
+    /**
+     * System property enabling <code>git status --porcelain=v2 -z</code>, which needs git 2.11 or later.
+     *
+     * @since 1.9.5
+     */
+    public static final String PORCELAIN_V2_PROPERTY = "maven.scm.git.status.porcelainV2";
+
     /** {@inheritDoc} */
     protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmFileSet fileSet )
         throws ScmException
     {
         Commandline clRevparse = createRevparseShowToplevelCommand( fileSet );
 
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stdout = new CommandOutputConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         URI relativeRepositoryPath = null;
         
@@ -68,13 +79,30 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
                 GitStatusConsumer.resolveURI( stdout.getOutput().trim(), fileSet.getBasedir().toURI() );
         }
 
-        Commandline cl = createCommandLine( (GitScmProviderRepository) repo, fileSet );
+        boolean porcelainV2 = Boolean.getBoolean( PORCELAIN_V2_PROPERTY );
+
+        Commandline cl = createCommandLine( (GitScmProviderRepository) repo, fileSet, porcelainV2 );
 
-        GitStatusConsumer consumer = new GitStatusConsumer( getLogger(), fileSet.getBasedir(), relativeRepositoryPath );
+        stderr = new CommandOutputConsumer();
+
+        List<ScmFile> changedFiles;
+        if ( porcelainV2 )
+        {
+            GitStatusPorcelainV2Consumer consumer =
+                new GitStatusPorcelainV2Consumer( getLogger(), relativeRepositoryPath,
+                                                  ScmProcessRunner.getDefaultCharset() );
 
-        stderr = new CommandLineUtils.StringStreamConsumer();
+            exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            changedFiles = consumer.getChangedFiles();
+        }
+        else
+        {
+            GitStatusConsumer consumer =
+                new GitStatusConsumer( getLogger(), fileSet.getBasedir(), relativeRepositoryPath );
 
-        exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            exitCode = GitCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            changedFiles = consumer.getChangedFiles();
+        }
         if ( exitCode != 0 )
         {
             // git-status returns non-zero if nothing to do
@@ -84,7 +112,7 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
             }
         }
 
-        return new StatusScmResult( cl.toString(), consumer.getChangedFiles() );
+        return new StatusScmResult( cl.toString(), changedFiles );
     }
 
     // ----------------------------------------------------------------------
@@ -92,9 +120,25 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
     // ----------------------------------------------------------------------
 
     public static Commandline createCommandLine( GitScmProviderRepository repository, ScmFileSet fileSet )
+    {
+        return createCommandLine( repository, fileSet, false );
+    }
+
+    /**
+     * @since 1.9.5
+     */
+    public static Commandline createCommandLine( GitScmProviderRepository repository, ScmFileSet fileSet,
+                                                 boolean porcelainV2 )
     {
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine( fileSet.getBasedir(), "status" );
-        cl.addArguments( new String[] { "--porcelain", "." } );
+        if ( porcelainV2 )
+        {
+            cl.addArguments( new String[] { "--porcelain=v2", "-z", "." } );
+        }
+        else
+        {
+            cl.addArguments( new String[] { "--porcelain", "." } );
+        }
         return cl;
     }
     
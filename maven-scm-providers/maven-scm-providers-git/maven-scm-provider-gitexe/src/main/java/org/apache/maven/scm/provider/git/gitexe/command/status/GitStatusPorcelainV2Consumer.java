@@ -0,0 +1,233 @@
+package org.apache.maven.scm.provider.git.gitexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.git.gitexe.command.AbstractNulDelimitedConsumer;
+
+/**
+ * Parses the output of <code>git status --porcelain=v2 -z</code> as it is written by the process.
+ * <p/>
+ * Each entry ends with a NUL byte and its path is written as is, so paths with spaces, quotes or new lines need no
+ * unquoting; a rename or copy entry is followed by a second NUL-terminated entry with the original path. The state
+ * of a file is taken from its <code>XY</code> field and its submodule field, without looking at the working copy:
+ * <ul>
+ * <li>added to the index: {@link ScmFileStatus#ADDED}, unless it has been deleted from the working tree since</li>
+ * <li>deleted from the index or the working tree: {@link ScmFileStatus#DELETED}</li>
+ * <li>modified or with another type in the index or the working tree: {@link ScmFileStatus#MODIFIED}</li>
+ * <li>renamed: {@link ScmFileStatus#RENAMED}, for the original and the new path</li>
+ * <li>copied: {@link ScmFileStatus#ADDED}, for the new path</li>
+ * <li>unmerged: {@link ScmFileStatus#CONFLICT}</li>
+ * </ul>
+ * Submodules, untracked and ignored files and the header lines are skipped.
+ *
+ * @since 1.9.5
+ */
+public class GitStatusPorcelainV2Consumer
+    extends AbstractNulDelimitedConsumer
+{
+    private final ScmLogger logger;
+
+    private final URI relativeRepositoryPath;
+
+    private final List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+    private byte[] entry;
+
+    private int length;
+
+    /**
+     * Whether the next entry is the original path of a rename or a copy.
+     */
+    private boolean originalPath;
+
+    /**
+     * The rename waiting for its original path.
+     */
+    private ScmFile renamed;
+
+    /**
+     * @param logger                 the logger
+     * @param relativeRepositoryPath the working directory relative to the repository root, may be <code>null</code>
+     * @param charset                the charset of the paths
+     * @see GitStatusConsumer#GitStatusConsumer(ScmLogger, java.io.File, URI)
+     */
+    public GitStatusPorcelainV2Consumer( ScmLogger logger, URI relativeRepositoryPath, Charset charset )
+    {
+        super( charset );
+        this.logger = logger;
+        this.relativeRepositoryPath = relativeRepositoryPath;
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeEntry( byte[] entry, int length )
+    {
+        this.entry = entry;
+        this.length = length;
+
+        if ( originalPath )
+        {
+            if ( renamed != null )
+            {
+                changedFiles.add( new ScmFile( path( 0 ), ScmFileStatus.RENAMED ) );
+                changedFiles.add( renamed );
+                renamed = null;
+            }
+            originalPath = false;
+        }
+        else if ( length > 0 )
+        {
+            consumeEntry( entry[0] );
+        }
+    }
+
+    private void consumeEntry( byte type )
+    {
+        if ( logger.isDebugEnabled() )
+        {
+            logger.debug( entryString() );
+        }
+
+        // <type> <XY> <sub> ... <path>, the number of fields before the path depending on the type
+        int fields;
+        switch ( type )
+        {
+            case '1':
+                fields = 8;
+                break;
+            case '2':
+                fields = 9;
+                break;
+            case 'u':
+                fields = 10;
+                break;
+            case '?':
+            case '!':
+            case '#':
+                return;
+            default:
+                logger.warn( "Ignoring unrecognized entry: " + entryString() );
+                return;
+        }
+
+        // the original path follows a rename or a copy, even if the entry itself is skipped
+        originalPath = type == '2';
+
+        int pathStart = skipFields( fields );
+        if ( pathStart < 0 )
+        {
+            logger.warn( "Ignoring truncated entry: " + entryString() );
+            return;
+        }
+
+        if ( entry[5] == 'S' )
+        {
+            // submodule
+            return;
+        }
+
+        byte x = entry[2];
+        byte y = entry[3];
+
+        ScmFileStatus status;
+        if ( type == 'u' )
+        {
+            status = ScmFileStatus.CONFLICT;
+        }
+        else if ( type == '2' )
+        {
+            status = x == 'C' || y == 'C' ? ScmFileStatus.ADDED : ScmFileStatus.RENAMED;
+        }
+        else if ( x == 'A' )
+        {
+            if ( y == 'D' )
+            {
+                return;
+            }
+            status = ScmFileStatus.ADDED;
+        }
+        else if ( x == 'D' || y == 'D' )
+        {
+            status = ScmFileStatus.DELETED;
+        }
+        else if ( x == 'M' || y == 'M' || x == 'T' || y == 'T' )
+        {
+            status = ScmFileStatus.MODIFIED;
+        }
+        else
+        {
+            return;
+        }
+
+        ScmFile file = new ScmFile( path( pathStart ), status );
+        if ( status == ScmFileStatus.RENAMED )
+        {
+            renamed = file;
+        }
+        else
+        {
+            changedFiles.add( file );
+        }
+    }
+
+    /**
+     * @return the index after the given number of space separated fields, -1 if the entry is shorter
+     */
+    private int skipFields( int fields )
+    {
+        int index = 0;
+        for ( int i = 0; i < fields; i++ )
+        {
+            while ( index < length && entry[index] != ' ' )
+            {
+                index++;
+            }
+            if ( index == length )
+            {
+                return -1;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private String entryString()
+    {
+        return decode( entry, 0, length );
+    }
+
+    private String path( int start )
+    {
+        String path = decode( entry, start, length );
+        return GitStatusConsumer.resolvePath( path, relativeRepositoryPath );
+    }
+
+    public List<ScmFile> getChangedFiles()
+    {
+        return changedFiles;
+    }
+}
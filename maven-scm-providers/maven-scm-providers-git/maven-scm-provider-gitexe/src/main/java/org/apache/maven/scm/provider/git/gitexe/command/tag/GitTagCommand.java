@@ -36,6 +36,7 @@
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListConsumer;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -87,8 +88,8 @@ public ScmResult executeTagCommand( ScmProviderRepository repo, ScmFileSet fileS
 
         try
         {
-            CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-            CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+            CommandOutputConsumer stdout = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
+            CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
             int exitCode;
 
@@ -31,11 +31,13 @@
 import org.apache.maven.scm.command.update.UpdateScmResultWithRevision;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCatFileBatch;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.gitexe.command.changelog.GitChangeLogCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.diff.GitDiffCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.diff.GitDiffRawConsumer;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -64,19 +66,18 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
 
         int exitCode;
 
-        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandOutputConsumer stdout = new CommandOutputConsumer( CommandOutputConsumer.Retention.NONE );
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
-        // fir we need to get the current reversion
-        Commandline clRev = createLatestRevisionCommandLine( repository, fileSet.getBasedir(), scmVersion );
-        GitLatestRevisionCommandConsumer consumerRev = new GitLatestRevisionCommandConsumer( getLogger() );
-        exitCode = GitCommandLineUtils.execute( clRev, consumerRev, stderr, getLogger() );
-        if ( exitCode != 0 )
+        // first we need to get the current revision, the tip of the branch is what git log -n1 would report
+        GitCatFileBatch catFile = GitCatFileBatch.getInstance( fileSet.getBasedir() );
+        String latestRevisionName = getLatestRevisionName( scmVersion ) + "^{commit}";
+        String origSha1 = catFile.resolve( latestRevisionName );
+        if ( origSha1 == null )
         {
-            return new UpdateScmResult( clRev.toString(), "The git-log command failed.",
-                    stderr.getOutput(), false );
+            return new UpdateScmResult( "git cat-file --batch-check", "The git cat-file command failed.",
+                                        latestRevisionName + " is not a valid revision", false );
         }
-        String origSha1 = consumerRev.getLatestRevision();
 
         Commandline cl = createCommandLine( repository, fileSet.getBasedir(), scmVersion );
         exitCode = GitCommandLineUtils.execute( cl, stdout, stderr, getLogger() );
@@ -98,14 +99,12 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
 
         
         // now let's get the latest version
-        consumerRev = new GitLatestRevisionCommandConsumer( getLogger() );
-        exitCode = GitCommandLineUtils.execute( clRev, consumerRev, stderr, getLogger() );
-        if ( exitCode != 0 )
+        String latestRevision = catFile.resolve( latestRevisionName );
+        if ( latestRevision == null )
         {
-            return new UpdateScmResult( clRev.toString(), "The git-log command failed.",
-                                        stderr.getOutput(), false );
+            return new UpdateScmResult( "git cat-file --batch-check", "The git cat-file command failed.",
+                                        latestRevisionName + " is not a valid revision", false );
         }
-        String latestRevision = consumerRev.getLatestRevision();
         
         return new UpdateScmResultWithRevision( cl.toString(), diffRawConsumer.getChangedFiles(), latestRevision );
     }
@@ -157,18 +156,24 @@ public static Commandline createLatestRevisionCommandLine( GitScmProviderReposit
         // same as --topo-order, but ensure ordering of merges
         cl.createArg().setValue( "--date-order" );
         
+        cl.createArg().setValue( getLatestRevisionName( scmVersion ) );
+        
+        return cl;
+    }
+
+    /**
+     * @param scmVersion a valid branch or <code>null</code> if the master branch should be taken
+     * @return the name of the branch whose latest commit is reported
+     */
+    private static String getLatestRevisionName( ScmVersion scmVersion )
+    {
         if ( scmVersion != null && scmVersion instanceof ScmBranch && scmVersion.getName() != null
             && scmVersion.getName().length() > 0 )
         {
             // if any branch is given, lets take em
-            cl.createArg().setValue( scmVersion.getName() );
-        }
-        else
-        {
-            // otherwise we work on the master branch
-            cl.createArg().setValue( "master" );
+            return scmVersion.getName();
         }
-        
-        return cl;
+        // otherwise we work on the master branch
+        return "master";
     }
 }
@@ -0,0 +1,174 @@
+package org.apache.maven.scm.provider.git.gitexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmCommandObserver;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @since 1.9.5
+ */
+public class GitCatFileBatchTest
+    extends ScmTestCase
+{
+    private static final String HEAD = "cd3c0dfacb65955e6fbb35c56cc5b1bf8ce4f767";
+
+    private GitCatFileBatch catFile;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        GitScmTestUtils.initRepo( "src/test/resources/git/info", getRepositoryRoot(), getWorkingCopy() );
+
+        catFile = new GitCatFileBatch( getRepositoryRoot() );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        catFile.close();
+
+        super.tearDown();
+    }
+
+    public void testResolve()
+        throws Exception
+    {
+        if ( !isSystemCmd( "git" ) )
+        {
+            return;
+        }
+
+        assertEquals( HEAD, catFile.resolve( "HEAD" ) );
+        assertEquals( HEAD, catFile.resolve( "master^{commit}" ) );
+        assertNull( catFile.resolve( "unknown-branch" ) );
+        // the process survives a miss
+        assertEquals( HEAD, catFile.resolve( "HEAD" ) );
+    }
+
+    public void testResolveAll()
+        throws Exception
+    {
+        if ( !isSystemCmd( "git" ) )
+        {
+            return;
+        }
+
+        List<GitCatFileBatch.ObjectInfo> infos =
+            catFile.resolveAll( Arrays.asList( "HEAD", "unknown-branch", "HEAD:foo.txt" ) );
+
+        assertEquals( 3, infos.size() );
+        assertEquals( HEAD, infos.get( 0 ).getId() );
+        assertEquals( "commit", infos.get( 0 ).getType() );
+        assertNull( infos.get( 1 ) );
+        assertEquals( "blob", infos.get( 2 ).getType() );
+        assertEquals( 19, infos.get( 2 ).getSize() );
+    }
+
+    public void testRead()
+        throws Exception
+    {
+        if ( !isSystemCmd( "git" ) )
+        {
+            return;
+        }
+
+        byte[] content = catFile.read( "HEAD:foo.txt" );
+        assertEquals( 19, content.length );
+        assertNull( catFile.read( "HEAD:unknown.txt" ) );
+        // the stream is positioned on the next object
+        assertTrue( new String( catFile.read( "HEAD" ), "UTF-8" ).startsWith( "tree " ) );
+    }
+
+    public void testMissesKeepTheProcess()
+        throws Exception
+    {
+        if ( !isSystemCmd( "git" ) )
+        {
+            return;
+        }
+
+        ScmCommandObserver observer = new ScmCommandObserver()
+        {
+            public void commandStarted( ScmCommandMetrics metrics )
+            {
+            }
+
+            public void commandFinished( ScmCommandMetrics metrics )
+            {
+            }
+        };
+        ScmMetrics.addObserver( observer );
+        ScmCommandMetrics metrics = ScmMetrics.commandStarted( "git", "test" );
+        try
+        {
+            assertNull( catFile.resolve( "unknown-branch" ) );
+            assertNull( catFile.resolve( "unknown-tag" ) );
+            assertEquals( HEAD, catFile.resolve( "HEAD" ) );
+            assertNull( catFile.read( "HEAD:unknown.txt" ) );
+            assertNull( catFile.read( "HEAD:other.txt" ) );
+
+            // one --batch-check and one --batch process
+            assertEquals( 2, metrics.getProcesses() );
+        }
+        finally
+        {
+            ScmMetrics.commandFinished( metrics, true );
+            ScmMetrics.removeObserver( observer );
+        }
+    }
+
+    public void testRecreatedRepository()
+        throws Exception
+    {
+        if ( !isSystemCmd( "git" ) )
+        {
+            return;
+        }
+
+        assertEquals( HEAD, catFile.resolve( "HEAD" ) );
+
+        GitScmTestUtils.initRepo( "src/test/resources/git/info", getRepositoryRoot(), getWorkingCopy() );
+
+        assertEquals( HEAD, catFile.resolve( "HEAD" ) );
+    }
+
+    public void testInvalidRevision()
+        throws Exception
+    {
+        try
+        {
+            catFile.resolve( "HEAD\nmaster" );
+            fail( "revisions spanning several lines must be rejected" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+}
@@ -64,6 +64,20 @@ public void testCommandLineNoDatesLimitedCount()
                          + " -- " + StringUtils.quoteAndEscape( workingDirectory.getPath(), '"' ) );
     }
 
+    public void testCommandLineFormat()
+        throws Exception
+    {
+        ScmRepository repository = getScmManager().makeScmRepository( "scm:git:http://foo.com/git" );
+
+        Commandline cl =
+            GitChangeLogCommand.createCommandLine( (GitScmProviderRepository) repository.getProviderRepository(),
+                                                   workingDirectory, null, null, null, null, null, 40, true );
+
+        assertCommandLine( "git log --no-merges \"--format=%H%x00%P%x00%an <%ae>%x00%at%x00%B\" --encoding=UTF-8"
+                               + " --name-status -z --max-count=40 -- "
+                               + StringUtils.quoteAndEscape( workingDirectory.getPath(), '"' ), workingDirectory, cl );
+    }
+
     public void testCommandLineWithDates()
         throws Exception
     {
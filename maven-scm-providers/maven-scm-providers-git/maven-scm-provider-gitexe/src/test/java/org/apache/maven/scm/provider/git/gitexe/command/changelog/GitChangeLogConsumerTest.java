@@ -22,6 +22,7 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.log.DefaultLog;
 import org.codehaus.plexus.PlexusTestCase;
 import org.junit.Assert;
@@ -30,6 +31,7 @@
 import java.io.File;
 import java.io.FileReader;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -187,4 +189,40 @@ public void testConsumer2()
         assertTrue( cf.getRevision() != null && cf.getRevision().length() > 0 );
     }
 
+    public void testConsumerWithHandler()
+        throws Exception
+    {
+        final List<ChangeSet> handled = new ArrayList<ChangeSet>();
+
+        GitChangeLogConsumer consumer = new GitChangeLogConsumer( new DefaultLog(), null, new ChangeSetHandler()
+        {
+            public boolean handleChangeSet( ChangeSet changeSet )
+            {
+                handled.add( changeSet );
+                return handled.size() < 3;
+            }
+        } );
+
+        File f = getTestFile( "/src/test/resources/git/changelog/gitwhatchanged.gitlog" );
+
+        BufferedReader r = new BufferedReader( new FileReader( f ) );
+
+        String line;
+
+        while ( ( line = r.readLine() ) != null )
+        {
+            consumer.consumeLine( line );
+        }
+
+        assertTrue( consumer.getModifications().isEmpty() );
+
+        assertEquals( 3, handled.size() );
+
+        for ( ChangeSet entry : handled )
+        {
+            assertNotNull( entry.getRevision() );
+            assertNotNull( entry.getDate() );
+            assertFalse( entry.getFiles().isEmpty() );
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package org.apache.maven.scm.provider.git.gitexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+
+/**
+ * @since 1.9.5
+ */
+public class GitChangeLogFormatConsumerTest
+    extends TestCase
+{
+    private static final String FIRST = "a86d70b2ffd766e40a1cccee5b9319d512b31bf3";
+
+    private static final String SECOND = "005112148bd6493706d7021496049800dad3b58f";
+
+    private static final String MERGED = "4c8b1a3f0c5e3d6d1f4e8a0b9c7d2e1f3a5b6c7d";
+
+    /**
+     * The output of <code>git log -z --name-status</code> for two commits, the first one with a two paragraph message
+     * and a path with a space, and a third commit without files.
+     */
+    private static final String OUTPUT = SECOND + "\0" + FIRST + "\0t <t@t>\0" + "1792263969\0second\n\0"
+        + "\nM\0b c\0R100\0a\0d\0"
+        + FIRST + "\0\0t <t@t>\0" + "1792263900\0first\n\nbody para\n\0"
+        + "\nA\0a\0A\0b c\0"
+        + "1111111111111111111111111111111111111111\0" + FIRST + " " + MERGED + "\0J\u00e9r\u00f4me <j@t>\0"
+        + "1792263999\0empty\n\0";
+
+    private List<ChangeSet> parse( int chunk )
+        throws Exception
+    {
+        GitChangeLogFormatConsumer consumer = new GitChangeLogFormatConsumer( Charset.forName( "UTF-8" ), null );
+
+        byte[] bytes = OUTPUT.getBytes( "UTF-8" );
+        for ( int i = 0; i < bytes.length; i += chunk )
+        {
+            consumer.write( bytes, i, Math.min( chunk, bytes.length - i ) );
+        }
+
+        return consumer.getModifications();
+    }
+
+    public void testParse()
+        throws Exception
+    {
+        for ( int chunk = 1; chunk < OUTPUT.length() * 2; chunk *= 4 )
+        {
+            List<ChangeSet> changeSets = parse( chunk );
+
+            assertEquals( 3, changeSets.size() );
+
+            ChangeSet second = changeSets.get( 0 );
+            assertEquals( SECOND, second.getRevision() );
+            assertEquals( FIRST, second.getParentRevision() );
+            assertEquals( "t <t@t>", second.getAuthor() );
+            assertEquals( new Date( 1792263969000L ), second.getDate() );
+            assertEquals( "second", second.getComment() );
+            assertEquals( 2, second.getFiles().size() );
+            assertFile( "b c", ScmFileStatus.MODIFIED, null, second.getFiles().get( 0 ) );
+            assertFile( "d", ScmFileStatus.RENAMED, "a", second.getFiles().get( 1 ) );
+            assertEquals( FIRST, second.getFiles().get( 1 ).getOriginalRevision() );
+            assertEquals( SECOND, second.getFiles().get( 1 ).getRevision() );
+
+            ChangeSet first = changeSets.get( 1 );
+            assertNull( first.getParentRevision() );
+            assertEquals( "first\n\nbody para", first.getComment() );
+            assertEquals( 2, first.getFiles().size() );
+            assertFile( "a", ScmFileStatus.ADDED, null, first.getFiles().get( 0 ) );
+            assertFile( "b c", ScmFileStatus.ADDED, null, first.getFiles().get( 1 ) );
+
+            ChangeSet empty = changeSets.get( 2 );
+            assertEquals( "J\u00e9r\u00f4me <j@t>", empty.getAuthor() );
+            assertEquals( FIRST, empty.getParentRevision() );
+            assertEquals( 1, empty.getMergedRevisions().size() );
+            assertTrue( empty.getMergedRevisions().contains( MERGED ) );
+            assertEquals( "empty", empty.getComment() );
+            assertTrue( empty.getFiles().isEmpty() );
+        }
+    }
+
+    private void assertFile( String name, ScmFileStatus action, String originalName, ChangeFile file )
+    {
+        assertEquals( name, file.getName() );
+        assertEquals( action, file.getAction() );
+        assertEquals( originalName, file.getOriginalName() );
+    }
+}
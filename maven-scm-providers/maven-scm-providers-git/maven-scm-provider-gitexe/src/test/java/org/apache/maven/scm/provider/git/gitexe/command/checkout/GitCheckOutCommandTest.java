@@ -20,13 +20,16 @@
  */
 
 import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.manager.ScmManager;
+import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutOptions;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.util.Arrays;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -59,6 +62,55 @@ public void testCommandLineWithBranch()
         testCommandLine( getScmManager(), "scm:git:http://foo.com/git", "mybranch", "git checkout mybranch" );
     }
 
+    public void testCloneCommandLine()
+        throws Exception
+    {
+        ScmRepository repository = getScmManager().makeScmRepository( "scm:git:http://foo.com/git" );
+
+        GitScmProviderRepository gitRepository = (GitScmProviderRepository) repository.getProviderRepository();
+
+        Commandline cl = GitCheckOutCommand.createCloneCommand( gitRepository, workingDirectory, new ScmTag( "v1" ),
+                                                                new GitCheckOutOptions( 1, "blob:none",
+                                                                                        Arrays.asList( "src" ) ),
+                                                                null );
+
+        assertCommandLine( "git clone --depth 1 --filter=blob:none --sparse --branch v1 http://foo.com/git "
+                               + workingDirectory.getPath(), workingDirectory.getParentFile(), cl );
+
+        cl = GitCheckOutCommand.createCloneCommand( gitRepository, workingDirectory, new ScmRevision( "1234" ),
+                                                    new GitCheckOutOptions( 0, null, null ), null );
+
+        assertCommandLine( "git clone http://foo.com/git " + workingDirectory.getPath(),
+                           workingDirectory.getParentFile(), cl );
+
+        assertCommandLine( "git fetch --depth 1 origin 1234", workingDirectory,
+                           GitCheckOutCommand.createShallowFetchCommand( workingDirectory, new ScmRevision( "1234" ),
+                                                                         1 ) );
+    }
+
+    public void testMirrorCommandLines()
+        throws Exception
+    {
+        ScmRepository repository = getScmManager().makeScmRepository( "scm:git:http://foo.com/git" );
+
+        GitScmProviderRepository gitRepository = (GitScmProviderRepository) repository.getProviderRepository();
+
+        File mirror = getTestFile( "target/git-mirrors/git-0123456789abcdef.git" );
+
+        Commandline cl = GitCheckOutCommand.createMirrorCloneCommand( gitRepository, mirror );
+
+        assertCommandLine( "git clone --mirror --config gc.auto=0 --config maintenance.auto=false http://foo.com/git "
+                               + mirror.getPath(), mirror.getParentFile(), cl );
+
+        assertCommandLine( "git fetch --prune origin", mirror, GitCheckOutCommand.createMirrorFetchCommand( mirror ) );
+
+        cl = GitCheckOutCommand.createCloneCommand( gitRepository, workingDirectory, null,
+                                                    new GitCheckOutOptions( 0, null, null ), mirror );
+
+        assertCommandLine( "git clone --reference " + mirror.getPath() + " http://foo.com/git "
+                               + workingDirectory.getPath(), workingDirectory.getParentFile(), cl );
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
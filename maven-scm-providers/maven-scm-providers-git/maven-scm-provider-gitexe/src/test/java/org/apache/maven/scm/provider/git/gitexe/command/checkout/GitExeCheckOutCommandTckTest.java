@@ -19,7 +19,14 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutCommandTckTest;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -28,5 +35,57 @@
 public class GitExeCheckOutCommandTckTest
     extends GitCheckOutCommandTckTest
 {
-    // no op
+    public void testShallowSparseCheckOut()
+        throws Exception
+    {
+        deleteDirectory( getWorkingCopy() );
+        // the includes of a file set need an existing directory
+        getWorkingCopy().mkdirs();
+
+        CheckOutScmRequest request =
+            new CheckOutScmRequest( getScmRepository(), new ScmFileSet( getWorkingCopy(), "src/main/java/**" ) );
+        request.setDepth( 1 );
+        request.setFilter( "blob:none" );
+        request.setSparse( true );
+
+        CheckOutScmResult result = getScmManager().checkOut( request );
+
+        assertResultIsSuccess( result );
+
+        assertEquals( "Expected 3 files in " + result.getCheckedOutFiles(), 3, result.getCheckedOutFiles().size() );
+
+        assertTrue( new File( getWorkingCopy(), "src/main/java/Application.java" ).exists() );
+        assertTrue( new File( getWorkingCopy(), "pom.xml" ).exists() );
+        assertFalse( new File( getWorkingCopy(), "src/test/java/Test.java" ).exists() );
+
+        assertTrue( "Expected a shallow clone", new File( getWorkingCopy(), ".git/shallow" ).exists() );
+    }
+
+    public void testShallowCheckOutOfRevision()
+        throws Exception
+    {
+        // a commit outside of the history of the default branch is fetched with the depth
+        assertShallowCheckOut( "c51dcd33e7b71897603c203b5e0afc1d75f70051", "c51dcd33e7b71897603c203b5e0afc1d75f70051" );
+
+        // an abbreviated commit id can't be fetched, the complete history of the branches is fetched instead
+        assertShallowCheckOut( "92f139d", "92f139dfec4d1dfb79c3cd2f94e83bf13129668b" );
+    }
+
+    private void assertShallowCheckOut( String revision, String commit )
+        throws Exception
+    {
+        deleteDirectory( getWorkingCopy() );
+
+        CheckOutScmRequest request = new CheckOutScmRequest( getScmRepository(), new ScmFileSet( getWorkingCopy() ) );
+        request.setScmVersion( new ScmRevision( revision ) );
+        request.setDepth( 1 );
+
+        CheckOutScmResult result = getScmManager().checkOut( request );
+
+        assertResultIsSuccess( result );
+
+        assertEquals( "Expected 4 files in " + result.getCheckedOutFiles(), 4, result.getCheckedOutFiles().size() );
+
+        assertEquals( commit, FileUtils.fileRead( new File( getWorkingCopy(), ".git/HEAD" ) ).trim() );
+    }
 }
@@ -103,6 +103,30 @@ public void testInfoCommandWithZeroShortRevision()
                     result.getInfoItems().get( 0 ).getRevision().length() >= 4 );
     }
 
+    public void testInfoCommandOutsideOfRepository()
+        throws Exception
+    {
+        GitScmTestUtils.initRepo( "src/test/resources/git/info", getRepositoryRoot(), getWorkingCopy() );
+
+        // outside of the source tree, which is itself a git working copy
+        File directory = File.createTempFile( "maven-scm-info", "" );
+        directory.delete();
+        directory.mkdirs();
+        try
+        {
+            ScmProvider provider = getScmManager().getProviderByUrl( getScmUrl() );
+            ScmProviderRepository repository = provider.makeProviderScmRepository( getRepositoryRoot() );
+            InfoScmResult result = provider.info( repository, new ScmFileSet( directory ), new CommandParameters() );
+            assertFalse( result.isSuccess() );
+            assertTrue( result.getCommandOutput(),
+                        result.getCommandOutput().indexOf( "not a git repository" ) >= 0 );
+        }
+        finally
+        {
+            FileUtils.deleteDirectory( directory );
+        }
+    }
+
     protected File getRepositoryRoot()
     {
         return PlexusTestCase.getTestFile( "target/scm-test/repository/git/info" );
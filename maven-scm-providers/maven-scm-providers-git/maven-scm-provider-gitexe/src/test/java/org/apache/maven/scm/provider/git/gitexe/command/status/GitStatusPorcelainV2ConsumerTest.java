@@ -0,0 +1,118 @@
+package org.apache.maven.scm.provider.git.gitexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.DefaultLog;
+
+/**
+ * @since 1.9.5
+ */
+public class GitStatusPorcelainV2ConsumerTest
+    extends TestCase
+{
+    private static final String MODES = " N... 100644 100644 100644 ";
+
+    private static final String HASHES =
+        "ce013625030ba8dba906f756967f9e9ca394464a ce013625030ba8dba906f756967f9e9ca394464a ";
+
+    private List<ScmFile> getChangedFiles( String output, int chunk )
+        throws Exception
+    {
+        GitStatusPorcelainV2Consumer consumer =
+            new GitStatusPorcelainV2Consumer( new DefaultLog(), null, Charset.forName( "UTF-8" ) );
+
+        byte[] bytes = output.getBytes( "UTF-8" );
+        for ( int i = 0; i < bytes.length; i += chunk )
+        {
+            consumer.write( bytes, i, Math.min( chunk, bytes.length - i ) );
+        }
+        consumer.close();
+
+        return consumer.getChangedFiles();
+    }
+
+    private void assertFile( String path, ScmFileStatus status, ScmFile file )
+    {
+        assertEquals( path, file.getPath() );
+        assertEquals( status, file.getStatus() );
+    }
+
+    public void testOrdinaryEntries()
+        throws Exception
+    {
+        String output = "# branch.oid 4c8b1a3\0"
+            + "1 A." + MODES + HASHES + "project.xml\0"
+            + "1 .M" + MODES + HASHES + "src/main/java/with space.java\0"
+            + "1 D." + MODES + HASHES + "readme.txt\0"
+            + "1 .D" + MODES + HASHES + "gone.txt\0"
+            + "1 AD" + MODES + HASHES + "added then removed.txt\0"
+            + "1 .M S.M. 160000 160000 160000 " + HASHES + "submodule\0"
+            + "? untracked.txt\0"
+            + "! target/ignored.txt\0";
+
+        for ( int chunk = 1; chunk <= output.length(); chunk *= 3 )
+        {
+            List<ScmFile> changedFiles = getChangedFiles( output, chunk );
+
+            assertEquals( changedFiles.toString(), 4, changedFiles.size() );
+            assertFile( "project.xml", ScmFileStatus.ADDED, changedFiles.get( 0 ) );
+            assertFile( "src/main/java/with space.java", ScmFileStatus.MODIFIED, changedFiles.get( 1 ) );
+            assertFile( "readme.txt", ScmFileStatus.DELETED, changedFiles.get( 2 ) );
+            assertFile( "gone.txt", ScmFileStatus.DELETED, changedFiles.get( 3 ) );
+        }
+    }
+
+    public void testRenameAndCopy()
+        throws Exception
+    {
+        String output = "2 R." + MODES + HASHES + "R100 new\nname.txt\0old name.txt\0"
+            + "2 C." + MODES + HASHES + "C75 copy.txt\0original.txt\0"
+            + "2 R." + " S... 160000 160000 160000 " + HASHES + "R100 moved-module\0module\0"
+            + "u UU N... 100644 100644 100644 100644 " + HASHES
+            + "ce013625030ba8dba906f756967f9e9ca394464a conflict.txt\0";
+
+        for ( int chunk = 1; chunk <= output.length(); chunk *= 3 )
+        {
+            List<ScmFile> changedFiles = getChangedFiles( output, chunk );
+
+            assertEquals( changedFiles.toString(), 4, changedFiles.size() );
+            assertFile( "old name.txt", ScmFileStatus.RENAMED, changedFiles.get( 0 ) );
+            assertFile( "new\nname.txt", ScmFileStatus.RENAMED, changedFiles.get( 1 ) );
+            assertFile( "copy.txt", ScmFileStatus.ADDED, changedFiles.get( 2 ) );
+            assertFile( "conflict.txt", ScmFileStatus.CONFLICT, changedFiles.get( 3 ) );
+        }
+    }
+
+    public void testNonAsciiPath()
+        throws Exception
+    {
+        List<ScmFile> changedFiles = getChangedFiles( "1 M." + MODES + HASHES + "caf\u00e9.txt\0", 1 );
+
+        assertEquals( 1, changedFiles.size() );
+        assertFile( "caf\u00e9.txt", ScmFileStatus.MODIFIED, changedFiles.get( 0 ) );
+    }
+}
@@ -19,10 +19,14 @@
  * under the License.
  */
 
-
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.tck.command.checkout.CheckOutCommandTckTest;
 
+import java.io.File;
+
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  *
@@ -43,5 +47,41 @@ public void initRepo()
     {
         GitScmTestUtils.initRepo( "src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory() );
     }
-    
+
+    public void testCheckOutWithMirror()
+        throws Exception
+    {
+        File directory = getTestFile( "target/git-mirrors" );
+        deleteDirectory( directory );
+
+        GitScmProviderRepository repository = (GitScmProviderRepository) getScmRepository().getProviderRepository();
+        File mirror = new GitMirrorCache( directory ).getMirror( repository.getFetchUrl() );
+
+        System.setProperty( GitMirrorCache.DIRECTORY_PROPERTY, directory.getPath() );
+        try
+        {
+            // the first checkout creates the mirror, the second one fetches it
+            for ( int i = 0; i < 2; i++ )
+            {
+                deleteDirectory( getWorkingCopy() );
+
+                CheckOutScmResult result =
+                    getScmManager().checkOut( getScmRepository(), new ScmFileSet( getWorkingCopy() ) );
+
+                assertResultIsSuccess( result );
+
+                assertEquals( "Expected 4 files in " + result.getCheckedOutFiles(), 4,
+                              result.getCheckedOutFiles().size() );
+
+                assertTrue( "Expected a mirror", GitMirrorCache.isMirror( mirror ) );
+
+                assertTrue( "Expected the objects of the mirror to be referenced",
+                            new File( getWorkingCopy(), ".git/objects/info/alternates" ).isFile() );
+            }
+        }
+        finally
+        {
+            System.getProperties().remove( GitMirrorCache.DIRECTORY_PROPERTY );
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the repositories used by the JGit commands open between two commands, so that the pack indexes and the
+ * configuration are not read again for every SCM operation on the same working copy.
+ * <p/>
+ * The cache holds its own reference on each {@link Repository} and hands out an additional one with
+ * {@link Repository#incrementOpen()} on every {@link #acquire(File)}: callers release it with
+ * {@link Repository#close()} (see {@link JGitUtils#closeRepo(org.eclipse.jgit.api.Git)}), and the repository is
+ * really closed once both the cache and all the callers are done with it.
+ * <p/>
+ * Entries are keyed by the canonical git directory. The least recently used entry is dropped when the cache is
+ * full, entries unused for longer than the idle timeout are dropped on the next access, and an entry is reopened
+ * when <code>HEAD</code>, the refs, the packs or the config have been modified on disk since it was opened.
+ * <p/>
+ * The cache is configured with the <code>maven.scm.jgit.repository_cache.max_size</code> (default 8, 0 disables
+ * the cache) and <code>maven.scm.jgit.repository_cache.idle_timeout</code> (in seconds, default 300) system
+ * properties.
+ *
+ * @since 1.9.5
+ */
+public class JGitRepositoryCache
+{
+    private static final int DEFAULT_MAX_SIZE = 8;
+
+    private static final int DEFAULT_IDLE_TIMEOUT = 300;
+
+    private static final JGitRepositoryCache INSTANCE =
+        new JGitRepositoryCache( Integer.getInteger( "maven.scm.jgit.repository_cache.max_size", DEFAULT_MAX_SIZE ),
+                                 1000L * Integer.getInteger( "maven.scm.jgit.repository_cache.idle_timeout",
+                                                             DEFAULT_IDLE_TIMEOUT ) );
+
+    private final int maxSize;
+
+    private final long idleTimeout;
+
+    private final Map<File, Entry> entries;
+
+    public JGitRepositoryCache( int maxSize, long idleTimeout )
+    {
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        // access order, so that the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<File, Entry>( 16, 0.75f, true );
+    }
+
+    public static JGitRepositoryCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the repository of the given working copy or git directory, opening it if needed.
+     *
+     * @param directory the working copy or the git directory
+     * @return a repository the caller must close when done with it
+     * @throws IOException if the repository can't be opened
+     */
+    public Repository acquire( File directory )
+        throws IOException
+    {
+        File gitDir = RepositoryCache.FileKey.lenient( directory, FS.DETECTED ).getFile().getCanonicalFile();
+
+        if ( maxSize <= 0 )
+        {
+            return open( gitDir );
+        }
+
+        synchronized ( entries )
+        {
+            long now = System.currentTimeMillis();
+
+            evictIdle( now );
+
+            Entry entry = entries.get( gitDir );
+
+            long stamp = stamp( gitDir );
+
+            if ( entry != null && entry.stamp != stamp )
+            {
+                // the repository has been changed behind our back
+                entries.remove( gitDir );
+                entry.repository.close();
+                entry = null;
+            }
+
+            if ( entry == null )
+            {
+                entry = new Entry( open( gitDir ), stamp );
+                entries.put( gitDir, entry );
+                evictOverflow();
+            }
+
+            entry.lastAccess = now;
+            entry.repository.incrementOpen();
+            return entry.repository;
+        }
+    }
+
+    /**
+     * Drops the cached repository of the given working copy or git directory, if any. Must be called when the
+     * repository is modified in a way the cache can't detect, for instance when it is deleted and cloned again.
+     *
+     * @param directory the working copy or the git directory
+     */
+    public void invalidate( File directory )
+    {
+        File gitDir;
+        try
+        {
+            gitDir = RepositoryCache.FileKey.lenient( directory, FS.DETECTED ).getFile().getCanonicalFile();
+        }
+        catch ( IOException e )
+        {
+            return;
+        }
+
+        synchronized ( entries )
+        {
+            Entry entry = entries.remove( gitDir );
+            if ( entry != null )
+            {
+                entry.repository.close();
+            }
+        }
+    }
+
+    /**
+     * Drops all the cached repositories.
+     */
+    public void clear()
+    {
+        synchronized ( entries )
+        {
+            for ( Entry entry : entries.values() )
+            {
+                entry.repository.close();
+            }
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return the number of cached repositories
+     */
+    public int size()
+    {
+        synchronized ( entries )
+        {
+            return entries.size();
+        }
+    }
+
+    private void evictIdle( long now )
+    {
+        for ( Iterator<Entry> it = entries.values().iterator(); it.hasNext(); )
+        {
+            Entry entry = it.next();
+            if ( now - entry.lastAccess > idleTimeout )
+            {
+                it.remove();
+                entry.repository.close();
+            }
+        }
+    }
+
+    private void evictOverflow()
+    {
+        for ( Iterator<Entry> it = entries.values().iterator(); entries.size() > maxSize && it.hasNext(); )
+        {
+            Entry entry = it.next();
+            it.remove();
+            entry.repository.close();
+        }
+    }
+
+    private static Repository open( File gitDir )
+        throws IOException
+    {
+        return new RepositoryBuilder().setFS( FS.DETECTED ).setGitDir( gitDir ).setMustExist( true ).build();
+    }
+
+    /**
+     * Combines the modification times of the files telling whether the refs or the object database changed.
+     */
+    private static long stamp( File gitDir )
+    {
+        long stamp = new File( gitDir, Constants.HEAD ).lastModified();
+        stamp = 31 * stamp + new File( gitDir, Constants.PACKED_REFS ).lastModified();
+        stamp = 31 * stamp + new File( gitDir, "config" ).lastModified();
+        stamp = 31 * stamp + new File( gitDir, Constants.R_HEADS ).lastModified();
+        stamp = 31 * stamp + new File( gitDir, Constants.R_TAGS ).lastModified();
+        stamp = 31 * stamp + new File( gitDir, "objects/pack" ).lastModified();
+        return stamp;
+    }
+
+    private static final class Entry
+    {
+        private final Repository repository;
+
+        private final long stamp;
+
+        private long lastAccess;
+
+        private Entry( Repository repository, long stamp )
+        {
+            this.repository = repository;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -86,6 +86,21 @@ private JGitUtils()
         // no op
     }
 
+    /**
+     * Opens the repository of the given working copy, reusing the instance kept by the
+     * {@link JGitRepositoryCache} if there is one.
+     *
+     * @param basedir the working copy
+     * @return the git object wrapping the repository, to be closed with {@link #closeRepo(Git)}
+     * @throws IOException if the repository can't be opened
+     * @since 1.9.5
+     */
+    public static Git openRepo( File basedir )
+        throws IOException
+    {
+        return Git.wrap( JGitRepositoryCache.getInstance().acquire( basedir ) );
+    }
+
     /**
      * Closes the repository wrapped by the passed git object
      * @param git 
@@ -339,6 +354,41 @@ public static List<RevCommit> getRevCommits( Repository repo, RevSort[] sortings
     {
 
         List<RevCommit> revs = new ArrayList<RevCommit>();
+        RevWalk walk = createRevWalk( repo, sortings, fromRev, toRev, fromDate, toDate );
+
+        int n = 0;
+        for ( final RevCommit c : walk )
+        {
+            n++;
+            if ( maxLines != -1 && n > maxLines )
+            {
+                break;
+            }
+
+            revs.add( c );
+        }
+        return revs;
+    }
+
+    /**
+     * Create a walk over the commits between two revisions, ready to be iterated.
+     *
+     * @param repo     the repository to work on
+     * @param sortings sorting
+     * @param fromRev  start revision
+     * @param toRev    if null, falls back to head
+     * @param fromDate from which date on
+     * @param toDate   until which date
+     * @return the walk, to be released by the caller
+     * @throws IOException
+     * @throws MissingObjectException
+     * @throws IncorrectObjectTypeException
+     * @since 1.9.5
+     */
+    public static RevWalk createRevWalk( Repository repo, RevSort[] sortings, String fromRev, String toRev,
+                                         final Date fromDate, final Date toDate )
+        throws IOException, MissingObjectException, IncorrectObjectTypeException
+    {
         RevWalk walk = new RevWalk( repo );
 
         ObjectId fromRevId = fromRev != null ? repo.resolve( fromRev ) : null;
@@ -413,18 +463,7 @@ public RevFilter clone()
             walk.markStart( real );
         }
 
-        int n = 0;
-        for ( final RevCommit c : walk )
-        {
-            n++;
-            if ( maxLines != -1 && n > maxLines )
-            {
-                break;
-            }
-
-            revs.add( c );
-        }
-        return revs;
+        return walk;
     }
 
 }
@@ -22,16 +22,20 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
-import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameHandler;
+import org.apache.maven.scm.command.blame.BlameLines;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.blame.BlameResult;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -53,30 +57,92 @@ public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSe
         File basedir = workingDirectory.getBasedir();
         try
         {
-            git = Git.open( basedir );
-            BlameResult blameResult = git.blame().setFilePath( filename ).call();
+            git = JGitUtils.openRepo( basedir );
+            return blame( git, filename );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "JGit blame failure!", e );
+        }
+        finally
+        {
+            JGitUtils.closeRepo( git );
+        }
+    }
 
-            List<BlameLine> lines = new ArrayList<BlameLine>();
+    /**
+     * Opens the repository once for all the files, so that the blames share its object database and caches.
+     */
+    @Override
+    protected BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
+                                                  List<String> filenames, int threads, BlameHandler handler )
+        throws ScmException
+    {
+        final Git git;
+        try
+        {
+            git = JGitUtils.openRepo( workingDirectory.getBasedir() );
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "JGit blame failure!", e );
+        }
 
-            int i = 0;
-            while ( ( i = blameResult.computeNext() ) != -1 )
+        try
+        {
+            // scan the packs before the blames share the repository, the lazy first scan isn't safe to race
+            ObjectId head = git.getRepository().resolve( Constants.HEAD );
+            if ( head != null )
             {
-                lines.add( new BlameLine( blameResult.getSourceAuthor( i ).getWhen(),
-                                          blameResult.getSourceCommit( i ).getName(),
-                                          blameResult.getSourceAuthor( i ).getName(),
-                                          blameResult.getSourceCommitter( i ).getName() ) );
+                git.getRepository().open( head ).getType();
             }
-
-            return new BlameScmResult( "JGit blame", lines );
         }
-        catch ( Exception e )
+        catch ( IOException e )
         {
+            JGitUtils.closeRepo( git );
             throw new ScmException( "JGit blame failure!", e );
         }
+
+        try
+        {
+            return blame( filenames, threads, handler, new FileBlame()
+            {
+                public BlameScmResult blame( String filename )
+                    throws ScmException
+                {
+                    try
+                    {
+                        return JGitBlameCommand.blame( git, filename );
+                    }
+                    catch ( Exception e )
+                    {
+                        throw new ScmException( "JGit blame failure!", e );
+                    }
+                }
+            } );
+        }
         finally
         {
             JGitUtils.closeRepo( git );
         }
     }
 
+    private static BlameScmResult blame( Git git, String filename )
+        throws GitAPIException, IOException
+    {
+        BlameResult blameResult = git.blame().setFilePath( filename.replace( File.separatorChar, '/' ) ).call();
+
+        BlameLines lines = new BlameLines();
+
+        // the command has already computed the whole result, computeNext() would find nothing left
+        int size = blameResult.getResultContents().size();
+        for ( int i = 0; i < size; i++ )
+        {
+            lines.add( blameResult.getSourceAuthor( i ).getWhen(), blameResult.getSourceCommit( i ).getName(),
+                       blameResult.getSourceAuthor( i ).getName(), blameResult.getSourceCommitter( i ).getName() );
+        }
+
+        return new BlameScmResult( "JGit blame", lines );
+    }
+
 }
@@ -77,7 +77,7 @@ protected ScmResult executeBranchCommand( ScmProviderRepository repo, ScmFileSet
         Git git = null;
         try
         {
-            git = Git.open( fileSet.getBasedir() );
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
             Ref branchResult = git.branchCreate().setName( branch ).call();
             getLogger().info( "created [" + branchResult.getName() + "]" );
 
@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
@@ -27,19 +28,34 @@
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffEntry.ChangeType;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.RawTextComparator;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -52,6 +68,10 @@
     extends AbstractChangeLogCommand
     implements GitCommand
 {
+    /**
+     * The system property disabling the rename detection when set to <code>false</code>.
+     */
+    public static final String DETECT_RENAMES_PROPERTY = "maven.scm.jgit.changelog.detect_renames";
 
     /**
      * {@inheritDoc}
@@ -84,30 +104,16 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
         Git git = null;
         try
         {
-            git = Git.open( fileSet.getBasedir() );
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
 
             String startRev = startVersion != null ? startVersion.getName() : null;
             String endRev = endVersion != null ? endVersion.getName() : null;
 
-            List<ChangeEntry> gitChanges =
-                this.whatchanged( git.getRepository(), null, startRev, endRev, startDate, endDate, -1 );
-
-            List<ChangeSet> modifications = new ArrayList<ChangeSet>( gitChanges.size() );
-
-            for ( ChangeEntry change : gitChanges )
-            {
-                ChangeSet scmChange = new ChangeSet();
-
-                scmChange.setAuthor( change.getAuthorName() );
-                scmChange.setComment( change.getBody() );
-                scmChange.setDate( change.getAuthorDate() );
-                scmChange.setRevision( change.getCommitHash() );
-                // X TODO scmChange.setFiles( change.get )
+            ChangeSetCollector modifications = new ChangeSetCollector( getChangeSetHandler() );
 
-                modifications.add( scmChange );
-            }
+            walkChangeSets( git.getRepository(), fileSet, startRev, endRev, startDate, endDate, modifications );
 
-            ChangeLogSet changeLogSet = new ChangeLogSet( modifications, startDate, endDate );
+            ChangeLogSet changeLogSet = new ChangeLogSet( modifications.getChangeSets(), startDate, endDate );
             changeLogSet.setStartVersion( startVersion );
             changeLogSet.setEndVersion( endVersion );
 
@@ -123,6 +129,143 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
         }
     }
 
+    /**
+     * Walks the commits between the revisions and dates, newest first, and hands a {@link ChangeSet} for each of
+     * them to the collector. A single {@link RevWalk} and {@link DiffFormatter} are used for the whole history.
+     * <p/>
+     * When the file set lists files, only the commits changing them are reported, with only those files. The files of
+     * a commit are diffed against its first parent, merges have no files like with <code>git whatchanged</code>.
+     * Renames are detected unless the system property {@link #DETECT_RENAMES_PROPERTY} is <code>false</code>.
+     *
+     * @since 1.9.5
+     */
+    protected void walkChangeSets( Repository repository, ScmFileSet fileSet, String fromRev, String toRev,
+                                   Date fromDate, Date toDate, ChangeSetCollector collector )
+        throws IOException
+    {
+        RevWalk walk = JGitUtils.createRevWalk( repository, null, fromRev, toRev, fromDate, toDate );
+
+        DiffFormatter diffFormatter = new DiffFormatter( DisabledOutputStream.INSTANCE );
+
+        try
+        {
+            diffFormatter.setRepository( repository );
+            diffFormatter.setDiffComparator( RawTextComparator.DEFAULT );
+            diffFormatter.setDetectRenames( isDetectRenames() );
+
+            TreeFilter pathFilter = createPathFilter( repository, fileSet );
+            if ( pathFilter != null )
+            {
+                walk.setTreeFilter( AndTreeFilter.create( pathFilter, TreeFilter.ANY_DIFF ) );
+                diffFormatter.setPathFilter( pathFilter );
+            }
+
+            for ( RevCommit commit : walk )
+            {
+                ChangeSet changeSet = new ChangeSet();
+
+                PersonIdent author = commit.getAuthorIdent();
+                changeSet.setAuthor( author.getName() );
+                changeSet.setComment( commit.getFullMessage() );
+                changeSet.setDate( author.getWhen() );
+                changeSet.setRevision( commit.getName() );
+
+                List<DiffEntry> diffs;
+                if ( commit.getParentCount() == 1 )
+                {
+                    RevTree parentTree = walk.parseCommit( commit.getParent( 0 ) ).getTree();
+                    diffs = diffFormatter.scan( parentTree, commit.getTree() );
+                }
+                else if ( commit.getParentCount() == 0 )
+                {
+                    diffs = diffFormatter.scan( new EmptyTreeIterator(),
+                                                new CanonicalTreeParser( null, walk.getObjectReader(),
+                                                                         commit.getTree() ) );
+                }
+                else
+                {
+                    diffs = Collections.emptyList();
+                }
+
+                for ( DiffEntry diff : diffs )
+                {
+                    changeSet.addFile( toChangeFile( diff, changeSet.getRevision() ) );
+                }
+
+                collector.add( changeSet );
+
+                if ( collector.isStopped() )
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            diffFormatter.release();
+            walk.release();
+        }
+    }
+
+    private static ChangeFile toChangeFile( DiffEntry diff, String revision )
+    {
+        ChangeType changeType = diff.getChangeType();
+
+        ChangeFile changeFile =
+            new ChangeFile( changeType == ChangeType.DELETE ? diff.getOldPath() : diff.getNewPath(), revision );
+        changeFile.setAction( JGitUtils.getScmFileStatus( changeType ) );
+
+        if ( changeType == ChangeType.RENAME || changeType == ChangeType.COPY )
+        {
+            changeFile.setOriginalName( diff.getOldPath() );
+        }
+
+        return changeFile;
+    }
+
+    /**
+     * @return the filter of the files of the file set, relative to the work tree, <code>null</code> if there is no
+     *         file
+     */
+    private static TreeFilter createPathFilter( Repository repository, ScmFileSet fileSet )
+        throws IOException
+    {
+        List<File> files = fileSet.getFileList();
+
+        if ( files == null || files.isEmpty() )
+        {
+            return null;
+        }
+
+        String workTree = repository.getWorkTree().getCanonicalPath();
+
+        List<String> paths = new ArrayList<String>( files.size() );
+        for ( File file : files )
+        {
+            File absolute = file.isAbsolute() ? file : new File( fileSet.getBasedir(), file.getPath() );
+
+            String path = absolute.getCanonicalPath();
+
+            if ( path.equals( workTree ) )
+            {
+                // the whole work tree
+                return null;
+            }
+
+            if ( path.startsWith( workTree + File.separator ) )
+            {
+                paths.add( path.substring( workTree.length() + 1 ).replace( File.separatorChar, '/' ) );
+            }
+        }
+
+        return paths.isEmpty() ? null : PathFilterGroup.createFromStrings( paths );
+    }
+
+    private static boolean isDetectRenames()
+    {
+        return !"false".equals( System.getProperty( DETECT_RENAMES_PROPERTY ) );
+    }
+
     public List<ChangeEntry> whatchanged( Repository repo, RevSort[] sortings, String fromRev, String toRev,
                                           Date fromDate, Date toDate, int maxLines )
         throws MissingObjectException, IncorrectObjectTypeException, IOException
@@ -85,7 +85,7 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
         try
         {
             File basedir = fileSet.getBasedir();
-            git = Git.open( basedir );
+            git = JGitUtils.openRepo( basedir );
 
             boolean doCommit = false;
 
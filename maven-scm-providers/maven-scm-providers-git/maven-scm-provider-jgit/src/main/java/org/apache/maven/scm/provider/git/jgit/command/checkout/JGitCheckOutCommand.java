@@ -19,10 +19,13 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkout.AbstractCheckOutCommand;
@@ -30,23 +33,35 @@
 import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutOptions;
+import org.apache.maven.scm.provider.git.command.checkout.GitMirrorCache;
+import org.apache.maven.scm.provider.git.jgit.command.JGitRepositoryCache;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.apache.maven.scm.provider.git.jgit.command.branch.JGitBranchCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remoteinfo.JGitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ProgressMonitor;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.WindowCacheConfig;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteConfig;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.treewalk.TreeWalk;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -59,6 +74,19 @@
     extends AbstractCheckOutCommand
     implements GitCommand
 {
+    /**
+     * Reads the depth, the filter and the sparse directories of the checkout besides the version. JGit supports
+     * none of them: a shallow or partial checkout of a branch only fetches that branch, and a sparse checkout
+     * checks out the whole tree.
+     * {@inheritDoc}
+     */
+    public ScmResult executeCommand( ScmProviderRepository repo, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        return checkOut( repo, fileSet, parameters.getScmVersion( CommandParameter.SCM_VERSION, null ),
+                         GitCheckOutOptions.getOptions( parameters, fileSet ) );
+    }
+
     /**
      * For git, the given repository is a remote one. We have to clone it first if the working directory does not
      * contain a git repo yet, otherwise we have to git-pull it.
@@ -68,6 +96,13 @@
     protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                         ScmVersion version, boolean recursive )
         throws ScmException
+    {
+        return checkOut( repo, fileSet, version, new GitCheckOutOptions( 0, null, null ) );
+    }
+
+    private CheckOutScmResult checkOut( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version,
+                                        GitCheckOutOptions options )
+        throws ScmException
     {
         GitScmProviderRepository repository = (GitScmProviderRepository) repo;
 
@@ -92,6 +127,14 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
 
             getLogger().debug( "try checkout of branch: " + branch );
 
+            if ( options.getSparseDirectories() != null )
+            {
+                getLogger().warn( "JGit doesn't support sparse checkouts, checking out the whole tree." );
+            }
+
+            // a pull would fetch all the branches a single branch clone left out, and a fresh clone is up to date
+            boolean fresh = false;
+
             if ( !fileSet.getBasedir().exists() || !( new File( fileSet.getBasedir(), ".git" ).exists() ) )
             {
                 if ( fileSet.getBasedir().exists() )
@@ -100,18 +143,47 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                     fileSet.getBasedir().delete();
                 }
 
+                // a repository previously cached at this location is gone
+                JGitRepositoryCache.getInstance().invalidate( fileSet.getBasedir() );
+
                 // FIXME only if windauze
                 WindowCacheConfig cfg = new WindowCacheConfig();
                 cfg.setPackedGitMMAP( false );
                 cfg.install();
 
+                boolean singleBranch = false;
+                if ( options.getDepth() > 0 || options.getFilter() != null )
+                {
+                    getLogger().warn( "JGit doesn't support shallow nor partial clones, cloning the whole history." );
+
+                    // fetch the history of the branch only, at least
+                    singleBranch = !( version instanceof ScmTag );
+                }
+
                 // no git repo seems to exist, let's clone the original repo
                 CredentialsProvider credentials = JGitUtils.getCredentials( (GitScmProviderRepository) repo );
                 getLogger().info( "cloning [" + branch + "] to " + fileSet.getBasedir() );
-                CloneCommand command = Git.cloneRepository().setURI( repository.getFetchUrl() );
-                command.setCredentialsProvider( credentials ).setBranch( branch ).setDirectory( fileSet.getBasedir() );
-                command.setProgressMonitor( monitor );
-                git = command.call();
+
+                File mirror = updateMirror( repository, credentials, monitor );
+                if ( mirror != null )
+                {
+                    git = cloneWithMirror( repository, fileSet.getBasedir(), mirror, version, branch, singleBranch,
+                                           credentials, monitor );
+                    fresh = true;
+                }
+                else
+                {
+                    CloneCommand command = Git.cloneRepository().setURI( repository.getFetchUrl() );
+                    command.setCredentialsProvider( credentials ).setBranch( branch );
+                    command.setDirectory( fileSet.getBasedir() ).setProgressMonitor( monitor );
+                    if ( singleBranch )
+                    {
+                        fresh = true;
+                        command.setCloneAllBranches( false );
+                        command.setBranchesToClone( Collections.singleton( Constants.R_HEADS + branch ) );
+                    }
+                    git = command.call();
+                }
             }
 
             JGitRemoteInfoCommand remoteInfoCommand = new JGitRemoteInfoCommand();
@@ -120,10 +192,10 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
 
             if ( git == null )
             {
-                git = Git.open( fileSet.getBasedir() );
+                git = JGitUtils.openRepo( fileSet.getBasedir() );
             }
-            
-            if ( fileSet.getBasedir().exists() && new File( fileSet.getBasedir(), ".git" ).exists()
+
+            if ( !fresh && fileSet.getBasedir().exists() && new File( fileSet.getBasedir(), ".git" ).exists()
                 && result.getBranches().size() > 0 )
             {
                 // git repo exists, so we must git-pull the changes
@@ -194,4 +266,102 @@ else if ( localBranchNames.contains( branch ) )
         }
     }
 
+    /**
+     * Creates or fetches the mirror of the repository in the {@link GitMirrorCache}, if enabled.
+     *
+     * @return the mirror to borrow the objects from, <code>null</code> if none
+     */
+    private File updateMirror( GitScmProviderRepository repository, CredentialsProvider credentials,
+                               ProgressMonitor monitor )
+    {
+        GitMirrorCache cache = GitMirrorCache.getInstance();
+        if ( cache == null )
+        {
+            return null;
+        }
+
+        File mirror = cache.getMirror( repository.getFetchUrl() );
+        try
+        {
+            GitMirrorCache.MirrorLock lock = cache.lock( mirror );
+            try
+            {
+                boolean exists = GitMirrorCache.isMirror( mirror );
+                Git git = exists ? Git.open( mirror ) : Git.init().setBare( true ).setDirectory( mirror ).call();
+                try
+                {
+                    if ( !exists )
+                    {
+                        // the clones reference the objects of the mirror, which must never be pruned
+                        StoredConfig config = git.getRepository().getConfig();
+                        RemoteConfig remote = new RemoteConfig( config, Constants.DEFAULT_REMOTE_NAME );
+                        remote.addURI( new URIish( repository.getFetchUrl() ) );
+                        remote.addFetchRefSpec( new RefSpec( "+refs/*:refs/*" ) );
+                        remote.update( config );
+                        config.setInt( "gc", null, "auto", 0 );
+                        config.setBoolean( "maintenance", null, "auto", false );
+                        config.save();
+                    }
+
+                    getLogger().info( ( exists ? "fetching" : "creating" ) + " the mirror " + mirror );
+                    git.fetch().setRemote( Constants.DEFAULT_REMOTE_NAME ).setRemoveDeletedRefs( true )
+                        .setCredentialsProvider( credentials ).setProgressMonitor( monitor ).call();
+                }
+                finally
+                {
+                    git.getRepository().close();
+                }
+                return mirror;
+            }
+            catch ( Exception e )
+            {
+                getLogger().warn( "The git mirror " + mirror + " couldn't be updated: " + e.getMessage() );
+                return GitMirrorCache.isMirror( mirror ) ? mirror : null;
+            }
+            finally
+            {
+                lock.release();
+            }
+        }
+        catch ( IOException e )
+        {
+            getLogger().warn( "Can't lock the git mirror " + mirror + ", cloning without it: " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * JGit can't clone with a reference repository, so the clone is set up by hand: a new repository whose object
+     * database is chained to the one of the mirror through its alternates, then fetched from the remote, which only
+     * transfers the objects the mirror lacks.
+     */
+    private Git cloneWithMirror( GitScmProviderRepository repository, File basedir, File mirror, ScmVersion version,
+                                 String branch, boolean singleBranch, CredentialsProvider credentials,
+                                 ProgressMonitor monitor )
+        throws Exception
+    {
+        Git.init().setDirectory( basedir ).call().getRepository().close();
+
+        File alternates = new File( basedir, ".git/objects/info/alternates" );
+        alternates.getParentFile().mkdirs();
+        FileUtils.fileWrite( alternates, "UTF-8", new File( mirror, "objects" ).getAbsolutePath() + "\n" );
+
+        Git git = JGitUtils.openRepo( basedir );
+
+        StoredConfig config = git.getRepository().getConfig();
+        RemoteConfig remote = new RemoteConfig( config, Constants.DEFAULT_REMOTE_NAME );
+        remote.addURI( new URIish( repository.getFetchUrl() ) );
+        String heads = singleBranch ? Constants.R_HEADS + branch : Constants.R_HEADS + "*";
+        remote.addFetchRefSpec( new RefSpec( "+" + heads + ":" + Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME
+                                                 + heads.substring( Constants.R_HEADS.length() - 1 ) ) );
+        remote.update( config );
+        config.save();
+
+        FetchResult result = git.fetch().setRemote( Constants.DEFAULT_REMOTE_NAME )
+            .setTagOpt( version instanceof ScmTag ? TagOpt.FETCH_TAGS : TagOpt.AUTO_FOLLOW )
+            .setCredentialsProvider( credentials ).setProgressMonitor( monitor ).call();
+        getLogger().debug( "fetched " + result.getTrackingRefUpdates().size() + " refs with the objects of " + mirror );
+
+        return git;
+    }
 }
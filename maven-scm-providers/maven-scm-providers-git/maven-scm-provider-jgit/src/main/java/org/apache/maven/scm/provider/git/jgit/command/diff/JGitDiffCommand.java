@@ -24,6 +24,7 @@
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
 import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.command.diff.UnifiedDiffConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.command.diff.GitDiffConsumer;
@@ -60,10 +61,31 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repository, Sc
         Git git = null;
         try
         {
-            git = Git.open( fileSet.getBasedir() );
-            DiffScmResult diff = callDiff( git, startRevision, endRevision );
-            git.getRepository().close();
-            return diff;
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
+            return callDiff( git, startRevision, endRevision );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "JGit diff failure!", e );
+        }
+        finally
+        {
+            JGitUtils.closeRepo( git );
+        }
+    }
+
+    @Override
+    protected DiffScmResult executeDiffCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                ScmVersion startRevision, ScmVersion endRevision,
+                                                UnifiedDiffConsumer consumer )
+        throws ScmException
+    {
+        Git git = null;
+        try
+        {
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
+            writeDiff( git, startRevision, endRevision, consumer.getOutputStream() );
+            return new DiffScmResult( "JGit diff", consumer.getChangedFiles(), null, null );
         }
         catch ( Exception e )
         {
@@ -78,6 +100,30 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repository, Sc
     public DiffScmResult callDiff( Git git, ScmVersion startRevision, ScmVersion endRevision )
         throws IOException, GitAPIException, ScmException
     {
+        OutputStream out = new ByteArrayOutputStream();
+
+        writeDiff( git, startRevision, endRevision, out );
+
+        GitDiffConsumer consumer = new GitDiffConsumer( getLogger(), null );
+        String fullDiff = out.toString();
+        out.close();
+
+        String[] lines = fullDiff.split( "\n" );
+        for ( String aLine : lines )
+        {
+            consumer.consumeLine( aLine );
+        }
+
+        return new DiffScmResult( "JGit diff", consumer.getChangedFiles(), consumer.getDifferences(),
+                                  consumer.getPatch() );
+    }
+
+    /**
+     * Writes the diff of the working tree to the index, then of the index to the head.
+     */
+    private void writeDiff( Git git, ScmVersion startRevision, ScmVersion endRevision, OutputStream out )
+        throws IOException, GitAPIException
+    {
 
         AbstractTreeIterator oldTree = null;
         if ( startRevision != null && StringUtils.isNotEmpty( startRevision.getName().trim() ) )
@@ -93,25 +139,10 @@ public DiffScmResult callDiff( Git git, ScmVersion startRevision, ScmVersion end
             newTree = getTreeIterator( git.getRepository(), endRev );
         }
 
-        OutputStream out = new ByteArrayOutputStream();
-
         git.diff().setOutputStream( out ).setOldTree( oldTree ).setNewTree( newTree ).setCached( false ).call();
         git.diff().setOutputStream( out ).setOldTree( oldTree ).setNewTree( newTree ).setCached( true ).call();
 
         out.flush();
-
-        GitDiffConsumer consumer = new GitDiffConsumer( getLogger(), null );
-        String fullDiff = out.toString();
-        out.close();
-
-        String[] lines = fullDiff.split( "\n" );
-        for ( String aLine : lines )
-        {
-            consumer.consumeLine( aLine );
-        }
-
-        return new DiffScmResult( "JGit diff", consumer.getChangedFiles(), consumer.getDifferences(),
-                                  consumer.getPatch() );
     }
 
     private AbstractTreeIterator getTreeIterator( Repository repo, String name )
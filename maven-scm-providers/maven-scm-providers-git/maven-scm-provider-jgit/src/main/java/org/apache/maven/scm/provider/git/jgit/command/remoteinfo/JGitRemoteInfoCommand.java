@@ -57,7 +57,7 @@ public RemoteInfoScmResult executeRemoteInfoCommand( ScmProviderRepository repos
         Git git = null;
         try
         {
-            git = Git.open( fileSet.getBasedir() );
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
             CredentialsProvider credentials = JGitUtils.getCredentials( repo );
 
             LsRemoteCommand lsCommand =
@@ -81,7 +81,7 @@ public ScmResult executeTagCommand( ScmProviderRepository repo, ScmFileSet fileS
         Git git = null;
         try
         {
-            git = Git.open( fileSet.getBasedir() );
+            git = JGitUtils.openRepo( fileSet.getBasedir() );
 
             // tag the revision
             String tagMessage = scmTagParameters.getMessage();
@@ -0,0 +1,106 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.File;
+
+/**
+ * @since 1.9.5
+ */
+public class JGitRepositoryCacheTest
+    extends PlexusTestCase
+{
+    private File workingDirectory;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        workingDirectory = getTestFile( "target/repository-cache-test" );
+        FileUtils.deleteDirectory( workingDirectory );
+        Git.init().setDirectory( workingDirectory ).call().getRepository().close();
+    }
+
+    public void testReusesRepository()
+        throws Exception
+    {
+        JGitRepositoryCache cache = new JGitRepositoryCache( 4, 60000 );
+
+        Repository first = cache.acquire( workingDirectory );
+        first.close();
+        Repository second = cache.acquire( new File( workingDirectory, ".git" ) );
+        second.close();
+
+        assertSame( first, second );
+        assertEquals( 1, cache.size() );
+
+        cache.clear();
+        assertEquals( 0, cache.size() );
+    }
+
+    public void testReopensWhenRefsChange()
+        throws Exception
+    {
+        JGitRepositoryCache cache = new JGitRepositoryCache( 4, 60000 );
+
+        Repository first = cache.acquire( workingDirectory );
+        first.close();
+
+        File head = new File( workingDirectory, ".git/HEAD" );
+        head.setLastModified( head.lastModified() - 10000 );
+
+        Repository second = cache.acquire( workingDirectory );
+        second.close();
+
+        assertNotSame( first, second );
+        cache.clear();
+    }
+
+    public void testIdleEntriesAreEvicted()
+        throws Exception
+    {
+        JGitRepositoryCache cache = new JGitRepositoryCache( 4, -1 );
+
+        Repository first = cache.acquire( workingDirectory );
+        first.close();
+        Repository second = cache.acquire( workingDirectory );
+        second.close();
+
+        assertNotSame( first, second );
+        cache.clear();
+    }
+
+    public void testDisabledCache()
+        throws Exception
+    {
+        JGitRepositoryCache cache = new JGitRepositoryCache( 0, 60000 );
+
+        Repository repository = cache.acquire( workingDirectory );
+        repository.close();
+
+        assertEquals( 0, cache.size() );
+    }
+}
@@ -0,0 +1,144 @@
+package org.apache.maven.scm.provider.git.jgit.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.Git;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * @since 1.9.5
+ */
+public class JGitChangeLogCommandTest
+    extends PlexusTestCase
+{
+    private File workingDirectory;
+
+    private Git git;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        workingDirectory = getTestFile( "target/jgit-changelog-test" );
+        FileUtils.deleteDirectory( workingDirectory );
+        git = Git.init().setDirectory( workingDirectory ).call();
+
+        FileUtils.fileWrite( new File( workingDirectory, "a.txt" ), "a" );
+        new File( workingDirectory, "dir" ).mkdir();
+        FileUtils.fileWrite( new File( workingDirectory, "dir/b.txt" ), "some content long enough to detect a rename" );
+        commit( "first" );
+
+        FileUtils.fileWrite( new File( workingDirectory, "a.txt" ), "a2" );
+        commit( "second" );
+
+        new File( workingDirectory, "dir/b.txt" ).renameTo( new File( workingDirectory, "dir/c.txt" ) );
+        git.rm().addFilepattern( "dir/b.txt" ).call();
+        commit( "third" );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        git.getRepository().close();
+        System.clearProperty( JGitChangeLogCommand.DETECT_RENAMES_PROPERTY );
+
+        super.tearDown();
+    }
+
+    public void testChangeSetsWithFiles()
+        throws Exception
+    {
+        List<ChangeSet> changeSets = walk( new ScmFileSet( workingDirectory ) );
+
+        assertEquals( 3, changeSets.size() );
+
+        ChangeSet third = changeSets.get( 0 );
+        assertEquals( "third\n", third.getComment() );
+        assertEquals( "tester", third.getAuthor() );
+        assertEquals( 1, third.getFiles().size() );
+        ChangeFile renamed = third.getFiles().get( 0 );
+        assertEquals( "dir/c.txt", renamed.getName() );
+        assertEquals( "dir/b.txt", renamed.getOriginalName() );
+        assertEquals( ScmFileStatus.RENAMED, renamed.getAction() );
+        assertEquals( third.getRevision(), renamed.getRevision() );
+
+        ChangeSet second = changeSets.get( 1 );
+        assertEquals( 1, second.getFiles().size() );
+        assertEquals( "a.txt", second.getFiles().get( 0 ).getName() );
+        assertEquals( ScmFileStatus.MODIFIED, second.getFiles().get( 0 ).getAction() );
+
+        ChangeSet first = changeSets.get( 2 );
+        assertEquals( 2, first.getFiles().size() );
+        assertEquals( ScmFileStatus.ADDED, first.getFiles().get( 0 ).getAction() );
+    }
+
+    public void testRenameDetectionDisabled()
+        throws Exception
+    {
+        System.setProperty( JGitChangeLogCommand.DETECT_RENAMES_PROPERTY, "false" );
+
+        List<ChangeSet> changeSets = walk( new ScmFileSet( workingDirectory ) );
+
+        List<ChangeFile> files = changeSets.get( 0 ).getFiles();
+        assertEquals( 2, files.size() );
+        assertEquals( ScmFileStatus.DELETED, files.get( 0 ).getAction() );
+        assertEquals( "dir/b.txt", files.get( 0 ).getName() );
+        assertEquals( ScmFileStatus.ADDED, files.get( 1 ).getAction() );
+    }
+
+    public void testPathFilter()
+        throws Exception
+    {
+        List<ChangeSet> changeSets = walk( new ScmFileSet( workingDirectory, new File( "a.txt" ) ) );
+
+        assertEquals( 2, changeSets.size() );
+        assertEquals( "second\n", changeSets.get( 0 ).getComment() );
+        assertEquals( 1, changeSets.get( 1 ).getFiles().size() );
+        assertEquals( "a.txt", changeSets.get( 1 ).getFiles().get( 0 ).getName() );
+    }
+
+    private List<ChangeSet> walk( ScmFileSet fileSet )
+        throws Exception
+    {
+        ChangeSetCollector collector = new ChangeSetCollector();
+
+        new JGitChangeLogCommand().walkChangeSets( git.getRepository(), fileSet, null, null, null, null, collector );
+
+        return collector.getChangeSets();
+    }
+
+    private void commit( String message )
+        throws Exception
+    {
+        git.add().addFilepattern( "." ).call();
+        git.commit().setMessage( message + "\n" ).setAuthor( "tester", "tester@example.com" )
+            .setCommitter( "tester", "tester@example.com" ).call();
+    }
+}
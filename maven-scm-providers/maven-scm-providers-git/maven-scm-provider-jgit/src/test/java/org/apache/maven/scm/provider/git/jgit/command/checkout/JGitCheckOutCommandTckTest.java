@@ -23,6 +23,9 @@
 import java.io.File;
 import java.io.IOException;
 
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutCommandTckTest;
 import org.eclipse.jgit.util.FileUtils;
@@ -42,6 +45,28 @@ public String getScmUrl()
         return GitScmTestUtils.getScmUrl( getRepositoryRoot(), "jgit" );
     }
 
+    public void testShallowSparseCheckOut()
+        throws Exception
+    {
+        deleteDirectory( getWorkingCopy() );
+        // the includes of a file set need an existing directory
+        getWorkingCopy().mkdirs();
+
+        CheckOutScmRequest request =
+            new CheckOutScmRequest( getScmRepository(), new ScmFileSet( getWorkingCopy(), "src/main/java/**" ) );
+        request.setDepth( 1 );
+        request.setSparse( true );
+
+        CheckOutScmResult result = getScmManager().checkOut( request );
+
+        assertResultIsSuccess( result );
+
+        // JGit clones the history of the branch and checks out the whole tree
+        assertEquals( "Expected 4 files in " + result.getCheckedOutFiles(), 4, result.getCheckedOutFiles().size() );
+
+        assertTrue( new File( getWorkingCopy(), "src/test/java/Test.java" ).exists() );
+    }
+
     @Override
     protected void deleteDirectory( File directory )
         throws IOException
@@ -22,12 +22,15 @@
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.List;
 
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.util.SvnUtil;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.apache.maven.scm.util.ScmProcessRunner;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -148,7 +151,7 @@ public static int execute( Commandline cl, StreamConsumer consumer, CommandLineU
         // SCM-482: force English resource bundle
         cl.addEnvironment( "LC_MESSAGES", "en" );
 
-        int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+        int exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
 
         exitCode = checkIfCleanUpIsNeeded( exitCode, cl, consumer, stderr, logger );
 
@@ -159,19 +162,69 @@ public static int execute( Commandline cl, CommandLineUtils.StringStreamConsumer
                                CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
         throws CommandLineException
     {
-        int exitCode = CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+        int exitCode = ScmProcessRunner.executeCommandLine( cl, stdout, stderr );
 
         exitCode = checkIfCleanUpIsNeeded( exitCode, cl, stdout, stderr, logger );
 
         return exitCode;
     }
 
+    /**
+     * Executes a command whose standard output is read as a stream, like the output of the <code>--xml</code>
+     * options.
+     * <p/>
+     * A failed svn command leaves an empty or truncated output, which the consumer can't parse: the exit code is
+     * returned then, the standard error telling what went wrong. The failure of the consumer is only thrown when svn
+     * succeeded. When the command is run again after a <code>svn cleanup</code>, the consumer reads the new output
+     * from the start, as told by {@link InputStreamConsumer#consume(InputStream)}.
+     *
+     * @since 1.9.5
+     */
+    public static int execute( Commandline cl, InputStreamConsumer consumer,
+                               CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
+        throws CommandLineException
+    {
+        // SCM-482: force English resource bundle
+        cl.addEnvironment( "LC_MESSAGES", "en" );
+
+        GuardedConsumer guarded = new GuardedConsumer( consumer );
+
+        int exitCode = ScmProcessRunner.executeCommandLineToStream( cl, null, guarded, stderr, 0 );
+
+        if ( isCleanUpNeeded( exitCode, stderr ) )
+        {
+            if ( logger.isInfoEnabled() )
+            {
+                logger.info( "Svn command failed due to some locks in working copy. We try to run a 'svn cleanup'." );
+            }
+
+            if ( executeCleanUp( cl.getWorkingDirectory(), null, stderr, logger ) == 0 )
+            {
+                guarded.failure = null;
+                exitCode = ScmProcessRunner.executeCommandLineToStream( cl, null, guarded, stderr, 0 );
+            }
+        }
+
+        if ( guarded.failure != null )
+        {
+            if ( exitCode == 0 )
+            {
+                throw new CommandLineException( "Failure processing stdout.", guarded.failure );
+            }
+            if ( logger.isDebugEnabled() )
+            {
+                logger.debug( "Output of the failed svn command not parsed: " + guarded.failure.getMessage() );
+            }
+        }
+
+        return exitCode;
+    }
+
     private static int checkIfCleanUpIsNeeded( int exitCode, Commandline cl, StreamConsumer consumer,
                                                CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
         throws CommandLineException
     {
-        if ( exitCode != 0 && stderr.getOutput() != null && stderr.getOutput().indexOf( "'svn cleanup'" ) > 0
-            && stderr.getOutput().indexOf( "'svn help cleanup'" ) > 0 )
+        if ( isCleanUpNeeded( exitCode, stderr ) )
         {
             if ( logger.isInfoEnabled() )
             {
@@ -180,12 +233,50 @@ private static int checkIfCleanUpIsNeeded( int exitCode, Commandline cl, StreamC
 
             if ( executeCleanUp( cl.getWorkingDirectory(), consumer, stderr, logger ) == 0 )
             {
-                exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+                exitCode = ScmProcessRunner.executeCommandLine( cl, consumer, stderr );
             }
         }
         return exitCode;
     }
 
+    /**
+     * Keeps the failure of a consumer until the exit code of the process is known.
+     */
+    private static final class GuardedConsumer
+        implements InputStreamConsumer
+    {
+        private final InputStreamConsumer consumer;
+
+        private Exception failure;
+
+        GuardedConsumer( InputStreamConsumer consumer )
+        {
+            this.consumer = consumer;
+        }
+
+        public void consume( InputStream output )
+        {
+            try
+            {
+                consumer.consume( output );
+            }
+            catch ( IOException e )
+            {
+                failure = e;
+            }
+            catch ( RuntimeException e )
+            {
+                failure = e;
+            }
+        }
+    }
+
+    private static boolean isCleanUpNeeded( int exitCode, CommandLineUtils.StringStreamConsumer stderr )
+    {
+        return exitCode != 0 && stderr.getOutput() != null && stderr.getOutput().indexOf( "'svn cleanup'" ) > 0
+            && stderr.getOutput().indexOf( "'svn help cleanup'" ) > 0;
+    }
+
     public static int executeCleanUp( File workinDirectory, StreamConsumer stdout, StreamConsumer stderr )
         throws CommandLineException
     {
@@ -211,7 +302,7 @@ public static int executeCleanUp( File workinDirectory, StreamConsumer stdout, S
             }
         }
 
-        return CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+        return ScmProcessRunner.executeCommandLine( cl, stdout, stderr );
     }
 
     public static String cryptPassword( Commandline cl )
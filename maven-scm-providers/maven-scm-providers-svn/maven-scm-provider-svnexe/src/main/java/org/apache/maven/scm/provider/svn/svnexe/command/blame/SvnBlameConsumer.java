@@ -20,12 +20,12 @@
  */
 
 import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLines;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
@@ -53,7 +53,7 @@
 
     private SimpleDateFormat dateFormat;
 
-    private List<BlameLine> lines = new ArrayList<BlameLine>();
+    private BlameLines lines = new BlameLines();
 
     public SvnBlameConsumer( ScmLogger logger )
     {
@@ -90,7 +90,7 @@ else if ( ( matcher = DATE_PATTERN.matcher( line ) ).find() )
             String date = matcher.group( 1 );
             String time = matcher.group( 2 );
             Date dateTime = parseDateTime( date + " " + time );
-            lines.add( new BlameLine( dateTime, revision, author ) );
+            lines.add( dateTime, revision, author, author );
             if ( getLogger().isDebugEnabled() )
             {
                 getLogger().debug( "Author of line " + lineNumber + ": " + author + " (" + date + ")" );
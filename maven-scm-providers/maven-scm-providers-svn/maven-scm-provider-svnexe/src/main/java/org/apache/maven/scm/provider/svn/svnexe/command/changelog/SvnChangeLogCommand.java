@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -33,6 +34,7 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -41,6 +43,7 @@
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
@@ -52,6 +55,14 @@
     extends AbstractChangeLogCommand
     implements SvnCommand
 {
+    /**
+     * System property enabling <code>svn log --xml</code>, parsed as a stream by {@link SvnChangeLogXmlConsumer},
+     * instead of the text output parsed by {@link SvnChangeLogConsumer}.
+     *
+     * @since 1.9.5
+     */
+    public static final String XML_PROPERTY = "maven.scm.svn.changelog.xml";
+
     private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
 
     /** {@inheritDoc} */
@@ -93,12 +104,12 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
                                                           ScmVersion endVersion, Integer limit )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), branch, startDate,
-                                            endDate, startVersion, endVersion, limit );
+        boolean xml = Boolean.getBoolean( XML_PROPERTY );
 
-        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer( getLogger(), datePattern );
+        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), branch, startDate,
+                                            endDate, startVersion, endVersion, limit, xml );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         if ( getLogger().isInfoEnabled() )
         {
@@ -108,9 +119,24 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
 
         int exitCode;
 
+        List<ChangeSet> modifications;
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            if ( xml )
+            {
+                SvnChangeLogXmlConsumer consumer = new SvnChangeLogXmlConsumer( getLogger(), getChangeSetHandler() );
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                modifications = consumer.getModifications();
+            }
+            else
+            {
+                SvnChangeLogConsumer consumer =
+                    new SvnChangeLogConsumer( getLogger(), datePattern, getChangeSetHandler() );
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                modifications = consumer.getModifications();
+            }
         }
         catch ( CommandLineException ex )
         {
@@ -121,7 +147,7 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
         {
             return new ChangeLogScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
-        ChangeLogSet changeLogSet = new ChangeLogSet( consumer.getModifications(), startDate, endDate );
+        ChangeLogSet changeLogSet = new ChangeLogSet( modifications, startDate, endDate );
         changeLogSet.setStartVersion( startVersion );
         changeLogSet.setEndVersion( endVersion );
 
@@ -143,6 +169,19 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
     public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
                                                  ScmBranch branch, Date startDate, Date endDate,
                                                  ScmVersion startVersion, ScmVersion endVersion, Integer limit )
+    {
+        return createCommandLine( repository, workingDirectory, branch, startDate, endDate, startVersion, endVersion,
+                                  limit, false );
+    }
+
+    /**
+     * @param xml <code>true</code> for the XML output of {@link SvnChangeLogXmlConsumer}
+     * @since 1.9.5
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                 ScmBranch branch, Date startDate, Date endDate,
+                                                 ScmVersion startVersion, ScmVersion endVersion, Integer limit,
+                                                 boolean xml )
     {
         SimpleDateFormat dateFormat = new SimpleDateFormat( DATE_FORMAT );
 
@@ -154,6 +193,11 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
 
         cl.createArg().setValue( "-v" );
 
+        if ( xml )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
         // TODO: May want to add some kind of support for --stop-on-copy and --limit NUM
 
         if ( limit != null && limit > 0 )
@@ -22,11 +22,12 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.svn.SvnChangeSet;
 import org.apache.maven.scm.util.AbstractConsumer;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -87,9 +88,9 @@
     private int status = GET_HEADER;
 
     /**
-     * List of change log entries
+     * Destination of the change log entries
      */
-    private List<ChangeSet> entries = new ArrayList<ChangeSet>();
+    private final ChangeSetCollector entries;
 
     /**
      * The current log entry being processed by the parser
@@ -131,15 +132,26 @@
      * Default constructor.
      */
     public SvnChangeLogConsumer( ScmLogger logger, String userDateFormat )
+    {
+        this( logger, userDateFormat, null );
+    }
+
+    /**
+     * @param handler receives each change set as soon as it is complete, or <code>null</code> to collect them
+     * @since 1.9.5
+     */
+    public SvnChangeLogConsumer( ScmLogger logger, String userDateFormat, ChangeSetHandler handler )
     {
         super( logger );
 
         this.userDateFormat = userDateFormat;
+
+        this.entries = new ChangeSetCollector( handler );
     }
 
     public List<ChangeSet> getModifications()
     {
-        return entries;
+        return entries.getChangeSets();
     }
 
     // ----------------------------------------------------------------------
@@ -155,6 +167,10 @@ public void consumeLine( String line )
         {
             getLogger().debug( line );
         }
+        if ( entries.isStopped() )
+        {
+            return;
+        }
         switch ( status )
         {
             case GET_HEADER:
@@ -282,7 +298,6 @@ else if ( "R".equals( actionStr ) )
             {
                 action = ScmFileStatus.UNKNOWN;
             }
-            System.out.println( actionStr + " : " + name );
             final ChangeFile changeFile = new ChangeFile( name, currentRevision );
             changeFile.setAction( action );
             changeFile.setOriginalName( originalName );
@@ -0,0 +1,191 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetCollector;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.apache.maven.scm.util.DateParser;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Parses the output of <code>svn log -v --xml</code> with a pull parser, as it is written by the process.
+ * <p/>
+ * Each change set is handed to the {@link ChangeSetCollector} as soon as its <code>logentry</code> element ends, so
+ * with a {@link ChangeSetHandler} the memory used doesn't depend on the length of the history. The dates are in
+ * ISO 8601 and decoded by {@link DateParser#parseIso8601(String)}, and the copies come with their original path and
+ * revision in the <code>copyfrom-path</code> and <code>copyfrom-rev</code> attributes, whatever the locale of svn.
+ * The change sets are the same as the ones of {@link SvnChangeLogConsumer}.
+ *
+ * @since 1.9.5
+ */
+public class SvnChangeLogXmlConsumer
+    implements InputStreamConsumer
+{
+    private final ScmLogger logger;
+
+    private final ChangeSetCollector entries;
+
+    /**
+     * The current log entry being processed by the parser
+     */
+    private SvnChangeSet currentChange;
+
+    /**
+     * The current revision of the entry being processed by the parser
+     */
+    private String currentRevision;
+
+    /**
+     * @param handler receives each change set as soon as it is complete, or <code>null</code> to collect them
+     */
+    public SvnChangeLogXmlConsumer( ScmLogger logger, ChangeSetHandler handler )
+    {
+        this.logger = logger;
+        this.entries = new ChangeSetCollector( handler );
+    }
+
+    public List<ChangeSet> getModifications()
+    {
+        return entries.getChangeSets();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consume( InputStream output )
+        throws IOException
+    {
+        entries.restart();
+        currentChange = null;
+        currentRevision = null;
+
+        try
+        {
+            XmlPullParser parser = new MXParser();
+            parser.setInput( output, null );
+
+            for ( int event = parser.next(); event != XmlPullParser.END_DOCUMENT && !entries.isStopped();
+                  event = parser.next() )
+            {
+                if ( event == XmlPullParser.START_TAG )
+                {
+                    startElement( parser );
+                }
+                else if ( event == XmlPullParser.END_TAG && currentChange != null
+                    && "logentry".equals( parser.getName() ) )
+                {
+                    if ( currentChange.getComment() == null )
+                    {
+                        currentChange.setComment( "" );
+                    }
+                    entries.add( currentChange );
+                    currentChange = null;
+                }
+            }
+        }
+        catch ( XmlPullParserException e )
+        {
+            IOException exception = new IOException( "Invalid svn log output: " + e.getMessage() );
+            exception.initCause( e );
+            throw exception;
+        }
+    }
+
+    private void startElement( XmlPullParser parser )
+        throws XmlPullParserException, IOException
+    {
+        String name = parser.getName();
+        if ( "logentry".equals( name ) )
+        {
+            currentRevision = parser.getAttributeValue( null, "revision" );
+
+            currentChange = new SvnChangeSet();
+            currentChange.setRevision( currentRevision );
+        }
+        else if ( currentChange == null )
+        {
+            // the log element
+        }
+        else if ( "author".equals( name ) )
+        {
+            currentChange.setAuthor( parser.nextText() );
+        }
+        else if ( "date".equals( name ) )
+        {
+            String date = parser.nextText();
+            currentChange.setDate( DateParser.parseIso8601( date ) );
+            if ( currentChange.getDate() == null && logger != null && logger.isWarnEnabled() )
+            {
+                logger.warn( "skip unparseable date: " + date );
+            }
+        }
+        else if ( "msg".equals( name ) )
+        {
+            // like the text output, where each line of the message ends with a new line
+            currentChange.setComment( parser.nextText() + '\n' );
+        }
+        else if ( "path".equals( name ) )
+        {
+            String action = parser.getAttributeValue( null, "action" );
+            String originalName = parser.getAttributeValue( null, "copyfrom-path" );
+            String originalRevision = parser.getAttributeValue( null, "copyfrom-rev" );
+
+            ChangeFile file = new ChangeFile( parser.nextText(), currentRevision );
+            file.setAction( getAction( action, originalRevision != null ) );
+            file.setOriginalName( originalName );
+            file.setOriginalRevision( originalRevision );
+            currentChange.addFile( file );
+        }
+    }
+
+    private static ScmFileStatus getAction( String action, boolean copied )
+    {
+        if ( "A".equals( action ) )
+        {
+            return copied ? ScmFileStatus.COPIED : ScmFileStatus.ADDED;
+        }
+        else if ( "D".equals( action ) )
+        {
+            return ScmFileStatus.DELETED;
+        }
+        else if ( "M".equals( action ) )
+        {
+            return ScmFileStatus.MODIFIED;
+        }
+        else if ( "R".equals( action ) )
+        {
+            // == REPLACED in svn terms
+            return ScmFileStatus.UPDATED;
+        }
+        return ScmFileStatus.UNKNOWN;
+    }
+}
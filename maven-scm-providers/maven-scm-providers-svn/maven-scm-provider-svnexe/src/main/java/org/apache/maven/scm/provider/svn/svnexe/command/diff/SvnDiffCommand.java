@@ -24,15 +24,18 @@
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
 import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.command.diff.UnifiedDiffConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.command.diff.SvnDiffConsumer;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
 
 import java.io.File;
 
@@ -49,13 +52,42 @@
     protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion startVersion,
                                                 ScmVersion endVersion )
         throws ScmException
+    {
+        SvnDiffConsumer consumer = new SvnDiffConsumer( getLogger(), fileSet.getBasedir() );
+
+        DiffScmResult result = runDiff( repo, fileSet, startVersion, endVersion, consumer );
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+
+        return new DiffScmResult( result.getCommandLine(), consumer.getChangedFiles(), consumer.getDifferences(),
+                                  consumer.getPatch() );
+    }
+
+    /** {@inheritDoc} */
+    protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                ScmVersion startVersion, ScmVersion endVersion,
+                                                UnifiedDiffConsumer consumer )
+        throws ScmException
+    {
+        DiffScmResult result = runDiff( repo, fileSet, startVersion, endVersion, consumer );
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+
+        return new DiffScmResult( result.getCommandLine(), consumer.getChangedFiles(), null, null );
+    }
+
+    private DiffScmResult runDiff( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion startVersion,
+                                   ScmVersion endVersion, StreamConsumer consumer )
+        throws ScmException
     {
         Commandline cl =
             createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), startVersion, endVersion );
 
-        SvnDiffConsumer consumer = new SvnDiffConsumer( getLogger(), fileSet.getBasedir() );
-
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         if ( getLogger().isInfoEnabled() )
         {
@@ -79,8 +111,7 @@ protected DiffScmResult executeDiffCommand( ScmProviderRepository repo, ScmFileS
             return new DiffScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new DiffScmResult( cl.toString(), consumer.getChangedFiles(), consumer.getDifferences(),
-                                  consumer.getPatch() );
+        return new DiffScmResult( cl.toString(), null, null, true );
     }
 
     // ----------------------------------------------------------------------
@@ -21,17 +21,20 @@
 
 import java.io.File;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.command.info.InfoItem;
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -45,6 +48,13 @@
     extends AbstractCommand
     implements SvnCommand
 {
+    /**
+     * System property enabling <code>svn info --xml</code>, parsed as a stream by {@link SvnInfoXmlConsumer},
+     * instead of the text output parsed by {@link SvnInfoConsumer}.
+     *
+     * @since 1.9.5
+     */
+    public static final String XML_PROPERTY = "maven.scm.svn.info.xml";
 
     /** {@inheritDoc} */
     protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
@@ -58,11 +68,11 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
                                                 CommandParameters parameters, boolean recursive, String revision )
         throws ScmException
     {
-        Commandline cl = createCommandLine( repository, fileSet, recursive, revision );
+        boolean xml = Boolean.getBoolean( XML_PROPERTY );
 
-        SvnInfoConsumer consumer = new SvnInfoConsumer();
+        Commandline cl = createCommandLine( repository, fileSet, recursive, revision, xml );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         if ( getLogger().isInfoEnabled() )
         {
@@ -72,9 +82,24 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
 
         int exitCode;
 
+        List<InfoItem> infoItems;
+
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            if ( xml )
+            {
+                SvnInfoXmlConsumer consumer = new SvnInfoXmlConsumer();
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                infoItems = consumer.getInfoItems();
+            }
+            else
+            {
+                SvnInfoConsumer consumer = new SvnInfoConsumer();
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                infoItems = consumer.getInfoItems();
+            }
         }
         catch ( CommandLineException ex )
         {
@@ -86,17 +111,32 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
             return new InfoScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new InfoScmResult( cl.toString(), consumer.getInfoItems() );
+        return new InfoScmResult( cl.toString(), infoItems );
     }
 
     //set scope to protected to allow test to call it directly
     protected static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet,
                                                   boolean recursive, String revision )
+    {
+        return createCommandLine( repository, fileSet, recursive, revision, false );
+    }
+
+    /**
+     * @param xml <code>true</code> for the XML output of {@link SvnInfoXmlConsumer}
+     * @since 1.9.5
+     */
+    protected static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet,
+                                                  boolean recursive, String revision, boolean xml )
     {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( fileSet.getBasedir(), repository );
 
         cl.createArg().setValue( "info" );
 
+        if ( xml )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
         if ( recursive )
         {
             cl.createArg().setValue( "--recursive" );
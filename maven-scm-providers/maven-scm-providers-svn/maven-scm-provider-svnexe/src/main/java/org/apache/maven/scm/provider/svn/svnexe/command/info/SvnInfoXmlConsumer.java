@@ -0,0 +1,139 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the output of <code>svn info --xml</code> with a pull parser, as it is written by the process.
+ * <p/>
+ * The items hold the same values as the ones of {@link SvnInfoConsumer}, except the last changed date which is kept
+ * in the ISO 8601 form of the XML output, like <code>2006-06-15T10:34:56.123456Z</code>, rather than the localized
+ * form of the text output.
+ *
+ * @since 1.9.5
+ */
+public class SvnInfoXmlConsumer
+    implements InputStreamConsumer
+{
+    private final List<InfoItem> infoItems = new ArrayList<InfoItem>();
+
+    /**
+     * The item of the entry being processed by the parser
+     */
+    private InfoItem currentItem;
+
+    public List<InfoItem> getInfoItems()
+    {
+        return infoItems;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consume( InputStream output )
+        throws IOException
+    {
+        infoItems.clear();
+        currentItem = null;
+
+        try
+        {
+            XmlPullParser parser = new MXParser();
+            parser.setInput( output, null );
+
+            for ( int event = parser.next(); event != XmlPullParser.END_DOCUMENT; event = parser.next() )
+            {
+                if ( event == XmlPullParser.START_TAG )
+                {
+                    startElement( parser );
+                }
+                else if ( event == XmlPullParser.END_TAG && currentItem != null && "entry".equals( parser.getName() ) )
+                {
+                    infoItems.add( currentItem );
+                    currentItem = null;
+                }
+            }
+        }
+        catch ( XmlPullParserException e )
+        {
+            IOException exception = new IOException( "Invalid svn info output: " + e.getMessage() );
+            exception.initCause( e );
+            throw exception;
+        }
+    }
+
+    private void startElement( XmlPullParser parser )
+        throws XmlPullParserException, IOException
+    {
+        String name = parser.getName();
+        if ( "entry".equals( name ) )
+        {
+            currentItem = new InfoItem();
+            currentItem.setPath( parser.getAttributeValue( null, "path" ) );
+            currentItem.setRevision( parser.getAttributeValue( null, "revision" ) );
+
+            // the text output says "directory"
+            String kind = parser.getAttributeValue( null, "kind" );
+            currentItem.setNodeKind( "dir".equals( kind ) ? "directory" : kind );
+        }
+        else if ( currentItem == null )
+        {
+            // the info element
+        }
+        else if ( "url".equals( name ) )
+        {
+            currentItem.setURL( parser.nextText() );
+        }
+        else if ( "root".equals( name ) )
+        {
+            currentItem.setRepositoryRoot( parser.nextText() );
+        }
+        else if ( "uuid".equals( name ) )
+        {
+            currentItem.setRepositoryUUID( parser.nextText() );
+        }
+        else if ( "schedule".equals( name ) )
+        {
+            currentItem.setSchedule( parser.nextText() );
+        }
+        else if ( "commit".equals( name ) )
+        {
+            currentItem.setLastChangedRevision( parser.getAttributeValue( null, "revision" ) );
+        }
+        else if ( "author".equals( name ) )
+        {
+            currentItem.setLastChangedAuthor( parser.nextText() );
+        }
+        else if ( "date".equals( name ) )
+        {
+            currentItem.setLastChangedDate( parser.nextText() );
+        }
+    }
+}
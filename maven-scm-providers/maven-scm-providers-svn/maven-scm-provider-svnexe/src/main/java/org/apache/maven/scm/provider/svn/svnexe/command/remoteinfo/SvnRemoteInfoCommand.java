@@ -31,6 +31,7 @@
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -66,7 +67,7 @@ public RemoteInfoScmResult executeRemoteInfoCommand( ScmProviderRepository repos
 
         cl.createArg().setValue( baseUrl + "/tags" );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         LsConsumer consumer = new LsConsumer( getLogger(), baseUrl );
 
@@ -97,7 +98,7 @@ public RemoteInfoScmResult executeRemoteInfoCommand( ScmProviderRepository repos
 
         cl.createArg().setValue( baseUrl + "/tags" );
 
-        stderr = new CommandLineUtils.StringStreamConsumer();
+        stderr = new CommandOutputConsumer();
 
         consumer = new LsConsumer( getLogger(), baseUrl );
 
@@ -133,7 +134,7 @@ public boolean remoteUrlExist( ScmProviderRepository repository, CommandParamete
 
         cl.createArg().setValue( url );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         LsConsumer consumer = new LsConsumer( getLogger(), url );
 
@@ -20,6 +20,7 @@
  */
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
@@ -27,10 +28,13 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.util.CommandOutputConsumer;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
+import java.util.List;
+
 /**
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  *
@@ -39,15 +43,23 @@
     extends AbstractStatusCommand
     implements SvnCommand
 {
+    /**
+     * System property enabling <code>svn status --xml</code>, parsed as a stream by {@link SvnStatusXmlConsumer},
+     * instead of the text output parsed by {@link SvnStatusConsumer}.
+     *
+     * @since 1.9.5
+     */
+    public static final String XML_PROPERTY = "maven.scm.svn.status.xml";
+
     /** {@inheritDoc} */
     protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmFileSet fileSet )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet );
+        boolean xml = Boolean.getBoolean( XML_PROPERTY );
 
-        SvnStatusConsumer consumer = new SvnStatusConsumer( getLogger(), fileSet.getBasedir() );
+        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet, xml );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandOutputConsumer();
 
         if ( getLogger().isInfoEnabled() )
         {
@@ -57,9 +69,24 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
 
         int exitCode;
 
+        List<ScmFile> changedFiles;
+
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            if ( xml )
+            {
+                SvnStatusXmlConsumer consumer = new SvnStatusXmlConsumer( getLogger(), fileSet.getBasedir() );
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                changedFiles = consumer.getChangedFiles();
+            }
+            else
+            {
+                SvnStatusConsumer consumer = new SvnStatusConsumer( getLogger(), fileSet.getBasedir() );
+
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+                changedFiles = consumer.getChangedFiles();
+            }
         }
         catch ( CommandLineException ex )
         {
@@ -71,7 +98,7 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
             return new StatusScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new StatusScmResult( cl.toString(), consumer.getChangedFiles() );
+        return new StatusScmResult( cl.toString(), changedFiles );
     }
 
     // ----------------------------------------------------------------------
@@ -79,11 +106,26 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
     // ----------------------------------------------------------------------
 
     public static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet )
+    {
+        return createCommandLine( repository, fileSet, false );
+    }
+
+    /**
+     * @param xml <code>true</code> for the XML output of {@link SvnStatusXmlConsumer}
+     * @since 1.9.5
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet,
+                                                 boolean xml )
     {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( fileSet.getBasedir(), repository );
 
         cl.createArg().setValue( "status" );
 
+        if ( xml )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
         return cl;
     }
 }
@@ -0,0 +1,179 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the output of <code>svn status --xml</code> with a pull parser, as it is written by the process.
+ * <p/>
+ * Each <code>entry</code> element carries its path and a <code>wc-status</code> element whose <code>item</code> and
+ * <code>props</code> attributes don't depend on the locale of svn, so the whole working copy is read in one pass
+ * without keeping the output in memory. The files are the same as the ones of {@link SvnStatusConsumer}.
+ *
+ * @since 1.9.5
+ */
+public class SvnStatusXmlConsumer
+    implements InputStreamConsumer
+{
+    private final ScmLogger logger;
+
+    private final File workingDirectory;
+
+    private final List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+    /**
+     * The path of the entry being processed by the parser
+     */
+    private String currentPath;
+
+    public SvnStatusXmlConsumer( ScmLogger logger, File workingDirectory )
+    {
+        this.logger = logger;
+
+        this.workingDirectory = workingDirectory;
+    }
+
+    public List<ScmFile> getChangedFiles()
+    {
+        return changedFiles;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consume( InputStream output )
+        throws IOException
+    {
+        changedFiles.clear();
+        currentPath = null;
+
+        try
+        {
+            XmlPullParser parser = new MXParser();
+            parser.setInput( output, null );
+
+            for ( int event = parser.next(); event != XmlPullParser.END_DOCUMENT; event = parser.next() )
+            {
+                if ( event != XmlPullParser.START_TAG )
+                {
+                    continue;
+                }
+
+                String name = parser.getName();
+                if ( "entry".equals( name ) )
+                {
+                    currentPath = parser.getAttributeValue( null, "path" );
+                }
+                else if ( "wc-status".equals( name ) && currentPath != null )
+                {
+                    addFile( currentPath, getStatus( parser.getAttributeValue( null, "item" ),
+                                                     parser.getAttributeValue( null, "props" ) ) );
+                    currentPath = null;
+                }
+            }
+        }
+        catch ( XmlPullParserException e )
+        {
+            IOException exception = new IOException( "Invalid svn status output: " + e.getMessage() );
+            exception.initCause( e );
+            throw exception;
+        }
+    }
+
+    private void addFile( String file, ScmFileStatus status )
+    {
+        if ( status == null )
+        {
+            return;
+        }
+
+        // If the file isn't a file; don't add it.
+        if ( !status.equals( ScmFileStatus.DELETED ) && !new File( workingDirectory, file ).isFile() )
+        {
+            return;
+        }
+
+        if ( logger != null && logger.isDebugEnabled() )
+        {
+            logger.debug( status + " " + file );
+        }
+
+        changedFiles.add( new ScmFile( file, status ) );
+    }
+
+    /**
+     * @param item the status of the content, like the first column of the text output
+     * @param props the status of the properties, like the second column of the text output
+     * @return the status of the file, or <code>null</code> when it is skipped
+     */
+    private static ScmFileStatus getStatus( String item, String props )
+    {
+        if ( "added".equals( item ) )
+        {
+            return ScmFileStatus.ADDED;
+        }
+        else if ( "modified".equals( item ) || "replaced".equals( item ) || "obstructed".equals( item ) )
+        {
+            return ScmFileStatus.MODIFIED;
+        }
+        else if ( "deleted".equals( item ) )
+        {
+            return ScmFileStatus.DELETED;
+        }
+        else if ( "unversioned".equals( item ) )
+        {
+            return ScmFileStatus.UNKNOWN;
+        }
+        else if ( "missing".equals( item ) || "incomplete".equals( item ) )
+        {
+            return ScmFileStatus.MISSING;
+        }
+        else if ( "conflicted".equals( item ) )
+        {
+            return ScmFileStatus.CONFLICT;
+        }
+        else if ( "external".equals( item ) || "ignored".equals( item ) )
+        {
+            return null;
+        }
+        else if ( "modified".equals( props ) )
+        {
+            return ScmFileStatus.MODIFIED;
+        }
+        else if ( "conflicted".equals( props ) )
+        {
+            return ScmFileStatus.CONFLICT;
+        }
+        return null;
+    }
+}
@@ -19,11 +19,26 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.log.DefaultLog;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnChangeLogXmlConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.info.SvnInfoXmlConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.status.SvnStatusXmlConsumer;
+import org.apache.maven.scm.util.InputStreamConsumer;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -49,4 +64,153 @@ public void testCryptPassword()
         assertCommandLine( "svn --username username --no-auth-cache --non-interactive", new File( "." ),
                            SvnCommandLineUtils.getBaseSvnCommandLine( new File( "." ), repo ) );
     }
+
+    public void testTruncatedXmlOfFailedCommand()
+        throws Exception
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        int exitCode = SvnCommandLineUtils.execute( svn( 1, TRUNCATED_LOG, "svn: E170000: URL doesn't exist" ),
+                                                    changeLogConsumer(), stderr, new DefaultLog() );
+
+        assertEquals( 1, exitCode );
+        assertTrue( stderr.getOutput(), stderr.getOutput().indexOf( "E170000" ) >= 0 );
+    }
+
+    public void testTruncatedXmlOfSuccessfulCommand()
+        throws Exception
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        try
+        {
+            SvnCommandLineUtils.execute( svn( 0, TRUNCATED_LOG, null ), changeLogConsumer(), stderr, new DefaultLog() );
+            fail( "The truncated output must fail" );
+        }
+        catch ( CommandLineException e )
+        {
+            assertNotNull( e.getCause() );
+        }
+    }
+
+    public void testTruncatedXmlOfFailedStatus()
+        throws Exception
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        Commandline cl = svn( 1, "<?xml version=\"1.0\"?><status>",
+                              "svn: warning: W155007: '/tmp' is not a working copy" );
+        int exitCode = SvnCommandLineUtils.execute( cl, new SvnStatusXmlConsumer( new DefaultLog(), new File( "." ) ),
+                                                    stderr, new DefaultLog() );
+
+        assertEquals( 1, exitCode );
+        assertTrue( stderr.getOutput(), stderr.getOutput().indexOf( "W155007" ) >= 0 );
+    }
+
+    public void testTruncatedXmlOfFailedInfo()
+        throws Exception
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        Commandline cl = svn( 1, "<?xml version=\"1.0\"?><info>",
+                              "svn: E200009: Could not display info for all targets" );
+        int exitCode = SvnCommandLineUtils.execute( cl, new SvnInfoXmlConsumer(), stderr, new DefaultLog() );
+
+        assertEquals( 1, exitCode );
+        assertTrue( stderr.getOutput(), stderr.getOutput().indexOf( "E200009" ) >= 0 );
+    }
+
+    public void testConsumersStartOverWithTheRetriedCommand()
+        throws Exception
+    {
+        String log = "<?xml version=\"1.0\"?><log><logentry revision=\"2\"><msg>b</msg></logentry>"
+            + "<logentry revision=\"1\"><msg>a</msg></logentry></log>";
+
+        final List<String> handled = new ArrayList<String>();
+        SvnChangeLogXmlConsumer changeLog = new SvnChangeLogXmlConsumer( new DefaultLog(), new ChangeSetHandler()
+        {
+            public boolean handleChangeSet( ChangeSet changeSet )
+            {
+                handled.add( changeSet.getRevision() );
+                return true;
+            }
+        } );
+
+        // the failed command got as far as the first entry, which the retry must not pass again
+        try
+        {
+            changeLog.consume( stream( log.substring( 0, log.indexOf( "<logentry revision=\"1\">" ) + 5 ) ) );
+            fail( "The truncated output must fail" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+        changeLog.consume( stream( log ) );
+
+        assertEquals( Arrays.asList( "2", "1" ), handled );
+
+        String status = "<?xml version=\"1.0\"?><status><target path=\".\">"
+            + "<entry path=\"a.txt\"><wc-status item=\"deleted\" props=\"none\"/></entry></target></status>";
+
+        SvnStatusXmlConsumer statusConsumer = new SvnStatusXmlConsumer( new DefaultLog(), new File( "." ) );
+        statusConsumer.consume( stream( status ) );
+        statusConsumer.consume( stream( status ) );
+
+        assertEquals( statusConsumer.getChangedFiles().toString(), 1, statusConsumer.getChangedFiles().size() );
+    }
+
+    private static InputStream stream( String output )
+    {
+        return new ByteArrayInputStream( output.getBytes() );
+    }
+
+    private static final String TRUNCATED_LOG = "<?xml version=\"1.0\"?><log><logentry revision=\"1\">";
+
+    private static InputStreamConsumer changeLogConsumer()
+    {
+        return new SvnChangeLogXmlConsumer( new DefaultLog(), new ChangeSetHandler()
+        {
+            public boolean handleChangeSet( ChangeSet changeSet )
+            {
+                return true;
+            }
+        } );
+    }
+
+    /**
+     * A command line standing for svn, which prints the given output and error, if any, and exits with the given code.
+     */
+    private static Commandline svn( int exitCode, String output, String error )
+    {
+        Commandline cl = new Commandline();
+        cl.setExecutable( new File( System.getProperty( "java.home" ), "bin/java" ).getAbsolutePath() );
+        cl.createArg().setValue( "-cp" );
+        cl.createArg().setValue( System.getProperty( "java.class.path" ) );
+        cl.createArg().setValue( Tool.class.getName() );
+        cl.createArg().setValue( String.valueOf( exitCode ) );
+        cl.createArg().setValue( output );
+        if ( error != null )
+        {
+            cl.createArg().setValue( error );
+        }
+        return cl;
+    }
+
+    /**
+     * The process run by the tests.
+     */
+    public static class Tool
+    {
+        public static void main( String[] args )
+        {
+            System.out.print( args[1] );
+            System.out.flush();
+            if ( args.length > 2 )
+            {
+                System.err.println( args[2] );
+            }
+            System.exit( Integer.parseInt( args[0] ) );
+        }
+    }
 }
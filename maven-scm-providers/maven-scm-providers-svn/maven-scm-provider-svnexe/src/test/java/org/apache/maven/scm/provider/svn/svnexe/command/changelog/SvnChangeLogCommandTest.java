@@ -52,6 +52,22 @@ public void testCommandLineNoDatesLimitedCount()
                          "svn --non-interactive log -v --limit 40 http://foo.com/svn/trunk" );
     }
 
+    public void testCommandLineXml()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-update-command-test" );
+
+        ScmRepository repository = getScmManager().makeScmRepository( "scm:svn:http://foo.com/svn/trunk" );
+
+        SvnScmProviderRepository svnRepository = (SvnScmProviderRepository) repository.getProviderRepository();
+
+        Commandline cl = SvnChangeLogCommand.createCommandLine( svnRepository, workingDirectory, null, null, null,
+                                                                null, null, 40, true );
+
+        assertCommandLine( "svn --non-interactive log -v --xml --limit 40 http://foo.com/svn/trunk", workingDirectory,
+                           cl );
+    }
+
     public void testCommandLineWithDates()
         throws Exception
     {
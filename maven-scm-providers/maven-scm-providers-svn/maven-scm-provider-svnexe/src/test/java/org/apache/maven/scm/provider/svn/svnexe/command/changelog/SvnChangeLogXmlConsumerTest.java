@@ -0,0 +1,130 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class SvnChangeLogXmlConsumerTest
+    extends PlexusTestCase
+{
+    public void testValidOutput()
+        throws Exception
+    {
+        SvnChangeLogXmlConsumer consumer = new SvnChangeLogXmlConsumer( new DefaultLog(), null );
+
+        consume( consumer );
+
+        List<ChangeSet> modifications = consumer.getModifications();
+        assertEquals( 2, modifications.size() );
+
+        ChangeSet branch = modifications.get( 0 );
+        assertEquals( "16", branch.getRevision() );
+        assertEquals( "kaz", branch.getAuthor() );
+        assertEquals( new Date( 1030439565861L ), branch.getDate() );
+        assertEquals( "Branch 1.x\nwith <two> lines\n", branch.getComment() );
+        assertEquals( 2, branch.getFiles().size() );
+
+        ChangeFile copy = branch.getFiles().get( 0 );
+        assertEquals( "/poolserver/branches/1.x", copy.getName() );
+        assertEquals( "16", copy.getRevision() );
+        assertEquals( ScmFileStatus.COPIED, copy.getAction() );
+        assertEquals( "/poolserver/trunk", copy.getOriginalName() );
+        assertEquals( "15", copy.getOriginalRevision() );
+
+        ChangeFile deleted = branch.getFiles().get( 1 );
+        assertEquals( "/poolserver/branches/1.x/obsolete & old.txt", deleted.getName() );
+        assertEquals( ScmFileStatus.DELETED, deleted.getAction() );
+        assertNull( deleted.getOriginalName() );
+
+        // the same change set as the text output of svnLogValidOutput.txt
+        ChangeSet formatting = modifications.get( 1 );
+        assertEquals( "15", formatting.getRevision() );
+        assertEquals( "unconventional author output (somedata)", formatting.getAuthor() );
+        assertEquals( new Date( 1030386806000L ), formatting.getDate() );
+        assertEquals( "Minor formatting changes.\n", formatting.getComment() );
+        assertEquals( 2, formatting.getFiles().size() );
+        assertEquals( "/poolserver/trunk/build.xml", formatting.getFiles().get( 0 ).getName() );
+        assertEquals( ScmFileStatus.MODIFIED, formatting.getFiles().get( 0 ).getAction() );
+    }
+
+    public void testHandlerStopsTheParsing()
+        throws Exception
+    {
+        final List<ChangeSet> handled = new ArrayList<ChangeSet>();
+        SvnChangeLogXmlConsumer consumer = new SvnChangeLogXmlConsumer( new DefaultLog(), new ChangeSetHandler()
+        {
+            public boolean handleChangeSet( ChangeSet changeSet )
+            {
+                handled.add( changeSet );
+                return false;
+            }
+        } );
+
+        consume( consumer );
+
+        assertEquals( 1, handled.size() );
+        assertEquals( "16", handled.get( 0 ).getRevision() );
+        assertTrue( consumer.getModifications().isEmpty() );
+    }
+
+    public void testInvalidOutput()
+        throws Exception
+    {
+        SvnChangeLogXmlConsumer consumer = new SvnChangeLogXmlConsumer( new DefaultLog(), null );
+
+        try
+        {
+            consumer.consume( new ByteArrayInputStream( "<log><logentry revision=\"1\"></log>".getBytes( "UTF-8" ) ) );
+            fail( "should fail" );
+        }
+        catch ( IOException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().startsWith( "Invalid svn log output" ) );
+        }
+    }
+
+    private static void consume( SvnChangeLogXmlConsumer consumer )
+        throws IOException
+    {
+        InputStream input =
+            new FileInputStream( getTestFile( "src/test/resources/svn/changelog/svnLogValidOutput.xml" ) );
+        try
+        {
+            consumer.consume( input );
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+}
@@ -38,6 +38,19 @@ public void testGetInfoOnEmptyFileSet()
         
         testCommandLine( "scm:svn:http://foo.com/svn/trunk", fileSet, "svn --non-interactive info" );
     }
+
+    public void testRecursiveXmlCommandLine()
+        throws Exception
+    {
+        ScmFileSet fileSet = new ScmFileSet( new File( getBasedir() ) );
+
+        SvnScmProviderRepository svnRepository = (SvnScmProviderRepository) getScmManager().makeScmRepository(
+            "scm:svn:http://foo.com/svn/trunk" ).getProviderRepository();
+
+        Commandline cl = SvnInfoCommand.createCommandLine( svnRepository, fileSet, true, null, true );
+
+        assertCommandLine( "svn --non-interactive info --xml --recursive", fileSet.getBasedir(), cl );
+    }
     
     private void testCommandLine( String scmUrl, ScmFileSet fileSet, String commandLine )
         throws Exception
@@ -0,0 +1,90 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public class SvnInfoXmlConsumerTest
+    extends PlexusTestCase
+{
+    public void testValidOutput()
+        throws Exception
+    {
+        SvnInfoXmlConsumer consumer = new SvnInfoXmlConsumer();
+
+        InputStream input = new FileInputStream( getTestFile( "src/test/resources/svn/info/svnInfoOutput.xml" ) );
+        try
+        {
+            consumer.consume( input );
+        }
+        finally
+        {
+            input.close();
+        }
+
+        List<InfoItem> infoItems = consumer.getInfoItems();
+        assertEquals( 2, infoItems.size() );
+
+        InfoItem directory = infoItems.get( 0 );
+        assertEquals( ".", directory.getPath() );
+        assertEquals( "directory", directory.getNodeKind() );
+        assertEquals( "16", directory.getRevision() );
+        assertEquals( "http://svn.example.com/repos/poolserver/trunk", directory.getURL() );
+        assertEquals( "http://svn.example.com/repos", directory.getRepositoryRoot() );
+        assertEquals( "e2c4c3d3-4b6c-0410-9d1d-9b2fb0a4d4d8", directory.getRepositoryUUID() );
+        assertEquals( "normal", directory.getSchedule() );
+        assertEquals( "15", directory.getLastChangedRevision() );
+        assertEquals( "kaz", directory.getLastChangedAuthor() );
+        assertEquals( "2002-08-26T18:33:26.000000Z", directory.getLastChangedDate() );
+
+        // neither the text update date nor the lock are taken for the last change
+        InfoItem file = infoItems.get( 1 );
+        assertEquals( "build & run.xml", file.getPath() );
+        assertEquals( "file", file.getNodeKind() );
+        assertEquals( "http://svn.example.com/repos/poolserver/trunk/build%20&%20run.xml", file.getURL() );
+        assertEquals( "add", file.getSchedule() );
+        assertNull( file.getLastChangedRevision() );
+        assertNull( file.getLastChangedAuthor() );
+        assertNull( file.getLastChangedDate() );
+    }
+
+    public void testInvalidOutput()
+        throws Exception
+    {
+        SvnInfoXmlConsumer consumer = new SvnInfoXmlConsumer();
+
+        try
+        {
+            consumer.consume( new ByteArrayInputStream( "<info><entry path=\".\"></info>".getBytes( "UTF-8" ) ) );
+            fail( "should fail" );
+        }
+        catch ( IOException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().startsWith( "Invalid svn info output" ) );
+        }
+    }
+}
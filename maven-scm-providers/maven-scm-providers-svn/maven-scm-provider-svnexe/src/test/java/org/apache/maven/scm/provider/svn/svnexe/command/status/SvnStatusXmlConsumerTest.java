@@ -0,0 +1,111 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public class SvnStatusXmlConsumerTest
+    extends ScmTestCase
+{
+    public void testValidOutput()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-status-xml-test" );
+        FileUtils.deleteDirectory( workingDirectory );
+        String[] files = { "added.txt", "dir/props.txt", "ignored.txt", "modified.txt", "unversioned.txt",
+            "conflicted.txt" };
+        for ( int i = 0; i < files.length; i++ )
+        {
+            makeFile( workingDirectory, files[i] );
+        }
+        new File( workingDirectory, "lib" ).mkdirs();
+
+        SvnStatusXmlConsumer consumer = new SvnStatusXmlConsumer( new DefaultLog(), workingDirectory );
+
+        InputStream input =
+            new FileInputStream( getTestFile( "src/test/resources/svn/status/svnStatusOutput.xml" ) );
+        try
+        {
+            consumer.consume( input );
+        }
+        finally
+        {
+            input.close();
+        }
+
+        // the directories, the missing file, and the ignored and external entries are skipped
+        List<ScmFile> changedFiles = consumer.getChangedFiles();
+        assertEquals( changedFiles.toString(), 6, changedFiles.size() );
+        assertFile( "added.txt", ScmFileStatus.ADDED, changedFiles.get( 0 ) );
+        assertFile( "deleted & gone.txt", ScmFileStatus.DELETED, changedFiles.get( 1 ) );
+        assertFile( "dir/props.txt", ScmFileStatus.MODIFIED, changedFiles.get( 2 ) );
+        assertFile( "modified.txt", ScmFileStatus.MODIFIED, changedFiles.get( 3 ) );
+        assertFile( "unversioned.txt", ScmFileStatus.UNKNOWN, changedFiles.get( 4 ) );
+        assertFile( "conflicted.txt", ScmFileStatus.CONFLICT, changedFiles.get( 5 ) );
+    }
+
+    public void testInvalidOutput()
+        throws Exception
+    {
+        SvnStatusXmlConsumer consumer = new SvnStatusXmlConsumer( new DefaultLog(), getTestFile( "target" ) );
+
+        try
+        {
+            consumer.consume( new ByteArrayInputStream( "<status><target path=\".\"></status>".getBytes( "UTF-8" ) ) );
+            fail( "should fail" );
+        }
+        catch ( IOException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().startsWith( "Invalid svn status output" ) );
+        }
+    }
+
+    public void testCommandLine()
+        throws Exception
+    {
+        ScmFileSet fileSet = new ScmFileSet( getTestFile( "target" ) );
+        SvnScmProviderRepository repository = (SvnScmProviderRepository) getScmManager().makeScmRepository(
+            "scm:svn:http://foo.com/svn/trunk" ).getProviderRepository();
+
+        assertCommandLine( "svn --non-interactive status --xml", fileSet.getBasedir(),
+                           SvnStatusCommand.createCommandLine( repository, fileSet, true ) );
+        assertCommandLine( "svn --non-interactive status", fileSet.getBasedir(),
+                           SvnStatusCommand.createCommandLine( repository, fileSet ) );
+    }
+
+    private static void assertFile( String path, ScmFileStatus status, ScmFile file )
+    {
+        assertEquals( path, file.getPath() );
+        assertEquals( path, status, file.getStatus() );
+    }
+}
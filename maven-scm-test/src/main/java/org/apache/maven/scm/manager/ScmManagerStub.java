@@ -22,15 +22,20 @@
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.add.AddScmResult;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameScmRequest;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeSetHandler;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -264,6 +269,16 @@ public ChangeLogScmResult changeLog( ChangeLogScmRequest request )
         return this.getProviderByRepository( repository ).changeLog( request );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public ChangeLogScmResult changeLog( ChangeLogScmRequest scmRequest, ChangeSetHandler handler )
+        throws ScmException
+    {
+        scmRequest.setChangeSetHandler( handler );
+        return changeLog( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -340,6 +355,15 @@ public CheckOutScmResult checkOut( ScmRepository repository, ScmFileSet fileSet,
         return this.getProviderByRepository( repository ).checkOut( repository, fileSet, version, recursive );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public CheckOutScmResult checkOut( CheckOutScmRequest scmRequest )
+        throws ScmException
+    {
+        return this.getProviderByRepository( scmRequest.getScmRepository() ).checkOut( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -350,6 +374,15 @@ public DiffScmResult diff( ScmRepository repository, ScmFileSet fileSet, ScmVers
         return this.getProviderByRepository( repository ).diff( repository, fileSet, startVersion, endVersion );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff( DiffScmRequest scmRequest )
+        throws ScmException
+    {
+        return this.getProviderByRepository( scmRequest.getScmRepository() ).diff( scmRequest );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -562,6 +595,18 @@ public BlameScmResult blame( BlameScmRequest blameScmRequest )
         return this.getProviderByRepository( blameScmRequest.getScmRepository() ).blame( blameScmRequest );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public BlameScmResult blame( ScmRepository repository, ScmFileSet fileSet, BlameHandler handler )
+        throws ScmException
+    {
+        BlameScmRequest request = new BlameScmRequest( repository, fileSet );
+        request.setBlameHandler( handler );
+
+        return blame( request );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -570,4 +615,12 @@ public MkdirScmResult mkdir( ScmRepository repository, ScmFileSet fileSet, Strin
     {
         return this.getProviderByRepository( repository ).mkdir( repository, fileSet, message, createInLocal );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ScmBatch executeAll( List<? extends ScmRequest> requests, ScmRequestCommand command )
+    {
+        return new ScmBatch( this, requests, command, 1 ).start();
+    }
 }
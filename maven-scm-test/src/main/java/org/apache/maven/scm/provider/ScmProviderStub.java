@@ -34,7 +34,9 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmRequest;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -592,6 +594,15 @@ public CheckOutScmResult checkOut( ScmRepository scmRepository, ScmFileSet scmFi
         return getCheckOutScmResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public CheckOutScmResult checkOut( CheckOutScmRequest scmRequest )
+        throws ScmException
+    {
+        return getCheckOutScmResult();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -611,6 +622,15 @@ public DiffScmResult diff( ScmRepository scmRepository, ScmFileSet scmFileSet, S
         return getDiffScmResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff( DiffScmRequest scmRequest )
+        throws ScmException
+    {
+        return getDiffScmResult();
+    }
+
     /**
      * @return getUpdateScmResult() always
      */
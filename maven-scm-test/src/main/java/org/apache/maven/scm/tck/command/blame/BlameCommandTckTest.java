@@ -22,6 +22,7 @@
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmTckTestCase;
 import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.blame.BlameHandler;
 import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.command.blame.BlameScmRequest;
 import org.apache.maven.scm.command.blame.BlameScmResult;
@@ -30,7 +31,11 @@
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Evgeny Mandrikov
@@ -104,6 +109,32 @@ public void testBlameCommand()
         verifyResult( result );
     }
 
+    public void testBlameFiles()
+        throws Exception
+    {
+        ScmFileSet fileSet =
+            new ScmFileSet( getWorkingCopy(), Arrays.asList( new File( "readme.txt" ), new File( "pom.xml" ) ) );
+
+        final Map<String, BlameScmResult> results = new HashMap<String, BlameScmResult>();
+
+        BlameScmResult result = getScmManager().blame( getScmRepository(), fileSet, new BlameHandler()
+        {
+            public boolean handleBlame( String filename, BlameScmResult result )
+            {
+                results.put( filename, result );
+                return true;
+            }
+        } );
+
+        assertResultIsSuccess( result );
+
+        assertEquals( "Expected 2 blames " + results.keySet(), 2, results.size() );
+
+        assertEquals( "Expected 1 line in blame", 1, results.get( "readme.txt" ).getLines().size() );
+
+        verifyResult( results.get( "pom.xml" ) );
+    }
+
     protected boolean isTestDateTime()
     {
         return true;
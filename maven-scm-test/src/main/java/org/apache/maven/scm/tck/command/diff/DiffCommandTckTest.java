@@ -24,11 +24,17 @@
 import org.apache.maven.scm.ScmTckTestCase;
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.diff.DiffFileStatistics;
+import org.apache.maven.scm.command.diff.DiffHandler;
+import org.apache.maven.scm.command.diff.DiffHunk;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -49,39 +55,7 @@ public void testDiffCommand()
     {
         ScmRepository repository = getScmRepository();
 
-        // ----------------------------------------------------------------------
-        // Change the files
-        // ----------------------------------------------------------------------
-
-        //
-        // readme.txt is changed (changed file in the root directory)
-        // project.xml is added (added file in the root directory)
-        // src/test/resources is untouched (a empty directory is left untouched)
-        // src/test/java is untouched (a non empty directory is left untouched)
-        // src/test/java/org (a empty directory is added)
-        // src/main/java/org/Foo.java (a non empty directory is added)
-        //
-
-        // /readme.txt
-        ScmTestCase.makeFile( getWorkingCopy(), "/readme.txt", "changed readme.txt" );
-
-        // /project.xml
-        ScmTestCase.makeFile( getWorkingCopy(), "/project.xml", "changed project.xml" );
-
-        addToWorkingTree( getWorkingCopy(), new File( "project.xml" ), repository );
-
-        // /src/test/java/org
-        ScmTestCase.makeDirectory( getWorkingCopy(), "/src/test/java/org" );
-
-        addToWorkingTree( getWorkingCopy(), new File( "src/test/java/org" ), repository );
-
-        // /src/main/java/org/Foo.java
-        ScmTestCase.makeFile( getWorkingCopy(), "/src/main/java/org/Foo.java" );
-
-        addToWorkingTree( getWorkingCopy(), new File( "src/main/java/org" ), repository );
-
-        // src/main/java/org/Foo.java
-        addToWorkingTree( getWorkingCopy(), new File( "src/main/java/org/Foo.java" ), repository );
+        changeFiles( repository );
 
         // ----------------------------------------------------------------------
         // Diff the project
@@ -143,4 +117,79 @@ public void testDiffCommand()
 
         assertTrue( file.getStatus().isDiff() );
     }
+
+    public void testStreamingDiffCommand()
+        throws Exception
+    {
+        ScmRepository repository = getScmRepository();
+
+        changeFiles( repository );
+
+        final List<DiffFileStatistics> statistics = new ArrayList<DiffFileStatistics>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        DiffScmRequest request = new DiffScmRequest( repository, new ScmFileSet( getWorkingCopy() ) );
+        request.setOutputStream( out );
+        request.setDiffHandler( new DiffHandler()
+        {
+            public void handleHunk( DiffHunk hunk )
+            {
+            }
+
+            public void handleFile( DiffFileStatistics file )
+            {
+                statistics.add( file );
+            }
+        } );
+
+        DiffScmResult result = getScmManager().diff( request );
+
+        assertResultIsSuccess( result );
+
+        assertNull( result.getPatch() );
+
+        assertEquals( "Expected 3 files in the statistics " + statistics, 3, statistics.size() );
+
+        assertEquals( 3, result.getChangedFiles().size() );
+
+        assertTrue( out.toString().indexOf( "+changed readme.txt" ) >= 0 );
+    }
+
+    private void changeFiles( ScmRepository repository )
+        throws Exception
+    {
+        // ----------------------------------------------------------------------
+        // Change the files
+        // ----------------------------------------------------------------------
+
+        //
+        // readme.txt is changed (changed file in the root directory)
+        // project.xml is added (added file in the root directory)
+        // src/test/resources is untouched (a empty directory is left untouched)
+        // src/test/java is untouched (a non empty directory is left untouched)
+        // src/test/java/org (a empty directory is added)
+        // src/main/java/org/Foo.java (a non empty directory is added)
+        //
+
+        // /readme.txt
+        ScmTestCase.makeFile( getWorkingCopy(), "/readme.txt", "changed readme.txt" );
+
+        // /project.xml
+        ScmTestCase.makeFile( getWorkingCopy(), "/project.xml", "changed project.xml" );
+
+        addToWorkingTree( getWorkingCopy(), new File( "project.xml" ), repository );
+
+        // /src/test/java/org
+        ScmTestCase.makeDirectory( getWorkingCopy(), "/src/test/java/org" );
+
+        addToWorkingTree( getWorkingCopy(), new File( "src/test/java/org" ), repository );
+
+        // /src/main/java/org/Foo.java
+        ScmTestCase.makeFile( getWorkingCopy(), "/src/main/java/org/Foo.java" );
+
+        addToWorkingTree( getWorkingCopy(), new File( "src/main/java/org" ), repository );
+
+        // src/main/java/org/Foo.java
+        addToWorkingTree( getWorkingCopy(), new File( "src/main/java/org/Foo.java" ), repository );
+    }
 }